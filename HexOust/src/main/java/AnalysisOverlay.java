@@ -0,0 +1,277 @@
+import javafx.animation.AnimationTimer; // Runs once per JavaFX pulse
+
+/**
+ * Streams the best candidate moves of a running analysis search onto the board.
+ * The search thread copies each iteration's ranked moves into a preallocated back buffer; on JavaFX pulses the
+ * overlay copies the newest buffer to the front at most once per refresh interval and asks the view to redraw the
+ * hexes whose marks changed. Nothing is allocated per update, and a search that has been replaced can never
+ * publish over its successor because every buffer write is checked against the current generation.
+ */
+public class AnalysisOverlay {
+    public static final int DEFAULT_CANDIDATES = 3; // Moves shown when no valid count is given
+    private final View view; // Redraws hexes and shows the summary
+    private final long intervalNanos; // Minimum time between refreshes
+    private final int[] pendingCells; // Back buffer written by the search thread
+    private final int[] pendingScores;
+    private int pendingCount; // Moves in the back buffer
+    private int pendingDepth; // Depth of the back buffer
+    private long pendingNodes; // Node count of the back buffer
+    private long version; // Incremented on every back buffer write
+    private int generation; // Identifies the search allowed to publish
+    private final int[] shownCells; // Front buffer, read on the JavaFX thread
+    private final int[] shownScores;
+    private int shownCount; // Moves in the front buffer
+    private int shownDepth; // Depth of the front buffer
+    private long shownNodes; // Node count of the front buffer
+    private long shownVersion; // Version copied to the front buffer
+    private final int[] previousCells; // Front buffer cells before the last copy, to unmark
+    private long lastRefresh; // Time of the last refresh
+    private boolean refreshed; // True once a refresh has happened, so lastRefresh is meaningful
+    private AnimationTimer timer; // Pulse callback, created on start
+
+    /**
+     * Shows the overlay on behalf of the analysis.
+     */
+    interface View {
+        /**
+         * Redraws one hex, including any candidate mark it now has.
+         * @param cell The dense cell index
+         */
+        void redrawCell(int cell);
+
+        /**
+         * Shows the newest analysis summary. Called only when the depth reached changes.
+         * @param depth The depth completed, or 0 once analysis is cleared
+         * @param bestScore The score of the best move, from the side to move's point of view
+         */
+        void showSummary(int depth, int bestScore);
+    }
+
+    /**
+     * Constructs an AnalysisOverlay.
+     * @param view Redraws hexes and shows the summary
+     * @param candidates The number of best moves to show
+     * @param intervalMillis The minimum time between refreshes, in milliseconds
+     * @throws IllegalArgumentException if candidates is less than 1
+     */
+    AnalysisOverlay(View view, int candidates, long intervalMillis) {
+        if (candidates < 1) throw new IllegalArgumentException("Need at least one candidate");
+        this.view = view; // Assign the view
+        this.intervalNanos = intervalMillis * 1_000_000L; // Convert to nanoseconds
+        this.pendingCells = new int[candidates]; // Preallocate both buffers
+        this.pendingScores = new int[candidates];
+        this.shownCells = new int[candidates];
+        this.shownScores = new int[candidates];
+        this.previousCells = new int[candidates];
+    }
+
+    /**
+     * Reads the number of candidates to show from the command line, falling back to DEFAULT_CANDIDATES with a
+     * message if the value is not a whole number of at least one move.
+     * @param value The option value, for example "3"
+     * @return The number of candidates
+     */
+    public static int parseCount(String value) {
+        try {
+            int candidates = Integer.parseInt(value.trim()); // Moves to show
+            if (candidates >= 1) {
+                return candidates; // Valid count
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Invalid --analysis count \"" + value + "\", showing " + DEFAULT_CANDIDATES + " moves");
+        return DEFAULT_CANDIDATES; // Fall back
+    }
+
+    /**
+     * Starts refreshing on JavaFX pulses.
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    refresh(now); // Show the newest candidates if due
+                }
+            };
+        }
+        timer.start(); // Register for pulses
+    }
+
+    /**
+     * Stops refreshing on pulses.
+     */
+    public void stop() {
+        if (timer != null) {
+            timer.stop(); // Unregister from pulses
+        }
+    }
+
+    /**
+     * Begins a new analysis: the previous search can no longer publish, and its candidates disappear on the next
+     * refresh. Call on the JavaFX thread before submitting the search.
+     * @return The listener to pass to the new search
+     */
+    public SearchListener newSearch() {
+        int searchGeneration = clearPending(); // Retire the previous search
+        return new SearchListener() {
+            @Override
+            public void onProgress(int depth, int bestCell, int score, long nodes) {
+                // Candidates carry everything the overlay shows
+            }
+
+            @Override
+            public void onCandidates(int depth, int[] cells, int[] scores, int count, long nodes) {
+                publish(searchGeneration, depth, cells, scores, count, nodes); // Copy into the back buffer
+            }
+        };
+    }
+
+    /**
+     * Stops showing candidates, for example when the position changes or the game ends.
+     * The marks are removed immediately; call on the JavaFX thread.
+     */
+    public void clear() {
+        clearPending(); // Retire the running search
+        showNewest(); // Show the empty buffer now, ignoring the throttle
+    }
+
+    /**
+     * Copies the newest candidates to the front buffer if the refresh interval has passed, and redraws the hexes
+     * whose marks changed. Called on every pulse, and directly by tests.
+     * @param now The current time in nanoseconds
+     * @return True if the shown candidates changed
+     */
+    public boolean refresh(long now) {
+        if (refreshed && now - lastRefresh < intervalNanos) {
+            return false; // Throttled
+        }
+        if (!showNewest()) {
+            return false; // Nothing new
+        }
+        refreshed = true; // Start the next interval
+        lastRefresh = now;
+        return true; // Candidates changed
+    }
+
+    /**
+     * Copies the back buffer to the front if it has changed, and redraws the hexes whose marks changed.
+     * @return True if the shown candidates changed
+     */
+    private boolean showNewest() {
+        int previousDepth = shownDepth; // Summary shown so far
+        int previousCount = shownCount; // Marks shown so far
+        synchronized (this) {
+            if (version == shownVersion) {
+                return false; // Nothing new
+            }
+            System.arraycopy(shownCells, 0, previousCells, 0, shownCount); // Remember the old marks
+            System.arraycopy(pendingCells, 0, shownCells, 0, pendingCount); // Copy the back buffer
+            System.arraycopy(pendingScores, 0, shownScores, 0, pendingCount);
+            shownCount = pendingCount;
+            shownDepth = pendingDepth;
+            shownNodes = pendingNodes;
+            shownVersion = version;
+        }
+        for (int i = 0; i < previousCount; i++) {
+            view.redrawCell(previousCells[i]); // Cell loses its mark
+        }
+        for (int i = 0; i < shownCount; i++) {
+            view.redrawCell(shownCells[i]); // Cell gains its mark
+        }
+        if (shownDepth != previousDepth) {
+            view.showSummary(shownDepth, shownCount > 0 ? shownScores[0] : 0); // Update the summary
+        }
+        return true; // Candidates changed
+    }
+
+    /**
+     * Finds the rank of a hex among the shown candidates.
+     * @param cell The dense cell index
+     * @return The rank, 0 for the best move, or -1 if the hex is not a candidate
+     */
+    public int rankOf(int cell) {
+        for (int i = 0; i < shownCount; i++) {
+            if (shownCells[i] == cell) {
+                return i; // Found the candidate
+            }
+        }
+        return -1; // Not a candidate
+    }
+
+    /**
+     * Retrieves the score of a shown candidate.
+     * @param rank The rank, 0 for the best move
+     * @return The score from the side to move's point of view
+     */
+    public int getScore(int rank) {
+        return shownScores[rank]; // Return the score
+    }
+
+    /**
+     * Retrieves the most candidates the overlay shows.
+     * @return The number of best moves a search should rank
+     */
+    public int getCapacity() {
+        return shownCells.length; // Size of the buffers
+    }
+
+    /**
+     * Retrieves the number of shown candidates.
+     * @return The candidate count
+     */
+    public int getCount() {
+        return shownCount; // Return the count
+    }
+
+    /**
+     * Retrieves the depth of the shown candidates.
+     * @return The depth completed, or 0 if none are shown
+     */
+    public int getDepth() {
+        return shownDepth; // Return the depth
+    }
+
+    /**
+     * Retrieves the node count of the shown candidates.
+     * @return The positions searched when they were found
+     */
+    public long getNodes() {
+        return shownNodes; // Return the node count
+    }
+
+    /**
+     * Empties the back buffer and moves to a new generation, so only the next search can publish.
+     * @return The new generation
+     */
+    private synchronized int clearPending() {
+        pendingCount = 0; // Nothing to show
+        pendingDepth = 0;
+        pendingNodes = 0;
+        version++; // The empty buffer replaces whatever is shown
+        return ++generation; // Retire the previous search
+    }
+
+    /**
+     * Copies a search's ranked moves into the back buffer. Called on the search thread.
+     * @param searchGeneration The generation of the publishing search
+     * @param depth The depth completed
+     * @param cells The ranked moves
+     * @param scores Their scores
+     * @param count The number of ranked moves
+     * @param nodes The positions searched so far
+     */
+    private synchronized void publish(int searchGeneration, int depth, int[] cells, int[] scores, int count, long nodes) {
+        if (searchGeneration != generation) {
+            return; // A newer search has started
+        }
+        int shown = Math.min(count, pendingCells.length); // Keep what fits
+        System.arraycopy(cells, 0, pendingCells, 0, shown); // Copy without allocating
+        System.arraycopy(scores, 0, pendingScores, 0, shown);
+        pendingCount = shown;
+        pendingDepth = depth;
+        pendingNodes = nodes;
+        version++; // Mark the buffer as new
+    }
+}
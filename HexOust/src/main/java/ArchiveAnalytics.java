@@ -0,0 +1,524 @@
+import java.io.IOException; // Thrown by file operations
+import java.io.UncheckedIOException; // Carries read errors out of streams and tasks
+import java.nio.file.DirectoryIteratorException; // Thrown when listing a directory fails partway
+import java.nio.file.DirectoryStream; // Lists one directory lazily
+import java.nio.file.Files; // Lists and reads the archive
+import java.nio.file.LinkOption; // Walks into real directories only
+import java.nio.file.Path; // Locates games
+import java.util.ArrayDeque; // Forked tasks of a directory, oldest first
+import java.util.ArrayList; // Collects a batch of files
+import java.util.Arrays; // Used for sorting openings
+import java.util.Iterator; // Reads a game line by line
+import java.util.List; // A batch of files
+import java.util.concurrent.ForkJoinPool; // Runs the tasks
+import java.util.concurrent.RecursiveTask; // Splits the archive into tasks
+import java.util.stream.Stream; // Streams the lines of a file
+
+/**
+ * Aggregates statistics over an archive of recorded games: a directory tree of move scripts in the BatchRunner
+ * format, one game per file. Files are read in parallel, each through its own lazily read stream of lines, and
+ * every move is replayed through GameState, so captures and extra turns are re-derived by the same MoveValidator
+ * and CaptureHandler rules as the live game instead of being stored in the archive.
+ * The tree is split into fork/join tasks: each directory is listed by its own task, which forks one task per
+ * subdirectory and one per batch of BATCH files, so even an archive of a few dozen games keeps every worker busy.
+ * Memory does not grow with the archive: directories are listed lazily, a directory keeps at most MAX_PENDING
+ * forked tasks before it joins the oldest, each task keeps one set of counters sized by the board, and the
+ * counters of finished tasks are merged.
+ * Usage: {@code ArchiveAnalytics <directory> [radius]}
+ */
+public class ArchiveAnalytics {
+    static final int BATCH = 16; // Files replayed by one task
+    private static final int MAX_PENDING = 64; // Forked tasks a directory keeps before joining the oldest
+    private final HexGrid grid; // Layout the games were played on
+    private final HexSymmetry symmetry; // Pools openings that are the same up to symmetry
+    private final long[] openingGames; // Finished games by canonical first cell
+    private final long[] openingRedWins; // Red wins by canonical first cell
+    private final long[] captureSizes; // Capturing moves by stones captured
+    private final long[] chainLengths; // Extra-turn chains by captures in a row
+    private int[] gameCaptures = new int[64]; // Stones captured by each capturing move of the game being read
+    private int[] gameChains = new int[16]; // Chain lengths of the game being read
+    private long games; // Games read
+    private long finished; // Games with a winner
+    private long redWins; // Games won by Red
+    private long moves; // Moves in all valid games
+    private long finishedMoves; // Moves in finished games
+    private long invalid; // Games with an illegal or malformed move
+    private long unreadable; // Files and directories that could not be read
+    private long tasks; // Batches of files whose counters were merged in
+
+    /**
+     * Constructs empty statistics.
+     * @param grid The layout the games were played on
+     */
+    public ArchiveAnalytics(HexGrid grid) {
+        this(grid, new HexSymmetry(grid)); // Symmetries of the layout
+    }
+
+    /**
+     * Constructs empty statistics sharing the symmetry tables of other statistics for the same layout.
+     * @param grid The layout the games were played on
+     * @param symmetry The symmetries of the layout
+     */
+    private ArchiveAnalytics(HexGrid grid, HexSymmetry symmetry) {
+        this.grid = grid; // Assign the layout
+        this.symmetry = symmetry; // Assign the symmetries
+        int cells = grid.getCellCount(); // One counter per cell or size
+        this.openingGames = new long[cells];
+        this.openingRedWins = new long[cells];
+        this.captureSizes = new long[cells + 1]; // A capture removes at most every cell
+        this.chainLengths = new long[cells + 1]; // Each capture in a chain removes a stone
+    }
+
+    /**
+     * Analyses every regular file under a directory in parallel on the common pool.
+     * @param root The archive directory
+     * @param grid The layout the games were played on
+     * @return The merged statistics
+     * @throws IOException if the archive directory itself cannot be listed
+     */
+    public static ArchiveAnalytics analyse(Path root, HexGrid grid) throws IOException {
+        return analyse(root, grid, ForkJoinPool.commonPool()); // Shared workers
+    }
+
+    /**
+     * Analyses every regular file under a directory in parallel. A subdirectory that cannot be listed, or whose
+     * listing fails partway, is counted as unreadable and the rest of the archive is still analysed.
+     * @param root The archive directory
+     * @param grid The layout the games were played on
+     * @param pool The pool that runs the tasks
+     * @return The merged statistics
+     * @throws IOException if the archive directory itself cannot be listed
+     */
+    static ArchiveAnalytics analyse(Path root, HexGrid grid, ForkJoinPool pool) throws IOException {
+        try {
+            return pool.invoke(new DirectoryTask(root, grid, new HexSymmetry(grid), true)); // Whole tree
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // The root could not be listed
+        }
+    }
+
+    /**
+     * Lists one directory, forking a task per subdirectory and per batch of files, and merges their statistics.
+     */
+    private static final class DirectoryTask extends RecursiveTask<ArchiveAnalytics> {
+        private static final long serialVersionUID = 1L; // Tasks are never serialized
+        private final transient Path directory; // Directory to list
+        private final transient HexGrid grid; // Layout the games were played on
+        private final transient HexSymmetry symmetry; // Shared by every task
+        private final boolean root; // True for the archive directory, whose failure to open is an error
+
+        /**
+         * Constructs a DirectoryTask.
+         * @param directory The directory to list
+         * @param grid The layout the games were played on
+         * @param symmetry The symmetries of the layout
+         * @param root True for the archive directory
+         */
+        DirectoryTask(Path directory, HexGrid grid, HexSymmetry symmetry, boolean root) {
+            this.directory = directory; // Assign every field
+            this.grid = grid;
+            this.symmetry = symmetry;
+            this.root = root;
+        }
+
+        /**
+         * Lists the directory and merges the statistics of everything below it.
+         * @return The statistics of the directory's tree
+         * @throws UncheckedIOException if this is the archive directory and it cannot be opened
+         */
+        @Override
+        protected ArchiveAnalytics compute() {
+            ArchiveAnalytics total = new ArchiveAnalytics(grid, symmetry); // This directory's sums
+            ArrayDeque<RecursiveTask<ArchiveAnalytics>> pending = new ArrayDeque<>(); // Forked, not yet merged
+            DirectoryStream<Path> entries;
+            try {
+                entries = Files.newDirectoryStream(directory); // Lazy listing
+            } catch (IOException e) {
+                if (root) {
+                    throw new UncheckedIOException(e); // Nothing to analyse at all
+                }
+                total.unreadable++; // Skip the directory
+                return total;
+            }
+            List<Path> batch = new ArrayList<>(BATCH); // Files not yet handed to a task
+            try (entries) {
+                for (Path entry : entries) {
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        fork(new DirectoryTask(entry, grid, symmetry, false), pending, total); // Walk it in parallel
+                    } else if (Files.isRegularFile(entry)) {
+                        batch.add(entry);
+                        if (batch.size() == BATCH) {
+                            fork(new FileTask(batch, grid, symmetry), pending, total); // Replay in parallel
+                            batch = new ArrayList<>(BATCH);
+                        }
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                total.unreadable++; // The listing broke off; keep what was found
+            }
+            if (!batch.isEmpty()) {
+                total.merge(new FileTask(batch, grid, symmetry).compute()); // Last batch on this thread
+            }
+            while (!pending.isEmpty()) {
+                total.merge(pending.poll().join()); // Combine finished tasks
+            }
+            return total; // Return the sums
+        }
+
+        /**
+         * Forks a task, first merging the oldest forked task if the directory already has MAX_PENDING of them.
+         * @param task The task to fork
+         * @param pending The directory's forked tasks, oldest first
+         * @param total The directory's sums
+         */
+        private static void fork(RecursiveTask<ArchiveAnalytics> task,
+                                 ArrayDeque<RecursiveTask<ArchiveAnalytics>> pending, ArchiveAnalytics total) {
+            if (pending.size() == MAX_PENDING) {
+                total.merge(pending.poll().join()); // Bound the memory held by one directory
+            }
+            task.fork(); // Let an idle worker take it
+            pending.add(task);
+        }
+    }
+
+    /**
+     * Replays a batch of files into one set of counters.
+     */
+    private static final class FileTask extends RecursiveTask<ArchiveAnalytics> {
+        private static final long serialVersionUID = 1L; // Tasks are never serialized
+        private final transient List<Path> files; // Files to replay
+        private final transient HexGrid grid; // Layout the games were played on
+        private final transient HexSymmetry symmetry; // Shared by every task
+
+        /**
+         * Constructs a FileTask.
+         * @param files The files to replay
+         * @param grid The layout the games were played on
+         * @param symmetry The symmetries of the layout
+         */
+        FileTask(List<Path> files, HexGrid grid, HexSymmetry symmetry) {
+            this.files = files; // Assign every field
+            this.grid = grid;
+            this.symmetry = symmetry;
+        }
+
+        /**
+         * Replays every file of the batch.
+         * @return The batch's statistics
+         */
+        @Override
+        protected ArchiveAnalytics compute() {
+            ArchiveAnalytics statistics = new ArchiveAnalytics(grid, symmetry); // Counters of this task
+            for (Path file : files) {
+                statistics.addGame(file); // Replay the game
+            }
+            statistics.tasks = 1; // One batch
+            return statistics; // Return the counters
+        }
+    }
+
+    /**
+     * Replays one game file and adds it to the statistics. A game with an illegal or malformed move is counted as
+     * invalid and otherwise ignored; an unreadable file is counted as unreadable.
+     * @param file The move script
+     */
+    void addGame(Path file) {
+        try (Stream<String> lines = Files.lines(file)) { // Read lazily, one line at a time
+            addGame(lines.iterator());
+        } catch (IOException | UncheckedIOException e) {
+            unreadable++; // Missing, unreadable or not text
+        }
+    }
+
+    /**
+     * Replays one game and adds it to the statistics.
+     * @param lines The script lines
+     */
+    void addGame(Iterator<String> lines) {
+        GameState state = new GameState(grid); // Fresh game, Red to move
+        int radius = grid.getRadius(); // Cube to board index offset
+        int firstCell = -1; // Opening move
+        int played = 0; // Moves in this game
+        int captures = 0; // Capturing moves in this game
+        int chains = 0; // Chains in this game
+        int chain = 0; // Captures in a row by the side to move
+        while (lines.hasNext()) {
+            String line = lines.next().strip(); // Ignore surrounding space
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue; // Blank line or comment
+            }
+            int[] cube = BatchRunner.parse(line); // Cube coordinates, or null
+            MoveResult result = cube == null ? null : state.play(cube[0] + radius, cube[1] + radius); // Apply rules
+            if (result == null) {
+                games++;
+                invalid++; // Not a game this engine could have played
+                return;
+            }
+            if (played++ == 0) {
+                firstCell = grid.cellAt(result.getQ(), result.getR()); // Remember the opening
+            }
+            if (result.isExtraTurn()) { // Captured, so the same side moves again
+                gameCaptures = ensure(gameCaptures, captures);
+                gameCaptures[captures++] = result.getCapturedStones().size(); // Stones removed
+                chain++;
+            } else if (chain > 0) {
+                gameChains = ensure(gameChains, chains);
+                gameChains[chains++] = chain; // The turn passed, ending the chain
+                chain = 0;
+            }
+        }
+        if (chain > 0) {
+            gameChains = ensure(gameChains, chains);
+            gameChains[chains++] = chain; // The game ended on a capture
+        }
+        games++; // A valid game
+        moves += played;
+        for (int i = 0; i < captures; i++) {
+            captureSizes[gameCaptures[i]]++; // Add the game's captures
+        }
+        for (int i = 0; i < chains; i++) {
+            chainLengths[gameChains[i]]++; // Add the game's chains
+        }
+        byte winner = state.getWinner(); // Result
+        if (winner == StoneColor.EMPTY) {
+            return; // Unfinished: no result for its opening
+        }
+        finished++;
+        finishedMoves += played;
+        int opening = canonical(firstCell); // Pool symmetric openings
+        openingGames[opening]++;
+        if (winner == StoneColor.RED) {
+            redWins++;
+            openingRedWins[opening]++;
+        }
+    }
+
+    /**
+     * Adds another set of statistics for the same layout to this one.
+     * @param other The statistics to add
+     * @return This object, with the sums
+     */
+    ArchiveAnalytics merge(ArchiveAnalytics other) {
+        for (int i = 0; i < openingGames.length; i++) {
+            openingGames[i] += other.openingGames[i]; // Add every counter
+            openingRedWins[i] += other.openingRedWins[i];
+        }
+        for (int i = 0; i < captureSizes.length; i++) {
+            captureSizes[i] += other.captureSizes[i];
+            chainLengths[i] += other.chainLengths[i];
+        }
+        games += other.games;
+        finished += other.finished;
+        redWins += other.redWins;
+        moves += other.moves;
+        finishedMoves += other.finishedMoves;
+        invalid += other.invalid;
+        unreadable += other.unreadable;
+        tasks += other.tasks;
+        return this; // Return the sums
+    }
+
+    /**
+     * Finds the representative of a cell's symmetry class: the lowest cell it maps to.
+     * @param cell The dense cell index
+     * @return The canonical cell
+     */
+    private int canonical(int cell) {
+        int best = cell;
+        for (int s = 1; s < HexSymmetry.COUNT; s++) {
+            best = Math.min(best, symmetry.mapCell(s, cell)); // Lowest image
+        }
+        return best; // Return the representative
+    }
+
+    /**
+     * Makes room for one more entry in a per-game buffer, doubling it if full.
+     * @param buffer The buffer
+     * @param used The entries in use
+     * @return The buffer, or a larger copy
+     */
+    private static int[] ensure(int[] buffer, int used) {
+        return used < buffer.length ? buffer : Arrays.copyOf(buffer, buffer.length * 2); // Grow rarely
+    }
+
+    /**
+     * Computes Red's win rate after an opening, pooling the openings that are the same up to symmetry.
+     * @param cube The opening move in cube coordinates, {q, r}
+     * @return Red's share of the finished games that opened there or on a symmetric hex, or NaN if none
+     */
+    public double getRedWinRate(int[] cube) {
+        int opening = opening(cube); // Pooled class
+        return opening < 0 || openingGames[opening] == 0 ? Double.NaN
+                : (double) openingRedWins[opening] / openingGames[opening];
+    }
+
+    /**
+     * Retrieves the number of finished games that opened on a hex or a hex symmetric to it.
+     * @param cube The opening move in cube coordinates, {q, r}
+     * @return The game count
+     */
+    public long getOpeningGames(int[] cube) {
+        int opening = opening(cube); // Pooled class
+        return opening < 0 ? 0 : openingGames[opening];
+    }
+
+    /**
+     * Finds the opening class of a move.
+     * @param cube The move in cube coordinates, {q, r}
+     * @return The canonical cell, or -1 if the move is off the board
+     */
+    private int opening(int[] cube) {
+        int cell = grid.cellAt(cube[0] + grid.getRadius(), cube[1] + grid.getRadius()); // Dense index
+        return cell < 0 ? -1 : canonical(cell);
+    }
+
+    /**
+     * Retrieves how many capturing moves removed a number of stones.
+     * @param stones The number of stones captured
+     * @return The move count
+     */
+    public long getCaptureCount(int stones) {
+        return stones < captureSizes.length ? captureSizes[stones] : 0; // Look up the histogram
+    }
+
+    /**
+     * Retrieves how many turns contained a number of captures in a row, each earning an extra turn.
+     * @param captures The chain length
+     * @return The chain count
+     */
+    public long getChainCount(int captures) {
+        return captures < chainLengths.length ? chainLengths[captures] : 0; // Look up the histogram
+    }
+
+    /**
+     * Retrieves the average number of moves in the valid games.
+     * @return The average, or 0 without games
+     */
+    public double getAverageLength() {
+        long valid = games - invalid; // Games replayed in full
+        return valid == 0 ? 0 : (double) moves / valid;
+    }
+
+    /**
+     * Retrieves the average number of moves in the finished games.
+     * @return The average, or 0 without finished games
+     */
+    public double getAverageFinishedLength() {
+        return finished == 0 ? 0 : (double) finishedMoves / finished;
+    }
+
+    /**
+     * Retrieves the number of game files read, valid or not.
+     * @return The game count
+     */
+    public long getGames() {
+        return games; // Return the count
+    }
+
+    /**
+     * Retrieves the number of games with a winner.
+     * @return The game count
+     */
+    public long getFinished() {
+        return finished; // Return the count
+    }
+
+    /**
+     * Retrieves the number of games won by Red.
+     * @return The game count
+     */
+    public long getRedWins() {
+        return redWins; // Return the count
+    }
+
+    /**
+     * Retrieves the number of games with an illegal or malformed move.
+     * @return The game count
+     */
+    public long getInvalid() {
+        return invalid; // Return the count
+    }
+
+    /**
+     * Retrieves the number of files, and of directories whose listing failed, that could not be read.
+     * @return The file and directory count
+     */
+    public long getUnreadable() {
+        return unreadable; // Return the count
+    }
+
+    /**
+     * Retrieves the number of file batches whose counters were merged into these statistics, each replayed by
+     * its own task.
+     * @return The task count
+     */
+    public long getTaskCount() {
+        return tasks; // Return the count
+    }
+
+    /**
+     * Formats the statistics: totals and average lengths, Red's win rate after each opening class, most played
+     * first, and the capture-size and chain-length distributions.
+     * @return The report, one line per row
+     */
+    public String report() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d games (%d finished, %d invalid, %d unreadable): Red %d, Blue %d%n",
+                games, finished, invalid, unreadable, redWins, finished - redWins));
+        text.append(String.format("Average length: %.1f moves, %.1f in finished games%n",
+                getAverageLength(), getAverageFinishedLength()));
+        text.append("First move (with symmetric hexes): games, Red win rate").append(System.lineSeparator());
+        Integer[] openings = new Integer[openingGames.length]; // Cells by games played
+        for (int i = 0; i < openings.length; i++) {
+            openings[i] = i;
+        }
+        Arrays.sort(openings, (a, b) -> Long.compare(openingGames[b], openingGames[a])); // Most played first
+        for (int cell : openings) {
+            if (openingGames[cell] == 0) {
+                break; // Never played
+            }
+            text.append(String.format("  %3d %3d  %8d  %5.1f%%%n", grid.qIndex(cell) - grid.getRadius(),
+                    grid.rIndex(cell) - grid.getRadius(), openingGames[cell],
+                    100.0 * openingRedWins[cell] / openingGames[cell]));
+        }
+        histogram(text, "Stones captured per capture", captureSizes);
+        histogram(text, "Captures in a row (extra-turn chains)", chainLengths);
+        return text.toString(); // Return the report
+    }
+
+    /**
+     * Appends a histogram, one line per non-empty bin.
+     * @param text The report so far
+     * @param title The histogram title
+     * @param bins Counts by value
+     */
+    private static void histogram(StringBuilder text, String title, long[] bins) {
+        long total = 0; // Entries in all bins
+        for (long count : bins) {
+            total += count;
+        }
+        text.append(title).append(": ").append(total).append(System.lineSeparator());
+        for (int value = 0; value < bins.length; value++) {
+            if (bins[value] > 0) {
+                text.append(String.format("  %3d  %8d  %5.1f%%%n", value, bins[value], 100.0 * bins[value] / total));
+            }
+        }
+    }
+
+    /**
+     * Analyses an archive and prints the report.
+     * @param args The archive directory, then optionally the board radius (6 by default)
+     * @throws IOException if the directory cannot be walked
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ArchiveAnalytics <directory> [radius]");
+            System.exit(2);
+        }
+        HexGrid grid = args.length > 1 ? HexGrid.of(Integer.parseInt(args[1])) : HexGrid.STANDARD; // Layout
+        long start = System.nanoTime(); // Time the run
+        ArchiveAnalytics analytics = analyse(Path.of(args[0]), grid);
+        System.out.print(analytics.report());
+        System.out.printf("in %d ms, %d tasks%n", (System.nanoTime() - start) / 1_000_000, analytics.getTaskCount());
+    }
+}
@@ -0,0 +1,115 @@
+import java.io.IOException; // Thrown by file operations
+import java.nio.file.Files; // Used for deleting the save
+import java.nio.file.Path; // Locates the save file
+import java.util.concurrent.ExecutorService; // Runs the writes
+import java.util.concurrent.Executors; // Creates the writer thread
+import java.util.concurrent.TimeUnit; // Shutdown timeout
+import java.util.concurrent.atomic.AtomicReference; // Hands the latest save to the writer
+import java.util.function.BooleanSupplier; // Reads the win history
+
+/**
+ * Saves the game after every move on a background thread, so makeMove never waits for the disk.
+ * The move thread only encodes the 40-byte save; the writer thread replaces the file atomically.
+ * If moves arrive faster than the disk, intermediate saves are skipped and only the latest is written.
+ * A finished or restarted game deletes the save, so only an interrupted game is resumed.
+ */
+public class AutoSaver implements MoveListener, AutoCloseable {
+    private static final byte[] DELETE = new byte[0]; // Marker asking the writer to delete the save
+    private final Path file; // Save file
+    private final BooleanSupplier opponentHadStones; // Reads the win history after each move
+    private final AtomicReference<byte[]> pending = new AtomicReference<>(); // Latest unwritten save
+    private final ExecutorService writer; // Single daemon writer thread
+    private volatile boolean closed; // Set once close has been called
+
+    /**
+     * Constructs an AutoSaver.
+     * @param file The save file
+     * @param opponentHadStones Reads the opponent stone history after a move, e.g. gameManager::getOpponentHadStones
+     */
+    public AutoSaver(Path file, BooleanSupplier opponentHadStones) {
+        this.file = file; // Assign the file
+        this.opponentHadStones = opponentHadStones; // Assign the history source
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hexoust-autosave"); // Name the thread for profilers
+            thread.setDaemon(true); // Never keep the application alive
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a save of the position after the move, or a delete if the move ended the game.
+     * @param before The board before the move
+     * @param result The result of the move
+     */
+    @Override
+    public void onMove(BoardSnapshot before, MoveResult result) {
+        if (result.getWinner() != StoneColor.EMPTY) {
+            schedule(DELETE); // Nothing to resume after a finished game
+            return;
+        }
+        byte side = Player.nextPlayer(result.getPlayer(), result.isExtraTurn()); // Who moves next
+        SaveGame save = new SaveGame(before.apply(result), side, result.isExtraTurn(),
+                opponentHadStones.getAsBoolean()); // Position after the move
+        schedule(save.encode()); // Encode now, write later
+    }
+
+    /**
+     * Deletes the save when the game is restarted.
+     */
+    @Override
+    public void onReset() {
+        schedule(DELETE); // Nothing to resume after a restart
+    }
+
+    /**
+     * Deletes the save when a player's flag falls, because the game is over.
+     * @param side The player who ran out of time
+     */
+    @Override
+    public void onTimeout(byte side) {
+        schedule(DELETE); // Nothing to resume after a game lost on time
+    }
+
+    /**
+     * Writes any pending save and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        closed = true; // Ignore moves made while the application exits
+        writer.shutdown(); // Run the queued writes, then stop
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS); // Give the disk a moment
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve the interrupt
+        }
+    }
+
+    /**
+     * Hands a save to the writer, starting a write only if none is already waiting. Does nothing once closed.
+     * @param bytes The encoded save, or DELETE
+     */
+    private void schedule(byte[] bytes) {
+        if (closed) {
+            return; // The writer has stopped
+        }
+        if (pending.getAndSet(bytes) == null) { // The writer has taken everything before this
+            writer.execute(this::writeLatest);
+        }
+    }
+
+    /**
+     * Writes the most recent save, on the writer thread.
+     */
+    private void writeLatest() {
+        byte[] bytes = pending.getAndSet(null); // Take the latest save
+        try {
+            if (bytes == DELETE) {
+                Files.deleteIfExists(file); // Clear the save
+            } else if (bytes != null) {
+                SaveGame.write(file, bytes); // Replace the save atomically
+            }
+        } catch (IOException e) {
+            System.err.println("Autosave failed: " + e.getMessage()); // Keep playing without the save
+        }
+    }
+}
@@ -0,0 +1,636 @@
+import jdk.incubator.vector.LongVector; // Runs one bitboard step on several lanes per instruction
+import jdk.incubator.vector.VectorOperators; // Shift and reduction operators
+import jdk.incubator.vector.VectorSpecies; // Vector shape of the platform
+
+import java.util.Arrays; // Used for clearing arrays
+import java.util.SplittableRandom; // Picks the random moves
+
+/**
+ * Plays many independent random HexOust games in lockstep over bitboards, for statistical bots and datasets.
+ * Each lane is one game. Boards are kept as a struct of arrays: word w of every lane's board lies in one
+ * contiguous run of longs, so a bitboard step such as "grow every lane's group by one ring" applies the same shifts
+ * and masks to consecutive longs. Those steps run on the Vector API ({@code jdk.incubator.vector}), so each
+ * instruction advances as many lanes as the CPU's vectors hold (four with AVX2, eight with AVX-512); start the JVM
+ * with {@code --add-modules jdk.incubator.vector}.
+ * A move is drawn uniformly from the empty cells that may be legal: cells away from the mover's stones, which are
+ * always legal, and cells next to an opponent stone, which are legal if they capture. Both sets come from one
+ * neighbour step of each side's stones. Captures are checked with group flood fills, packed so that the lanes
+ * still drawing share each step; picking and applying the moves is cheap per-lane work. Bits are laid out on a
+ * padded grid, bit q * size + r, so the six neighbour directions are six fixed shifts. Moves are chosen uniformly
+ * among the legal moves, and the rules are exactly those of MovePipeline, including extra turns and the win history.
+ * Instances are not thread-safe; give each thread its own batch.
+ */
+public final class BatchPlayouts {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED; // Widest vectors available
+    private final HexGrid grid; // Cell layout of the board
+    private final int lanes; // Games played at once
+    private final int size; // Row length of the padded grid
+    private final int words; // Words per board
+    private final long[] board; // Bits of the playable cells, per padded word; words 0 and words + 1 are zero
+    private final long[] notFirstColumn; // Board bits except r == 0, per padded word
+    private final long[] notLastColumn; // Board bits except r == size - 1, per padded word
+    private final int[][] neighbourBits; // Bits adjacent to each bit of a playable cell
+    private final long[] own; // Stones of each lane's side to move; word w of lane l at (w + 1) * lanes + l
+    private final long[] opp; // Stones of each lane's other side
+    private final long[] candidates; // Empty cells not yet tried this ply
+    private final long[] fill; // Flood fill being grown
+    private final long[] spare; // Next step of the flood fill
+    private final long[] region; // Cells the flood fill may enter
+    private final long[] captured; // Stones captured by each lane's chosen move
+    private final long[] adjacent; // Opponent stones next to each lane's chosen cell not yet grouped
+    private final boolean[] redToMove; // Color of each lane's own stones
+    private final boolean[] opponentHadStones; // Win history of each lane
+    private final boolean[] active; // Lanes still playing
+    private final byte[] winner; // Winner of each lane, or StoneColor.EMPTY
+    private final boolean[] stalled; // Lanes that ended with no legal move
+    private final int[] plies; // Moves played in each lane
+    private final int[] chosen; // Bit chosen by each lane this ply, or -1
+    private final int[] groupSize; // Size of the group each lane's chosen stone joins
+    private final int[] checking; // Lanes whose chosen cell touches their own stones, packed
+    private final long[] everywhere; // Every bit set, the region of an unbounded spread
+    private int[][] moves; // Dense cells played in each lane, for replay and datasets
+    private final SplittableRandom random; // Move source
+    private long floodSteps; // Lockstep flood fill iterations run, for profiling
+
+    /**
+     * Constructs a BatchPlayouts with every lane on an empty board, Red to move.
+     * @param grid The cell layout of the board
+     * @param lanes The number of games to play at once
+     * @param seed The seed of the move source
+     * @throws IllegalArgumentException if the radius is outside 1 to 31 or lanes is not positive
+     */
+    public BatchPlayouts(HexGrid grid, int lanes, long seed) {
+        if (grid.getRadius() < 1 || grid.getSize() >= 64) throw new IllegalArgumentException("Radius must be 1 to 31");
+        if (lanes < 1) throw new IllegalArgumentException("Need at least one lane");
+        this.grid = grid; // Assign the layout
+        this.lanes = lanes;
+        this.size = grid.getSize();
+        this.words = (size * size + 63) >>> 6; // Padded grid bits
+        this.board = new long[words + 2]; // Zero words at both ends
+        this.notFirstColumn = new long[words + 2];
+        this.notLastColumn = new long[words + 2];
+        this.neighbourBits = new int[size * size][];
+        for (int cell = 0; cell < grid.getCellCount(); cell++) {
+            int bit = bitOf(cell); // Padded position
+            board[1 + (bit >>> 6)] |= 1L << bit;
+            if (grid.rIndex(cell) != 0) notFirstColumn[1 + (bit >>> 6)] |= 1L << bit;
+            if (grid.rIndex(cell) != size - 1) notLastColumn[1 + (bit >>> 6)] |= 1L << bit;
+            int[] adjacentCells = grid.neighbours(cell);
+            neighbourBits[bit] = new int[adjacentCells.length];
+            for (int i = 0; i < adjacentCells.length; i++) {
+                neighbourBits[bit][i] = bitOf(adjacentCells[i]); // Neighbour's padded position
+            }
+        }
+        int length = (words + 2) * lanes; // Every lane's words, with a zero word at both ends
+        this.own = new long[length];
+        this.opp = new long[length];
+        this.candidates = new long[length];
+        this.fill = new long[length];
+        this.spare = new long[length];
+        this.region = new long[length];
+        this.captured = new long[length];
+        this.adjacent = new long[length];
+        this.redToMove = new boolean[lanes];
+        this.opponentHadStones = new boolean[lanes];
+        this.active = new boolean[lanes];
+        this.winner = new byte[lanes];
+        this.stalled = new boolean[lanes];
+        this.plies = new int[lanes];
+        this.chosen = new int[lanes];
+        this.groupSize = new int[lanes];
+        this.checking = new int[lanes];
+        this.everywhere = new long[length];
+        Arrays.fill(everywhere, -1L);
+        this.moves = new int[lanes][0];
+        this.random = new SplittableRandom(seed);
+        reset(); // Empty boards
+    }
+
+    /**
+     * Puts every lane back on an empty board with Red to move.
+     */
+    public void reset() {
+        Arrays.fill(own, 0); // No stones
+        Arrays.fill(opp, 0);
+        Arrays.fill(redToMove, true); // Red starts
+        Arrays.fill(opponentHadStones, false);
+        Arrays.fill(active, true);
+        Arrays.fill(winner, StoneColor.EMPTY);
+        Arrays.fill(stalled, false);
+        Arrays.fill(plies, 0);
+    }
+
+    /**
+     * Starts one lane from a position, for example to sample playouts below a bot's candidate move.
+     * @param lane The lane
+     * @param state The position; left unchanged
+     */
+    public void load(int lane, GameState state) {
+        byte[][] hexStatus = state.getHexStatus(); // Board to copy
+        boolean red = state.getSideToMove() == StoneColor.RED;
+        for (int w = 1; w <= words; w++) {
+            own[w * lanes + lane] = 0; // Clear the lane
+            opp[w * lanes + lane] = 0;
+        }
+        for (int cell = 0; cell < grid.getCellCount(); cell++) {
+            byte stone = hexStatus[grid.qIndex(cell)][grid.rIndex(cell)];
+            if (stone != StoneColor.EMPTY) {
+                int bit = bitOf(cell);
+                long[] side = (stone == StoneColor.RED) == red ? own : opp; // Relative to the side to move
+                side[(1 + (bit >>> 6)) * lanes + lane] |= 1L << bit;
+            }
+        }
+        redToMove[lane] = red;
+        opponentHadStones[lane] = state.getOpponentHadStones();
+        winner[lane] = state.getWinner();
+        active[lane] = winner[lane] == StoneColor.EMPTY; // Finished games stay finished
+        stalled[lane] = false;
+        plies[lane] = 0;
+    }
+
+    /**
+     * Plays every active lane until it is won, has no legal move, or has played maxPlies moves.
+     * @param maxPlies The most moves to play in each lane
+     */
+    public void run(int maxPlies) {
+        moves = new int[lanes][maxPlies]; // Moves of this run
+        Arrays.fill(plies, 0);
+        boolean any = true;
+        for (int ply = 0; ply < maxPlies && any; ply++) {
+            step(); // One move in every active lane
+            any = false;
+            for (int lane = 0; lane < lanes; lane++) {
+                any |= active[lane]; // Stop once every lane is over
+            }
+        }
+    }
+
+    /**
+     * Plays one random legal move in every active lane.
+     */
+    private void step() {
+        spread(own, fill, everywhere, lanes); // Own stones and their neighbours
+        spread(opp, spare, everywhere, lanes); // Opponent stones and their neighbours
+        for (int w = 1; w <= words; w++) { // Empty cells that are free, or next to a stone they might capture
+            long mask = board[w];
+            int base = w * lanes;
+            int full = base + SPECIES.loopBound(lanes); // End of the full vectors
+            int i = base;
+            for (; i < full; i += SPECIES.length()) {
+                LongVector stones = LongVector.fromArray(SPECIES, own, i).or(LongVector.fromArray(SPECIES, opp, i));
+                LongVector open = LongVector.fromArray(SPECIES, fill, i).not()
+                        .or(LongVector.fromArray(SPECIES, spare, i));
+                stones.not().and(open).and(mask).intoArray(candidates, i);
+            }
+            for (; i < base + lanes; i++) { // Lanes left over, one at a time
+                candidates[i] = mask & ~(own[i] | opp[i]) & (~fill[i] | spare[i]);
+            }
+        }
+        Arrays.fill(captured, 0); // Nothing captured yet
+        boolean pending = false; // Some lane still needs a move
+        for (int lane = 0; lane < lanes; lane++) {
+            chosen[lane] = -1;
+            pending |= active[lane];
+        }
+        while (pending) {
+            int checks = 0; // Lanes that picked a cell that must capture
+            for (int lane = 0; lane < lanes; lane++) {
+                if (!active[lane] || chosen[lane] >= 0) {
+                    continue; // Done or finished
+                }
+                int bit = pickCandidate(lane); // Uniform among cells not yet tried
+                if (bit < 0) {
+                    active[lane] = false; // No legal move: the game stalls
+                    stalled[lane] = true;
+                    continue;
+                }
+                chosen[lane] = bit;
+                if (touchesOwn(lane, bit)) {
+                    checking[checks++] = lane; // Legal only if it captures
+                }
+            }
+            if (checks > 0) {
+                resolveCaptures(checks); // Group sizes for every checking lane at once
+            }
+            pending = false;
+            for (int j = 0; j < checks; j++) {
+                int lane = checking[j];
+                if (!capturedAny(lane)) {
+                    chosen[lane] = -1; // Captures nothing: try another cell
+                    pending = true;
+                }
+            }
+        }
+        for (int lane = 0; lane < lanes; lane++) {
+            if (chosen[lane] >= 0) {
+                apply(lane, chosen[lane]); // Place, capture, check the win, pass the turn
+            }
+        }
+    }
+
+    /**
+     * Draws a random cell from a lane's untried candidates and removes it from them.
+     * @param lane The lane
+     * @return The bit of the cell, or -1 if no candidates remain
+     */
+    private int pickCandidate(int lane) {
+        int count = 0; // Candidates left
+        for (int w = 1; w <= words; w++) {
+            count += Long.bitCount(candidates[w * lanes + lane]);
+        }
+        if (count == 0) {
+            return -1; // Every candidate has been tried
+        }
+        int k = random.nextInt(count); // Index of the chosen candidate
+        for (int w = 1; w <= words; w++) {
+            int i = w * lanes + lane;
+            long bits = candidates[i];
+            int inWord = Long.bitCount(bits);
+            if (k < inWord) {
+                for (; k > 0; k--) {
+                    bits &= bits - 1; // Drop the lowest candidates
+                }
+                long lowest = bits & -bits;
+                candidates[i] &= ~lowest; // Never try it again this ply
+                return (w - 1) * 64 + Long.numberOfTrailingZeros(lowest);
+            }
+            k -= inWord;
+        }
+        throw new IllegalStateException("Candidate count changed"); // Unreachable
+    }
+
+    /**
+     * Checks whether a cell is next to one of the lane's own stones.
+     * @param lane The lane
+     * @param bit The cell's bit
+     * @return True if the placement must capture to be legal
+     */
+    private boolean touchesOwn(int lane, int bit) {
+        for (int neighbour : neighbourBits[bit]) {
+            if ((own[(1 + (neighbour >>> 6)) * lanes + lane] & 1L << neighbour) != 0) {
+                return true; // Own stone adjacent
+            }
+        }
+        return false; // Only empty cells and opponent stones around
+    }
+
+    /**
+     * Finds, for every lane listed in checking, the opponent groups its chosen stone captures: every adjacent
+     * opponent group smaller than the group the stone joins. The checking lanes are first packed side by side,
+     * so each flood fill grows just those lanes, all together.
+     * @param checks The number of lanes listed in checking
+     */
+    private void resolveCaptures(int checks) {
+        int length = (words + 2) * checks; // Packed arrays, with a zero word at both ends
+        Arrays.fill(fill, 0, length, 0);
+        Arrays.fill(adjacent, 0, length, 0);
+        for (int j = 0; j < checks; j++) { // Seed each lane's chosen stone and note the opponent stones it touches
+            int lane = checking[j];
+            int bit = chosen[lane];
+            for (int w = 1; w <= words; w++) {
+                region[w * checks + j] = own[w * lanes + lane]; // Own stones...
+            }
+            fill[(1 + (bit >>> 6)) * checks + j] = 1L << bit;
+            region[(1 + (bit >>> 6)) * checks + j] |= 1L << bit; // ...plus the placed one
+            for (int neighbour : neighbourBits[bit]) {
+                int w = 1 + (neighbour >>> 6);
+                adjacent[w * checks + j] |= opp[w * lanes + lane] & 1L << neighbour;
+            }
+        }
+        long[] group = flood(checks); // The group each chosen stone joins
+        for (int j = 0; j < checks; j++) {
+            groupSize[j] = count(group, j, checks);
+        }
+        for (int j = 0; j < checks; j++) { // Opponent groups stay within opponent stones
+            int lane = checking[j];
+            for (int w = 1; w <= words; w++) {
+                region[w * checks + j] = opp[w * lanes + lane];
+            }
+        }
+        while (true) {
+            boolean seeded = false;
+            Arrays.fill(fill, 0, length, 0);
+            for (int j = 0; j < checks; j++) {
+                for (int w = 1; w <= words; w++) { // Lowest opponent stone not yet grouped
+                    int i = w * checks + j;
+                    if (adjacent[i] != 0) {
+                        fill[i] = adjacent[i] & -adjacent[i];
+                        seeded = true;
+                        break;
+                    }
+                }
+            }
+            if (!seeded) {
+                return; // Every adjacent group handled
+            }
+            group = flood(checks); // One adjacent opponent group per lane
+            for (int j = 0; j < checks; j++) {
+                int stones = count(group, j, checks);
+                if (stones == 0) {
+                    continue; // Nothing left next to this lane's stone
+                }
+                boolean captures = stones < groupSize[j]; // Smaller groups are captured
+                int lane = checking[j];
+                for (int w = 1; w <= words; w++) {
+                    int i = w * checks + j;
+                    adjacent[i] &= ~group[i]; // Grouped
+                    if (captures) {
+                        captured[w * lanes + lane] |= group[i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Grows the seeds in fill, within region, until no lane's fill changes.
+     * @param stride The number of lanes packed in fill and region
+     * @return The array holding the filled groups, which is fill or spare
+     */
+    private long[] flood(int stride) {
+        long[] current = fill; // Read this step
+        long[] next = spare; // Written this step
+        Arrays.fill(next, 0, stride, 0); // Zero words below and above the board
+        Arrays.fill(next, (words + 1) * stride, (words + 2) * stride, 0);
+        boolean changed;
+        do {
+            floodSteps++;
+            changed = spread(current, next, region, stride); // One ring further
+            long[] swap = current; // The new step is read next
+            current = next;
+            next = swap;
+        } while (changed);
+        return current; // Return the filled groups
+    }
+
+    /**
+     * Adds to every lane's cells their six neighbours, within a region and the board. For each word the inner
+     * loop runs over the lanes a vector at a time, applying the same shifts and lane-invariant masks to every
+     * lane of the vector.
+     * @param source The cells, with zero words below and above the board
+     * @param target Receives the cells and their neighbours inside the region; words below and above untouched
+     * @param region The cells that may be added
+     * @param stride The number of lanes in each word's run
+     * @return True if any lane gained a cell
+     */
+    private boolean spread(long[] source, long[] target, long[] region, int stride) {
+        int up = size; // Shift to q + 1
+        int diagonal = size - 1; // Shift to q + 1, r - 1
+        LongVector changed = LongVector.zero(SPECIES); // Bits gained, per vector lane
+        long changedTail = 0; // Bits gained in lanes past the last full vector
+        for (int w = 1; w <= words; w++) {
+            long mask = board[w]; // Lane-invariant masks of this word and its neighbours
+            long first = notFirstColumn[w], firstBelow = notFirstColumn[w - 1], firstAbove = notFirstColumn[w + 1];
+            long last = notLastColumn[w], lastBelow = notLastColumn[w - 1], lastAbove = notLastColumn[w + 1];
+            int base = w * stride;
+            int full = base + SPECIES.loopBound(stride); // End of the full vectors
+            int i = base;
+            for (; i < full; i += SPECIES.length()) {
+                LongVector x = LongVector.fromArray(SPECIES, source, i);
+                LongVector below = LongVector.fromArray(SPECIES, source, i - stride);
+                LongVector above = LongVector.fromArray(SPECIES, source, i + stride);
+                LongVector xLast = x.and(last), xFirst = x.and(first);
+                LongVector grown = x
+                        .or(xLast.lanewise(VectorOperators.LSHL, 1))
+                        .or(below.and(lastBelow).lanewise(VectorOperators.LSHR, 63)) // r + 1
+                        .or(xFirst.lanewise(VectorOperators.LSHR, 1))
+                        .or(above.and(firstAbove).lanewise(VectorOperators.LSHL, 63)) // r - 1
+                        .or(x.lanewise(VectorOperators.LSHL, up))
+                        .or(below.lanewise(VectorOperators.LSHR, 64 - up)) // q + 1
+                        .or(x.lanewise(VectorOperators.LSHR, up))
+                        .or(above.lanewise(VectorOperators.LSHL, 64 - up)) // q - 1
+                        .or(xFirst.lanewise(VectorOperators.LSHL, diagonal))
+                        .or(below.and(firstBelow).lanewise(VectorOperators.LSHR, 64 - diagonal)) // q + 1, r - 1
+                        .or(xLast.lanewise(VectorOperators.LSHR, diagonal))
+                        .or(above.and(lastAbove).lanewise(VectorOperators.LSHL, 64 - diagonal)) // q - 1, r + 1
+                        .and(LongVector.fromArray(SPECIES, region, i).and(mask)); // Board and region only
+                changed = changed.or(grown.lanewise(VectorOperators.XOR, x));
+                grown.intoArray(target, i);
+            }
+            for (; i < base + stride; i++) { // Lanes left over, one at a time
+                long x = source[i], below = source[i - stride], above = source[i + stride];
+                long grown = x
+                        | (x & last) << 1 | (below & lastBelow) >>> 63 // r + 1
+                        | (x & first) >>> 1 | (above & firstAbove) << 63 // r - 1
+                        | x << up | below >>> (64 - up) // q + 1
+                        | x >>> up | above << (64 - up) // q - 1
+                        | (x & first) << diagonal | (below & firstBelow) >>> (64 - diagonal) // q + 1, r - 1
+                        | (x & last) >>> diagonal | (above & lastAbove) << (64 - diagonal); // q - 1, r + 1
+                grown &= mask & region[i]; // Stay on the board and inside the region
+                changedTail |= grown ^ x;
+                target[i] = grown;
+            }
+        }
+        return (changed.reduceLanes(VectorOperators.OR) | changedTail) != 0; // Report growth
+    }
+
+    /**
+     * Counts the bits of one lane in a lane array.
+     * @param bits The lane array
+     * @param lane The lane's index in the array
+     * @param stride The number of lanes in the array
+     * @return The number of set bits
+     */
+    private int count(long[] bits, int lane, int stride) {
+        int total = 0;
+        for (int w = 1; w <= words; w++) {
+            total += Long.bitCount(bits[w * stride + lane]); // Sum the words
+        }
+        return total; // Return the count
+    }
+
+    /**
+     * Checks whether a lane's chosen move captures anything.
+     * @param lane The lane
+     * @return True if any opponent stone is captured
+     */
+    private boolean capturedAny(int lane) {
+        for (int w = 1; w <= words; w++) {
+            if (captured[w * lanes + lane] != 0) {
+                return true; // Found a captured stone
+            }
+        }
+        return false; // Nothing captured
+    }
+
+    /**
+     * Applies a lane's chosen move: places the stone, removes the captured stones, checks the win exactly as
+     * MovePipeline does, and passes the turn unless the move captured.
+     * @param lane The lane
+     * @param bit The placed cell's bit
+     */
+    private void apply(int lane, int bit) {
+        own[(1 + (bit >>> 6)) * lanes + lane] |= 1L << bit; // Place the stone
+        boolean capturing = false;
+        boolean opponentNowHasStones = false;
+        for (int w = 1; w <= words; w++) {
+            int i = w * lanes + lane;
+            capturing |= captured[i] != 0;
+            opp[i] &= ~captured[i]; // Remove captured stones
+            opponentNowHasStones |= opp[i] != 0;
+        }
+        moves[lane][plies[lane]++] = cellOf(bit); // Record the move
+        if (opponentNowHasStones) {
+            opponentHadStones[lane] = true; // Update the win history
+        } else if (opponentHadStones[lane]) {
+            winner[lane] = redToMove[lane] ? StoneColor.RED : StoneColor.BLUE; // Opponent wiped out
+            active[lane] = false;
+            return;
+        }
+        if (!capturing) { // Captures grant an extra turn
+            for (int w = 1; w <= words; w++) {
+                int i = w * lanes + lane;
+                long swap = own[i]; // Own stones become the other side's
+                own[i] = opp[i];
+                opp[i] = swap;
+            }
+            redToMove[lane] = !redToMove[lane];
+        }
+    }
+
+    /**
+     * Converts a dense cell index to its padded bit.
+     * @param cell The cell
+     * @return The bit, q * size + r
+     */
+    private int bitOf(int cell) {
+        return grid.qIndex(cell) * size + grid.rIndex(cell); // Padded position
+    }
+
+    /**
+     * Converts a padded bit to its dense cell index.
+     * @param bit The bit
+     * @return The cell
+     */
+    private int cellOf(int bit) {
+        return grid.cellAt(bit / size, bit % size); // Dense index
+    }
+
+    /**
+     * Retrieves a lane's winner.
+     * @param lane The lane
+     * @return StoneColor.RED or StoneColor.BLUE, or StoneColor.EMPTY if the game stalled or was cut off
+     */
+    public byte getWinner(int lane) {
+        return winner[lane]; // Return the winner
+    }
+
+    /**
+     * Checks whether a lane ended because its side to move had no legal move.
+     * @param lane The lane
+     * @return True if the game stalled
+     */
+    public boolean isStalled(int lane) {
+        return stalled[lane]; // Return the flag
+    }
+
+    /**
+     * Retrieves the number of moves a lane played in the last run.
+     * @param lane The lane
+     * @return The move count
+     */
+    public int getPlies(int lane) {
+        return plies[lane]; // Return the count
+    }
+
+    /**
+     * Retrieves the moves a lane played in the last run, as dense cell indices.
+     * @param lane The lane
+     * @return A copy of the moves, in order
+     */
+    public int[] getMoves(int lane) {
+        return Arrays.copyOf(moves[lane], plies[lane]); // Copy the played part
+    }
+
+    /**
+     * Retrieves a lane's board.
+     * @param lane The lane
+     * @return The board
+     */
+    public BoardSnapshot getBoard(int lane) {
+        byte[][] hexStatus = new byte[size][size]; // Empty board
+        byte ownColor = redToMove[lane] ? StoneColor.RED : StoneColor.BLUE;
+        for (int cell = 0; cell < grid.getCellCount(); cell++) {
+            int bit = bitOf(cell);
+            int i = (1 + (bit >>> 6)) * lanes + lane;
+            if ((own[i] & 1L << bit) != 0) {
+                hexStatus[grid.qIndex(cell)][grid.rIndex(cell)] = ownColor; // Side to move's stone
+            } else if ((opp[i] & 1L << bit) != 0) {
+                hexStatus[grid.qIndex(cell)][grid.rIndex(cell)] = StoneColor.opponent(ownColor); // Other stone
+            }
+        }
+        return BoardSnapshot.of(grid, hexStatus); // Return the board
+    }
+
+    /**
+     * Retrieves a lane's side to move.
+     * @param lane The lane
+     * @return StoneColor.RED or StoneColor.BLUE
+     */
+    public byte getSideToMove(int lane) {
+        return redToMove[lane] ? StoneColor.RED : StoneColor.BLUE; // Decode the side
+    }
+
+    /**
+     * Counts the lanes won by a player, or unfinished with StoneColor.EMPTY.
+     * @param player StoneColor.RED, StoneColor.BLUE or StoneColor.EMPTY
+     * @return The lane count
+     */
+    public int count(byte player) {
+        int total = 0;
+        for (byte w : winner) {
+            if (w == player) total++; // Matching result
+        }
+        return total; // Return the count
+    }
+
+    /**
+     * Retrieves the number of lanes.
+     * @return The lane count
+     */
+    public int getLanes() {
+        return lanes; // Return the count
+    }
+
+    /**
+     * Retrieves the lockstep flood fill iterations run so far, each covering every lane.
+     * @return The iteration count
+     */
+    public long getFloodSteps() {
+        return floodSteps; // Return the count
+    }
+
+    /**
+     * Plays random games from the empty board and reports the results and the playout rate.
+     * @param args The radius, the number of games, and optionally the lanes per batch (default 64)
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchPlayouts <radius> <games> [lanes]");
+            System.exit(2);
+        }
+        HexGrid grid = HexGrid.of(Integer.parseInt(args[0]));
+        int games = Integer.parseInt(args[1]);
+        int lanes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        BatchPlayouts batch = new BatchPlayouts(grid, lanes, System.nanoTime()); // Fresh games each run
+        int red = 0, blue = 0, stalls = 0, cut = 0; // Results so far
+        long totalPlies = 0;
+        long start = System.nanoTime(); // Time the playouts
+        for (int played = 0; played < games; played += lanes) {
+            batch.reset(); // New games in every lane
+            batch.run(4 * grid.getCellCount()); // Long enough for almost every game to end
+            for (int lane = 0; lane < Math.min(lanes, games - played); lane++) {
+                byte result = batch.getWinner(lane);
+                if (result == StoneColor.RED) red++;
+                else if (result == StoneColor.BLUE) blue++;
+                else if (batch.isStalled(lane)) stalls++;
+                else cut++;
+                totalPlies += batch.getPlies(lane);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games: Red %d, Blue %d, stalled %d, unfinished %d; %.1f plies per game%n",
+                games, red, blue, stalls, cut, (double) totalPlies / games);
+        System.out.printf("%.0f games/s, %.0f plies/s%n", games / seconds, totalPlies / seconds);
+    }
+}
@@ -0,0 +1,203 @@
+import java.io.IOException; // Thrown by file operations
+import java.io.UncheckedIOException; // Reports unreadable directories
+import java.nio.file.Files; // Used for reading scripts
+import java.nio.file.Path; // Locates scripts
+import java.util.ArrayList; // Used for the file list
+import java.util.List; // Used for script lines and reports
+import java.util.stream.Stream; // Lists directory contents
+
+/**
+ * Runs scripted games without JavaFX. Each script file holds one move per line as cube coordinates "q r"
+ * (or "q,r", or "q r s"); blank lines and lines starting with '#' are ignored. Every move goes through GameState,
+ * so the full rules apply, and each move is reported as legal or illegal with its captures, followed by the result.
+ * Files are played in parallel and reported in the order given.
+ * Usage: {@code Main --batch [--quiet] [--radius=N] <file or directory>...}
+ */
+public class BatchRunner {
+
+    /**
+     * The outcome of one script.
+     */
+    static final class Report {
+        final String name; // Script name
+        final StringBuilder text = new StringBuilder(); // Printed report
+        int moves; // Lines played
+        int illegal; // Moves rejected
+        int captures; // Stones captured
+        byte winner = StoneColor.EMPTY; // Winner, or EMPTY if unfinished
+        boolean failed; // True if the script could not be read
+
+        /**
+         * Constructs an empty report.
+         * @param name The script name
+         */
+        Report(String name) {
+            this.name = name; // Assign the name
+        }
+    }
+
+    /**
+     * Runs the scripts named on the command line and prints their reports and a summary.
+     * @param args Optional --quiet and --radius=N, then script files or directories of scripts
+     */
+    public static void main(String[] args) {
+        boolean verbose = true; // Print every move unless --quiet
+        HexGrid grid = HexGrid.STANDARD; // Standard board unless --radius=N
+        List<Path> files = new ArrayList<>(); // Scripts to run
+        for (String arg : args) { // Loops through arguments
+            if (arg.equals("--quiet")) {
+                verbose = false; // Results only
+            } else if (arg.startsWith("--radius=")) {
+                grid = HexGrid.of(HexGrid.parseRadius(arg.substring("--radius=".length()))); // Board the scripts use
+            } else if (!arg.equals("--batch")) {
+                addScripts(Path.of(arg), files); // File or directory
+            }
+        }
+        long start = System.nanoTime(); // Time the run
+        boolean printMoves = verbose; // Effectively final copies for the stream
+        HexGrid layout = grid;
+        List<Report> reports = files.parallelStream().map(file -> run(file, layout, printMoves)).toList(); // In parallel
+        long millis = (System.nanoTime() - start) / 1_000_000; // Elapsed time
+        int moves = 0, illegal = 0, redWins = 0, blueWins = 0, failed = 0; // Totals
+        for (Report report : reports) { // Print in input order
+            System.out.print(report.text);
+            moves += report.moves;
+            illegal += report.illegal;
+            redWins += report.winner == StoneColor.RED ? 1 : 0;
+            blueWins += report.winner == StoneColor.BLUE ? 1 : 0;
+            failed += report.failed ? 1 : 0;
+        }
+        System.out.printf("%d games, %d moves (%d illegal): Red %d, Blue %d, unfinished %d, unreadable %d in %d ms%n",
+                reports.size(), moves, illegal, redWins, blueWins,
+                reports.size() - redWins - blueWins - failed, failed, millis);
+        if (failed > 0) {
+            System.exit(1); // Signal unreadable scripts to the calling script
+        }
+    }
+
+    /**
+     * Reads and plays one script file on the standard board.
+     * @param file The script
+     * @param verbose True to report every move, false for the result only
+     * @return The report
+     */
+    static Report run(Path file, boolean verbose) {
+        return run(file, HexGrid.STANDARD, verbose); // Standard board
+    }
+
+    /**
+     * Reads and plays one script file.
+     * @param file The script
+     * @param grid The board the script is played on
+     * @param verbose True to report every move, false for the result only
+     * @return The report
+     */
+    static Report run(Path file, HexGrid grid, boolean verbose) {
+        try {
+            return run(file.toString(), Files.readAllLines(file), grid, verbose); // Play the lines
+        } catch (IOException e) {
+            Report report = new Report(file.toString()); // Report the failure
+            report.failed = true;
+            report.text.append(file).append(": unreadable: ").append(e.getMessage()).append('\n');
+            return report;
+        }
+    }
+
+    /**
+     * Plays the lines of one script on a fresh game on the standard board.
+     * @param name The script name used in the report
+     * @param lines The script lines
+     * @param verbose True to report every move, false for the result only
+     * @return The report
+     */
+    static Report run(String name, List<String> lines, boolean verbose) {
+        return run(name, lines, HexGrid.STANDARD, verbose); // Standard board
+    }
+
+    /**
+     * Plays the lines of one script on a fresh game.
+     * @param name The script name used in the report
+     * @param lines The script lines
+     * @param grid The board the script is played on
+     * @param verbose True to report every move, false for the result only
+     * @return The report
+     */
+    static Report run(String name, List<String> lines, HexGrid grid, boolean verbose) {
+        Report report = new Report(name); // Collect the output
+        GameState state = new GameState(grid); // Fresh game, Red to move
+        int radius = grid.getRadius(); // Cube to board index offset
+        report.text.append(name).append('\n');
+        for (int i = 0; i < lines.size(); i++) { // Loops through lines
+            String line = lines.get(i).strip(); // Ignore surrounding space
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue; // Blank line or comment
+            }
+            report.moves++; // Count the move
+            byte mover = state.getSideToMove(); // Side making this move
+            int[] cube = parse(line); // Cube coordinates, or null
+            MoveResult result = cube == null ? null : state.play(cube[0] + radius, cube[1] + radius); // Apply rules
+            if (result == null) {
+                report.illegal++; // Rejected or malformed
+            } else {
+                report.captures += result.getCapturedStones().size(); // Count captures
+            }
+            if (verbose) {
+                report.text.append(String.format("  %4d: %-8s %-4s ", i + 1, line, StoneColor.name(mover)));
+                if (cube == null) {
+                    report.text.append("malformed");
+                } else if (result == null) {
+                    report.text.append(state.getWinner() != StoneColor.EMPTY ? "illegal (game over)" : "illegal");
+                } else if (result.isExtraTurn()) {
+                    report.text.append("captured ").append(result.getCapturedStones().size());
+                } else {
+                    report.text.append("ok");
+                }
+                report.text.append('\n');
+            }
+        }
+        report.winner = state.getWinner(); // Record the result
+        report.text.append("  result: ").append(report.winner != StoneColor.EMPTY
+                ? StoneColor.name(report.winner) + " wins"
+                : "unfinished, " + StoneColor.name(state.getSideToMove()) + " to move").append('\n');
+        return report; // Return the report
+    }
+
+    /**
+     * Parses a move line.
+     * @param line "q r", "q,r" or "q r s"
+     * @return The cube q and r, or null if the line is not a valid coordinate
+     */
+    static int[] parse(String line) {
+        String[] parts = line.split("[\\s,]+"); // Split on spaces or commas
+        if (parts.length != 2 && parts.length != 3) {
+            return null; // Wrong number of coordinates
+        }
+        try {
+            int q = Integer.parseInt(parts[0]); // Parse q
+            int r = Integer.parseInt(parts[1]); // Parse r
+            if (parts.length == 3 && q + r + Integer.parseInt(parts[2]) != 0) {
+                return null; // Not a cube coordinate
+            }
+            return new int[]{q, r}; // Return the move
+        } catch (NumberFormatException e) {
+            return null; // Not a number
+        }
+    }
+
+    /**
+     * Adds a script file, or every regular file in a directory in name order.
+     * @param path A file or directory
+     * @param files The list to add to
+     */
+    private static void addScripts(Path path, List<Path> files) {
+        if (!Files.isDirectory(path)) {
+            files.add(path); // Single script, read errors are reported later
+            return;
+        }
+        try (Stream<Path> entries = Files.list(path)) {
+            entries.filter(Files::isRegularFile).sorted().forEach(files::add); // Scripts in name order
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list " + path, e);
+        }
+    }
+}
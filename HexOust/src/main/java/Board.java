@@ -1,7 +1,6 @@
 import javafx.scene.canvas.GraphicsContext; // Used for drawing on canvas
 import javafx.scene.paint.Color; // Defines colors for hexagons
 import java.util.Arrays; // Used for array operations
-import java.util.List; // Used for lists of coordinates
 import java.awt.*; // Used for Point class
 import java.util.ArrayList; // Used for dynamic lists
 
@@ -10,15 +9,23 @@ import java.util.ArrayList; // Used for dynamic lists
  * The board uses a hexagonal grid with cube coordinates (q, r, s) and handles interactions with the UI.
  */
 public class Board {
-    private static final int BASE = 6; // Defines the grid radius (base-7 grid, so 13x13 array)
-    private static final double HEX_SIZE = 30; // Size of each hexagon in pixels
+    private static final int BASE = 6; // Default grid radius (base-7 grid, so 13x13 array)
+    private static final double HEX_SIZE = 30; // Size of each hexagon in pixels on the default grid
     private static final double CENTER_X = 410; // Board center x-coordinate
     private static final double CENTER_Y = 345; // Board center y-coordinate
+    private static final Color[] CANDIDATE_COLORS = {Color.GOLD, Color.ORANGE, Color.DARKORANGE, Color.PERU}; // By rank
+    private static final String[] CANDIDATE_LABELS = {"1", "2", "3", "4", "5", "6", "7", "8", "9"}; // Rank numbers
     private final Renderer renderer; // Updates UI
     private final Player player; // Manages turns
-    private final String[][] hexStatus; // 2D array to track hex occupancy (Red, Blue, or null)
-    private final MoveValidator moveValidator; // Validates moves
-    private final CaptureHandler captureHandler; // Handles capturing opponent stones
+    private final int base; // Grid radius of this board
+    private final HexGrid grid; // Cell layout of this board
+    private final double hexSize; // Size of each hexagon in pixels, so every radius fills the same area
+    private final byte[][] hexStatus; // 2D array to track hex occupancy (StoneColor.RED, BLUE, or EMPTY)
+    private BoardSnapshot snapshot; // Immutable copy of the stones
+    private RenderScheduler renderScheduler; // Coalesces drawing into pulses, or null to draw immediately
+    private final HitTestMap hitTestMap = new HitTestMap(); // Cell under each canvas pixel
+    private int hoveredCell = -1; // Cell highlighted as a legal move under the mouse, or -1
+    private AnalysisOverlay analysisOverlay; // Candidate moves drawn over the board, or null
 
     /**
      * Constructs a new Board instance with the given dependencies.
@@ -27,11 +34,27 @@ public class Board {
      * @param gameManager The game manager for coordinating game logic
      */
     public Board(Renderer renderer, Player player, GameManager gameManager) {
+        this(renderer, player, gameManager, BASE); // Standard radius
+    }
+
+    /**
+     * Constructs a new Board instance with a custom grid radius, for example a small board for tutorials.
+     * @param renderer The renderer for updating the UI
+     * @param player The player manager for tracking turns
+     * @param gameManager The game manager for coordinating game logic
+     * @param radius The grid radius (6 for the standard board)
+     * @throws IllegalArgumentException if the radius is not from 1 to HexGrid.MAX_RADIUS
+     */
+    public Board(Renderer renderer, Player player, GameManager gameManager, int radius) {
+        if (radius < 1 || radius > HexGrid.MAX_RADIUS) { // At least one ring, and cell indices that fit a short
+            throw new IllegalArgumentException("Radius must be 1 to " + HexGrid.MAX_RADIUS);
+        }
         this.renderer = renderer; // Assigns renderer
         this.player = player; // Assigns player
-        this.captureHandler = new CaptureHandler(this); // Initializes capture handler
-        this.moveValidator = new MoveValidator(captureHandler); // Initializes move validator
-        this.hexStatus = new String[2 * BASE + 1][2 * BASE + 1]; // Creates 13x13 array
+        this.base = radius; // Assigns the grid radius
+        this.grid = HexGrid.of(radius); // Cell layout for the radius
+        this.hexSize = HEX_SIZE * BASE / Math.max(radius, 2); // Scale hexes to keep the board size
+        this.hexStatus = new byte[2 * base + 1][2 * base + 1]; // Creates the (2 * radius + 1) square array
         resetBoard(); // Ensures initial state is cleared
     }
 
@@ -40,6 +63,10 @@ public class Board {
      * @param gc The graphics context used to draw the grid
      */
     public void render(GraphicsContext gc) {
+        if (renderScheduler != null) { // Draw on the next pulse instead
+            renderScheduler.requestFullRedraw();
+            return;
+        }
         ArrayList<ArrayList<Point>> hexagons = generateHexagons(); // Generates hexagon corners
         drawHexagons(gc, hexagons); // Draws hexagons
     }
@@ -48,39 +75,16 @@ public class Board {
 
 
     /**
-     * Removes captured stones from the board and updates the UI.
-     * @param capturedStones List of coordinates of stones to remove
-     * @param gc The graphics context for redrawing the hexes
-     */
-    public void removeStones(List<int[]> capturedStones, GraphicsContext gc) {
-        for (int[] hex : capturedStones) { // Iterate over captured stones
-            hexStatus[hex[0]][hex[1]] = null; // Clear the stone from the board
-            HexCube hexCube = createHexCubeFromIndices(hex[0], hex[1]); // Convert indices to hex
-            ArrayList<Point> corners = HexCube.polygonCorners(hexCube, CENTER_X, CENTER_Y, HEX_SIZE); // Gets corners
-            drawHexagon(gc, corners, Color.LIGHTGRAY); // Redraws as empty
-        }
-    }
-    /**
-     * Places a stone at the clicked position if the move is valid.
-     * @param gc The graphics context for drawing the stone
-     * @param x The x-coordinate of the click in pixels
-     * @param y The y-coordinate of the click in pixels
-     * @param currentPlayer The player making the move ("Red" or "Blue")
-     * @return True if the stone was placed successfully, false otherwise
+     * Records a move the MovePipeline has applied to the board state, and draws it.
+     * @param result The result of the move
+     * @param gc The graphics context for drawing
      */
-    public boolean fillHex(GraphicsContext gc, double x, double y, String currentPlayer) {
-        HexCube clickedHex = pixelToHex(x, y); // Convert pixel coordinates to hex coordinates
-        if (!isWithinBounds(clickedHex)) { // Check if the hex is within the grid
-            return false; // Exits if out of bounds
-        }
-        System.out.println("Clicked at: (" + x + ", " + y + "), Hex: (q=" + clickedHex.q + ", r=" + clickedHex.r + ")"); // Logs click
-        if (!moveValidator.isValidMove(clickedHex.q, clickedHex.r, hexStatus, currentPlayer)) { // Validates move
-            System.out.println("Invalid move!"); // Logs invalid move
-            return false; // Return false if the move is not allowed
+    public void commitMove(MoveResult result, GraphicsContext gc) {
+        snapshot = snapshot.apply(result); // Record the move, sharing unchanged words
+        redrawCell(gc, result.getQ(), result.getR()); // Draws the stone
+        for (int[] captured : result.getCapturedStones()) { // Redraws captured hexes as empty
+            redrawCell(gc, captured[0], captured[1]);
         }
-        placeStone(clickedHex, currentPlayer, gc); // Places stone
-        boolean captureOccurred = handleCapture(clickedHex, currentPlayer, gc);// Check for captures
-        return true; // Return true if stone is placed successfully
     }
 
     /**
@@ -101,12 +105,12 @@ public class Board {
      */
     private ArrayList<ArrayList<Point>> generateHexagons() {
         ArrayList<ArrayList<Point>> hexagons = new ArrayList<>(); // Stores hexagon corners
-        for (int q = -BASE; q <= BASE; q++) { // Loops through q coordinates
-            for (int r = -BASE; r <= BASE; r++) { // Loops through r coordinates
+        for (int q = -base; q <= base; q++) { // Loops through q coordinates
+            for (int r = -base; r <= base; r++) { // Loops through r coordinates
                 int s = -q - r; // Calculates s
-                if (Math.abs(s) <= BASE) { // Checks valid hex
+                if (Math.abs(s) <= base) { // Checks valid hex
                     HexCube hex = new HexCube(q, r, s); // Creates hex
-                    ArrayList<Point> corners = HexCube.polygonCorners(hex, CENTER_X, CENTER_Y, HEX_SIZE); // Gets corners
+                    ArrayList<Point> corners = HexCube.polygonCorners(hex, CENTER_X, CENTER_Y, hexSize); // Gets corners
                     hexagons.add(corners); // Adds corners
                 }
             }
@@ -119,39 +123,7 @@ public class Board {
      * @return True if the hex is within bounds, false otherwise
      */
     boolean isWithinBounds(HexCube hex) {
-        return Math.abs(hex.q) <= BASE && Math.abs(hex.r) <= BASE && Math.abs(hex.s) <= BASE; // Returns true if in bounds
-    }
-
-    /**
-     * Places a stone on the board and updates the UI.
-     * @param hex The hex where the stone is placed
-     * @param currentPlayer The player placing the stone ("Red" or "Blue")
-     * @param gc The graphics context for drawing the stone
-     */
-    private void placeStone(HexCube hex, String currentPlayer, GraphicsContext gc) {
-        hexStatus[(int) hex.q + BASE][(int) hex.r + BASE] = currentPlayer; // Update the board state
-        ArrayList<Point> corners = HexCube.polygonCorners(hex, CENTER_X, CENTER_Y, HEX_SIZE); // Get pixel corners of the hex
-        // Draw the stone in the player's color (Red or Blue)
-        drawHexagon(gc, corners, currentPlayer.equals("Red") ? Color.RED : Color.BLUE);
-    }
-
-    /**
-     * Handles capturing opponent stones after a move.
-     * @param hex The hex where the stone was placed
-     * @param currentPlayer The player who made the move
-     * @param gc The graphics context for updating the UI
-     * @return True if a capture occurred, false otherwise
-     */
-    private boolean handleCapture(HexCube hex, String currentPlayer, GraphicsContext gc) {
-        // Check if the move results in capturing opponent stones
-        boolean captureOccurred = captureHandler.checkAndCapture(
-                hex.q, hex.r, hexStatus, currentPlayer, gc); // Checks for captures
-        if (captureOccurred) { // If capture occurred
-            System.out.println(currentPlayer + " captured pieces!"); // Log the capture
-            updateBoardUI(gc); // Redraw the board to reflect the capture
-            Player.grantExtraTurn(); // Grants extra turn
-        }
-        return captureOccurred; // Returns capture status
+        return Math.abs(hex.q) <= base && Math.abs(hex.r) <= base && Math.abs(hex.s) <= base; // Returns true if in bounds
     }
 
     /**
@@ -177,9 +149,10 @@ public class Board {
      * Resets the board by clearing all stones.
      */
     public void resetBoard() {
-        for (String[] status : hexStatus) { // Loops through rows
-            Arrays.fill(status, null); // Clears row
+        for (byte[] status : hexStatus) { // Loops through rows
+            Arrays.fill(status, StoneColor.EMPTY); // Clears row
         }
+        snapshot = BoardSnapshot.empty(grid); // Start a fresh snapshot history
     }
 
 
@@ -192,39 +165,168 @@ public class Board {
      * @return A HexCube representing the corresponding hex
      */
     private HexCube createHexCubeFromIndices(int qIndex, int rIndex) {
-        int q = qIndex - BASE; // Converts to q
-        int r = rIndex - BASE; // Converts to r
+        int q = qIndex - base; // Converts to q
+        int r = rIndex - base; // Converts to r
         return new HexCube(q, r, -q - r); // Create and return the hex
     }
 
     /**
-     * Updates the board's UI by redrawing empty hexes.
-     * @param gc The graphics context for redrawing
+     * Redraws a single hex in its current state, now or on the next pulse if a RenderScheduler is attached.
+     * @param gc The graphics context for drawing
+     * @param q The q-index of the hex
+     * @param r The r-index of the hex
      */
-    void updateBoardUI(GraphicsContext gc) {
-        for (int qIndex = 0; qIndex < hexStatus.length; qIndex++) { // Loops through q indices
-            for (int rIndex = 0; rIndex < hexStatus[qIndex].length; rIndex++) { // Loops through r indices
-                HexCube hex = createHexCubeFromIndices(qIndex, rIndex); // Creates hex
-                if (!isWithinBounds(hex)) { // Skips out-of-bounds
-                    continue; // Continues loop
-                }
-                if (hexStatus[qIndex][rIndex] == null) { // Checks if empty
-                    removeStoneFromBoard(gc, qIndex, rIndex); // Redraws as empty
-                }
-            }
+    private void redrawCell(GraphicsContext gc, int q, int r) {
+        if (renderScheduler != null) {
+            renderScheduler.markDirty(q, r); // Coalesce into the next pulse
+        } else {
+            drawCell(gc, q, r); // Draw immediately
+        }
+    }
+
+    /**
+     * Draws a single hex in its current state: red, blue, or light gray if empty.
+     * @param gc The graphics context for drawing
+     * @param q The q-index of the hex
+     * @param r The r-index of the hex
+     */
+    private void drawCell(GraphicsContext gc, int q, int r) {
+        CanvasRedrawEvent event = new CanvasRedrawEvent(); // Free unless a recording enables it
+        event.begin();
+        paintCell(gc, q, r); // Draw the hex
+        if (event.shouldCommit()) {
+            event.cells = 1; // One hex
+            event.commit(); // Record the redraw
         }
     }
 
     /**
-     * Redraws a single hex as empty (light gray).
+     * Draws a single hex in its current state without recording an event, for use inside larger redraws and
+     * RenderScheduler flushes.
      * @param gc The graphics context for drawing
      * @param q The q-index of the hex
      * @param r The r-index of the hex
      */
-    private void removeStoneFromBoard(GraphicsContext gc, int q, int r) {
+    private void paintCell(GraphicsContext gc, int q, int r) {
         HexCube hex = createHexCubeFromIndices(q, r); // Creates hex
-        ArrayList<Point> corners = HexCube.polygonCorners(hex, CENTER_X, CENTER_Y, HEX_SIZE); // Gets corners
-        drawHexagon(gc, corners, Color.LIGHTGRAY); // Redraw the hex in light gray
+        ArrayList<Point> corners = HexCube.polygonCorners(hex, CENTER_X, CENTER_Y, hexSize); // Gets corners
+        byte stone = hexStatus[q][r]; // Current occupant
+        Color empty = grid.cellAt(q, r) == hoveredCell ? Color.LIGHTGREEN : Color.LIGHTGRAY; // Hover
+        drawHexagon(gc, corners, stone == StoneColor.EMPTY ? empty : stone == StoneColor.RED ? Color.RED : Color.BLUE);
+        int rank = analysisOverlay == null ? -1 : analysisOverlay.rankOf(grid.cellAt(q, r)); // Candidate?
+        if (rank >= 0 && stone == StoneColor.EMPTY) {
+            drawCandidate(gc, hex, rank); // Mark the candidate move
+        }
+    }
+
+    /**
+     * Marks an empty hex as an analysis candidate: a ring in the rank's color around the rank number.
+     * @param gc The graphics context for drawing
+     * @param hex The hex to mark
+     * @param rank The candidate's rank, 0 for the best move
+     */
+    private void drawCandidate(GraphicsContext gc, HexCube hex, int rank) {
+        double x = CENTER_X + hexSize * (3.0 / 2 * hex.q); // Hex center, as in polygonCorners
+        double y = CENTER_Y + hexSize * Math.sqrt(3) * (hex.r + hex.q / 2.0);
+        double radius = hexSize * 0.6; // Ring inside the hex
+        gc.setStroke(CANDIDATE_COLORS[Math.min(rank, CANDIDATE_COLORS.length - 1)]); // Color by rank
+        gc.setLineWidth(4);
+        gc.strokeOval(x - radius, y - radius, 2 * radius, 2 * radius); // Draw the ring
+        gc.setLineWidth(1); // Restore the outline width
+        if (rank < CANDIDATE_LABELS.length) {
+            gc.setFill(Color.BLACK);
+            gc.fillText(CANDIDATE_LABELS[rank], x - 3, y + 4); // Rank number at the center
+        }
+    }
+
+    /**
+     * Draws every hex in its current state.
+     * @param gc The graphics context for drawing
+     */
+    private void drawAllCells(GraphicsContext gc) {
+        CanvasRedrawEvent event = new CanvasRedrawEvent(); // Free unless a recording enables it
+        event.begin();
+        paintAllCells(gc); // Draw the board
+        if (event.shouldCommit()) {
+            event.cells = grid.getCellCount(); // Every hex
+            event.fullRedraw = true;
+            event.commit(); // Record the redraw
+        }
+    }
+
+    /**
+     * Draws every hex in its current state without recording an event, for use inside a RenderScheduler flush.
+     * @param gc The graphics context for drawing
+     */
+    private void paintAllCells(GraphicsContext gc) {
+        for (int q = 0; q < hexStatus.length; q++) { // Loops through q indices
+            for (int r = 0; r < hexStatus[q].length; r++) { // Loops through r indices
+                if (isWithinBounds(createHexCubeFromIndices(q, r))) {
+                    paintCell(gc, q, r); // Draw the hex in its current state
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces every stone with those of a snapshot, for example when resuming a saved game, and redraws the board.
+     * @param position The stones to load
+     * @param gc The graphics context for drawing
+     */
+    public void loadSnapshot(BoardSnapshot position, GraphicsContext gc) {
+        for (int q = 0; q < hexStatus.length; q++) { // Loops through q indices
+            for (int r = 0; r < hexStatus[q].length; r++) { // Loops through r indices
+                hexStatus[q][r] = position.get(q, r); // Copy the cell
+            }
+        }
+        snapshot = position; // Snapshots are immutable, so it can be shared
+        if (renderScheduler != null) {
+            renderScheduler.requestFullRedraw(); // Draw on the next pulse
+        } else {
+            drawAllCells(gc); // Draw immediately
+        }
+    }
+
+    /**
+     * Routes all further drawing through a new RenderScheduler, which flushes once per pulse after it is started.
+     * @param gc The graphics context the scheduler draws to
+     * @return The scheduler, not yet started
+     */
+    public RenderScheduler attachRenderScheduler(GraphicsContext gc) {
+        renderScheduler = new RenderScheduler(new RenderScheduler.Painter() {
+            @Override
+            public void paintAll() {
+                paintAllCells(gc); // Draw every hex; the scheduler records the flush
+            }
+
+            @Override
+            public void paintCell(int boardQ, int boardR) {
+                Board.this.paintCell(gc, boardQ, boardR); // Draw the hex; the scheduler records the flush
+            }
+        }, grid);
+        return renderScheduler; // Let the caller start it
+    }
+
+    /**
+     * Creates an overlay that draws the candidate moves of an analysis search over the board.
+     * @param gc The graphics context the overlay draws to
+     * @param candidates The number of best moves to show
+     * @param intervalMillis The minimum time between overlay refreshes, in milliseconds
+     * @return The overlay, not yet started
+     */
+    public AnalysisOverlay attachAnalysisOverlay(GraphicsContext gc, int candidates, long intervalMillis) {
+        analysisOverlay = new AnalysisOverlay(new AnalysisOverlay.View() {
+            @Override
+            public void redrawCell(int cell) {
+                Board.this.redrawCell(gc, grid.qIndex(cell), grid.rIndex(cell)); // Redraw
+            }
+
+            @Override
+            public void showSummary(int depth, int bestScore) {
+                renderer.showAnalysis(player.getCurrentPlayer(), depth, bestScore); // Update the turn text
+            }
+        }, candidates, intervalMillis);
+        return analysisOverlay; // Let the caller start it
     }
 
     /**
@@ -279,10 +381,27 @@ public class Board {
      * Retrieves the current state of the board.
      * @return A 2D array representing the board's hex status
      */
-    public String[][] getHexStatus() {
+    public byte[][] getHexStatus() {
         return hexStatus; // Returns board state
     }
 
+    /**
+     * Retrieves an immutable snapshot of the stones in O(1).
+     * Moves made through the MovePipeline, loadSnapshot and resetBoard are reflected;
+     * writes made directly to the array returned by getHexStatus are not until syncSnapshot is called.
+     * @return The current snapshot
+     */
+    public BoardSnapshot snapshot() {
+        return snapshot; // Snapshots are immutable, so no copy is needed
+    }
+
+    /**
+     * Rebuilds the snapshot from the board array after stones were written into it directly.
+     */
+    public void syncSnapshot() {
+        snapshot = BoardSnapshot.of(grid, hexStatus); // Copy the edited stones
+    }
+
     /**
      * Converts pixel coordinates to hex coordinates.
      * @param x The x-coordinate in pixels
@@ -290,19 +409,160 @@ public class Board {
      * @return A HexCube representing the nearest hex
      */
     HexCube pixelToHex(double x, double y) {
+        long hex = locate(x, y); // Nearest hex, packed
+        int q = packedQ(hex); // Unpacks q
+        int r = packedR(hex); // Unpacks r
+        return new HexCube(q, r, -q - r); // Returns the hex
+    }
+
+    /**
+     * Finds the dense cell index of a hex, for comparing pixelToHex with cellAt.
+     * @param hex The hex, in cube coordinates
+     * @return The dense cell index, or -1 if the hex is off the board
+     */
+    int cellOf(HexCube hex) {
+        if (!isWithinBounds(hex)) {
+            return -1; // Off the board
+        }
+        return grid.cellAt((int) hex.q + base, (int) hex.r + base); // Dense index
+    }
+
+    /**
+     * Retrieves the cell layout of this board.
+     * @return The grid
+     */
+    public HexGrid getGrid() {
+        return grid; // Return the layout
+    }
+
+    /**
+     * Finds the cell under a canvas point, using the hit-test raster when it covers the point and the pixel lies
+     * wholly within one cell. Points on pixels crossed by a cell edge are located exactly.
+     * @param x The x-coordinate in pixels
+     * @param y The y-coordinate in pixels
+     * @return The dense cell index, or -1 if the point is off the board
+     */
+    public int cellAt(double x, double y) {
+        if (hitTestMap.covers(x, y)) {
+            int cell = hitTestMap.cellAt(x, y); // Single array read
+            if (cell != HitTestMap.UNRESOLVED) {
+                return cell; // The whole pixel is one cell
+            }
+        }
+        return locateCell(x, y); // Outside the raster or on an edge, compute directly
+    }
+
+    /**
+     * Rebuilds the hit-test raster for the canvas size. Call on startup and whenever the canvas is resized.
+     * @param width The canvas width in pixels
+     * @param height The canvas height in pixels
+     */
+    public void resizeHitTest(double width, double height) {
+        hitTestMap.rebuild((int) Math.ceil(width), (int) Math.ceil(height), this::locateCorner); // Refill the raster
+    }
+
+    /**
+     * Highlights an empty hex as a legal move under the mouse, clearing any previous highlight.
+     * @param gc The graphics context for drawing
+     * @param cell The dense cell index to highlight, or -1 for none
+     */
+    public void setHoveredCell(GraphicsContext gc, int cell) {
+        if (cell == hoveredCell) {
+            return; // Nothing changed
+        }
+        int previous = hoveredCell; // Cell losing the highlight
+        hoveredCell = cell; // Record the new highlight
+        if (previous >= 0) {
+            redrawCell(gc, grid.qIndex(previous), grid.rIndex(previous)); // Unhighlight
+        }
+        if (cell >= 0) {
+            redrawCell(gc, grid.qIndex(cell), grid.rIndex(cell)); // Highlight
+        }
+    }
+
+    /**
+     * Computes the cell under a point with the same rounding as pixelToHex, on the unrounded coordinates.
+     * Uses primitive arithmetic only, so hit tests on cell edges allocate nothing.
+     * @param x The x-coordinate in pixels
+     * @param y The y-coordinate in pixels
+     * @return The dense cell index, or -1 if the point is off the board
+     */
+    int locateCell(double x, double y) {
+        long hex = locate(x, y); // Nearest hex, packed
+        int q = packedQ(hex); // Unpacks q
+        int r = packedR(hex); // Unpacks r
+        if (ring(q, r) > base) {
+            return -1; // Off the board
+        }
+        return grid.cellAt(q + base, r + base); // Dense index
+    }
+
+    /**
+     * Computes the cell under a pixel corner for the hit-test raster. Points in the ring of hexes just outside the
+     * board are reported separately, since a pixel there may still overlap a corner of an outer cell.
+     * @param x The x-coordinate in pixels
+     * @param y The y-coordinate in pixels
+     * @return The dense cell index, HitTestMap.UNRESOLVED next to the board, or -1 further out
+     */
+    private int locateCorner(double x, double y) {
+        long hex = locate(x, y); // Nearest hex, packed
+        int q = packedQ(hex); // Unpacks q
+        int r = packedR(hex); // Unpacks r
+        int distance = ring(q, r); // Rings out from the center
+        if (distance <= base) {
+            return grid.cellAt(q + base, r + base); // On the board
+        }
+        return distance == base + 1 ? HitTestMap.UNRESOLVED : -1; // Adjacent ring, or clear of the board
+    }
+
+    /**
+     * Converts pixel coordinates to the nearest hex without allocating.
+     * @param x The x-coordinate in pixels
+     * @param y The y-coordinate in pixels
+     * @return The rounded hex, packed as by hexRound
+     */
+    private long locate(double x, double y) {
         // Calculate q and r using pixel-to-hex conversion formulas
-        double q = (2.0 / 3 * (x - CENTER_X)) / HEX_SIZE;
-        double r = (-1.0 / 3 * (x - CENTER_X) + Math.sqrt(3) / 3 * (y - CENTER_Y)) / HEX_SIZE; // Calculates r
+        double q = (2.0 / 3 * (x - CENTER_X)) / hexSize;
+        double r = (-1.0 / 3 * (x - CENTER_X) + Math.sqrt(3) / 3 * (y - CENTER_Y)) / hexSize; // Calculates r
         return hexRound(q, r); // Rounds to nearest hex
     }
 
+    /**
+     * Computes how many rings out from the center a hex lies.
+     * @param q The q-coordinate
+     * @param r The r-coordinate
+     * @return The largest of |q|, |r| and |s|
+     */
+    private static int ring(int q, int r) {
+        return Math.max(Math.abs(q), Math.max(Math.abs(r), Math.abs(q + r))); // s is -q - r
+    }
+
+    /**
+     * Unpacks the q-coordinate of a hex packed by hexRound.
+     * @param hex The packed hex
+     * @return The q-coordinate
+     */
+    private static int packedQ(long hex) {
+        return (int) (hex >> 32); // High half
+    }
+
+    /**
+     * Unpacks the r-coordinate of a hex packed by hexRound.
+     * @param hex The packed hex
+     * @return The r-coordinate
+     */
+    private static int packedR(long hex) {
+        return (int) hex; // Low half
+    }
+
     /**
      * Rounds floating-point hex coordinates to the nearest integer hex.
      * @param q The floating-point q-coordinate
      * @param r The floating-point r-coordinate
-     * @return A HexCube with rounded integer coordinates
+     * @return The rounded q-coordinate in the high 32 bits and the rounded r-coordinate in the low 32 bits
      */
-    private HexCube hexRound(double q, double r) {
+    private static long hexRound(double q, double r) {
         double s = -q - r; // Calculates s
         int intQ = (int) Math.round(q); // Rounds q
         int intR = (int) Math.round(r); // Rounds r
@@ -319,6 +579,6 @@ public class Board {
         } else if (rDiff > sDiff) { // Checks r error
             intR = -intQ - intS; // Adjusts r
         }
-        return new HexCube(intQ, intR, -intQ - intR); // Returns rounded hex
+        return (long) intQ << 32 | (intR & 0xFFFFFFFFL); // Returns rounded hex
     }
 }
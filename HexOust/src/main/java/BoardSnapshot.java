@@ -0,0 +1,215 @@
+import java.util.Arrays; // Used for copying and comparing words
+import java.util.List; // Used for lists of coordinates
+
+/**
+ * An immutable view of the stones on a HexOust board, packed one bit per cell and color.
+ * Snapshots are persistent: applying a move returns a new snapshot that copies only the words of the
+ * colors the move changed and shares the rest with its parent. Board hands out its current snapshot in O(1),
+ * so undo history, spectators, analysis threads and bots can hold many positions cheaply and read them
+ * from any thread.
+ */
+public final class BoardSnapshot {
+    private final HexGrid grid; // Cell layout the bits refer to
+    private final long[] red; // Red stones, never modified after construction
+    private final long[] blue; // Blue stones, never modified after construction
+
+    /**
+     * Constructs a snapshot from words owned by the snapshot.
+     * @param grid The cell layout
+     * @param red Red's words
+     * @param blue Blue's words
+     */
+    private BoardSnapshot(HexGrid grid, long[] red, long[] blue) {
+        this.grid = grid; // Assign the layout
+        this.red = red; // Take ownership of Red's words
+        this.blue = blue; // Take ownership of Blue's words
+    }
+
+    /**
+     * Creates a snapshot of an empty board.
+     * @param grid The cell layout
+     * @return The empty snapshot
+     */
+    public static BoardSnapshot empty(HexGrid grid) {
+        return new BoardSnapshot(grid, new long[grid.words()], new long[grid.words()]); // No stones
+    }
+
+    /**
+     * Creates a snapshot by reading every cell of a board array.
+     * @param grid The cell layout
+     * @param hexStatus The board state to capture
+     * @return The snapshot
+     */
+    public static BoardSnapshot of(HexGrid grid, byte[][] hexStatus) {
+        long[] packed = grid.pack(hexStatus); // Red words then Blue words
+        int words = grid.words(); // Words per color
+        return new BoardSnapshot(grid, Arrays.copyOfRange(packed, 0, words), Arrays.copyOfRange(packed, words, 2 * words));
+    }
+
+    /**
+     * Creates a snapshot from a packed board as produced by {@link #pack()} or {@link HexGrid#pack(byte[][])}.
+     * @param grid The cell layout
+     * @param packed Red's words followed by Blue's words
+     * @return The snapshot
+     */
+    public static BoardSnapshot fromPacked(HexGrid grid, long[] packed) {
+        int words = grid.words(); // Words per color
+        return new BoardSnapshot(grid, Arrays.copyOfRange(packed, 0, words), Arrays.copyOfRange(packed, words, 2 * words));
+    }
+
+    /**
+     * Returns the snapshot after a move, sharing the words of any color the move left untouched.
+     * @param result The move to apply
+     * @return The new snapshot
+     */
+    public BoardSnapshot apply(MoveResult result) {
+        boolean redMoved = result.getPlayer() == StoneColor.RED; // Which color placed the stone
+        long[] mover = (redMoved ? red : blue).clone(); // The mover's words always change
+        int placed = grid.cellAt(result.getQ(), result.getR()); // Dense index of the placed stone
+        mover[placed >>> 6] |= 1L << placed; // Add the stone
+        long[] opponent = redMoved ? blue : red; // Shared unless stones were captured
+        if (!result.getCapturedStones().isEmpty()) {
+            opponent = clear(opponent, result.getCapturedStones()); // Copy and remove captured stones
+        }
+        return redMoved ? new BoardSnapshot(grid, mover, opponent) : new BoardSnapshot(grid, opponent, mover);
+    }
+
+    /**
+     * Returns the snapshot with a stone added, sharing the other color's words.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @param player The stone's owner (StoneColor.RED or StoneColor.BLUE)
+     * @return The new snapshot
+     */
+    public BoardSnapshot with(int boardQ, int boardR, byte player) {
+        int cell = grid.cellAt(boardQ, boardR); // Dense index of the hex
+        boolean isRed = player == StoneColor.RED; // Which color gains the stone
+        long[] words = (isRed ? red : blue).clone(); // Copy only that color
+        words[cell >>> 6] |= 1L << cell; // Add the stone
+        long[] other = isRed ? blue : red; // Shared unless it held this hex
+        if (isStone(other, cell)) { // Replacing an opposing stone
+            other = other.clone(); // Copy the other color too
+            other[cell >>> 6] &= ~(1L << cell); // Remove the replaced stone
+        }
+        return isRed ? new BoardSnapshot(grid, words, other) : new BoardSnapshot(grid, other, words);
+    }
+
+    /**
+     * Returns the snapshot with the given hexes emptied, copying only colors that lose stones.
+     * @param hexes The coordinates of hexes to empty
+     * @return The new snapshot
+     */
+    public BoardSnapshot without(List<int[]> hexes) {
+        return new BoardSnapshot(grid, clear(red, hexes), clear(blue, hexes)); // Copy-on-write per color
+    }
+
+    /**
+     * Retrieves the stone at a hex.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @return StoneColor.RED, StoneColor.BLUE, or StoneColor.EMPTY if the hex is empty
+     */
+    public byte get(int boardQ, int boardR) {
+        int cell = grid.cellAt(boardQ, boardR); // Dense index of the hex
+        if (cell < 0) {
+            return StoneColor.EMPTY; // Off the board
+        }
+        return isStone(red, cell) ? StoneColor.RED : isStone(blue, cell) ? StoneColor.BLUE : StoneColor.EMPTY;
+    }
+
+    /**
+     * Counts a player's stones.
+     * @param player The player to count (StoneColor.RED or StoneColor.BLUE)
+     * @return The number of stones
+     */
+    public int count(byte player) {
+        int count = 0; // Running total
+        for (long word : player == StoneColor.RED ? red : blue) { // Loops through words
+            count += Long.bitCount(word); // Count set bits
+        }
+        return count; // Return the total
+    }
+
+    /**
+     * Retrieves the cell layout.
+     * @return The grid the snapshot refers to
+     */
+    public HexGrid getGrid() {
+        return grid; // Return the layout
+    }
+
+    /**
+     * Packs the snapshot into a new array: Red's words followed by Blue's words.
+     * @return The packed board
+     */
+    public long[] pack() {
+        long[] packed = Arrays.copyOf(red, red.length + blue.length); // Red words first
+        System.arraycopy(blue, 0, packed, red.length, blue.length); // Blue words after
+        return packed; // Return the packed board
+    }
+
+    /**
+     * Expands the snapshot into a new board array.
+     * @return A new hexStatus array holding the same stones
+     */
+    public byte[][] toHexStatus() {
+        return grid.unpack(pack()); // Unpack through the layout
+    }
+
+    /**
+     * Compares snapshots by their stones.
+     * @param other The object to compare with
+     * @return True if both snapshots hold the same stones on the same layout
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true; // Same instance
+        }
+        if (!(other instanceof BoardSnapshot)) {
+            return false; // Different type
+        }
+        BoardSnapshot that = (BoardSnapshot) other; // Cast once
+        return grid.getRadius() == that.grid.getRadius() // Same layout, even from different HexGrid instances
+                && Arrays.equals(red, that.red) && Arrays.equals(blue, that.blue);
+    }
+
+    /**
+     * Hashes the snapshot's stones.
+     * @return The hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(red) + Arrays.hashCode(blue); // Combine both colors
+    }
+
+    /**
+     * Checks whether a cell's bit is set in a word array.
+     * @param words The color's words
+     * @param cell The dense cell index
+     * @return True if the bit is set, false otherwise
+     */
+    private static boolean isStone(long[] words, int cell) {
+        return (words[cell >>> 6] & (1L << cell)) != 0; // Test the bit
+    }
+
+    /**
+     * Clears hexes from a color's words, copying the words only if a stone is actually removed.
+     * @param words The color's words
+     * @param hexes The coordinates of hexes to clear
+     * @return The original array if nothing changed, otherwise a modified copy
+     */
+    private long[] clear(long[] words, List<int[]> hexes) {
+        long[] result = words; // Shared until a stone is removed
+        for (int[] hex : hexes) { // Loops through hexes
+            int cell = grid.cellAt(hex[0], hex[1]); // Dense index of the hex
+            if (isStone(result, cell)) {
+                if (result == words) {
+                    result = words.clone(); // Copy on first write
+                }
+                result[cell >>> 6] &= ~(1L << cell); // Remove the stone
+            }
+        }
+        return result; // Return the words
+    }
+}
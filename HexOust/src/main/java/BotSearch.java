@@ -0,0 +1,336 @@
+import java.util.Arrays; // Used for rotating root moves
+
+/**
+ * Chooses a move for a computer player with iterative-deepening alpha-beta search over GameState.
+ * A search is cancellable from any thread and checks its time limit as it goes, always keeping the best move
+ * of the last fully searched depth. Captures keep the turn, so a child position is only negated
+ * when the side to move actually changes. In multi-PV mode the root keeps the best few moves with exact scores
+ * instead of only the best one, in preallocated arrays that are reported after every iteration.
+ * Searches made by a LazySmp share its transposition table: positions reached again, by this thread or any
+ * other, reuse the stored bound and best move, and helper threads search alongside the main search.
+ */
+public class BotSearch {
+    static final int WIN_SCORE = 1_000_000; // Score of a won position, less the plies needed to win
+    private static final int WIN_BOUND = WIN_SCORE - 10_000; // Scores beyond this are wins at a known distance
+    private static final int CHECK_INTERVAL = 64; // Nodes between time checks
+    private final int maxDepth; // Deepest iteration to run
+    private final long timeLimitNanos; // Time allowed for the whole search
+    private final int[] pvCells; // Best root moves of the last iteration, best first
+    private final int[] pvScores; // Scores of those moves
+    private final LazySmp smp; // Shares the table and helper threads, or null
+    private final TranspositionTable table; // Shared transposition table, or null
+    private final int helperIndex; // 0 for a main search, otherwise this helper's number
+    private int pvCount; // Number of root moves ranked so far in the current iteration
+    private volatile boolean cancelled; // Set from another thread to stop the search
+    private volatile long deadline; // System.nanoTime value at which to stop, moved by restartClock
+    private long nodes; // Positions visited
+    private boolean aborted; // True once the current iteration has been abandoned
+
+    /**
+     * Constructs a search with the given limits.
+     * @param maxDepth The deepest iteration to run
+     * @param timeLimitMillis The time allowed for the whole search, in milliseconds
+     */
+    public BotSearch(int maxDepth, long timeLimitMillis) {
+        this(maxDepth, timeLimitMillis, 1); // Best move only
+    }
+
+    /**
+     * Constructs a search that ranks several root moves.
+     * @param maxDepth The deepest iteration to run
+     * @param timeLimitMillis The time allowed for the whole search, in milliseconds
+     * @param multiPv The number of best root moves to score exactly
+     */
+    public BotSearch(int maxDepth, long timeLimitMillis, int multiPv) {
+        this(maxDepth, timeLimitMillis, multiPv, null, 0); // No table
+    }
+
+    /**
+     * Constructs a search that shares a LazySmp's table, as created by LazySmp.
+     * @param maxDepth The deepest iteration to run
+     * @param timeLimitMillis The time allowed for the whole search, in milliseconds
+     * @param multiPv The number of best root moves to score exactly
+     * @param smp The LazySmp, or null for a search on its own
+     * @param helperIndex 0 for a main search, otherwise the helper's number
+     */
+    BotSearch(int maxDepth, long timeLimitMillis, int multiPv, LazySmp smp, int helperIndex) {
+        this.maxDepth = maxDepth; // Assign the depth limit
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L; // Convert to nanoseconds
+        this.pvCells = new int[multiPv]; // Room for the ranked moves
+        this.pvScores = new int[multiPv];
+        this.smp = smp; // Assign the shared parts
+        this.table = smp == null ? null : smp.getTable();
+        this.helperIndex = helperIndex;
+    }
+
+    /**
+     * Searches a position and returns the best move found.
+     * @param root The position to search; left unchanged
+     * @param listener Told about each completed iteration, on the searching thread; may be null
+     * @return The dense cell index of the best move, or -1 if there is no legal move
+     */
+    public int search(GameState root, SearchListener listener) {
+        deadline = System.nanoTime() + timeLimitNanos; // Start the clock
+        nodes = 0; // Reset the node count
+        int[] moves = new int[root.getGrid().getCellCount()]; // Root moves
+        int moveCount = root.legalMoves(moves); // Generate root moves
+        int bestCell = moveCount > 0 ? moves[0] : -1; // Fallback if no iteration completes
+        BotSearch[] helpers = smp != null && helperIndex == 0 && moveCount > 0
+                ? smp.startHelpers(root, maxDepth, timeLimitNanos / 1_000_000L) : null; // Search alongside
+        if (helperIndex > 0 && moveCount > 0) {
+            rotate(moves, moveCount, helperIndex % moveCount); // Helpers start on different root moves
+        }
+        try {
+            bestCell = deepen(root, moves, moveCount, bestCell, listener);
+        } finally {
+            if (helpers != null) {
+                LazySmp.stopHelpers(helpers); // The main search decides alone
+            }
+        }
+        return bestCell; // Return the chosen move
+    }
+
+    /**
+     * Runs the iterative deepening loop.
+     * @param root The position to search
+     * @param moves The root moves, reordered as iterations complete
+     * @param moveCount The number of root moves
+     * @param bestCell The move to return if no iteration completes
+     * @param listener Told about each completed iteration; may be null
+     * @return The best move of the last completed iteration
+     */
+    private int deepen(GameState root, int[] moves, int moveCount, int bestCell, SearchListener listener) {
+        int firstDepth = 1 + helperIndex % 2; // Odd helpers skip the first depth
+        for (int depth = firstDepth; depth <= maxDepth && moveCount > 0; depth++) { // Deepen one ply at a time
+            aborted = false; // Fresh iteration
+            pvCount = 0; // No moves ranked yet
+            for (int i = 0; i < moveCount; i++) { // Loops through root moves
+                int alpha = pvCount < pvCells.length ? -WIN_SCORE - 1 : pvScores[pvCount - 1]; // Must beat the last
+                int score = scoreMove(root, moves[i], depth, alpha, WIN_SCORE + 1, 1); // Search the move
+                if (aborted) {
+                    break; // Out of time or cancelled
+                }
+                if (score > alpha) {
+                    rank(moves[i], score); // Exact score within the window
+                }
+            }
+            if (aborted) {
+                break; // Keep the previous iteration's move
+            }
+            bestCell = pvCells[0]; // Adopt the completed iteration's move
+            for (int i = pvCount - 1; i >= 0; i--) {
+                moveToFront(moves, moveCount, pvCells[i]); // Search the ranked moves first next time
+            }
+            if (listener != null) {
+                listener.onProgress(depth, bestCell, pvScores[0], nodes); // Report progress
+                listener.onCandidates(depth, pvCells, pvScores, pvCount, nodes); // Report the ranked moves
+            }
+            if (Math.abs(pvScores[0]) >= WIN_SCORE - maxDepth) {
+                break; // Forced result found, deeper search cannot change it
+            }
+        }
+        return bestCell; // Return the chosen move
+    }
+
+    /**
+     * Stops the search as soon as possible. Safe to call from any thread.
+     */
+    public void cancel() {
+        cancelled = true; // Checked at every node
+    }
+
+    /**
+     * Gives a running search a new time limit, counted from now. Safe to call from any thread; used when a
+     * pondering search turns out to be searching the position actually reached.
+     * @param timeLimitMillis The time allowed from now, in milliseconds
+     */
+    public void restartClock(long timeLimitMillis) {
+        deadline = System.nanoTime() + timeLimitMillis * 1_000_000L; // Read at the next time check
+    }
+
+    /**
+     * Checks whether the search has been cancelled.
+     * @return True if cancel() has been called
+     */
+    public boolean isCancelled() {
+        return cancelled; // Return the flag
+    }
+
+    /**
+     * Retrieves the number of positions visited by the last search.
+     * @return The node count
+     */
+    public long getNodes() {
+        return nodes; // Return the count
+    }
+
+    /**
+     * Scores a position from the point of view of its side to move.
+     * @param state The position to score
+     * @return Positive if the side to move is ahead
+     */
+    protected int evaluate(GameState state) {
+        return state.evaluate(); // Incrementally maintained features
+    }
+
+    /**
+     * Plays a move and scores the result from the mover's point of view.
+     * @param state The position before the move
+     * @param cell The move to play
+     * @param depth The remaining depth including this move
+     * @param alpha The lower bound for the mover
+     * @param beta The upper bound for the mover
+     * @param ply The distance from the root after the move
+     * @return The score of the move for the mover
+     */
+    private int scoreMove(GameState state, int cell, int depth, int alpha, int beta, int ply) {
+        GameState child = state.copy(); // Independent child position
+        child.play(cell); // Make the move
+        if (child.getSideToMove() == state.getSideToMove()) { // Extra turn keeps the perspective
+            return negamax(child, depth - 1, alpha, beta, ply);
+        }
+        return -negamax(child, depth - 1, -beta, -alpha, ply); // Opponent's view, negated
+    }
+
+    /**
+     * Searches a position with alpha-beta pruning.
+     * @param state The position to search
+     * @param depth The remaining depth
+     * @param alpha The lower bound for the side to move
+     * @param beta The upper bound for the side to move
+     * @param ply The distance from the root
+     * @return The score from the side to move's point of view
+     */
+    private int negamax(GameState state, int depth, int alpha, int beta, int ply) {
+        if (++nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline || cancelled) {
+            aborted = true; // Out of time or cancelled
+        }
+        if (aborted) {
+            return 0; // Value is discarded
+        }
+        if (state.getWinner() != StoneColor.EMPTY) { // Game over
+            int win = WIN_SCORE - ply; // Prefer quicker wins
+            return state.getWinner() == state.getSideToMove() ? win : -win;
+        }
+        if (depth == 0) {
+            return evaluate(state); // Static evaluation
+        }
+        int tableMove = -1; // Best move stored for this position
+        if (table != null) {
+            long entry = table.probe(state.getHash()); // Shared with every thread
+            if (entry != 0) {
+                tableMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) { // Deep enough to trust
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER && score >= beta
+                            || bound == TranspositionTable.UPPER && score <= alpha) {
+                        return score; // Stored result settles this window
+                    }
+                }
+            }
+        }
+        int[] moves = new int[state.getGrid().getCellCount()]; // Legal moves buffer
+        int moveCount = state.legalMoves(moves); // Generate moves
+        if (moveCount == 0) {
+            return 0; // No legal move counts as a draw
+        }
+        if (tableMove >= 0) {
+            moveToFront(moves, moveCount, tableMove); // Try the stored best move first
+        }
+        int originalAlpha = alpha; // Decides the bound of the result
+        int best = -WIN_SCORE - 1; // Best score so far
+        int bestMove = moves[0]; // Move with the best score
+        for (int i = 0; i < moveCount; i++) { // Loops through moves
+            int score = scoreMove(state, moves[i], depth, alpha, beta, ply + 1); // Search the move
+            if (score > best) {
+                best = score; // New best score
+                bestMove = moves[i];
+            }
+            if (best > alpha) {
+                alpha = best; // Raise the lower bound
+            }
+            if (alpha >= beta) {
+                break; // Opponent will avoid this line
+            }
+        }
+        if (table != null && !aborted) { // Share the result; an aborted search's scores are meaningless
+            int bound = best >= beta ? TranspositionTable.LOWER
+                    : best <= originalAlpha ? TranspositionTable.UPPER : TranspositionTable.EXACT;
+            table.store(state.getHash(), depth, bound, toTable(best, ply), bestMove);
+        }
+        return best; // Return the best score
+    }
+
+    /**
+     * Converts a score to the form stored in the table, where wins count plies from the stored position
+     * rather than from the root, so the entry is valid wherever the position is reached.
+     * @param score The score, with wins counted from the root
+     * @param ply The distance of the position from the root
+     * @return The score to store
+     */
+    private static int toTable(int score, int ply) {
+        if (score > WIN_BOUND) {
+            return score + ply; // Win counted from the position
+        }
+        return score < -WIN_BOUND ? score - ply : score; // Loss counted from the position
+    }
+
+    /**
+     * Converts a stored score back to one with wins counted from the root.
+     * @param score The stored score
+     * @param ply The distance of the position from the root
+     * @return The score
+     */
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_BOUND) {
+            return score - ply; // Win counted from the root
+        }
+        return score < -WIN_BOUND ? score + ply : score; // Loss counted from the root
+    }
+
+    /**
+     * Inserts a root move into the ranked list, dropping the worst move if the list is full.
+     * @param cell The move
+     * @param score Its exact score
+     */
+    private void rank(int cell, int score) {
+        int i = Math.min(pvCount, pvCells.length - 1); // Slot to fill, replacing the worst if full
+        while (i > 0 && pvScores[i - 1] < score) { // Shift worse moves down
+            pvCells[i] = pvCells[i - 1];
+            pvScores[i] = pvScores[i - 1];
+            i--;
+        }
+        pvCells[i] = cell; // Insert the move
+        pvScores[i] = score;
+        pvCount = Math.min(pvCount + 1, pvCells.length);
+    }
+
+    /**
+     * Rotates a move list, so a helper search starts on a different move.
+     * @param moves The move list
+     * @param count The number of moves in the list
+     * @param shift The number of moves to move from the front to the back
+     */
+    private static void rotate(int[] moves, int count, int shift) {
+        int[] front = Arrays.copyOf(moves, shift); // Moves that go to the back
+        System.arraycopy(moves, shift, moves, 0, count - shift); // Shift the rest forward
+        System.arraycopy(front, 0, moves, count - shift, shift);
+    }
+
+    /**
+     * Moves a cell to the front of a move list, keeping the order of the rest.
+     * @param moves The move list
+     * @param count The number of moves in the list
+     * @param cell The move to bring to the front
+     */
+    private static void moveToFront(int[] moves, int count, int cell) {
+        for (int i = 0; i < count; i++) { // Find the move
+            if (moves[i] == cell) {
+                System.arraycopy(moves, 0, moves, 1, i); // Shift earlier moves back
+                moves[0] = cell; // Put the move first
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+import jdk.jfr.Category; // Groups the event in recordings
+import jdk.jfr.Description; // Explains the event in recordings
+import jdk.jfr.Enabled; // Off unless a settings profile turns it on
+import jdk.jfr.Event; // Flight Recorder event base class
+import jdk.jfr.Label; // Names the event and its fields
+import jdk.jfr.Name; // Stable event name for settings profiles
+
+/**
+ * Flight Recorder event for drawing board hexes on the canvas: one RenderScheduler flush of the cells marked since the
+ * last pulse, or of the whole board, or a single hex drawn at once when no scheduler is attached.
+ */
+@Name("hexoust.CanvasRedraw")
+@Label("Canvas Redraw")
+@Category({"HexOust", "Rendering"})
+@Description("Board hexes drawn on the canvas")
+@Enabled(false)
+class CanvasRedrawEvent extends Event {
+    @Label("Cells")
+    int cells; // Hexes drawn
+
+    @Label("Full Redraw")
+    boolean fullRedraw; // True if the whole board was drawn
+}
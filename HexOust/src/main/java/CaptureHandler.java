@@ -1,14 +1,14 @@
-import javafx.scene.canvas.GraphicsContext; // Used for drawing on the canvas
 import java.util.ArrayList; // Used for dynamic lists
-import java.util.Arrays; // Used for array copying
 import java.util.List; // Used for lists of coordinates
 
 /**
  * Handles the logic for capturing opponent's pieces in the HexOust game.
- * Uses depth-first search (DFS) to identify groups of stones and determines if captures occur based on group sizes.
+ * Reads group sizes from a GroupRegistry when one is bound to the board, and otherwise uses depth-first search (DFS)
+ * to identify groups of stones; either way each adjacent group is considered once.
  */
 public class CaptureHandler {
     Board board; // Reference to the game board for interaction
+    private GroupRegistry registry; // Optional group records for one board
 
     /**
      * Constructs a CaptureHandler with a reference to the game board.
@@ -19,106 +19,155 @@ public class CaptureHandler {
     }
 
     /**
-     * Checks for captures after a move and removes captured stones if any.
+     * Checks if a move at the given coordinates would result in a capture.
      * @param q The q-coordinate of the move in cube coordinates
      * @param r The r-coordinate of the move in cube coordinates
      * @param hexStatus The current state of the board
-     * @param currentPlayer The player making the move ("Red" or "Blue")
-     * @param gc The graphics context for updating the UI
-     * @return True if a capture occurred, false otherwise
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return True if the move would result in a capture, false otherwise
      */
-    public boolean checkAndCapture(double q, double r, String[][] hexStatus, String currentPlayer, GraphicsContext gc) {
-        int boardQ = (int) q + 6; // Convert q to board index
-        int boardR = (int) r + 6; // Convert r to board index
-        boolean[][] visited = new boolean[hexStatus.length][hexStatus[0].length]; // Track visited hexes
-        // Calculate the player's group size starting from the placed stone
-        int newGroupSize = calculateGroupSize(boardQ, boardR, hexStatus, currentPlayer, visited);
+    public boolean wouldCapture(double q, double r, byte[][] hexStatus, byte currentPlayer) {
+        int boardQ = (int) q + hexStatus.length / 2; // Convert q to board index
+        int boardR = (int) r + hexStatus.length / 2; // Convert r to board index
+        if (findCaptures(boardQ, boardR, hexStatus, currentPlayer).isEmpty()) { // Simulate the move
+            System.out.println("No capture possible");
+            return false; // No capture possible
+        }
+        System.out.println("Capture possible at (" + boardQ + "," + boardR + ")");
+        return true; // Capture is possible
+    }
+
+    /**
+     * Finds the opponent stones a placement would capture, without modifying the board.
+     * The target hex is treated as holding the player's stone whether or not it has been placed yet,
+     * so the same call serves both move validation and capture resolution.
+     * @param boardQ The q-index of the placement in the hexStatus array
+     * @param boardR The r-index of the placement in the hexStatus array
+     * @param hexStatus The current state of the board
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return The coordinates of captured stones, empty if the placement captures nothing
+     */
+    public List<int[]> findCaptures(int boardQ, int boardR, byte[][] hexStatus, byte currentPlayer) {
+        CaptureResolutionEvent event = new CaptureResolutionEvent(); // Free unless a recording enables it
+        event.begin();
         List<int[]> capturedStones = new ArrayList<>(); // List to store captured stones
-        for (int[] dir : directions()) { // Check all adjacent hexes
-            int nq = boardQ + dir[0]; // Calculate adjacent q index
-            int nr = boardR + dir[1]; // Calculate adjacent r index
-            // Check if the adjacent hex has an opponent's stone
-            if (isValid(nq, nr, hexStatus) && hexStatus[nq][nr] != null &&
-                    !hexStatus[nq][nr].equals(currentPlayer)) {
-                List<int[]> group = new ArrayList<>(); // List to store opponent's group
-                boolean[][] groupVisited = new boolean[hexStatus.length][hexStatus[0].length]; // Track visited hexes
-                findGroupDFS(nq, nr, hexStatus[nq][nr], hexStatus, group, groupVisited); // Find opponent's group
-                if (group.size() > 0 && group.size() < newGroupSize) { // If opponent's group is smaller
-                    capturedStones.addAll(group); // Add the group to captured stones
+        boolean fromRegistry = registry != null && registry.isBoundTo(hexStatus); // Group records available?
+        int newGroupSize = 0; // Size of the player's group after the move, if computed
+        int capturedGroups = 0; // Groups captured
+        int largestCaptured = 0; // Largest group captured
+        int visited; // Stones visited
+        if (fromRegistry) { // Read the group records
+            int[] groups = new int[6]; // At most one group per side
+            capturedGroups = registry.findCaptures(boardQ, boardR, currentPlayer, groups);
+            for (int i = 0; i < capturedGroups; i++) {
+                registry.addMembers(groups[i], capturedStones); // Each captured stone once
+                largestCaptured = Math.max(largestCaptured, registry.sizeOf(groups[i]));
+            }
+            visited = 0; // No stones are searched; the captured members are only listed
+        } else {
+            // Calculate the size of the player's group after the move
+            newGroupSize = calculatePlacedGroupSize(boardQ, boardR, hexStatus, currentPlayer);
+            visited = newGroupSize; // Every stone of the joined groups
+            boolean[][] groupVisited = new boolean[hexStatus.length][hexStatus[0].length]; // Shared, so no group twice
+            for (int[] dir : directions()) { // Check all adjacent hexes
+                int nq = boardQ + dir[0]; // Calculate adjacent q index
+                int nr = boardR + dir[1]; // Calculate adjacent r index
+                // Check if the adjacent hex has an opponent's stone from a group not seen yet
+                if (isValid(nq, nr, hexStatus) && hexStatus[nq][nr] == StoneColor.opponent(currentPlayer)
+                        && !groupVisited[nq][nr]) {
+                    List<int[]> group = new ArrayList<>(); // List to store opponent's group
+                    findGroupDFS(nq, nr, hexStatus[nq][nr], hexStatus, group, groupVisited); // Find opponent's group
+                    visited += group.size(); // Every stone of the opponent group
+                    if (group.size() > 0 && group.size() < newGroupSize) { // If opponent's group is smaller
+                        capturedStones.addAll(group); // Add the group to captured stones
+                        capturedGroups++;
+                        largestCaptured = Math.max(largestCaptured, group.size());
+                    }
                 }
             }
         }
-        if (!capturedStones.isEmpty()) { // If there are stones to capture
-            board.removeStones(capturedStones, gc); // Remove the captured stones from the board
-            return true; // Indicate a capture occurred
+        if (event.shouldCommit()) {
+            event.q = boardQ; // Describe the search
+            event.r = boardR;
+            event.player = StoneColor.name(currentPlayer);
+            event.placedGroupSize = newGroupSize;
+            event.capturedGroups = capturedGroups;
+            event.capturedStones = capturedStones.size();
+            event.largestCapturedGroup = largestCaptured;
+            event.nodesVisited = visited;
+            event.fromRegistry = fromRegistry;
+            event.commit(); // Record the search
         }
-        return false; // No capture occurred
+        return capturedStones; // Return the captured stones
     }
 
     /**
-     * Checks if a move at the given coordinates would result in a capture.
-     * Simulates the move and compares group sizes to determine if a capture is possible.
-     * @param q The q-coordinate of the move in cube coordinates
-     * @param r The r-coordinate of the move in cube coordinates
+     * Checks whether a placement would capture anything, without listing the captured stones.
+     * @param boardQ The q-index of the placement in the hexStatus array
+     * @param boardR The r-index of the placement in the hexStatus array
      * @param hexStatus The current state of the board
-     * @param currentPlayer The player making the move ("Red" or "Blue")
-     * @return True if the move would result in a capture, false otherwise
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return True if the placement captures at least one group, false otherwise
      */
-    public boolean wouldCapture(double q, double r, String[][] hexStatus, String currentPlayer) {
-        String[][] tempHexStatus = copyHexStatus(hexStatus); // Create a copy for simulation
-        int boardQ = (int) q + 6; // Convert q to board index
-        int boardR = (int) r + 6; // Convert r to board index
-        tempHexStatus[boardQ][boardR] = currentPlayer; // Simulate placing the stone
-        for (int[] dir : directions()) { // Check all adjacent hexes
-            int adjQ = boardQ + dir[0]; // Calculate adjacent q index
-            int adjR = boardR + dir[1]; // Calculate adjacent r index
-            // Check if the adjacent position has an opponent's stone
-            if (isValid(adjQ, adjR, tempHexStatus) && tempHexStatus[adjQ][adjR] != null &&
-                    !tempHexStatus[adjQ][adjR].equals(currentPlayer)) {
-                List<int[]> group = new ArrayList<>(); // List to store opponent's group
-                boolean[][] visited = new boolean[tempHexStatus.length][tempHexStatus[0].length]; // Track visited hexes
-                findGroupDFS(adjQ, adjR, tempHexStatus[adjQ][adjR], tempHexStatus, group, visited); // Find opponent's group
-                // Calculate the size of the player's group after the move
-                int newGroupSize = calculateGroupSize(boardQ, boardR, tempHexStatus, currentPlayer,
-                        new boolean[tempHexStatus.length][tempHexStatus[0].length]);
-                System.out.println("Opponent group size: " + group.size() + ", Player group size: " + newGroupSize);
-                if (group.size() < newGroupSize) { // Compare group sizes for capture
-                    System.out.println("Capture possible at (" + adjQ + "," + adjR + ")");
-                    return true; // Capture is possible
-                }
-            }
+    public boolean capturesAny(int boardQ, int boardR, byte[][] hexStatus, byte currentPlayer) {
+        if (registry != null && registry.isBoundTo(hexStatus)) { // Compare group sizes only
+            return registry.findCaptures(boardQ, boardR, currentPlayer, new int[6]) > 0;
+        }
+        return !findCaptures(boardQ, boardR, hexStatus, currentPlayer).isEmpty(); // Walk the groups
+    }
+
+    /**
+     * Attaches a group registry. The registry is consulted only for the board array it is bound to.
+     * @param registry The registry to use, or null to always walk the groups
+     */
+    public void setRegistry(GroupRegistry registry) {
+        this.registry = registry; // Assign the registry
+    }
+
+    /**
+     * Counts the stone groups on a board from the group registry, without scanning the board.
+     * @param hexStatus The current state of the board
+     * @return The number of groups, or -1 if no registry is bound to this board
+     */
+    public int countGroups(byte[][] hexStatus) {
+        if (registry != null && registry.isBoundTo(hexStatus)) { // Only the registered board is known
+            return registry.getGroupCount(); // Read the records
         }
-        System.out.println("No capture possible");
-        return false; // No capture possible
+        return -1; // Unknown
     }
 
     /**
-     * Creates a deep copy of the hex status array for simulation.
-     * @param original The original hex status array to copy
-     * @return A deep copy of the hex status array
+     * Tells the group registry about a move applied to a board.
+     * @param result The move just applied
+     * @param hexStatus The board the move was applied to
      */
-    private String[][] copyHexStatus(String[][] original) {
-        String[][] copy = new String[original.length][]; // Create new array for the copy
-        for (int i = 0; i < original.length; i++) { // Iterate over each row
-            copy[i] = Arrays.copyOf(original[i], original[i].length); // Copy the row
+    public void moveApplied(MoveResult result, byte[][] hexStatus) {
+        if (registry != null && registry.isBoundTo(hexStatus)) { // Only the registered board matters
+            registry.moveApplied(result); // Remove captured groups and add the stone
         }
-        return copy; // Return the copied array
     }
 
+    /**
+     * Forgets the registered groups, for example when the board is reset; they are rebuilt on next use.
+     */
+    public void clearRegistry() {
+        if (registry != null) {
+            registry.invalidate(); // Rebuild from the board on next use
+        }
+    }
 
     /**
      * Finds a group of same-colored stones using depth-first search (DFS).
      * @param q The starting q-index in the hexStatus array
      * @param r The starting r-index in the hexStatus array
-     * @param player The player whose stones to group ("Red" or "Blue")
+     * @param player The player whose stones to group (StoneColor.RED or StoneColor.BLUE)
      * @param hexStatus The current state of the board
      * @param group The list to store the group's coordinates
      * @param visited A 2D array tracking visited positions
      */
-    private void findGroupDFS(int q, int r, String player, String[][] hexStatus, List<int[]> group, boolean[][] visited) {
+    private void findGroupDFS(int q, int r, byte player, byte[][] hexStatus, List<int[]> group, boolean[][] visited) {
         // Stop if the position is invalid, visited, empty, or not the player's stone
-        if (!isValid(q, r, hexStatus) || visited[q][r] || hexStatus[q][r] == null ||
-                !hexStatus[q][r].equals(player)) {
+        if (!isValid(q, r, hexStatus) || visited[q][r] || hexStatus[q][r] != player) {
             return;
         }
         visited[q][r] = true; // Mark the position as visited
@@ -130,18 +179,22 @@ public class CaptureHandler {
     }
 
     /**
-     * Calculates the size of a player's group of connected stones.
-     * @param q The starting q-index in the hexStatus array
-     * @param r The starting r-index in the hexStatus array
+     * Calculates the size of the group a stone placed at the given hex belongs to.
+     * The placed hex counts as the player's stone and joins every adjacent group of the player's color.
+     * @param q The q-index of the placement in the hexStatus array
+     * @param r The r-index of the placement in the hexStatus array
      * @param hexStatus The current state of the board
-     * @param player The player whose group size to calculate ("Red" or "Blue")
-     * @param visited A 2D array tracking visited positions
-     * @return The size of the player's group
+     * @param player The player placing the stone (StoneColor.RED or StoneColor.BLUE)
+     * @return The size of the player's group including the placed stone
      */
-    private int calculateGroupSize(int q, int r, String[][] hexStatus, String player, boolean[][] visited) {
-        List<int[]> group = new ArrayList<>(); // List to store the group
-        findGroupDFS(q, r, player, hexStatus, group, visited); // Find the group using DFS
-        return group.size(); // Return the number of stones in the group
+    private int calculatePlacedGroupSize(int q, int r, byte[][] hexStatus, byte player) {
+        boolean[][] visited = new boolean[hexStatus.length][hexStatus[0].length]; // Track visited hexes
+        visited[q][r] = true; // The placed stone is counted once up front
+        List<int[]> group = new ArrayList<>(); // List to store the joined groups
+        for (int[] dir : directions()) { // Check all adjacent hexes
+            findGroupDFS(q + dir[0], r + dir[1], player, hexStatus, group, visited); // Join adjacent groups
+        }
+        return group.size() + 1; // Joined stones plus the placed stone
     }
 
     /**
@@ -151,7 +204,7 @@ public class CaptureHandler {
      * @param hexStatus The board's state array
      * @return True if the position is within bounds, false otherwise
      */
-    private boolean isValid(int q, int r, String[][] hexStatus) {
+    private boolean isValid(int q, int r, byte[][] hexStatus) {
         // Check if the indices are within the array dimensions
         return q >= 0 && q < hexStatus.length && r >= 0 && r < hexStatus[0].length;
     }
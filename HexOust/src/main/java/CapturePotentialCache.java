@@ -0,0 +1,110 @@
+import java.util.Arrays; // Used for clearing entries
+
+/**
+ * Caches, per hex and per player, whether placing a stone there would capture.
+ * Entries are computed on first use by CaptureHandler and kept until a move changes a group next to the hex,
+ * so repeated legality checks (hover feedback, legal-move overlays) cost a table lookup.
+ * The cache is bound to one board array and only learns about changes made through the MovePipeline;
+ * writes made directly to the array must be followed by {@link #clear()}.
+ */
+public class CapturePotentialCache {
+    private static final byte UNKNOWN = 0; // Entry not computed yet
+    private static final byte CAPTURES = 1; // Placing here captures
+    private static final byte NO_CAPTURE = 2; // Placing here captures nothing
+    private final HexGrid grid; // Cell layout of the board
+    private final byte[][] hexStatus; // Board array the cache describes
+    private final CaptureHandler captureHandler; // Computes missing entries
+    private final byte[][] entries; // Cached state per player index and cell
+    private final int[] queue; // Work list for the group walk, reused by every move
+    private final int[] walked; // Move stamp of the last time each stone was walked
+    private int stamp; // Current move stamp
+
+    /**
+     * Constructs an empty cache for the given board array.
+     * @param hexStatus The board array the cache describes
+     * @param captureHandler The capture handler used to compute entries
+     */
+    public CapturePotentialCache(byte[][] hexStatus, CaptureHandler captureHandler) {
+        this.hexStatus = hexStatus; // Assign the board array
+        this.grid = HexGrid.forBoard(hexStatus); // Layout matching the array
+        this.captureHandler = captureHandler; // Assign the capture handler
+        this.entries = new byte[2][grid.getCellCount()]; // One row per player
+        this.queue = new int[grid.getCellCount()]; // A group holds at most every cell
+        this.walked = new int[grid.getCellCount()]; // No stone walked yet
+    }
+
+    /**
+     * Checks whether the cache describes the given board array.
+     * @param hexStatus The board array to check
+     * @return True if the cache is bound to this array, false otherwise
+     */
+    public boolean isBoundTo(byte[][] hexStatus) {
+        return this.hexStatus == hexStatus; // Identity, not contents
+    }
+
+    /**
+     * Checks whether placing a stone at the given hex would capture, computing the entry if needed.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @param currentPlayer The player placing the stone (StoneColor.RED or StoneColor.BLUE)
+     * @return True if the placement would capture, false otherwise
+     */
+    public boolean wouldCapture(int boardQ, int boardR, byte currentPlayer) {
+        byte[] row = entries[currentPlayer - 1]; // Entries for this player
+        int cell = grid.cellAt(boardQ, boardR); // Dense index of the hex
+        if (row[cell] == UNKNOWN) { // Compute on first use
+            boolean captures = captureHandler.capturesAny(boardQ, boardR, hexStatus, currentPlayer);
+            row[cell] = captures ? CAPTURES : NO_CAPTURE; // Store the answer
+        }
+        return row[cell] == CAPTURES; // Return the cached answer
+    }
+
+    /**
+     * Invalidates the entries a move may have changed.
+     * Only hexes next to the mover's enlarged group or to captured stones can change their answer,
+     * since every other group adjacent to any hex keeps its size.
+     * @param result The move just applied to the bound board
+     */
+    public void moveApplied(MoveResult result) {
+        int placed = grid.cellAt(result.getQ(), result.getR()); // Dense index of the placed stone
+        stamp++; // Fresh move stamp
+        int head = 0, tail = 0; // Walk the mover's group
+        queue[tail++] = placed; // Start from the placed stone
+        walked[placed] = stamp;
+        while (head < tail) {
+            int cell = queue[head++]; // Next stone
+            invalidateAround(cell); // Its neighbourhood may change
+            for (int n : grid.neighbours(cell)) { // Check all adjacent hexes
+                if (walked[n] != stamp && hexStatus[grid.qIndex(n)][grid.rIndex(n)] == result.getPlayer()) {
+                    walked[n] = stamp; // Same group
+                    queue[tail++] = n;
+                }
+            }
+        }
+        for (int[] hex : result.getCapturedStones()) { // Captured hexes are empty again
+            invalidateAround(grid.cellAt(hex[0], hex[1])); // Their neighbourhood changed
+        }
+    }
+
+    /**
+     * Forgets every entry, for example after a restart or direct board edits.
+     */
+    public void clear() {
+        for (byte[] row : entries) { // Loops through players
+            Arrays.fill(row, UNKNOWN); // Forget the player's entries
+        }
+    }
+
+    /**
+     * Forgets the entries of a cell and its neighbours for both players.
+     * @param cell The dense cell index
+     */
+    private void invalidateAround(int cell) {
+        for (byte[] row : entries) { // Loops through players
+            row[cell] = UNKNOWN; // Forget the cell itself
+            for (int n : grid.neighbours(cell)) { // Forget its neighbours
+                row[n] = UNKNOWN;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+import jdk.jfr.Category; // Groups the event in recordings
+import jdk.jfr.Description; // Explains the event in recordings
+import jdk.jfr.Enabled; // Off unless a settings profile turns it on
+import jdk.jfr.Event; // Flight Recorder event base class
+import jdk.jfr.Label; // Names the event and its fields
+import jdk.jfr.Name; // Stable event name for settings profiles
+
+/**
+ * Flight Recorder event for one capture search by CaptureHandler, with the sizes of the groups involved and the
+ * number of stones it had to visit, which is what makes a capture search slow.
+ */
+@Name("hexoust.CaptureResolution")
+@Label("Capture Resolution")
+@Category({"HexOust", "Moves"})
+@Description("The opponent stones a placement captures, and the work needed to find them")
+@Enabled(false)
+class CaptureResolutionEvent extends Event {
+    @Label("Q-index")
+    int q; // q-index of the placement
+
+    @Label("R-index")
+    int r; // r-index of the placement
+
+    @Label("Player")
+    String player; // Player placing the stone
+
+    @Label("Placed Group Size")
+    int placedGroupSize; // Size of the mover's group including the placed stone, or 0 if read from the registry
+
+    @Label("Captured Groups")
+    int capturedGroups; // Opponent groups captured
+
+    @Label("Captured Stones")
+    int capturedStones; // Opponent stones captured
+
+    @Label("Largest Captured Group")
+    int largestCapturedGroup; // Size of the largest group captured
+
+    @Label("Nodes Visited")
+    int nodesVisited; // Stones visited by depth-first search; 0 when group sizes are read from the registry
+
+    @Label("From Registry")
+    boolean fromRegistry; // True if group sizes were read from the GroupRegistry
+}
@@ -0,0 +1,97 @@
+import javafx.animation.AnimationTimer; // Runs once per JavaFX pulse
+import javafx.scene.control.Label; // Shows the clocks
+import javafx.scene.paint.Color; // Defines the text color
+import javafx.scene.text.Font; // Sets font properties
+import javafx.scene.text.FontWeight; // Sets font weight
+
+/**
+ * Shows both players' clocks in a label next to the turn indicator, refreshed on JavaFX pulses.
+ * Each pulse reads the two clocks, which is two subtractions, and touches the label only when a displayed tenth
+ * of a second, a period count or the running side has changed, so a waiting clock costs no layout work at all.
+ */
+public class ClockDisplay {
+    private final GameClock clock; // Clocks to show
+    private final Label label; // Shows both clocks
+    private final long[] shownTenths = {-1, -1, -1}; // Tenths shown, indexed by StoneColor
+    private final int[] shownPeriods = {-1, -1, -1}; // Periods shown, indexed by StoneColor
+    private byte shownRunning = -1; // Running side shown
+    private AnimationTimer timer; // Pulse callback, created on start
+
+    /**
+     * Constructs a ClockDisplay.
+     * @param clock The clocks to show
+     */
+    public ClockDisplay(GameClock clock) {
+        this.clock = clock; // Assign the clock
+        this.label = new Label(); // Create the label
+        label.setFont(Font.font("Monospaced", FontWeight.BOLD, 20)); // Fixed width, so digits do not jump
+        label.setTextFill(Color.web("#ECF0F1")); // Match the header text
+    }
+
+    /**
+     * Starts refreshing on every JavaFX pulse.
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    refresh(); // Update if a shown digit changed
+                }
+            };
+        }
+        timer.start(); // Run on pulses
+    }
+
+    /**
+     * Stops refreshing.
+     */
+    public void stop() {
+        if (timer != null) {
+            timer.stop(); // No more pulses
+        }
+    }
+
+    /**
+     * Updates the label if anything it shows has changed.
+     */
+    private void refresh() {
+        byte running = clock.getRunning(); // Side whose clock runs
+        boolean changed = running != shownRunning;
+        for (byte side = StoneColor.RED; side <= StoneColor.BLUE; side++) {
+            long tenths = clock.getRemainingNanos(side) / 100_000_000L; // Displayed precision
+            int periods = clock.getPeriodsLeft(side);
+            changed |= tenths != shownTenths[side] || periods != shownPeriods[side];
+            shownTenths[side] = tenths; // Remember what is shown
+            shownPeriods[side] = periods;
+        }
+        if (!changed) {
+            return; // Nothing visible changed
+        }
+        shownRunning = running;
+        label.setText(describe(StoneColor.RED) + "   " + describe(StoneColor.BLUE)); // Both clocks
+    }
+
+    /**
+     * Describes one side's clock as shown, for example "&#9654; Red 4:59.3" or "Blue 0:25.3 (2&times;30s)".
+     * @param side StoneColor.RED or StoneColor.BLUE
+     * @return The description
+     */
+    private String describe(byte side) {
+        TimeControl control = clock.getControl(); // Byo-yomi settings
+        String text = (side == shownRunning ? "\u25b6 " : "") + StoneColor.name(side) + " "
+                + GameClock.format(shownTenths[side] * 100_000_000L); // Time left
+        if (control.getPeriods() > 0) {
+            text += " (" + shownPeriods[side] + "\u00d7" + control.getPeriodNanos() / 1_000_000_000L + "s)"; // Periods
+        }
+        return text; // Return the description
+    }
+
+    /**
+     * Retrieves the label, to place next to the turn indicator.
+     * @return The label
+     */
+    public Label getLabel() {
+        return label; // Return the label
+    }
+}
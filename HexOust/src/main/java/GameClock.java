@@ -0,0 +1,332 @@
+import java.util.function.LongSupplier; // Reads the time
+
+/**
+ * The two players' clocks of one game under a TimeControl, measured with System.nanoTime.
+ * Only the running side's turn start is stored, so reading a clock is one subtraction and nothing ticks while
+ * nobody looks. Flag-fall is detected without a thread of its own: each turn schedules one timeout at the moment
+ * the running side would run out, on a TimerWheel shared by every game, and cancels it when the move is made.
+ * GameManager calls checkFlag before applying a move, so a move made after the deadline is refused before it
+ * reaches the board even if the timer has not fired yet; a press after the deadline also flags.
+ * Methods may be called from any thread.
+ */
+public final class GameClock {
+    private final TimeControl control; // Time allowed to each side
+    private final TimerWheel wheel; // Fires flag-fall, or null to detect it only when a move is pressed
+    private final FlagListener listener; // Told when a side runs out of time
+    private final LongSupplier nanoTime; // Time source
+    private final long[] mainLeft = new long[3]; // Main time left, indexed by StoneColor, at the turn start
+    private final int[] periodsLeft = new int[3]; // Byo-yomi periods left, indexed by StoneColor
+    private byte running = StoneColor.EMPTY; // Side whose clock runs, or StoneColor.EMPTY when stopped
+    private long turnStart; // Time the running side's turn began
+    private byte flagged = StoneColor.EMPTY; // Side that ran out of time, or StoneColor.EMPTY
+    private int turn; // Incremented on every start, press and stop, so stale timeouts are ignored
+    private TimerWheel.Timeout flagTimeout; // Pending flag-fall of the running side, or null
+
+    /**
+     * Told when a player runs out of time.
+     */
+    public interface FlagListener {
+        /**
+         * Called once when a side's flag falls, on the timer wheel's thread or the thread that pressed the clock.
+         * @param side The side that ran out of time (StoneColor.RED or StoneColor.BLUE)
+         */
+        void onFlag(byte side);
+    }
+
+    /**
+     * Constructs a stopped GameClock timed by System.nanoTime.
+     * @param control The time allowed to each side
+     * @param wheel The wheel that detects flag-fall, normally TimerWheel.shared()
+     * @param listener Told when a side runs out of time
+     */
+    public GameClock(TimeControl control, TimerWheel wheel, FlagListener listener) {
+        this(control, wheel, listener, System::nanoTime); // Real time
+    }
+
+    /**
+     * Constructs a stopped GameClock with a custom time source, for example for tests.
+     * @param control The time allowed to each side
+     * @param wheel The wheel that detects flag-fall, or null to detect it only when a move is pressed
+     * @param listener Told when a side runs out of time
+     * @param nanoTime The time source, in nanoseconds
+     */
+    GameClock(TimeControl control, TimerWheel wheel, FlagListener listener, LongSupplier nanoTime) {
+        this.control = control; // Assign every field
+        this.wheel = wheel;
+        this.listener = listener;
+        this.nanoTime = nanoTime;
+        reset(); // Full time for both sides
+    }
+
+    /**
+     * Stops the clock and gives both sides their full time again, for a new game.
+     */
+    public synchronized void reset() {
+        halt(); // Drop the running turn
+        for (byte side = StoneColor.RED; side <= StoneColor.BLUE; side++) {
+            mainLeft[side] = control.getMainNanos(); // Full main time
+            periodsLeft[side] = control.getPeriods(); // Every period
+        }
+        flagged = StoneColor.EMPTY; // Nobody has run out
+    }
+
+    /**
+     * Starts a side's clock, for example at the start of a game. A running clock is stopped first, without an
+     * increment.
+     * @param side The side to move (StoneColor.RED or StoneColor.BLUE)
+     */
+    public synchronized void start(byte side) {
+        if (flagged != StoneColor.EMPTY) {
+            return; // The game is over on time
+        }
+        long now = nanoTime.getAsLong();
+        if (running != StoneColor.EMPTY && charge(now)) {
+            return; // The running side was already out of time
+        }
+        begin(side, now); // Time the side
+    }
+
+    /**
+     * Ends the running side's turn after its move, adds any increment, and starts the next side's clock.
+     * @param next The side to move next, which is the same side after an extra turn
+     * @return True if the move was made in time, false if the running side's flag had fallen
+     */
+    public boolean press(byte next) {
+        byte out; // Side flagged by this press, if any
+        synchronized (this) {
+            if (flagged != StoneColor.EMPTY) {
+                return false; // The game is over on time
+            }
+            if (running == StoneColor.EMPTY) {
+                begin(next, nanoTime.getAsLong()); // Nothing was timed; just start
+                return true;
+            }
+            long now = nanoTime.getAsLong();
+            out = running;
+            if (!charge(now)) {
+                mainLeft[out] += control.getIncrementNanos(); // Fischer increment, if any
+                begin(next, now); // Time the next side
+                return true;
+            }
+        }
+        listener.onFlag(out); // Overdue move: the timer had not fired yet
+        return false;
+    }
+
+    /**
+     * Flags the running side if its time has already run out, before its move is applied, so a move that arrives
+     * after the deadline but before the timer fires is refused rather than played.
+     * @return True if a flag has fallen, false if the game may go on
+     */
+    public boolean checkFlag() {
+        byte out; // Side flagged by this check
+        synchronized (this) {
+            if (flagged != StoneColor.EMPTY) {
+                return true; // Already over on time
+            }
+            if (running == StoneColor.EMPTY) {
+                return false; // Nothing is timed
+            }
+            out = running;
+            long now = nanoTime.getAsLong();
+            long deadline = turnStart + mainLeft[out] + periodsLeft[out] * control.getPeriodNanos(); // Last instant
+            if (now <= deadline) {
+                return false; // Still in time
+            }
+            charge(now); // Flags the running side
+        }
+        listener.onFlag(out); // Outside the lock
+        return true;
+    }
+
+    /**
+     * Stops the clock, for example when the game is won. The running side is charged for its turn.
+     */
+    public synchronized void stop() {
+        if (running != StoneColor.EMPTY && flagged == StoneColor.EMPTY) {
+            charge(nanoTime.getAsLong()); // Keep the time used
+        }
+        halt(); // Nothing runs
+    }
+
+    /**
+     * Times a side's turn and schedules its flag-fall.
+     * @param side The side to time
+     * @param now The current time
+     */
+    private void begin(byte side, long now) {
+        halt(); // Cancel the previous turn's timeout
+        running = side;
+        turnStart = now;
+        if (wheel != null) {
+            int token = turn; // Identifies this turn
+            long deadline = now + mainLeft[side] + periodsLeft[side] * control.getPeriodNanos(); // Last instant
+            flagTimeout = wheel.schedule(deadline, () -> expire(token));
+        }
+    }
+
+    /**
+     * Stops timing, cancelling any pending flag-fall, without charging the running side.
+     */
+    private void halt() {
+        if (flagTimeout != null) {
+            flagTimeout.cancel(); // Its turn is over
+            flagTimeout = null;
+        }
+        running = StoneColor.EMPTY;
+        turn++; // Outdates any timeout already firing
+    }
+
+    /**
+     * Charges the running side for the time since its turn started, using byo-yomi periods once the main time
+     * is gone, and flags it if it has run out. Does not stop or restart the clock unless the side flags.
+     * @param now The current time
+     * @return True if the running side has run out of time
+     */
+    private boolean charge(long now) {
+        byte side = running;
+        long elapsed = now - turnStart; // Time used this turn
+        if (elapsed <= mainLeft[side]) {
+            mainLeft[side] -= elapsed; // Main time covers it
+            return false;
+        }
+        long over = elapsed - mainLeft[side]; // Time beyond the main time
+        mainLeft[side] = 0;
+        long period = control.getPeriodNanos();
+        long lost = period == 0 ? 1 : over / period; // Full periods used up; without byo-yomi any overrun flags
+        if (lost < periodsLeft[side]) {
+            periodsLeft[side] -= (int) lost; // The move was made inside the next period
+            return false;
+        }
+        periodsLeft[side] = 0; // Out of time
+        flagged = side;
+        halt(); // The game is over
+        return true;
+    }
+
+    /**
+     * Called by the timer wheel at a turn's deadline.
+     * @param token The turn the timeout was scheduled for
+     */
+    private void expire(int token) {
+        byte out; // Side flagged by this timeout
+        synchronized (this) {
+            if (token != turn || running == StoneColor.EMPTY) {
+                return; // The move was made in time
+            }
+            out = running;
+            long now = nanoTime.getAsLong();
+            long deadline = turnStart + mainLeft[out] + periodsLeft[out] * control.getPeriodNanos(); // Last instant
+            if (now <= deadline) { // Not quite out, for example because the time source lags the wheel
+                flagTimeout = wheel.schedule(deadline + 1, () -> expire(token)); // Try again just after it
+                return;
+            }
+            charge(now); // Flags the running side
+        }
+        listener.onFlag(out); // Outside the lock
+    }
+
+    /**
+     * Retrieves the time left to a side in its current stage: the main time, or the current byo-yomi period once
+     * the main time is used up.
+     * @param side StoneColor.RED or StoneColor.BLUE
+     * @return The time left, in nanoseconds, never negative
+     */
+    public synchronized long getRemainingNanos(byte side) {
+        long left = mainLeft[side] - (side == running ? nanoTime.getAsLong() - turnStart : 0); // Main time now
+        if (left >= 0) {
+            return left; // Still in the main time
+        }
+        long period = control.getPeriodNanos();
+        if (period == 0 || -left / period >= periodsLeft[side]) {
+            return 0; // Out of time
+        }
+        return period - -left % period; // Inside a period
+    }
+
+    /**
+     * Retrieves the byo-yomi periods a side has left, counting the one it is in.
+     * @param side StoneColor.RED or StoneColor.BLUE
+     * @return The periods left, or 0 without byo-yomi
+     */
+    public synchronized int getPeriodsLeft(byte side) {
+        long left = mainLeft[side] - (side == running ? nanoTime.getAsLong() - turnStart : 0); // Main time now
+        long period = control.getPeriodNanos();
+        if (left >= 0 || period == 0) {
+            return periodsLeft[side]; // No period used yet
+        }
+        return (int) Math.max(0, periodsLeft[side] - -left / period); // Full periods used this turn
+    }
+
+    /**
+     * Computes how long a computer player should think about its move at the start of its turn: a share of its
+     * main time plus most of its increment, or most of a byo-yomi period, and never more than it can afford.
+     * The search stops itself at the budget by comparing System.nanoTime with a deadline, which costs nothing
+     * between its periodic checks.
+     * @param side The side to move
+     * @return The budget, in milliseconds, at least 1
+     */
+    public long moveBudgetMillis(byte side) {
+        long main; // Main time left
+        int periods; // Periods left
+        synchronized (this) {
+            main = side == running ? mainLeft[side] - (nanoTime.getAsLong() - turnStart) : mainLeft[side];
+            periods = getPeriodsLeft(side);
+        }
+        long period = periods > 0 ? control.getPeriodNanos() : 0; // Safe time each move while periods remain
+        long budget;
+        if (main > 0) {
+            budget = main / 20 + control.getIncrementNanos() * 3 / 4 + period * 3 / 4; // Spread the main time
+            budget = Math.min(budget, main / 2 + period * 3 / 4); // Never bet most of the main time on one move
+        } else {
+            budget = period * 3 / 4; // Leave a margin inside the period
+        }
+        return Math.max(1, budget / 1_000_000L); // Convert to milliseconds
+    }
+
+    /**
+     * Retrieves the side whose clock is running.
+     * @return StoneColor.RED or StoneColor.BLUE, or StoneColor.EMPTY when stopped
+     */
+    public synchronized byte getRunning() {
+        return running; // Return the side
+    }
+
+    /**
+     * Retrieves the side that ran out of time.
+     * @return StoneColor.RED or StoneColor.BLUE, or StoneColor.EMPTY if nobody has
+     */
+    public synchronized byte getFlagged() {
+        return flagged; // Return the side
+    }
+
+    /**
+     * Retrieves the time control.
+     * @return The time control
+     */
+    public TimeControl getControl() {
+        return control; // Return the control
+    }
+
+    /**
+     * Formats a clock reading as minutes, seconds and tenths, for example "4:59.3", or with hours above an hour.
+     * Tenths are rounded down, so the display reaches 0:00.0 exactly when the time runs out.
+     * @param nanos The time left
+     * @return The formatted time
+     */
+    public static String format(long nanos) {
+        long tenths = Math.max(0, nanos) / 100_000_000L; // Whole tenths left
+        long seconds = tenths / 10;
+        String text = (seconds / 60 % 60) + ":" + two(seconds % 60) + "." + tenths % 10; // Minutes and seconds
+        return seconds >= 3600 ? seconds / 3600 + ":" + (seconds / 60 % 60 < 10 ? "0" : "") + text : text;
+    }
+
+    /**
+     * Pads a number below 100 to two digits.
+     * @param value The number
+     * @return The digits
+     */
+    private static String two(long value) {
+        return value < 10 ? "0" + value : Long.toString(value); // Leading zero
+    }
+}
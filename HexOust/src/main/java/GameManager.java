@@ -5,6 +5,8 @@ import javafx.scene.control.ButtonBar; // Used for dialog button types
 import javafx.scene.control.ButtonType; // Used for dialog buttons
 import javafx.stage.Stage;
 
+import java.util.ArrayList; // Used for the listener list
+import java.util.List; // Used for the listener list
 import java.util.Optional; // Used for handling dialog results
 
 /**
@@ -16,9 +18,23 @@ public class GameManager {
     private Board board; // Manages the game board and stone placement
     private final MoveValidator moveValidator; // Validates player moves
     private final CaptureHandler captureHandler; // Handles capturing opponent pieces
+    private final MovePipeline movePipeline; // Validates, applies and scores each move in one pass
+    private final List<MoveListener> moveListeners = new ArrayList<>(); // Followers of the game
     private final Renderer renderer; // Updates UI elements like turn indicators
     private final GraphicsContext gc; // Canvas drawing context
-    private boolean opponentHadStones; // Tracks if the opponent previously had stones
+    private static final int BOT_DEPTH = 3; // Deepest search for a computer player's move
+    private static final long BOT_TIME_MILLIS = 2000; // Thinking time for a computer player's move
+    private static final int PONDER_REPLIES = 4; // Human replies the computer prepares answers for
+    private static final int ANALYSIS_DEPTH = 64; // Analysis deepens until it is replaced or reaches this depth
+    private static final long ANALYSIS_TIME_MILLIS = 10 * 60 * 1000; // Longest analysis of one position
+    private SearchExecutor searchExecutor; // Runs bot searches off the JavaFX thread, or null without a bot
+    private AnalysisOverlay analysisOverlay; // Shows candidate moves for the human's turns, or null
+    private Ponderer ponderer; // Computer thinking during the current human turn, or null
+    private GameClock clock; // Both players' clocks, or null without a time control
+    private MoveProfiler profiler; // Measures the phases of every move, or null
+    private byte botPlayer; // Player controlled by the computer, or StoneColor.EMPTY
+    private int hoverCell = -1; // Cell under the mouse pointer, or -1
+    private boolean gameOver; // Set once a player has won, until the next game starts
 
     /**
      * Constructs a GameManager with the specified dependencies.
@@ -35,65 +51,321 @@ public class GameManager {
         this.gc = gc; // Assign the graphics context
         this.captureHandler = new CaptureHandler(board); // Initialize capture handler
         this.moveValidator = new MoveValidator(captureHandler); // Initialize move validator
-        this.opponentHadStones = false; // Set initial opponent stone flag
+        this.movePipeline = new MovePipeline(moveValidator, captureHandler); // Initialize move pipeline
     }
     /**
      * Processes a player's move based on the click coordinates.
      * @param gc The graphics context for drawing the move
      * @param x The x-coordinate of the click
      * @param y The y-coordinate of the click
+     * @return The result of the move, or null if the move was rejected
      */
-    public void makeMove(GraphicsContext gc, double x, double y) {
-        Board.HexCube clickedHex = board.pixelToHex(x, y); // Convert pixel coordinates to hex
-        String currentPlayer = player.getCurrentPlayer(); // Get the current player
-        if (!isValidMove(clickedHex.q, clickedHex.r, currentPlayer)) { // Check if the move is valid
+    public MoveResult makeMove(GraphicsContext gc, double x, double y) {
+        if (isBotTurn()) { // Ignore clicks while the computer player is to move
+            return null;
+        }
+        int cell = board.cellAt(x, y); // Look up the clicked hex
+        if (cell < 0) { // Check if the click missed the board
+            renderer.showInvalidMoveMessage(); // Display invalid move message
+            System.out.println("Invalid move!"); // Log the invalid move
+            return null; // Exit if the move is not allowed
+        }
+        HexGrid grid = board.getGrid(); // Layout of the board
+        return playMove(gc, grid.qIndex(cell) - grid.getRadius(), grid.rIndex(cell) - grid.getRadius()); // Play the hex
+    }
+
+    /**
+     * Highlights the hex under the mouse if the current player may play there.
+     * Does no work while the pointer stays on the same hex, so it can run on every mouse-move event.
+     * @param x The x-coordinate of the pointer
+     * @param y The y-coordinate of the pointer
+     */
+    public void hover(double x, double y) {
+        int cell = board.cellAt(x, y); // Look up the hex under the pointer
+        if (cell == hoverCell) {
+            return; // Same hex as last event
+        }
+        hoverCell = cell; // Remember the hex
+        refreshHover(); // Update the highlight
+    }
+
+    /**
+     * Re-evaluates the highlight for the hex under the pointer, for example after the turn has changed.
+     */
+    private void refreshHover() {
+        boolean legal = hoverCell >= 0 && !gameOver && !isBotTurn()
+                && isLegalMove(board.getGrid().qIndex(hoverCell), board.getGrid().rIndex(hoverCell)); // Check it
+        board.setHoveredCell(gc, legal ? hoverCell : -1); // Highlight only legal moves
+    }
+
+    /**
+     * Validates, applies, draws and announces a move for the current player.
+     * @param gc The graphics context for drawing the move
+     * @param q The q-coordinate of the hex
+     * @param r The r-coordinate of the hex
+     * @return The result of the move, or null if the move was rejected
+     */
+    private MoveResult playMove(GraphicsContext gc, double q, double r) {
+        if (clock != null && clock.checkFlag()) {
+            return null; // The game is over on time, or the mover's flag falls now and flagFell ends the game
+        }
+        byte currentPlayer = player.getCurrentPlayer(); // Get the current player
+        if (profiler != null) {
+            profiler.begin(); // Measure the move's phases
+        }
+        MoveEvent event = new MoveEvent(); // Free unless a recording enables it
+        event.begin();
+        // Validate, place, capture and check the win in a single pass
+        MoveResult result = movePipeline.play(q, r, board.getHexStatus(), currentPlayer);
+        if (result == null) { // Check if the move was rejected
+            if (profiler != null) {
+                profiler.cancel(); // Only played moves are measured
+            }
             renderer.showInvalidMoveMessage(); // Display invalid move message
             System.out.println("Invalid move!"); // Log the invalid move
-            return; // Exit if the move is not allowed
+            return null; // Exit if the move is not allowed
         }
         renderer.clearInvalidMoveMessage(); // Clear invalid message on valid move
-        executeMove(gc, x, y, currentPlayer); // Execute the valid move
-        handlePostMoveLogic(currentPlayer); // Handle captures and game end conditions
+        BoardSnapshot before = board.snapshot(); // Position before the move
+        board.setHoveredCell(gc, -1); // Drop the highlight before the stone is drawn
+        if (analysisOverlay != null) {
+            analysisOverlay.clear(); // Candidates belong to the position before the move
+        }
+        board.commitMove(result, gc); // Record and draw the placed and captured stones
+        if (profiler != null) {
+            profiler.mark(MoveProfiler.Phase.RENDER); // Drawing, or queuing it for the next pulse
+            profiler.end(); // Add the move to the readings
+        }
+        if (event.shouldCommit()) {
+            event.q = result.getQ(); // Describe the move
+            event.r = result.getR();
+            event.player = StoneColor.name(currentPlayer);
+            event.capturedStones = result.getCapturedStones().size();
+            event.extraTurn = result.isExtraTurn();
+            event.winner = StoneColor.name(result.getWinner());
+            event.commit(); // Record the move
+        }
+        for (MoveListener listener : moveListeners) { // Notify followers
+            listener.onMove(before, result);
+        }
+        handlePostMoveLogic(result); // Handle game end and turn updates
+        return result; // Report the move
     }
 
     /**
-     * Handles logic after a move, including captures, win checks, and turn updates.
-     * @param currentPlayer The player who made the move
+     * Handles logic after a move, including win handling and turn updates.
+     * @param result The result of the move just made
      */
-    private void handlePostMoveLogic(String currentPlayer) {
-        // Use center coordinates as a proxy for the latest move (simplified assumption)
-        Board.HexCube clickedHex = board.pixelToHex(gc.getCanvas().getWidth() / 2, gc.getCanvas().getHeight() / 2);
-        // Check for and process any captures
-        boolean captureOccurred = captureHandler.checkAndCapture(clickedHex.q, clickedHex.r,
-                board.getHexStatus(), currentPlayer, gc);
-        if (hasPlayerWon(currentPlayer)) { // Check if the game is won
-            endGame(currentPlayer); // End the game
+    private void handlePostMoveLogic(MoveResult result) {
+        if (result.getWinner() != StoneColor.EMPTY) { // Check if the game is won
+            endGame(result.getWinner()); // End the game
             return; // Exit the method
         }
-        if (captureOccurred) { // If a capture happened
-            if (hasPlayerWon(currentPlayer)) { // Check win condition again after capture
-                endGame(currentPlayer); // End the game
-                return; // Exit the method
-            }
-            player.grantExtraTurn(); // Grant an extra turn for the capture
-        } else {
-            player.switchTurn(); // Switch to the other player
+        if (clock != null && !clock.press(Player.nextPlayer(result.getPlayer(), result.isExtraTurn()))) {
+            return; // The move came too late; flagFell ends the game
         }
+        if (result.isExtraTurn()) { // If a capture happened
+            System.out.println(StoneColor.name(result.getPlayer()) + " captured pieces!"); // Log the capture
+            Player.grantExtraTurn(); // Grant an extra turn for the capture
+        }
+        player.switchTurn(); // Switch to the other player unless an extra turn was granted
         board.updateTurnIndicator(); // Update the turn indicator in the UI
+        refreshHover(); // The next player may play different hexes
+        requestBotMove(); // Let the computer player move if it is its turn
     }
     /**
      * Ends the game and displays a win dialog with restart or exit options.
-     * @param winner The winning player ("Red" or "Blue")
+     * The dialog is shown after the current event has been handled, so the final move is drawn first.
+     * @param winner The winning player (StoneColor.RED or StoneColor.BLUE)
      */
-    private void endGame(String winner) {
+    private void endGame(byte winner) {
+        stopPlay(); // No more moves
         renderer.showWinMessage(winner); // Display the win message
-        Alert alert = createGameOverAlert(); // Create the game-over dialog
-        Optional<ButtonType> result = alert.showAndWait(); // Show the dialog and get the result
-        if (result.isPresent() && result.get().getButtonData() == ButtonBar.ButtonData.YES) { // Check for restart
-            restartGame(); // Restart the game
-        } else {
-            Platform.exit(); // Exit the application
+        showGameOverDialog(); // Offer a new game
+    }
+
+    /**
+     * Ends the game because a player's flag fell. Does nothing if the game was restarted meanwhile.
+     * @param side The player who ran out of time
+     */
+    public void flagFell(byte side) {
+        if (clock == null || clock.getFlagged() != side) {
+            return; // Stale: the clock has been reset since
+        }
+        byte winner = StoneColor.opponent(side); // The other player wins
+        System.out.println(StoneColor.name(side) + " ran out of time!"); // Log the flag-fall
+        stopPlay(); // No more moves
+        for (MoveListener listener : moveListeners) { // Notify followers
+            listener.onTimeout(side);
         }
+        renderer.showWinOnTime(winner); // Display the win message
+        showGameOverDialog(); // Offer a new game
+    }
+
+    /**
+     * Stops play at the end of a game: clears the highlight, cancels any search and stops the clock.
+     */
+    private void stopPlay() {
+        gameOver = true; // No more moves to highlight
+        board.setHoveredCell(gc, -1); // Clear the highlight
+        cancelSearch(); // Nothing left to analyse
+        if (clock != null) {
+            clock.stop(); // Keep the final times on display
+        }
+    }
+
+    /**
+     * Shows the game-over dialog after the current event has been handled, then restarts or exits.
+     */
+    private void showGameOverDialog() {
+        Platform.runLater(() -> {
+            Alert alert = createGameOverAlert(); // Create the game-over dialog
+            Optional<ButtonType> result = alert.showAndWait(); // Show the dialog and get the result
+            if (result.isPresent() && result.get().getButtonData() == ButtonBar.ButtonData.YES) { // Check for restart
+                restartGame(); // Restart the game
+            } else {
+                Platform.exit(); // Exit the application
+            }
+        });
+    }
+
+    /**
+     * Hands one player to the computer. Its moves are searched on the given executor.
+     * @param botPlayer The player the computer controls (StoneColor.RED or StoneColor.BLUE)
+     * @param searchExecutor The executor that runs the searches
+     */
+    public void setBot(byte botPlayer, SearchExecutor searchExecutor) {
+        this.botPlayer = botPlayer; // Assign the computer player
+        this.searchExecutor = searchExecutor; // Assign the executor
+    }
+
+    /**
+     * Streams the best moves of every human turn onto the board, searched on the given executor.
+     * Shares the executor with a computer player if there is one, so analysis stops while the computer thinks.
+     * @param analysisOverlay The overlay that shows the candidates
+     * @param searchExecutor The executor that runs the analysis, used only if no computer player has set one
+     */
+    public void setAnalysis(AnalysisOverlay analysisOverlay, SearchExecutor searchExecutor) {
+        this.analysisOverlay = analysisOverlay; // Assign the overlay
+        if (this.searchExecutor == null) {
+            this.searchExecutor = searchExecutor; // Assign the executor
+        }
+    }
+
+    /**
+     * Plays under a time control: both players get a clock, the computer player thinks for a budget derived from
+     * its time left, and a player whose flag falls loses. Starts the clock of the side to move.
+     * Flag-fall is detected on the shared TimerWheel and handled on the JavaFX thread.
+     * @param control The time control
+     */
+    public void setTimeControl(TimeControl control) {
+        clock = new GameClock(control, TimerWheel.shared(),
+                side -> Platform.runLater(() -> flagFell(side))); // End the game on the JavaFX thread
+        clock.start(player.getCurrentPlayer()); // Time the side to move
+    }
+
+    /**
+     * Measures the wall time, CPU time and allocation of every move played, split into its phases.
+     * @param profiler The profiler, or null to stop measuring
+     */
+    public void setProfiler(MoveProfiler profiler) {
+        this.profiler = profiler; // Assign the profiler
+        movePipeline.setProfiler(profiler); // Measure the rules phases too
+    }
+
+    /**
+     * Retrieves the game clock.
+     * @return The clock, or null without a time control
+     */
+    public GameClock getClock() {
+        return clock; // Return the clock
+    }
+
+    /**
+     * Starts a background search for the computer player's move if it is the computer's turn. On the human's turn
+     * it starts an analysis of the position if analysis is enabled, or otherwise lets the computer ponder.
+     * The move is played on the JavaFX thread when the search completes, unless the game is restarted first.
+     */
+    public void requestBotMove() {
+        if (!isBotTurn()) {
+            if (analysisOverlay != null) {
+                startAnalysis(); // Human to move: analyse the position instead
+            } else {
+                startPondering(); // Human to move: think about the likely replies
+            }
+            return;
+        }
+        byte side = player.getCurrentPlayer(); // The computer player
+        GameState state = GameState.of(board.getHexStatus(), side, movePipeline.getOpponentHadStones()); // Copy
+        renderer.showThinking(side, 0); // Show that the computer is thinking
+        SearchListener listener = new SearchListener() {
+            @Override
+            public void onProgress(int depth, int bestCell, int score, long nodes) {
+                renderer.showThinking(side, depth); // Show the depth reached
+            }
+
+            @Override
+            public void onComplete(int bestCell) {
+                if (bestCell >= 0) { // Play the chosen move
+                    HexGrid grid = state.getGrid(); // Layout of the board
+                    playMove(gc, grid.qIndex(bestCell) - grid.getRadius(), grid.rIndex(bestCell) - grid.getRadius());
+                }
+            }
+        };
+        long time = clock == null ? BOT_TIME_MILLIS : clock.moveBudgetMillis(side); // Thinking time for this move
+        Ponderer pondered = ponderer; // Pondering of the human's turn just ended
+        ponderer = null;
+        if (pondered != null && pondered.claim(state, time, listener)) {
+            return; // Pondering already answered this position, or is answering it now
+        }
+        searchExecutor.submit(state, searchExecutor.newSearch(BOT_DEPTH, time, 1), listener); // Search now
+    }
+
+    /**
+     * Starts pondering the human's turn if a computer player is configured.
+     */
+    private void startPondering() {
+        if (botPlayer == StoneColor.EMPTY) {
+            return; // No computer player
+        }
+        GameState state = GameState.of(board.getHexStatus(), player.getCurrentPlayer(),
+                movePipeline.getOpponentHadStones()); // Copy the position
+        ponderer = new Ponderer(botPlayer, BOT_DEPTH, BOT_TIME_MILLIS, PONDER_REPLIES, Platform::runLater);
+        searchExecutor.ponder(state, ponderer); // Think while the human decides
+    }
+
+    /**
+     * Starts analysing the current position, replacing any earlier analysis, if analysis is enabled.
+     */
+    private void startAnalysis() {
+        if (analysisOverlay == null) {
+            return; // Analysis is off
+        }
+        GameState state = GameState.of(board.getHexStatus(), player.getCurrentPlayer(),
+                movePipeline.getOpponentHadStones()); // Copy the position
+        BotSearch search = searchExecutor.newSearch(ANALYSIS_DEPTH, ANALYSIS_TIME_MILLIS, analysisOverlay.getCapacity());
+        searchExecutor.analyse(state, search, analysisOverlay.newSearch()); // Stream the candidates
+    }
+
+    /**
+     * Cancels any search in progress. Its move and progress updates are discarded, and analysis marks disappear.
+     */
+    public void cancelSearch() {
+        if (searchExecutor != null) {
+            searchExecutor.cancel(); // Stop the search and drop its callbacks
+        }
+        ponderer = null; // Its answers belong to the abandoned position
+        if (analysisOverlay != null) {
+            analysisOverlay.clear(); // Remove the candidates
+        }
+    }
+
+    /**
+     * Checks if the computer player is to move.
+     * @return True if a computer player is configured and it is its turn
+     */
+    private boolean isBotTurn() {
+        return botPlayer != StoneColor.EMPTY && player.getCurrentPlayer() == botPlayer; // Compare the players
     }
 
     /**
@@ -103,63 +375,100 @@ public class GameManager {
     public void setBoard(Board board) {
         this.board = board; // Update the board reference
         this.captureHandler.board = board; // Update the capture handler's board reference
+        // Cache capture checks for the new board's array
+        moveValidator.setCache(new CapturePotentialCache(board.getHexStatus(), captureHandler));
+        captureHandler.setRegistry(new GroupRegistry(board.getHexStatus())); // Keep its groups as records
     }
 
     /**
-     * Resets the game state to start a new game.
+     * Checks if the current player may place a stone at the given hex, without logging.
+     * Uses cached capture checks, so it is cheap enough for hover feedback.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @return True if the move is valid, false otherwise
      */
-    public void reset() {
-        opponentHadStones = false; // Reset the opponent stone history
-        renderer.hideWinMessage(); // Hide any existing win message
-        renderer.showTurnIndicator(); // Show the turn indicator
-        renderer.updateTurn("Red"); // Set the starting player to Red
+    public boolean isLegalMove(int boardQ, int boardR) {
+        if (board.getGrid().cellAt(boardQ, boardR) < 0) { // Check the hex is on the board
+            return false;
+        }
+        return moveValidator.isLegal(boardQ, boardR, board.getHexStatus(), player.getCurrentPlayer());
     }
 
-
     /**
-     * Validates if a move is allowed at the given coordinates.
-     * @param q The q-coordinate of the move
-     * @param r The r-coordinate of the move
-     * @param currentPlayer The player making the move ("Red" or "Blue")
-     * @return True if the move is valid, false otherwise
+     * Tells the rules that stones were written straight into the board array rather than played, so cached capture
+     * checks and group records are rebuilt before the next move and the board's snapshot matches the array again.
      */
-    private boolean isValidMove(double q, double r, String currentPlayer) {
-        return moveValidator.isValidMove(q, r, board.getHexStatus(), currentPlayer); // Delegate to validator
+    public void boardEdited() {
+        movePipeline.boardEdited(); // Rebuild the cached rules state on next use
+        board.syncSnapshot(); // Recopy the stones into the snapshot
     }
 
     /**
-     * Executes a move by placing a stone on the board.
-     * @param gc The graphics context for drawing
-     * @param x The x-coordinate of the click
-     * @param y The y-coordinate of the click
-     * @param currentPlayer The player making the move
+     * Checks if the opponent has ever had stones, as tracked for the win condition.
+     * @return The opponent stone history
      */
-    private void executeMove(GraphicsContext gc, double x, double y, String currentPlayer) {
-        board.fillHex(gc, x, y, currentPlayer); // Place the stone on the board
+    public boolean getOpponentHadStones() {
+        return movePipeline.getOpponentHadStones(); // Delegate to the pipeline
     }
 
+    /**
+     * Resumes a saved game: loads its stones, side to move and win history, and redraws the board.
+     * @param save The saved game
+     */
+    public void restore(SaveGame save) {
+        cancelSearch(); // Drop any move still being searched
+        movePipeline.reset(); // Clear the history and cached capture checks
+        movePipeline.setOpponentHadStones(save.getOpponentHadStones()); // Restore the win history
+        board.loadSnapshot(save.getBoard(), gc); // Load and draw the stones
+        player.setCurrentPlayer(save.getSideToMove()); // Restore the side to move
+        for (MoveListener listener : moveListeners) { // Notify followers
+            listener.onRestore(save.getBoard(), save.getSideToMove());
+        }
+        restartClock(save.getSideToMove()); // Clocks are not saved: full time from here
+        gameOver = false; // The saved game is still being played
+        renderer.hideWinMessage(); // Hide any existing win message
+        board.updateTurnIndicator(); // Show whose turn it is
+        requestBotMove(); // Let the computer move if it is its turn
+    }
 
     /**
-     * Checks if the current player has won the game.
-     * A player wins if the opponent had stones but has none left.
-     * @param currentPlayer The player to check ("Red" or "Blue")
-     * @return True if the player has won, false otherwise
+     * Gives both players their full time and starts the clock of the side to move, if there is a clock.
+     * @param side The side to move
      */
-    private boolean hasPlayerWon(String currentPlayer) {
-        String opponent = currentPlayer.equals("Red") ? "Blue" : "Red"; // Determine the opponent
-        boolean opponentNowHasStones = false; // Track current opponent stones
-        for (String[] row : board.getHexStatus()) { // Iterate over each row
-            for (String cell : row) { // Iterate over each cell
-                if (cell != null && cell.equals(opponent)) { // Check for opponent's stones
-                    opponentNowHasStones = true; // Set flag if opponent has stones
-                    opponentHadStones = true; // Update history
-                }
-            }
+    private void restartClock(byte side) {
+        if (clock != null) {
+            clock.reset(); // Full time, nobody flagged
+            clock.start(side); // Time the side to move
         }
-        // Win if opponent had stones before but none now
-        return opponentHadStones && !opponentNowHasStones;
     }
 
+    /**
+     * Registers a listener to be told about every move, restart, restore and flag-fall.
+     * @param listener The listener to add
+     */
+    public void addMoveListener(MoveListener listener) {
+        moveListeners.add(listener); // Add the listener
+    }
+
+    /**
+     * Resets the game state to start a new game.
+     */
+    public void reset() {
+        cancelSearch(); // Drop any move still being searched
+        movePipeline.reset(); // Reset the opponent stone history
+        for (MoveListener listener : moveListeners) { // Notify followers
+            listener.onReset();
+        }
+        renderer.hideWinMessage(); // Hide any existing win message
+        renderer.showTurnIndicator(); // Show the turn indicator
+        renderer.updateTurn(StoneColor.RED); // Set the starting player to Red
+        restartClock(StoneColor.RED); // Full time for the new game
+        gameOver = false; // Moves may be highlighted again
+        if (hoverCell >= 0) {
+            refreshHover(); // Re-check the highlight for the new game
+        }
+        requestBotMove(); // Let the computer open if it plays Red
+    }
 
 
     /**
@@ -0,0 +1,226 @@
+/**
+ * A self-contained HexOust game without any UI: board, side to move, and the rule components.
+ * Moves go through the same MovePipeline, MoveValidator and CaptureHandler as the live game, and turns follow
+ * the Player extra-turn rule, so tools such as perft, bots and batch runners play exactly the real rules.
+ * Instances are not thread-safe; give each thread its own copy.
+ */
+public class GameState {
+    private final HexGrid grid; // Cell layout of the board
+    private final byte[][] hexStatus; // Board owned by this state
+    private final CaptureHandler captureHandler; // Finds captures, never draws
+    private final GroupRegistry registry; // Groups of this board, updated on every move
+    private final MoveValidator moveValidator; // Classifies placements
+    private final MovePipeline movePipeline; // Applies moves
+    private final PositionEvaluator evaluator; // Evaluation features, updated on every move
+    private byte sideToMove; // Player to move (StoneColor.RED or StoneColor.BLUE)
+    private byte winner; // Winning player, or StoneColor.EMPTY while the game continues
+    private long hash; // Zobrist hash of the board, side to move and win history, updated on every move
+
+    /**
+     * Constructs a new game on an empty board with Red to move.
+     */
+    public GameState() {
+        this(HexGrid.STANDARD); // Standard board
+    }
+
+    /**
+     * Constructs a new game on an empty board of any radius with Red to move.
+     * @param grid The cell layout of the board
+     */
+    public GameState(HexGrid grid) {
+        this.grid = grid; // Assign the layout
+        this.hexStatus = new byte[grid.getSize()][grid.getSize()]; // Empty board
+        this.captureHandler = new CaptureHandler(null); // Never draws
+        this.registry = new GroupRegistry(hexStatus); // Group records of this board
+        this.captureHandler.setRegistry(registry);
+        this.moveValidator = new MoveValidator(captureHandler); // Uncached validator
+        this.movePipeline = new MovePipeline(moveValidator, captureHandler); // Shared rules
+        this.evaluator = new PositionEvaluator(grid); // Features of the empty board
+        this.sideToMove = StoneColor.RED; // Red starts
+    }
+
+    /**
+     * Constructs a copy of another state, with its own rule components bound to the copied board.
+     * @param other The state to copy
+     */
+    private GameState(GameState other) {
+        this.grid = other.grid; // Share the immutable layout
+        this.hexStatus = new byte[other.hexStatus.length][]; // Copy the board rows
+        for (int q = 0; q < hexStatus.length; q++) {
+            hexStatus[q] = other.hexStatus[q].clone(); // Copy the row
+        }
+        this.captureHandler = new CaptureHandler(null); // Never draws
+        this.registry = new GroupRegistry(other.registry, hexStatus); // Copy the group records
+        this.captureHandler.setRegistry(registry);
+        this.moveValidator = new MoveValidator(captureHandler); // Uncached validator
+        this.movePipeline = new MovePipeline(moveValidator, captureHandler); // Fresh win history holder
+        this.movePipeline.setOpponentHadStones(other.movePipeline.getOpponentHadStones()); // Copy win history
+        this.evaluator = new PositionEvaluator(other.evaluator); // Copy the features
+        this.sideToMove = other.sideToMove; // Copy the side to move
+        this.winner = other.winner; // Copy the result
+        this.hash = other.hash; // Copy the hash
+    }
+
+    /**
+     * Creates a state from a live board, for example to hand the current game to a bot.
+     * @param hexStatus The board to copy; left unchanged
+     * @param sideToMove The player to move (StoneColor.RED or StoneColor.BLUE)
+     * @param opponentHadStones The opponent stone history tracked for the win condition
+     * @return A new state holding a copy of the board
+     */
+    public static GameState of(byte[][] hexStatus, byte sideToMove, boolean opponentHadStones) {
+        return of(HexGrid.forBoard(hexStatus), hexStatus, sideToMove, opponentHadStones); // Layout of the same radius
+    }
+
+    /**
+     * Creates a state on an existing layout, so callers rebuilding many positions share one grid.
+     * @param grid The layout, whose radius must match the board
+     * @param hexStatus The board to copy; left unchanged
+     * @param sideToMove The player to move (StoneColor.RED or StoneColor.BLUE)
+     * @param opponentHadStones The opponent stone history tracked for the win condition
+     * @return A new state holding a copy of the board
+     */
+    public static GameState of(HexGrid grid, byte[][] hexStatus, byte sideToMove, boolean opponentHadStones) {
+        GameState state = new GameState(grid); // Empty board on the shared layout
+        for (int q = 0; q < hexStatus.length; q++) {
+            System.arraycopy(hexStatus[q], 0, state.hexStatus[q], 0, hexStatus[q].length); // Copy the row
+        }
+        state.evaluator.rebuild(state.hexStatus); // Features of the copied board
+        state.sideToMove = sideToMove; // Set the side to move
+        state.movePipeline.setOpponentHadStones(opponentHadStones); // Carry over the win history
+        state.hash = state.grid.hash(state.hexStatus, sideToMove, opponentHadStones); // Hash from scratch
+        return state; // Return the new state
+    }
+
+    /**
+     * Creates an independent copy of this state.
+     * @return The copy
+     */
+    public GameState copy() {
+        return new GameState(this); // Copy the state
+    }
+
+    /**
+     * Plays a move for the side to move.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @return The result of the move, or null if the move is not allowed or the game is over
+     */
+    public MoveResult play(int boardQ, int boardR) {
+        if (winner != StoneColor.EMPTY) {
+            return null; // No moves after the game ends
+        }
+        int radius = grid.getRadius(); // Offset between board indices and cube coordinates
+        boolean hadStones = movePipeline.getOpponentHadStones(); // History before the move
+        MoveResult result = movePipeline.play(boardQ - radius, boardR - radius, hexStatus, sideToMove); // Apply the rules
+        if (result != null) {
+            evaluator.moveApplied(result); // Update the features
+            winner = result.getWinner(); // Record the result
+            hash ^= grid.zobrist(grid.cellAt(boardQ, boardR), sideToMove); // The placed stone
+            byte opponent = StoneColor.opponent(sideToMove);
+            for (int[] hex : result.getCapturedStones()) {
+                hash ^= grid.zobrist(grid.cellAt(hex[0], hex[1]), opponent); // Each captured stone
+            }
+            if (movePipeline.getOpponentHadStones() != hadStones) {
+                hash ^= grid.zobristOpponentHadStones(); // History changed
+            }
+            byte next = Player.nextPlayer(sideToMove, result.isExtraTurn()); // Apply the extra turn rule
+            if (next != sideToMove) {
+                hash ^= grid.zobristBlueToMove(); // Side to move changed
+            }
+            sideToMove = next;
+        }
+        return result; // Report the move
+    }
+
+    /**
+     * Plays a move given by its dense cell index.
+     * @param cell The cell index
+     * @return The result of the move, or null if the move is not allowed or the game is over
+     */
+    public MoveResult play(int cell) {
+        return play(grid.qIndex(cell), grid.rIndex(cell)); // Convert to board indices
+    }
+
+    /**
+     * Lists the legal moves for the side to move.
+     * @param moves Receives the dense cell indices of legal moves; must hold at least getCellCount() entries
+     * @return The number of legal moves written
+     */
+    public int legalMoves(int[] moves) {
+        if (winner != StoneColor.EMPTY) {
+            return 0; // No moves after the game ends
+        }
+        int count = 0; // Moves found so far
+        for (int cell = 0; cell < grid.getCellCount(); cell++) { // Loops through cells
+            if (moveValidator.isLegal(grid.qIndex(cell), grid.rIndex(cell), hexStatus, sideToMove)) {
+                moves[count++] = cell; // Record the legal move
+            }
+        }
+        return count; // Return the number of moves
+    }
+
+    /**
+     * Scores the position for the side to move from the incrementally maintained features.
+     * @return Positive if the side to move is ahead
+     */
+    public int evaluate() {
+        return evaluator.evaluate(sideToMove); // Read the features
+    }
+
+    /**
+     * Retrieves the evaluation features. Callers must not modify them.
+     * @return The evaluator
+     */
+    public PositionEvaluator getEvaluator() {
+        return evaluator; // Return the features
+    }
+
+    /**
+     * Retrieves the Zobrist hash of the position, covering the board, the side to move and the win history.
+     * @return The hash
+     */
+    public long getHash() {
+        return hash; // Return the hash
+    }
+
+    /**
+     * Retrieves the board. Callers must not modify it.
+     * @return The hexStatus array
+     */
+    public byte[][] getHexStatus() {
+        return hexStatus; // Return the board
+    }
+
+    /**
+     * Retrieves the cell layout.
+     * @return The grid
+     */
+    public HexGrid getGrid() {
+        return grid; // Return the layout
+    }
+
+    /**
+     * Retrieves the player to move.
+     * @return StoneColor.RED or StoneColor.BLUE
+     */
+    public byte getSideToMove() {
+        return sideToMove; // Return the side to move
+    }
+
+    /**
+     * Retrieves the winner.
+     * @return The winning player, or StoneColor.EMPTY while the game continues
+     */
+    public byte getWinner() {
+        return winner; // Return the winner
+    }
+
+    /**
+     * Checks if the opponent has ever had stones, as tracked for the win condition.
+     * @return The opponent stone history
+     */
+    public boolean getOpponentHadStones() {
+        return movePipeline.getOpponentHadStones(); // Delegate to the pipeline
+    }
+}
@@ -0,0 +1,278 @@
+import java.util.Arrays; // Used for clearing the tables
+import java.util.List; // Used for lists of coordinates
+
+/**
+ * Keeps every group of connected same-colored stones on one board array as an explicit record.
+ * Each stone knows its group id, and each group keeps its color, size and a linked list of its members, so
+ * capture checks read group sizes instead of walking the board, and a captured group is forgotten in one sweep over
+ * its own members. Groups in HexOust never split, because captures always take whole groups: a placement merges
+ * the groups it touches (relabelling all but the largest) and a capture deletes groups, nothing else.
+ * The registry is bound to one board array and only learns about changes made through the MovePipeline;
+ * writes made directly to the array must be followed by {@link #invalidate()}, after which the groups are rebuilt
+ * from the array on next use.
+ */
+public class GroupRegistry {
+    private static final int NONE = -1; // No group, or the end of a member list
+    private final HexGrid grid; // Cell layout of the board
+    private final byte[][] hexStatus; // Board array the registry describes
+    private final int[] groupOf; // Group id per cell, or NONE for empty cells
+    private final int[] nextMember; // Next cell of the same group, or NONE
+    private final int[] head; // First member per group id
+    private final int[] tail; // Last member per group id
+    private final int[] size; // Member count per group id
+    private final byte[] color; // Stone color per group id
+    private final int[] freeIds; // Group ids not in use
+    private int freeCount; // Number of free ids
+    private final int[] touching = new int[6]; // Scratch: distinct groups next to a cell
+    private boolean stale; // True until the groups have been built from the array
+
+    /**
+     * Constructs a registry for the given board array. The groups are built on first use.
+     * @param hexStatus The board array the registry describes
+     */
+    public GroupRegistry(byte[][] hexStatus) {
+        this.hexStatus = hexStatus; // Assign the board array
+        this.grid = HexGrid.forBoard(hexStatus); // Layout matching the array
+        int cells = grid.getCellCount(); // At most one group per cell
+        this.groupOf = new int[cells];
+        this.nextMember = new int[cells];
+        this.head = new int[cells];
+        this.tail = new int[cells];
+        this.size = new int[cells];
+        this.color = new byte[cells];
+        this.freeIds = new int[cells];
+        this.stale = true; // Build lazily
+    }
+
+    /**
+     * Constructs a copy of another registry for a copy of its board array.
+     * @param other The registry to copy
+     * @param hexStatus The copied board array, holding the same stones as the other registry's array
+     */
+    public GroupRegistry(GroupRegistry other, byte[][] hexStatus) {
+        this.hexStatus = hexStatus; // Assign the copied board array
+        this.grid = other.grid; // Share the immutable layout
+        this.groupOf = other.groupOf.clone(); // Copy every table
+        this.nextMember = other.nextMember.clone();
+        this.head = other.head.clone();
+        this.tail = other.tail.clone();
+        this.size = other.size.clone();
+        this.color = other.color.clone();
+        this.freeIds = other.freeIds.clone();
+        this.freeCount = other.freeCount;
+        this.stale = other.stale;
+    }
+
+    /**
+     * Checks whether the registry describes the given board array.
+     * @param hexStatus The board array to check
+     * @return True if the registry is bound to this array, false otherwise
+     */
+    public boolean isBoundTo(byte[][] hexStatus) {
+        return this.hexStatus == hexStatus; // Identity, not contents
+    }
+
+    /**
+     * Forgets every group, for example after a restart or direct board edits. They are rebuilt on next use.
+     */
+    public void invalidate() {
+        stale = true; // Rebuild on next use
+    }
+
+    /**
+     * Retrieves the group of a stone.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @return The group id, or -1 if the hex is empty
+     */
+    public int groupAt(int boardQ, int boardR) {
+        ensureBuilt(); // Catch up with direct edits
+        return groupOf[grid.cellAt(boardQ, boardR)]; // Read the cell's group
+    }
+
+    /**
+     * Retrieves the number of stones in a group.
+     * @param group The group id
+     * @return The group size
+     */
+    public int sizeOf(int group) {
+        return size[group]; // Return the size
+    }
+
+    /**
+     * Retrieves the color of a group.
+     * @param group The group id
+     * @return StoneColor.RED or StoneColor.BLUE
+     */
+    public byte colorOf(int group) {
+        return color[group]; // Return the color
+    }
+
+    /**
+     * Finds the groups a placement would capture: every distinct opponent group next to the hex that is smaller
+     * than the group the placed stone would join. Each adjacent group is considered once, however many sides of
+     * the hex it touches.
+     * @param boardQ The q-index of the placement in the hexStatus array
+     * @param boardR The r-index of the placement in the hexStatus array
+     * @param currentPlayer The player placing the stone (StoneColor.RED or StoneColor.BLUE)
+     * @param captured Receives the ids of the captured groups; must hold at least six entries
+     * @return The number of captured groups
+     */
+    public int findCaptures(int boardQ, int boardR, byte currentPlayer, int[] captured) {
+        ensureBuilt(); // Catch up with direct edits
+        int cell = grid.cellAt(boardQ, boardR); // Dense index of the hex
+        int placedSize = 1; // The placed stone itself
+        int adjacent = touchingGroups(cell, currentPlayer); // Own groups the stone would join
+        for (int i = 0; i < adjacent; i++) {
+            placedSize += size[touching[i]]; // Joined groups
+        }
+        adjacent = touchingGroups(cell, StoneColor.opponent(currentPlayer)); // Opponent groups next to the hex
+        int count = 0; // Captured groups found
+        for (int i = 0; i < adjacent; i++) {
+            if (size[touching[i]] < placedSize) {
+                captured[count++] = touching[i]; // Smaller, so captured
+            }
+        }
+        return count; // Return the number of captured groups
+    }
+
+    /**
+     * Appends the coordinates of a group's members to a list.
+     * @param group The group id
+     * @param stones Receives {q-index, r-index} pairs
+     */
+    public void addMembers(int group, List<int[]> stones) {
+        for (int c = head[group]; c != NONE; c = nextMember[c]) { // Walk the member list
+            stones.add(new int[]{grid.qIndex(c), grid.rIndex(c)});
+        }
+    }
+
+    /**
+     * Brings the groups up to date with a move the MovePipeline has applied to the bound array:
+     * captured groups are deleted in one sweep each and the placed stone joins or founds its group. The pipeline has
+     * already emptied the captured hexes, so only the records change here.
+     * @param result The move just applied
+     */
+    public void moveApplied(MoveResult result) {
+        if (stale) {
+            return; // Rebuilt from the array on next use anyway
+        }
+        for (int[] hex : result.getCapturedStones()) { // Remove each captured group once
+            int group = groupOf[grid.cellAt(hex[0], hex[1])];
+            if (group != NONE) {
+                remove(group); // Later stones of the same group are already forgotten
+            }
+        }
+        place(grid.cellAt(result.getQ(), result.getR()), result.getPlayer()); // Add the placed stone
+    }
+
+    /**
+     * Counts the groups on the board.
+     * @return The number of groups of either color
+     */
+    public int getGroupCount() {
+        ensureBuilt(); // Catch up with direct edits
+        return grid.getCellCount() - freeCount; // Ids in use
+    }
+
+    /**
+     * Builds the groups from the board array if it has changed outside the MovePipeline.
+     */
+    private void ensureBuilt() {
+        if (!stale) {
+            return; // Up to date
+        }
+        Arrays.fill(groupOf, NONE); // Start from an empty board
+        freeCount = 0;
+        for (int id = grid.getCellCount() - 1; id >= 0; id--) {
+            freeIds[freeCount++] = id; // Every id is free, lowest handed out first
+        }
+        for (int cell = 0; cell < grid.getCellCount(); cell++) { // Place every stone in cell order
+            byte stone = hexStatus[grid.qIndex(cell)][grid.rIndex(cell)];
+            if (stone != StoneColor.EMPTY) {
+                place(cell, stone); // Joins the groups of earlier neighbours
+            }
+        }
+        stale = false; // Up to date
+    }
+
+    /**
+     * Adds a stone to the registry, merging every group of its color it touches into the largest of them.
+     * @param cell The dense cell index of the stone
+     * @param stone The stone's color
+     */
+    private void place(int cell, byte stone) {
+        int adjacent = touchingGroups(cell, stone); // Groups the stone joins
+        int target; // Group that absorbs the others
+        if (adjacent == 0) {
+            target = freeIds[--freeCount]; // Found a new group
+            head[target] = NONE;
+            tail[target] = NONE;
+            size[target] = 0;
+            color[target] = stone;
+        } else {
+            target = touching[0]; // Pick the largest group so the fewest stones are relabelled
+            for (int i = 1; i < adjacent; i++) {
+                if (size[touching[i]] > size[target]) {
+                    target = touching[i];
+                }
+            }
+            for (int i = 0; i < adjacent; i++) {
+                int other = touching[i];
+                if (other != target) {
+                    for (int c = head[other]; c != NONE; c = nextMember[c]) {
+                        groupOf[c] = target; // Relabel the smaller group
+                    }
+                    nextMember[tail[target]] = head[other]; // Splice its members on
+                    tail[target] = tail[other];
+                    size[target] += size[other];
+                    freeIds[freeCount++] = other; // Its id is free again
+                }
+            }
+        }
+        groupOf[cell] = target; // Append the stone
+        nextMember[cell] = NONE;
+        if (head[target] == NONE) {
+            head[target] = cell;
+        } else {
+            nextMember[tail[target]] = cell;
+        }
+        tail[target] = cell;
+        size[target]++;
+    }
+
+    /**
+     * Deletes a group's records in one sweep over its members. The hexes themselves are emptied by the MovePipeline.
+     * @param group The group id
+     */
+    private void remove(int group) {
+        for (int c = head[group]; c != NONE; c = nextMember[c]) { // Walk the member list
+            groupOf[c] = NONE; // The stone is gone
+        }
+        freeIds[freeCount++] = group; // Its id is free again
+    }
+
+    /**
+     * Collects the distinct groups of one color next to a cell into the scratch array.
+     * @param cell The dense cell index
+     * @param stone The color of the groups to collect
+     * @return The number of groups collected
+     */
+    private int touchingGroups(int cell, byte stone) {
+        int count = 0; // Groups found
+        for (int n : grid.neighbours(cell)) { // Check all adjacent hexes
+            int group = groupOf[n];
+            if (group == NONE || color[group] != stone) {
+                continue; // Empty or the other color
+            }
+            boolean seen = false; // A group can touch the cell from several sides
+            for (int i = 0; i < count && !seen; i++) {
+                seen = touching[i] == group;
+            }
+            if (!seen) {
+                touching[count++] = group; // New group
+            }
+        }
+        return count; // Return the number of groups
+    }
+}
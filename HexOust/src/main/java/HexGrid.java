@@ -0,0 +1,258 @@
+import java.util.Arrays; // Used for filling lookup tables
+import java.util.SplittableRandom; // Generates the Zobrist keys
+
+/**
+ * Describes the cell layout of a hexagonal HexOust grid with a given radius.
+ * Maps the (q, r) board indices used by hexStatus to a dense cell index and back,
+ * and precomputes neighbour tables so engine code can walk the grid without bounds checks.
+ */
+public final class HexGrid {
+    private static final int[][] DIRECTIONS = {{1, -1}, {1, 0}, {0, 1}, {-1, 1}, {-1, 0}, {0, -1}}; // Six adjacent directions
+    public static final HexGrid STANDARD = new HexGrid(6); // The base-7 grid used by Board
+    public static final int MAX_RADIUS = 104; // Largest playable radius: its 32761 cells fit the short cell fields
+    private final int radius; // Grid radius (6 for the standard board)
+    private final int size; // Width of the hexStatus array (2 * radius + 1)
+    private final int cellCount; // Number of playable cells
+    private final int[] qIndex; // q-index in the hexStatus array for each cell
+    private final int[] rIndex; // r-index in the hexStatus array for each cell
+    private final int[][] cellAt; // Cell index for each hexStatus position, or -1 if off the hex
+    private final int[][] neighbours; // Adjacent cell indices for each cell
+    private final long[] zobrist; // Random key per cell and color, then the side and history keys
+
+    /**
+     * Constructs the layout for a grid of the given radius.
+     * @param radius The grid radius
+     * @throws IllegalArgumentException if the radius is negative
+     */
+    public HexGrid(int radius) {
+        if (radius < 0) throw new IllegalArgumentException("Radius cannot be negative");
+        this.radius = radius; // Assign the radius
+        this.size = 2 * radius + 1; // Array width needed to hold the grid
+        this.cellCount = 3 * radius * (radius + 1) + 1; // Number of hexes in a hexagon of this radius
+        this.qIndex = new int[cellCount]; // Allocate q lookup
+        this.rIndex = new int[cellCount]; // Allocate r lookup
+        this.cellAt = new int[size][size]; // Allocate reverse lookup
+        int cell = 0; // Next dense index to assign
+        for (int q = 0; q < size; q++) { // Loops through q indices
+            Arrays.fill(cellAt[q], -1); // Mark the row as off the hex by default
+            for (int r = 0; r < size; r++) { // Loops through r indices
+                if (Math.abs(q + r - 2 * radius) <= radius) { // Checks |s| <= radius
+                    qIndex[cell] = q; // Record q-index
+                    rIndex[cell] = r; // Record r-index
+                    cellAt[q][r] = cell++; // Record dense index
+                }
+            }
+        }
+        this.neighbours = new int[cellCount][]; // Allocate neighbour table
+        for (int c = 0; c < cellCount; c++) { // Loops through cells
+            int[] adjacent = new int[DIRECTIONS.length]; // Holds neighbours found so far
+            int count = 0; // Number of neighbours found
+            for (int[] dir : DIRECTIONS) { // Check all adjacent hexes
+                int n = cellAt(qIndex[c] + dir[0], rIndex[c] + dir[1]); // Look up the neighbour
+                if (n >= 0) { // Keep only neighbours on the hex
+                    adjacent[count++] = n; // Store neighbour
+                }
+            }
+            neighbours[c] = Arrays.copyOf(adjacent, count); // Trim to the actual neighbour count
+        }
+        SplittableRandom random = new SplittableRandom(0x5EED_0000L + radius); // Same keys on every run
+        this.zobrist = new long[2 * cellCount + 2]; // Red keys, Blue keys, side to move, opponent history
+        for (int i = 0; i < zobrist.length; i++) {
+            zobrist[i] = random.nextLong(); // Independent random key
+        }
+    }
+
+    /**
+     * Retrieves the layout for a radius, sharing STANDARD for the standard board.
+     * @param radius The grid radius
+     * @return The layout
+     */
+    public static HexGrid of(int radius) {
+        return radius == STANDARD.radius ? STANDARD : new HexGrid(radius); // Reuse the standard tables
+    }
+
+    /**
+     * Reads a board radius from the command line, falling back to the standard radius with a message if the value
+     * is not a whole number from 1 to MAX_RADIUS. Larger boards have more cells than HitTestMap and PositionStore can
+     * index, because they store cell indices as shorts.
+     * @param value The option value, for example "4"
+     * @return The radius
+     */
+    public static int parseRadius(String value) {
+        try {
+            int radius = Integer.parseInt(value.trim()); // Rings around the center
+            if (radius >= 1 && radius <= MAX_RADIUS) {
+                return radius; // Valid radius
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Invalid --radius \"" + value + "\", playing on the standard radius " + STANDARD.radius);
+        return STANDARD.radius; // Fall back
+    }
+
+    /**
+     * Retrieves the layout that fits a board array.
+     * @param hexStatus A board array of width 2 * radius + 1
+     * @return The layout
+     */
+    public static HexGrid forBoard(byte[][] hexStatus) {
+        return of(hexStatus.length / 2); // The array is 2 * radius + 1 wide
+    }
+
+    /**
+     * Retrieves the grid radius.
+     * @return The radius
+     */
+    public int getRadius() {
+        return radius; // Return the radius
+    }
+
+    /**
+     * Retrieves the width of the hexStatus array for this grid.
+     * @return The array width (2 * radius + 1)
+     */
+    public int getSize() {
+        return size; // Return the array width
+    }
+
+    /**
+     * Retrieves the number of playable cells.
+     * @return The cell count
+     */
+    public int getCellCount() {
+        return cellCount; // Return the number of cells
+    }
+
+    /**
+     * Retrieves the number of 64-bit words needed for one bit per cell.
+     * @return The word count per color
+     */
+    public int words() {
+        return (cellCount + 63) >>> 6; // Round up to whole longs
+    }
+
+    /**
+     * Retrieves the Zobrist key of a stone, XORed into a position hash whenever the stone appears or disappears.
+     * @param cell The dense cell index
+     * @param stone The stone's color (StoneColor.RED or StoneColor.BLUE)
+     * @return The key
+     */
+    public long zobrist(int cell, byte stone) {
+        return zobrist[(stone - 1) * cellCount + cell]; // Red keys first, then Blue keys
+    }
+
+    /**
+     * Retrieves the Zobrist key XORed into a position hash while Blue is to move.
+     * @return The key
+     */
+    public long zobristBlueToMove() {
+        return zobrist[2 * cellCount]; // After the stone keys
+    }
+
+    /**
+     * Retrieves the Zobrist key XORed into a position hash once the opponent stone history is set.
+     * @return The key
+     */
+    public long zobristOpponentHadStones() {
+        return zobrist[2 * cellCount + 1]; // Last key
+    }
+
+    /**
+     * Computes the Zobrist hash of a position from scratch.
+     * @param hexStatus The board
+     * @param sideToMove The player to move (StoneColor.RED or StoneColor.BLUE)
+     * @param opponentHadStones The opponent stone history tracked for the win condition
+     * @return The hash
+     */
+    public long hash(byte[][] hexStatus, byte sideToMove, boolean opponentHadStones) {
+        long hash = sideToMove == StoneColor.BLUE ? zobristBlueToMove() : 0; // Side to move
+        if (opponentHadStones) {
+            hash ^= zobristOpponentHadStones(); // Win history
+        }
+        for (int c = 0; c < cellCount; c++) { // Loops through cells
+            byte stone = hexStatus[qIndex[c]][rIndex[c]];
+            if (stone != StoneColor.EMPTY) {
+                hash ^= zobrist(c, stone); // Stone on the cell
+            }
+        }
+        return hash; // Return the hash
+    }
+
+    /**
+     * Looks up the dense cell index for a hexStatus position.
+     * @param q The q-index in the hexStatus array
+     * @param r The r-index in the hexStatus array
+     * @return The cell index, or -1 if the position is off the hex
+     */
+    public int cellAt(int q, int r) {
+        if (q < 0 || q >= size || r < 0 || r >= size) { // Check array bounds
+            return -1; // Outside the array
+        }
+        return cellAt[q][r]; // Return the cell index
+    }
+
+    /**
+     * Retrieves the hexStatus q-index of a cell.
+     * @param cell The cell index
+     * @return The q-index
+     */
+    public int qIndex(int cell) {
+        return qIndex[cell]; // Return the q-index
+    }
+
+    /**
+     * Retrieves the hexStatus r-index of a cell.
+     * @param cell The cell index
+     * @return The r-index
+     */
+    public int rIndex(int cell) {
+        return rIndex[cell]; // Return the r-index
+    }
+
+    /**
+     * Retrieves the cells adjacent to a cell. The returned array must not be modified.
+     * @param cell The cell index
+     * @return The adjacent cell indices
+     */
+    public int[] neighbours(int cell) {
+        return neighbours[cell]; // Return the shared neighbour table
+    }
+
+    /**
+     * Packs a board into bitmasks: Red's words followed by Blue's words.
+     * @param hexStatus The board state to pack
+     * @return The packed board, 2 * words() longs
+     */
+    public long[] pack(byte[][] hexStatus) {
+        int words = words(); // Words per color
+        long[] packed = new long[2 * words]; // Red words then Blue words
+        for (int c = 0; c < cellCount; c++) { // Loops through cells
+            byte stone = hexStatus[qIndex[c]][rIndex[c]]; // Read the cell
+            if (stone != StoneColor.EMPTY) { // Skip empty cells
+                int offset = stone == StoneColor.RED ? 0 : words; // Pick the color's words
+                packed[offset + (c >>> 6)] |= 1L << c; // Set the cell's bit
+            }
+        }
+        return packed; // Return the packed board
+    }
+
+    /**
+     * Unpacks bitmasks produced by {@link #pack(byte[][])} into a new board array.
+     * @param packed The packed board
+     * @return A new hexStatus array holding the same stones
+     */
+    public byte[][] unpack(long[] packed) {
+        int words = words(); // Words per color
+        byte[][] hexStatus = new byte[size][size]; // Fresh empty board
+        for (int c = 0; c < cellCount; c++) { // Loops through cells
+            long bit = 1L << c; // Bit for this cell within its word
+            if ((packed[c >>> 6] & bit) != 0) { // Check Red
+                hexStatus[qIndex[c]][rIndex[c]] = StoneColor.RED; // Place Red
+            } else if ((packed[words + (c >>> 6)] & bit) != 0) { // Check Blue
+                hexStatus[qIndex[c]][rIndex[c]] = StoneColor.BLUE; // Place Blue
+            }
+        }
+        return hexStatus; // Return the board
+    }
+}
@@ -0,0 +1,186 @@
+import java.util.Arrays; // Used for clearing images
+
+/**
+ * Maps HexOust positions onto a canonical representative of their symmetry class.
+ * The hexagonal board has 12 symmetries in cube coordinates: six rotations, each optionally
+ * combined with a reflection. Permutation tables over cell indices are built once per grid, so
+ * transposition tables and opening books can store a single entry per equivalence class.
+ * Instances are immutable apart from per-thread scratch, so one can be shared by every thread.
+ */
+public final class HexSymmetry {
+    public static final int COUNT = 12; // Six rotations times two reflections
+    private final HexGrid grid; // Grid whose cells are permuted
+    private final int[][] permutations; // Image cell for each symmetry and cell
+    private final int[] inverses; // Symmetry that undoes each symmetry
+    private final ThreadLocal<long[][]> images; // Per-thread candidate and best image for canonicalSymmetry
+
+    /**
+     * Constructs the symmetry tables for the given grid.
+     * @param grid The grid layout to build permutations for
+     */
+    public HexSymmetry(HexGrid grid) {
+        this.grid = grid; // Assign the grid
+        int radius = grid.getRadius(); // Offset between cube coordinates and indices
+        this.permutations = new int[COUNT][grid.getCellCount()]; // Allocate permutation tables
+        for (int sym = 0; sym < COUNT; sym++) { // Loops through symmetries
+            for (int cell = 0; cell < grid.getCellCount(); cell++) { // Loops through cells
+                int q = grid.qIndex(cell) - radius; // Cube q
+                int r = grid.rIndex(cell) - radius; // Cube r
+                int s = -q - r; // Cube s
+                if (sym >= 6) { // Reflect across the q axis by swapping r and s
+                    int t = r;
+                    r = s;
+                    s = t;
+                }
+                for (int turn = 0; turn < sym % 6; turn++) { // Rotate 60 degrees per turn
+                    int t = q;
+                    q = -r;
+                    r = -s;
+                    s = -t;
+                }
+                permutations[sym][cell] = grid.cellAt(q + radius, r + radius); // Store the image cell
+            }
+        }
+        this.images = ThreadLocal.withInitial(() -> new long[2][2 * grid.words()]); // Sized for packed boards
+        this.inverses = new int[COUNT]; // Allocate inverse lookup
+        for (int sym = 0; sym < COUNT; sym++) { // Loops through symmetries
+            for (int candidate = 0; candidate < COUNT; candidate++) { // Find the one that maps back
+                if (composesToIdentity(sym, candidate)) {
+                    inverses[sym] = candidate; // Record the inverse
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps a single cell through a symmetry, for example to translate a book move.
+     * @param symmetry The symmetry index (0 is the identity)
+     * @param cell The cell index
+     * @return The image of the cell
+     */
+    public int mapCell(int symmetry, int cell) {
+        return permutations[symmetry][cell]; // Look up the image
+    }
+
+    /**
+     * Retrieves the symmetry that undoes the given symmetry.
+     * @param symmetry The symmetry index
+     * @return The inverse symmetry index
+     */
+    public int inverse(int symmetry) {
+        return inverses[symmetry]; // Look up the inverse
+    }
+
+    /**
+     * Applies a symmetry to a packed position.
+     * @param packed The position as produced by {@link HexGrid#pack(byte[][])}
+     * @param symmetry The symmetry index
+     * @return A new packed position with every stone moved to its image cell
+     */
+    public long[] transform(long[] packed, int symmetry) {
+        long[] result = new long[packed.length]; // Transformed position
+        transformInto(packed, symmetry, result); // Move every stone
+        return result; // Return the transformed position
+    }
+
+    /**
+     * Applies a symmetry to a packed position, writing the image into a caller's array.
+     * @param packed The position as produced by {@link HexGrid#pack(byte[][])}
+     * @param symmetry The symmetry index
+     * @param result Receives the image; must be as long as packed and is overwritten
+     */
+    private void transformInto(long[] packed, int symmetry, long[] result) {
+        int[] permutation = permutations[symmetry]; // Table for this symmetry
+        int words = grid.words(); // Words per color
+        Arrays.fill(result, 0); // Start from an empty board
+        for (int offset = 0; offset < packed.length; offset += words) { // Loops through colors
+            for (int w = 0; w < words; w++) { // Loops through words
+                long bits = packed[offset + w]; // Remaining stones in this word
+                while (bits != 0) { // Visit each set bit
+                    int cell = (w << 6) + Long.numberOfTrailingZeros(bits); // Cell index of the stone
+                    int image = permutation[cell]; // Where the stone moves to
+                    result[offset + (image >>> 6)] |= 1L << image; // Set the image bit
+                    bits &= bits - 1; // Clear the lowest set bit
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the symmetry that maps a position to its canonical (smallest) form.
+     * @param packed The packed position
+     * @return The symmetry index producing the canonical form
+     */
+    public int canonicalSymmetry(long[] packed) {
+        long[][] scratch = images.get(); // This thread's image buffers
+        if (scratch[0].length != packed.length) { // Not a packed board of this grid
+            scratch = new long[2][packed.length];
+            images.set(scratch);
+        }
+        long[] image = scratch[0]; // Candidate image
+        long[] spare = scratch[1]; // Holds the best image once one beats the position itself
+        int best = 0; // Identity until something smaller is found
+        long[] bestImage = packed; // Smallest image so far
+        for (int sym = 1; sym < COUNT; sym++) { // Loops through the other symmetries
+            transformInto(packed, sym, image); // Transform the position
+            if (compare(image, bestImage) < 0) { // Keep the smaller image
+                best = sym;
+                long[] previous = bestImage == packed ? spare : bestImage; // Buffer no longer needed
+                bestImage = image;
+                image = previous; // Reuse it for the next candidate
+            }
+        }
+        return best; // Return the winning symmetry
+    }
+
+    /**
+     * Maps a position to the smallest of its 12 symmetric images.
+     * Equivalent positions always produce equal arrays, so the result can be used as a table key.
+     * @param packed The packed position
+     * @return The canonical packed position
+     */
+    public long[] canonicalise(long[] packed) {
+        return transform(packed, canonicalSymmetry(packed)); // Apply the minimising symmetry
+    }
+
+    /**
+     * Maps a board to the smallest of its 12 symmetric images.
+     * @param hexStatus The board state
+     * @return The canonical packed position
+     */
+    public long[] canonicalise(byte[][] hexStatus) {
+        return canonicalise(grid.pack(hexStatus)); // Pack, then canonicalise
+    }
+
+    /**
+     * Orders packed positions word by word as unsigned values.
+     * @param a The first packed position
+     * @param b The second packed position
+     * @return A negative, zero, or positive value as a is less than, equal to, or greater than b
+     */
+    static int compare(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) { // Loops through words
+            int cmp = Long.compareUnsigned(a[i], b[i]); // Compare this word
+            if (cmp != 0) {
+                return cmp; // First difference decides
+            }
+        }
+        return 0; // Positions are equal
+    }
+
+    /**
+     * Checks whether applying one symmetry after another returns every cell to itself.
+     * @param first The symmetry applied first
+     * @param second The symmetry applied second
+     * @return True if the composition is the identity, false otherwise
+     */
+    private boolean composesToIdentity(int first, int second) {
+        for (int cell = 0; cell < grid.getCellCount(); cell++) { // Loops through cells
+            if (permutations[second][permutations[first][cell]] != cell) {
+                return false; // Some cell moved
+            }
+        }
+        return true; // Every cell returned home
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.Arrays; // Used for clearing the raster
+
+/**
+ * A precomputed raster holding the board cell under every canvas pixel.
+ * Built once for the current canvas size and rebuilt only on resize, so finding the hex under the mouse is a
+ * single array read with no floating-point maths and no allocation, fast enough for every mouse-move event.
+ * A pixel records a cell only if all four of its corners lie in that cell; since cells are convex, every point of
+ * the pixel then does too. Pixels crossed by an edge are marked unresolved, and their points are located exactly.
+ */
+public class HitTestMap {
+    public static final short UNRESOLVED = -2; // Pixel crossed by a cell edge or the board's outline
+    private static final short NO_CELL = -1; // Pixel outside the board
+    private short[] cells = new short[0]; // Cell index per pixel, row by row
+    private int width; // Raster width in pixels
+    private int height; // Raster height in pixels
+
+    /**
+     * Locates the cell under a pixel the slow way, used to fill the raster.
+     */
+    interface PixelLocator {
+        /**
+         * Finds the cell under a point.
+         * @param x The x-coordinate in pixels
+         * @param y The y-coordinate in pixels
+         * @return The dense cell index, UNRESOLVED if the point is off the board but close enough that a pixel
+         *         there may overlap it, or -1 if it is clear of the board
+         */
+        int cellAt(double x, double y);
+    }
+
+    /**
+     * Rebuilds the raster for a new canvas size.
+     * @param width The canvas width in pixels
+     * @param height The canvas height in pixels
+     * @param locator Computes the cell under each pixel
+     */
+    public void rebuild(int width, int height, PixelLocator locator) {
+        if (cells.length < width * height) {
+            cells = new short[width * height]; // Grow the raster
+        } else {
+            Arrays.fill(cells, NO_CELL); // Reuse the raster
+        }
+        this.width = width; // Assign the width
+        this.height = height; // Assign the height
+        int[] above = new int[width + 1]; // Cells under the corners along the top of the row
+        int[] below = new int[width + 1]; // Cells under the corners along the bottom of the row
+        for (int x = 0; x <= width; x++) {
+            above[x] = locator.cellAt(x, 0); // First row of corners
+        }
+        for (int y = 0; y < height; y++) { // Loops through rows
+            for (int x = 0; x <= width; x++) {
+                below[x] = locator.cellAt(x, y + 1); // Next row of corners
+            }
+            int row = y * width; // Start of the row
+            for (int x = 0; x < width; x++) { // Loops through pixels
+                int cell = above[x]; // Top-left corner
+                boolean whole = cell != UNRESOLVED && above[x + 1] == cell && below[x] == cell
+                        && below[x + 1] == cell; // All four corners agree
+                cells[row + x] = whole ? (short) cell : UNRESOLVED; // Record the cell
+            }
+            int[] swap = above; // Bottom corners become the next row's top corners
+            above = below;
+            below = swap;
+        }
+    }
+
+    /**
+     * Finds the cell under a point.
+     * @param x The x-coordinate in pixels
+     * @param y The y-coordinate in pixels
+     * @return The dense cell index, -1 if the point is off the board or outside the raster, or UNRESOLVED if its
+     *         pixel is crossed by an edge
+     */
+    public int cellAt(double x, double y) {
+        if (!(x >= 0 && y >= 0 && x < width && y < height)) { // Also rejects NaN
+            return NO_CELL; // Outside the raster
+        }
+        return cells[(int) y * width + (int) x]; // Read the cell
+    }
+
+    /**
+     * Checks if a point lies within the raster.
+     * @param x The x-coordinate in pixels
+     * @param y The y-coordinate in pixels
+     * @return True if the raster covers the point
+     */
+    public boolean covers(double x, double y) {
+        return x >= 0 && y >= 0 && x < width && y < height; // Check the bounds
+    }
+}
@@ -41,6 +41,7 @@ public class InputHandler {
         );
         // Define the action for the restart button
         restartButton.setOnAction(e -> {
+            gameManager.cancelSearch(); // Stop any computer player still thinking
             board.resetBoard(); // Clear the game board
             player.resetPlayer(); // Reset the player state
             gameManager.reset(); // Reset the game manager state
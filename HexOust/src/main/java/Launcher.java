@@ -0,0 +1,16 @@
+/**
+ * Entry point that does not extend Application.
+ * The java launcher starts the JavaFX toolkit before calling main on an Application subclass, which needs a display;
+ * starting through this class lets Main choose between the window and the headless batch runner first.
+ * Usage: {@code java Launcher [--batch [--quiet] <scripts>...]}
+ */
+public class Launcher {
+
+    /**
+     * Starts HexOust.
+     * @param args Command-line arguments, passed on to Main
+     */
+    public static void main(String[] args) {
+        Main.main(args); // Main decides whether JavaFX is needed
+    }
+}
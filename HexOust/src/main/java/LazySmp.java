@@ -0,0 +1,118 @@
+import java.util.concurrent.ExecutorService; // Runs the helper searches
+import java.util.concurrent.Executors; // Creates the helper threads
+
+/**
+ * Runs computer player searches on several threads in the Lazy SMP style.
+ * Every search made by newSearch() shares one lock-free TranspositionTable. While such a search runs, helper searches
+ * of the same root run on the helper threads without any coordination beyond the table: they start at staggered
+ * depths and visit the root moves in a rotated order, so they fill the table with results the main search then
+ * finds instead of searching again. The main search alone reports progress and picks the move, and stops its
+ * helpers when it finishes. With one thread it is a plain search with a transposition table.
+ */
+public class LazySmp {
+    private final TranspositionTable table; // Shared by every thread
+    private final int helperCount; // Helper searches per main search
+    private final ExecutorService helpers; // Helper threads, or null with one thread
+
+    /**
+     * Constructs a LazySmp.
+     * @param threads The total number of search threads, including the one running the main search
+     * @param tableMegabytes The size of the shared transposition table
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public LazySmp(int threads, int tableMegabytes) {
+        if (threads < 1) throw new IllegalArgumentException("Need at least one search thread");
+        this.table = new TranspositionTable(tableMegabytes); // Shared table
+        this.helperCount = threads - 1; // The caller's thread runs the main search
+        this.helpers = helperCount == 0 ? null : Executors.newFixedThreadPool(helperCount, runnable -> {
+            Thread thread = new Thread(runnable, "hexoust-helper"); // Name the threads for profilers
+            thread.setDaemon(true); // Never keep the application alive
+            return thread;
+        });
+    }
+
+    /**
+     * Reads a search thread count from the command line, falling back to one thread per available processor with a
+     * message if the value is not a whole number of at least one thread.
+     * @param value The option value, for example "4"
+     * @return The thread count
+     */
+    public static int parseThreads(String value) {
+        try {
+            int threads = Integer.parseInt(value.trim()); // Search threads
+            if (threads >= 1) {
+                return threads; // Valid count
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        int fallback = Runtime.getRuntime().availableProcessors(); // One thread per processor
+        System.err.println("Invalid --threads \"" + value + "\", searching on " + fallback + " threads");
+        return fallback; // Fall back
+    }
+
+    /**
+     * Creates a search that shares the table and runs the helper threads while it searches.
+     * @param maxDepth The deepest iteration to run
+     * @param timeLimitMillis The time allowed for the whole search, in milliseconds
+     * @param multiPv The number of best root moves to score exactly
+     * @return The search
+     */
+    public BotSearch newSearch(int maxDepth, long timeLimitMillis, int multiPv) {
+        return new BotSearch(maxDepth, timeLimitMillis, multiPv, this, 0); // Main search
+    }
+
+    /**
+     * Starts the helper searches for a main search.
+     * @param root The root of the main search; copied for each helper
+     * @param maxDepth The deepest iteration to run
+     * @param timeLimitMillis The time allowed, in milliseconds
+     * @return The running helpers, to pass to stopHelpers
+     */
+    BotSearch[] startHelpers(GameState root, int maxDepth, long timeLimitMillis) {
+        table.newSearch(); // Age out the previous move's entries
+        BotSearch[] running = new BotSearch[helperCount];
+        for (int i = 0; i < helperCount; i++) {
+            BotSearch helper = new BotSearch(maxDepth, timeLimitMillis, 1, this, i + 1); // Staggered helper
+            GameState copy = root.copy(); // Each thread owns its position
+            running[i] = helper;
+            helpers.execute(() -> helper.search(copy, null)); // Search until stopped
+        }
+        return running; // Let the main search stop them
+    }
+
+    /**
+     * Stops the helper searches of a finished main search.
+     * @param running The helpers returned by startHelpers
+     */
+    static void stopHelpers(BotSearch[] running) {
+        for (BotSearch helper : running) {
+            helper.cancel(); // Stops at its next node
+        }
+    }
+
+    /**
+     * Retrieves the shared transposition table.
+     * @return The table
+     */
+    public TranspositionTable getTable() {
+        return table; // Return the table
+    }
+
+    /**
+     * Retrieves the total number of search threads.
+     * @return The helper count plus one
+     */
+    public int getThreads() {
+        return helperCount + 1; // Helpers and the main search
+    }
+
+    /**
+     * Stops the helper threads.
+     */
+    public void shutdown() {
+        if (helpers != null) {
+            helpers.shutdownNow(); // Interrupt and stop
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import javafx.application.Application;         // Imports the base class for JavaFX applications
 import javafx.geometry.Insets;                // Imports class for defining padding and margins
 import javafx.geometry.Pos;                   // Imports class for specifying alignment constants
+import javafx.scene.Node;                     // Imports base class for elements of the scene graph
 import javafx.scene.Scene;                    // Imports class representing the JavaFX scene graph
 import javafx.scene.canvas.Canvas;            // Imports class for drawing surfaces
 import javafx.scene.canvas.GraphicsContext;   // Imports class providing drawing operations
@@ -8,11 +9,15 @@ import javafx.scene.control.Button;           // Imports class for interactive b
 import javafx.scene.control.Label;            // Imports class for displaying text elements
 import javafx.scene.input.MouseEvent;         // Imports class for mouse event handling
 import javafx.scene.layout.BorderPane;        // Imports class for arranging nodes in five regions
+import javafx.scene.layout.HBox;              // Imports class for horizontal box layout
 import javafx.scene.layout.StackPane;         // Imports class for stacking nodes on top of each other
 import javafx.scene.layout.VBox;              // Imports class for vertical box layout
 import javafx.scene.text.Font;                // Imports class for loading and using custom fonts
 import javafx.stage.Stage;                    // Imports class representing the primary window
 
+import java.io.IOException;                   // Imports exception for unreadable save files
+import java.nio.file.Path;                    // Imports class for locating the position store file
+
 /**
  * The main application class for HexOust, a hexagonal strategy game.
  * Sets up the JavaFX application, initializes game components, and handles the UI layout.
@@ -21,12 +26,26 @@ public class Main extends Application {
     private Board board;                       // Holds the hexagonal grid representation
     private Player player;                     // Manages the current player state
     private GameManager gameManager;           // Coordinates the game logic
+    private PositionStore positionStore;       // Optional off-heap record of every position played
+    private SearchExecutor searchExecutor;     // Runs computer player searches off the JavaFX thread
+    private RenderScheduler renderScheduler;   // Flushes board drawing once per pulse
+    private AutoSaver autoSaver;               // Saves the game after every move when enabled
+    private AnalysisOverlay analysisOverlay;   // Shows the best moves of the human's turns when enabled
+    private SpectatorHub spectatorHub;         // Broadcasts the game to read-only viewers when enabled
+    private SpectatorServer spectatorServer;   // Serves the broadcast on a local port when enabled
+    private ClockDisplay clockDisplay;         // Shows both players' clocks when a time control is set
+    private MoveProfiler moveProfiler;         // Measures the phases of every move when enabled
+    private ProfilerOverlay profilerOverlay;   // Shows the move measurements when enabled
 
     /**
-     * The entry point for launching the HexOust JavaFX application.
+     * The entry point for launching the HexOust JavaFX application, or the headless batch runner with --batch.
      * @param args Command-line arguments passed to the application
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.main(args);            // Play scripted games without starting JavaFX
+            return;
+        }
         launch(args);                          // Start the JavaFX runtime
     }
 
@@ -47,15 +66,110 @@ public class Main extends Application {
 
         Label turnIndicator = new Label();                // Create a label to show the current turn
         Renderer renderer = new Renderer(turnIndicator, stage); // Initialize the renderer
-        renderer.updateTurn("Red");                       // Set the initial turn to Red
+        renderer.updateTurn(StoneColor.RED);                       // Set the initial turn to Red
 
         player = new Player();                            // Initialize the player manager
         gameManager = new GameManager(board, player, renderer, stage, gc); // Initialize the game manager
-        board = new Board(renderer, player, gameManager); // Initialize the board
+        // Play on a smaller or larger board when started with --radius=N (6 is the standard board)
+        String radius = getParameters().getNamed().get("radius");
+        board = radius == null ? new Board(renderer, player, gameManager)  // Initialize the standard board
+                : new Board(renderer, player, gameManager, HexGrid.parseRadius(radius)); // Initialize a custom board
         gameManager.setBoard(board);                      // Link the board to the game manager
         board.resetBoard();                               // Clear the board to start fresh
+        renderScheduler = board.attachRenderScheduler(gc); // Coalesce drawing into pulses
+        renderScheduler.start();                          // Flush on every pulse
         board.render(gc);                                 // Draw the empty board
 
+        // Record every position to an off-heap store when started with --record=<file>
+        String recordFile = getParameters().getNamed().get("record");
+        if (recordFile != null) {
+            try {
+                positionStore = new PositionStore(Path.of(recordFile), board.getGrid()); // Open the store
+                gameManager.addMoveListener(new PositionRecorder(positionStore)); // Feed it every move
+            } catch (IOException e) {
+                System.err.println("Could not record to " + recordFile + ": " + e.getMessage()); // Play without it
+            }
+        }
+
+        // Resume an interrupted game and save after every move when started with --autosave=<file>
+        String autosaveFile = getParameters().getNamed().get("autosave");
+        if (autosaveFile != null) {
+            Path savePath = Path.of(autosaveFile);          // Locate the save
+            try {
+                SaveGame save = SaveGame.read(savePath, board.getGrid()); // Read the last save, if any
+                if (save != null) {
+                    gameManager.restore(save);               // Resume where the game stopped
+                }
+            } catch (IOException e) {
+                System.err.println("Could not resume saved game: " + e.getMessage()); // Start a new game instead
+            }
+            autoSaver = new AutoSaver(savePath, gameManager::getOpponentHadStones); // Start the writer
+            gameManager.addMoveListener(autoSaver);          // Save after every move
+        }
+
+        // Play under a time control when started with --clock=300+5 (Fischer) or --clock=600+30x3 (byo-yomi)
+        String timeControl = getParameters().getNamed().get("clock");
+        TimeControl control = timeControl == null ? null : TimeControl.parseOrNull(timeControl); // null if no clock
+        if (control != null) {
+            gameManager.setTimeControl(control);            // Start the side to move's clock
+            clockDisplay = new ClockDisplay(gameManager.getClock()); // Show both clocks
+            clockDisplay.start();                           // Refresh on pulses
+        }
+
+        // Show per-phase time and allocation of the last move and the last N moves when started with --profile=N
+        String profileWindow = getParameters().getNamed().get("profile");
+        if (profileWindow != null) {
+            moveProfiler = new MoveProfiler(MoveProfiler.parseWindow(profileWindow)); // Average over N moves
+            gameManager.setProfiler(moveProfiler);          // Measure every move played
+            renderScheduler.setProfiler(moveProfiler);      // Charge deferred drawing to its move
+            profilerOverlay = new ProfilerOverlay(moveProfiler); // Show the readings
+            profilerOverlay.start();                        // Refresh on pulses
+        }
+
+        // Broadcast the game to read-only viewers on a local port when started with --spectate=<port>
+        String spectatePort = getParameters().getNamed().get("spectate");
+        int port = spectatePort == null ? -1 : SpectatorServer.parsePort(spectatePort); // -1 if not spectating
+        if (port > 0) {
+            SpectatorHub hub = new SpectatorHub(board.snapshot(), player.getCurrentPlayer(), 64); // Resync after 64 moves behind
+            try {
+                spectatorServer = new SpectatorServer(hub, port); // Bind the port
+                spectatorServer.start();                    // Accept viewers
+                spectatorHub = hub;
+                gameManager.addMoveListener(spectatorHub);   // Publish every move
+            } catch (IOException e) {
+                System.err.println("Could not broadcast on port " + port + ": " + e.getMessage()); // Play without it
+                hub.close();                                // Stop its delivery threads
+            }
+        }
+
+        // Search on N threads sharing a lock-free transposition table when started with --threads=N
+        String threads = getParameters().getNamed().get("threads");
+        LazySmp lazySmp = threads == null ? null : new LazySmp(LazySmp.parseThreads(threads), 256); // 256 MB table
+
+        // Let the computer play one side when started with --bot=Red or --bot=Blue
+        String botPlayer = getParameters().getNamed().get("bot");
+        byte botSide = botPlayer == null ? StoneColor.EMPTY : StoneColor.parseBot(botPlayer); // EMPTY if no bot
+        if (botSide != StoneColor.EMPTY) {
+            searchExecutor = new SearchExecutor();         // Start the search thread
+            searchExecutor.setLazySmp(lazySmp);             // Share the table and helpers, if any
+            gameManager.setBot(botSide, searchExecutor);    // Hand the side to the computer
+            gameManager.requestBotMove();                   // Open the game if the computer plays Red
+        }
+
+        // Stream the best N moves of every human turn onto the board when started with --analysis=N
+        String analysisCount = getParameters().getNamed().get("analysis");
+        if (analysisCount != null) {
+            if (searchExecutor == null) {
+                searchExecutor = new SearchExecutor();     // Start the search thread
+                searchExecutor.setLazySmp(lazySmp);         // Share the table and helpers, if any
+            }
+            int candidates = AnalysisOverlay.parseCount(analysisCount); // Moves to mark
+            analysisOverlay = board.attachAnalysisOverlay(gc, candidates, 200); // Five refreshes a second
+            analysisOverlay.start();                        // Refresh on pulses
+            gameManager.setAnalysis(analysisOverlay, searchExecutor); // Analyse on the shared search thread
+            gameManager.requestBotMove();                   // Analyse the opening position
+        }
+
         InputHandler inputHandler = new InputHandler(stage, gc, gameManager, board, player); // Set up input handling
         Button restartButton = inputHandler.getRestartButton(); // Get the restart button
         Button exitButton = inputHandler.getExitButton();   // Get the exit button
@@ -82,8 +196,16 @@ public class Main extends Application {
                         "-fx-text-fill: #E74C3C;"
         );
 
+        // Show the clocks, if any, to the right of the turn indicator
+        Node turnRow = turnIndicator;
+        if (clockDisplay != null) {
+            HBox row = new HBox(20, turnIndicator, clockDisplay.getLabel()); // Side by side
+            row.setAlignment(Pos.CENTER);                  // Center the row
+            turnRow = row;
+        }
+
         // Arrange header elements vertically with spacing
-        VBox header = new VBox(5, welcome, credit, turnIndicator, renderer.getWinMessageLabel());
+        VBox header = new VBox(5, welcome, credit, turnRow, renderer.getWinMessageLabel());
         header.setAlignment(Pos.CENTER);                   // Center the header content
         header.setPadding(new Insets(10));                 // Add padding around the header
 
@@ -104,6 +226,15 @@ public class Main extends Application {
             gameManager.makeMove(gc, x, y);                // Process the move
         });
 
+        // Highlight legal hexes under the pointer, looked up in the hit-test raster
+        canvas.setOnMouseMoved((MouseEvent event) -> gameManager.hover(event.getX(), event.getY()));
+        canvas.setOnMouseExited((MouseEvent event) -> gameManager.hover(-1, -1));
+
+        // Rebuild the hit-test raster whenever the canvas is resized
+        board.resizeHitTest(canvas.getWidth(), canvas.getHeight());
+        canvas.widthProperty().addListener((obs, old, width) -> board.resizeHitTest(canvas.getWidth(), canvas.getHeight()));
+        canvas.heightProperty().addListener((obs, old, height) -> board.resizeHitTest(canvas.getWidth(), canvas.getHeight()));
+
         // Wrap the main pane in a StackPane for button positioning
         StackPane root = new StackPane(mainPane);
 
@@ -117,8 +248,52 @@ public class Main extends Application {
         StackPane.setMargin(exitButton, new Insets(0, 30, 30, 0));
         root.getChildren().add(exitButton);
 
+        // Show the move measurements, if any, in the top-left corner
+        if (profilerOverlay != null) {
+            StackPane.setAlignment(profilerOverlay.getLabel(), Pos.TOP_LEFT);
+            StackPane.setMargin(profilerOverlay.getLabel(), new Insets(10, 0, 0, 10));
+            root.getChildren().add(profilerOverlay.getLabel());
+        }
+
         Scene scene = new Scene(root, 1000, 900);           // Create the scene with specified size
         stage.setScene(scene);                             // Set the scene on the stage
         stage.show();                                      // Display the window
     }
+
+    /**
+     * Releases resources when the application exits.
+     * @throws Exception If the position store cannot be closed
+     */
+    @Override
+    public void stop() throws Exception {
+        if (renderScheduler != null) {
+            renderScheduler.stop();                        // Stop flushing
+        }
+        if (analysisOverlay != null) {
+            analysisOverlay.stop();                        // Stop refreshing
+        }
+        if (clockDisplay != null) {
+            clockDisplay.stop();                           // Stop refreshing
+        }
+        if (profilerOverlay != null) {
+            profilerOverlay.stop();                        // Stop refreshing
+            System.out.print("Move profile:" + System.lineSeparator() + moveProfiler.format()); // Report the readings
+            System.out.println("Rendering: " + renderScheduler.getStatistics()); // Report frame-time statistics
+        }
+        if (searchExecutor != null) {
+            searchExecutor.shutdown();                     // Stop any search still running
+        }
+        if (spectatorServer != null) {
+            spectatorServer.close();                       // Stop accepting viewers
+        }
+        if (spectatorHub != null) {
+            spectatorHub.close();                          // Drop connected viewers
+        }
+        if (autoSaver != null) {
+            autoSaver.close();                             // Finish the last write
+        }
+        if (positionStore != null) {
+            positionStore.close();                         // Flush and unmap the position store
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+import java.util.ArrayList; // Used for the captured hexes
+import java.util.List; // Used for lists of coordinates
+
+/**
+ * The change one move made to a live game, as sent to spectators: the placed cell, the captured cells, and who
+ * moves next. A game that ends without a move, when a flag falls, is sent as a delta with no placed cell.
+ * Instances are immutable and shared by every spectator of the game.
+ */
+public class MoveDelta {
+    public static final int NO_CELL = -1; // Placed cell of a delta that only ends the game
+    private final long sequence; // Position number after the move, one more than before it
+    private final int placedCell; // Dense index of the placed stone, or NO_CELL
+    private final byte player; // The player who moved
+    private final int[] capturedCells; // Dense indices of captured stones
+    private final byte sideToMove; // The player to move next
+    private final byte winner; // The winner, or StoneColor.EMPTY while the game continues
+
+    /**
+     * Constructs a MoveDelta.
+     * @param sequence The position number after the move
+     * @param placedCell The dense index of the placed stone, or NO_CELL
+     * @param player The player who moved (StoneColor.RED or StoneColor.BLUE), or StoneColor.EMPTY
+     * @param capturedCells The dense indices of captured stones; not copied, so it must not be changed
+     * @param sideToMove The player to move next
+     * @param winner The winner, or StoneColor.EMPTY while the game continues
+     */
+    public MoveDelta(long sequence, int placedCell, byte player, int[] capturedCells, byte sideToMove, byte winner) {
+        this.sequence = sequence; // Assign every field
+        this.placedCell = placedCell;
+        this.player = player;
+        this.capturedCells = capturedCells;
+        this.sideToMove = sideToMove;
+        this.winner = winner;
+    }
+
+    /**
+     * Builds the delta of a move applied by the MovePipeline.
+     * @param sequence The position number after the move
+     * @param grid The cell layout of the board
+     * @param result The result of the move
+     * @return The delta
+     */
+    public static MoveDelta of(long sequence, HexGrid grid, MoveResult result) {
+        int[] captured = new int[result.getCapturedStones().size()]; // Dense captured indices
+        for (int i = 0; i < captured.length; i++) {
+            int[] hex = result.getCapturedStones().get(i);
+            captured[i] = grid.cellAt(hex[0], hex[1]);
+        }
+        return new MoveDelta(sequence, grid.cellAt(result.getQ(), result.getR()), result.getPlayer(), captured,
+                Player.nextPlayer(result.getPlayer(), result.isExtraTurn()), result.getWinner());
+    }
+
+    /**
+     * Builds the delta of a game lost on time: no stone changes, only the result.
+     * @param sequence The position number after the flag-fall
+     * @param sideToMove The player who was to move
+     * @param winner The player who wins on time
+     * @return The delta
+     */
+    public static MoveDelta gameOver(long sequence, byte sideToMove, byte winner) {
+        return new MoveDelta(sequence, NO_CELL, StoneColor.EMPTY, new int[0], sideToMove, winner); // Result only
+    }
+
+    /**
+     * Applies the delta to a board.
+     * @param board The board before the move
+     * @return The board after the move; the same board if the delta has no placed cell
+     */
+    public BoardSnapshot applyTo(BoardSnapshot board) {
+        if (placedCell == NO_CELL) {
+            return board; // Only the result changed
+        }
+        HexGrid grid = board.getGrid(); // Cell layout
+        List<int[]> captured = new ArrayList<>(capturedCells.length); // Captured hexes
+        for (int cell : capturedCells) {
+            captured.add(new int[]{grid.qIndex(cell), grid.rIndex(cell)});
+        }
+        return board.without(captured).with(grid.qIndex(placedCell), grid.rIndex(placedCell), player); // Apply
+    }
+
+    /**
+     * Retrieves the position number after the move.
+     * @return The sequence number
+     */
+    public long getSequence() {
+        return sequence; // Return the sequence
+    }
+
+    /**
+     * Retrieves the placed cell.
+     * @return The dense cell index, or NO_CELL if the game ended without a move
+     */
+    public int getPlacedCell() {
+        return placedCell; // Return the cell
+    }
+
+    /**
+     * Retrieves the player who moved.
+     * @return StoneColor.RED or StoneColor.BLUE, or StoneColor.EMPTY if the game ended without a move
+     */
+    public byte getPlayer() {
+        return player; // Return the mover
+    }
+
+    /**
+     * Retrieves the captured cells. Callers must not modify the array.
+     * @return The dense cell indices
+     */
+    public int[] getCapturedCells() {
+        return capturedCells; // Return the shared array
+    }
+
+    /**
+     * Retrieves the player to move next.
+     * @return StoneColor.RED or StoneColor.BLUE
+     */
+    public byte getSideToMove() {
+        return sideToMove; // Return the side
+    }
+
+    /**
+     * Retrieves the winner.
+     * @return The winning player, or StoneColor.EMPTY while the game continues
+     */
+    public byte getWinner() {
+        return winner; // Return the winner
+    }
+}
@@ -0,0 +1,39 @@
+import jdk.jfr.Category; // Groups the event in recordings
+import jdk.jfr.Description; // Explains the event in recordings
+import jdk.jfr.Enabled; // Off unless a settings profile turns it on
+import jdk.jfr.Event; // Flight Recorder event base class
+import jdk.jfr.Label; // Names the event and its fields
+import jdk.jfr.Name; // Stable event name for settings profiles
+
+/**
+ * Flight Recorder event spanning one move played in the window, from validation to drawing.
+ * The validation, capture and win-check events of the move are nested inside it on the same thread, so a
+ * recording shows which phase a slow move spent its time in, next to GC pauses and safepoints. With a
+ * RenderScheduler attached the move only marks its hexes dirty; they are drawn in a later CanvasRedraw event,
+ * one per pulse flush, which follows the move instead of nesting inside it.
+ * Disabled unless a recording enables it, for example with the hexoust.jfc settings profile.
+ */
+@Name("hexoust.Move")
+@Label("Move")
+@Category({"HexOust", "Moves"})
+@Description("A move played in the game window, from validation to drawing")
+@Enabled(false)
+class MoveEvent extends Event {
+    @Label("Q-index")
+    int q; // q-index of the placed stone
+
+    @Label("R-index")
+    int r; // r-index of the placed stone
+
+    @Label("Player")
+    String player; // Player who moved
+
+    @Label("Captured Stones")
+    int capturedStones; // Stones removed by the move
+
+    @Label("Extra Turn")
+    boolean extraTurn; // True if the mover keeps the turn
+
+    @Label("Winner")
+    String winner; // Player who won with the move, or null if the game continues
+}
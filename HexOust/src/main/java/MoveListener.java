@@ -0,0 +1,33 @@
+/**
+ * Receives every move GameManager applies, for features that follow the game without driving it.
+ * Listeners run on the thread that made the move and should hand slow work to another thread.
+ */
+public interface MoveListener {
+    /**
+     * Called after a move has been applied and drawn.
+     * @param before The board as it was before the move
+     * @param result The result of the move
+     */
+    void onMove(BoardSnapshot before, MoveResult result);
+
+    /**
+     * Called when the game is restarted and the board cleared.
+     */
+    default void onReset() {
+    }
+
+    /**
+     * Called when a position is loaded without moves, for example when a saved game is resumed.
+     * @param board The loaded board
+     * @param sideToMove The player to move
+     */
+    default void onRestore(BoardSnapshot board, byte sideToMove) {
+    }
+
+    /**
+     * Called when a player's flag falls and the game ends on time.
+     * @param side The player who ran out of time
+     */
+    default void onTimeout(byte side) {
+    }
+}
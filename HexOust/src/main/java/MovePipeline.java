@@ -0,0 +1,157 @@
+import java.util.Collections; // Used for the empty capture list
+import java.util.List; // Used for lists of coordinates
+
+/**
+ * Processes a single move from validation to the win check in one pass.
+ * Each move is validated once, applied once, has its captures resolved once and its win condition checked once.
+ * The pipeline only updates the board array, so it runs the same with or without a UI.
+ */
+public class MovePipeline {
+    private final MoveValidator moveValidator; // Classifies placements
+    private final CaptureHandler captureHandler; // Finds captured stones
+    private boolean opponentHadStones; // Tracks if the opponent previously had stones
+    private MoveProfiler profiler; // Measures each phase of the move, or null
+
+    /**
+     * Constructs a MovePipeline with the given rule components.
+     * @param moveValidator The validator used to classify placements
+     * @param captureHandler The capture handler used to find captured stones
+     */
+    public MovePipeline(MoveValidator moveValidator, CaptureHandler captureHandler) {
+        this.moveValidator = moveValidator; // Assign the validator
+        this.captureHandler = captureHandler; // Assign the capture handler
+        this.opponentHadStones = false; // Set initial opponent stone flag
+    }
+
+    /**
+     * Validates and applies a move, resolving captures and checking the win condition.
+     * @param q The q-coordinate of the move in cube coordinates
+     * @param r The r-coordinate of the move in cube coordinates
+     * @param hexStatus The current state of the board, updated in place
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return The result of the move, or null if the move is not allowed
+     */
+    public MoveResult play(double q, double r, byte[][] hexStatus, byte currentPlayer) {
+        int radius = hexStatus.length / 2; // The array is 2 * radius + 1 wide
+        int cubeQ = (int) q; // Integer cube coordinates
+        int cubeR = (int) r;
+        if (Math.abs(cubeQ) > radius || Math.abs(cubeR) > radius || Math.abs(cubeQ + cubeR) > radius) {
+            return null; // Off the board
+        }
+        int boardQ = cubeQ + radius; // Convert q to board index
+        int boardR = cubeR + radius; // Convert r to board index
+        MoveValidator.Placement placement = moveValidator.classify(boardQ, boardR, hexStatus, currentPlayer);
+        mark(MoveProfiler.Phase.VALIDATE); // Classified
+        if (placement == MoveValidator.Placement.OCCUPIED) { // Occupied hexes are never allowed
+            return null;
+        }
+        List<int[]> capturedStones = placement == MoveValidator.Placement.FIRST_MOVE
+                ? Collections.emptyList() // Nothing to capture on an empty board
+                : captureHandler.findCaptures(boardQ, boardR, hexStatus, currentPlayer); // Resolve captures once
+        mark(MoveProfiler.Phase.CAPTURE); // Captures found
+        if (placement == MoveValidator.Placement.NEEDS_CAPTURE && capturedStones.isEmpty()) {
+            return null; // Adjacent to own stone without capturing
+        }
+        hexStatus[boardQ][boardR] = currentPlayer; // Place the stone
+        for (int[] hex : capturedStones) { // Remove captured stones
+            hexStatus[hex[0]][hex[1]] = StoneColor.EMPTY;
+        }
+        mark(MoveProfiler.Phase.APPLY); // Board updated
+        byte winner = hasPlayerWon(hexStatus, currentPlayer) ? currentPlayer : StoneColor.EMPTY; // Check the win once
+        MoveResult result = new MoveResult(boardQ, boardR, currentPlayer, capturedStones, winner);
+        mark(MoveProfiler.Phase.WIN_CHECK); // Result known
+        captureHandler.moveApplied(result, hexStatus); // Let the group records catch up
+        mark(MoveProfiler.Phase.CAPTURE); // Group records updated
+        moveValidator.moveApplied(result, hexStatus); // Let cached capture checks catch up
+        mark(MoveProfiler.Phase.VALIDATE); // Cached checks updated
+        return result; // Report the move
+    }
+
+    /**
+     * Measures the validate, capture, apply and win-check phases of every move with a profiler. The caller begins
+     * and ends each move, so a rejected move can be cancelled and drawing can be measured with it.
+     * @param profiler The profiler, or null to stop measuring
+     */
+    public void setProfiler(MoveProfiler profiler) {
+        this.profiler = profiler; // Assign the profiler
+    }
+
+    /**
+     * Ends a phase of the move being profiled, if profiling is on.
+     * @param phase The phase that just ended
+     */
+    private void mark(MoveProfiler.Phase phase) {
+        if (profiler != null) {
+            profiler.mark(phase); // Charge the phase
+        }
+    }
+
+    /**
+     * Resets the pipeline for a new game.
+     */
+    public void reset() {
+        opponentHadStones = false; // Reset the opponent stone history
+        boardEdited(); // The board has been cleared
+    }
+
+    /**
+     * Forgets the cached capture checks and group records after the board array was written outside the pipeline,
+     * for example by a test setting up a position. Both are rebuilt from the board on next use.
+     */
+    public void boardEdited() {
+        moveValidator.clearCache(); // Cached checks may describe the old stones
+        captureHandler.clearRegistry(); // Groups may have changed
+    }
+
+    /**
+     * Checks if the opponent has ever had stones on the board.
+     * @return True if the opponent had stones at some earlier win check
+     */
+    public boolean getOpponentHadStones() {
+        return opponentHadStones; // Return the opponent stone history
+    }
+
+    /**
+     * Restores the opponent stone history, for example when copying a game state.
+     * @param opponentHadStones The opponent stone history to restore
+     */
+    public void setOpponentHadStones(boolean opponentHadStones) {
+        this.opponentHadStones = opponentHadStones; // Assign the opponent stone history
+    }
+
+    /**
+     * Checks if the current player has won the game.
+     * A player wins if the opponent had stones but has none left.
+     * @param hexStatus The current state of the board
+     * @param currentPlayer The player to check (StoneColor.RED or StoneColor.BLUE)
+     * @return True if the player has won, false otherwise
+     */
+    private boolean hasPlayerWon(byte[][] hexStatus, byte currentPlayer) {
+        WinCheckEvent event = new WinCheckEvent(); // Free unless a recording enables it
+        event.begin();
+        byte opponent = StoneColor.opponent(currentPlayer); // Determine the opponent
+        boolean opponentNowHasStones = false; // Track current opponent stones
+        int scanned = 0; // Cells read
+        outerLoop:
+        for (byte[] row : hexStatus) { // Iterate over each row
+            for (byte cell : row) { // Iterate over each cell
+                scanned++;
+                if (cell == opponent) { // Check for opponent's stones
+                    opponentNowHasStones = true; // Set flag if opponent has stones
+                    break outerLoop; // One stone is enough
+                }
+            }
+        }
+        if (opponentNowHasStones) {
+            opponentHadStones = true; // Update history
+        }
+        boolean won = opponentHadStones && !opponentNowHasStones; // Win if opponent had stones before but none now
+        if (event.shouldCommit()) {
+            event.player = StoneColor.name(currentPlayer); // Describe the check
+            event.cellsScanned = scanned;
+            event.won = won;
+            event.commit(); // Record the check
+        }
+        return won; // Report the result
+    }
+}
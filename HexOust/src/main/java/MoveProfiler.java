@@ -0,0 +1,362 @@
+import java.lang.management.ManagementFactory; // Finds the thread MXBean
+import java.lang.management.ThreadMXBean; // Reads thread CPU time
+import java.util.Arrays; // Clears the move being measured
+
+/**
+ * Measures where the time and memory of each move go, for the developer overlay.
+ * A move is split into the validate, apply, capture, win-check and render phases. At every phase boundary the
+ * profiler reads three counters of the calling thread: System.nanoTime, the thread's CPU time and the bytes it has
+ * allocated, both from the platform ThreadMXBean. The differences are charged to the phase just ended, so phases
+ * that run in several pieces, such as cache updates after the stone is placed, add up. The last move and a rolling
+ * window of recent moves are kept; nothing is allocated while measuring.
+ * Drawing deferred to the next JavaFX pulse is charged to the render phase of the move that requested it.
+ * Methods must be called on the thread that plays the moves, normally the JavaFX application thread.
+ */
+public class MoveProfiler {
+    public static final int DEFAULT_WINDOW = 20; // Moves averaged when no valid window is given
+    private static final int METRICS = Metric.values().length; // Counters per phase
+    private static final int PHASES = Phase.values().length; // Phases per move
+    private final Counters counters; // Reads the thread's counters
+    private final int window; // Moves in the rolling average
+    private final long[] current = new long[PHASES * METRICS]; // Move being measured
+    private final long[] recent; // Last moves, window slots of PHASES * METRICS, oldest overwritten
+    private final long[] sums = new long[PHASES * METRICS]; // Sum over the recent moves
+    private final long[] mark = new long[METRICS]; // Counters at the last phase boundary
+    private final long[] delta = new long[METRICS]; // Counter differences across the last phase
+    private long moves; // Moves completed
+    private long version; // Incremented whenever a reading changes
+    private boolean measuring; // True between begin and end
+    private boolean awaitingRender; // True if the last move's drawing has not been flushed yet
+
+    /**
+     * A part of a move.
+     */
+    public enum Phase {
+        VALIDATE("validate"), // Legality checks and their cache
+        APPLY("apply"), // Placing the stone and removing captured ones
+        CAPTURE("capture"), // Finding captured groups and updating the group records
+        WIN_CHECK("win check"), // Checking the win condition
+        RENDER("render"); // Drawing the move
+
+        private final String label; // Name shown in the overlay
+
+        /**
+         * Constructs a Phase.
+         * @param label The name shown in the overlay
+         */
+        Phase(String label) {
+            this.label = label; // Assign the label
+        }
+
+        /**
+         * Retrieves the name shown in the overlay.
+         * @return The label
+         */
+        public String getLabel() {
+            return label; // Return the label
+        }
+    }
+
+    /**
+     * A quantity measured per phase.
+     */
+    public enum Metric {
+        WALL, // Elapsed time, in nanoseconds
+        CPU, // CPU time of the thread, in nanoseconds
+        BYTES // Bytes allocated by the thread
+    }
+
+    /**
+     * Reads the counters of the calling thread.
+     */
+    interface Counters {
+        /**
+         * Reads the elapsed time.
+         * @return The time, in nanoseconds
+         */
+        long wallNanos();
+
+        /**
+         * Reads the CPU time used by the calling thread.
+         * @return The time, in nanoseconds, or 0 if not supported
+         */
+        long cpuNanos();
+
+        /**
+         * Reads the bytes allocated by the calling thread.
+         * @return The bytes, or 0 if not supported
+         */
+        long allocatedBytes();
+    }
+
+    /**
+     * Constructs a MoveProfiler that reads the platform ThreadMXBean, enabling CPU time and allocation
+     * measurement if the JVM supports them.
+     * @param window The number of recent moves in the rolling average
+     */
+    public MoveProfiler(int window) {
+        this(window, platformCounters()); // Real counters
+    }
+
+    /**
+     * Constructs a MoveProfiler with custom counters, for example for tests.
+     * @param window The number of recent moves in the rolling average
+     * @param counters Reads the thread's counters
+     * @throws IllegalArgumentException if the window is less than 1
+     */
+    MoveProfiler(int window, Counters counters) {
+        if (window < 1) throw new IllegalArgumentException("Window must be at least 1 move");
+        this.window = window; // Assign the window
+        this.counters = counters; // Assign the counters
+        this.recent = new long[window * PHASES * METRICS]; // Room for every move in the window
+    }
+
+    /**
+     * Reads a rolling-average window from the command line, falling back to DEFAULT_WINDOW with a message if the
+     * value is not a whole number of at least one move.
+     * @param value The option value, for example "20"
+     * @return The window
+     */
+    public static int parseWindow(String value) {
+        try {
+            int window = Integer.parseInt(value.trim()); // Moves to average over
+            if (window >= 1) {
+                return window; // Valid window
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Invalid --profile window \"" + value + "\", averaging over " + DEFAULT_WINDOW + " moves");
+        return DEFAULT_WINDOW; // Fall back
+    }
+
+    /**
+     * Starts measuring a move. Any move still being measured is discarded.
+     */
+    public void begin() {
+        Arrays.fill(current, 0); // Nothing charged yet
+        measuring = true;
+        sample(); // Baseline
+    }
+
+    /**
+     * Charges everything since the previous boundary to a phase. Does nothing if no move is being measured.
+     * @param phase The phase that just ended
+     */
+    public void mark(Phase phase) {
+        if (!measuring) {
+            return; // Not profiling this move
+        }
+        charge(current, phase.ordinal() * METRICS); // Add the differences to the phase
+    }
+
+    /**
+     * Discards the move being measured, for example because it was rejected.
+     */
+    public void cancel() {
+        measuring = false; // Drop the readings
+    }
+
+    /**
+     * Completes the move being measured and adds it to the rolling average. Its drawing may still be charged to it
+     * by beginRender and endRender.
+     */
+    public void end() {
+        if (!measuring) {
+            return; // Nothing measured
+        }
+        measuring = false;
+        int slot = (int) (moves % window) * PHASES * METRICS; // Oldest move in the window
+        for (int i = 0; i < current.length; i++) {
+            sums[i] += current[i] - recent[slot + i]; // Replace the oldest move in the sums
+            recent[slot + i] = current[i]; // Keep the move
+        }
+        moves++;
+        version++; // The overlay should refresh
+        awaitingRender = true; // Its drawing comes on the next flush
+    }
+
+    /**
+     * Starts measuring deferred drawing if the last move's drawing has not been flushed yet.
+     * @return True if measuring started; endRender must then be called after drawing
+     */
+    public boolean beginRender() {
+        if (!awaitingRender || measuring) {
+            return false; // Drawing belongs to no completed move
+        }
+        awaitingRender = false;
+        sample(); // Baseline
+        return true;
+    }
+
+    /**
+     * Charges the drawing since beginRender to the render phase of the last move, in both the last move and the
+     * rolling average.
+     */
+    public void endRender() {
+        int offset = (int) ((moves - 1) % window) * PHASES * METRICS + Phase.RENDER.ordinal() * METRICS; // Last move
+        charge(recent, offset); // Add the drawing to the last move
+        for (int m = 0; m < METRICS; m++) {
+            sums[Phase.RENDER.ordinal() * METRICS + m] += delta[m]; // And to the average
+        }
+        version++; // The overlay should refresh
+    }
+
+    /**
+     * Adds the counter differences since the last boundary to one phase's readings, and moves the boundary.
+     * @param target The readings to add to
+     * @param offset The index of the phase's first reading in target
+     */
+    private void charge(long[] target, int offset) {
+        long wall = counters.wallNanos(); // Read the counters
+        long cpu = counters.cpuNanos();
+        long bytes = counters.allocatedBytes();
+        delta[Metric.WALL.ordinal()] = wall - mark[Metric.WALL.ordinal()]; // Cost of the phase
+        delta[Metric.CPU.ordinal()] = cpu - mark[Metric.CPU.ordinal()];
+        delta[Metric.BYTES.ordinal()] = bytes - mark[Metric.BYTES.ordinal()];
+        for (int m = 0; m < METRICS; m++) {
+            target[offset + m] += delta[m]; // Charge the phase
+        }
+        mark[Metric.WALL.ordinal()] = wall; // Move the boundary
+        mark[Metric.CPU.ordinal()] = cpu;
+        mark[Metric.BYTES.ordinal()] = bytes;
+    }
+
+    /**
+     * Reads the counters as a new boundary, charging nothing.
+     */
+    private void sample() {
+        mark[Metric.WALL.ordinal()] = counters.wallNanos(); // Read the counters
+        mark[Metric.CPU.ordinal()] = counters.cpuNanos();
+        mark[Metric.BYTES.ordinal()] = counters.allocatedBytes();
+    }
+
+    /**
+     * Retrieves a reading of the last completed move.
+     * @param phase The phase
+     * @param metric The quantity
+     * @return The reading, or 0 before the first move
+     */
+    public long getLast(Phase phase, Metric metric) {
+        if (moves == 0) {
+            return 0; // No move yet
+        }
+        int slot = (int) ((moves - 1) % window) * PHASES * METRICS; // Last move's slot
+        return recent[slot + phase.ordinal() * METRICS + metric.ordinal()]; // Return the reading
+    }
+
+    /**
+     * Retrieves the average reading over the recent moves.
+     * @param phase The phase
+     * @param metric The quantity
+     * @return The average, or 0 before the first move
+     */
+    public double getAverage(Phase phase, Metric metric) {
+        long count = Math.min(moves, window); // Moves in the window
+        return count == 0 ? 0 : (double) sums[phase.ordinal() * METRICS + metric.ordinal()] / count;
+    }
+
+    /**
+     * Retrieves the number of moves completed.
+     * @return The move count
+     */
+    public long getMoveCount() {
+        return moves; // Return the count
+    }
+
+    /**
+     * Retrieves a number that changes whenever a reading changes, so a display can skip unchanged frames.
+     * @return The version
+     */
+    public long getVersion() {
+        return version; // Return the version
+    }
+
+    /**
+     * Formats the readings as a table, one row per phase and a total: wall time, CPU time and allocation for the
+     * last move, then the same averaged over the recent moves. Times are in microseconds.
+     * @return The table, one line per row
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder(String.format("%-10s %8s %8s %9s | %8s %8s %9s%n",
+                "last/avg" + Math.min(moves, window), "wall \u00b5s", "cpu \u00b5s", "bytes",
+                "wall \u00b5s", "cpu \u00b5s", "bytes"));
+        long[] last = new long[METRICS]; // Totals of the last move
+        double[] average = new double[METRICS]; // Totals of the averages
+        for (Phase phase : Phase.values()) {
+            for (Metric metric : Metric.values()) {
+                last[metric.ordinal()] += getLast(phase, metric); // Add to the totals
+                average[metric.ordinal()] += getAverage(phase, metric);
+            }
+            row(text, phase.getLabel(), phase, null, null); // One row per phase
+        }
+        row(text, "total", null, last, average); // Whole move
+        return text.toString(); // Return the table
+    }
+
+    /**
+     * Appends one row of the table.
+     * @param text The table so far
+     * @param label The row name
+     * @param phase The phase to show, or null to show the given totals
+     * @param last The last move's totals, used if phase is null
+     * @param average The average totals, used if phase is null
+     */
+    private void row(StringBuilder text, String label, Phase phase, long[] last, double[] average) {
+        text.append(String.format("%-10s", label));
+        for (Metric metric : Metric.values()) { // Last move
+            long value = phase == null ? last[metric.ordinal()] : getLast(phase, metric);
+            text.append(' ').append(cell(value, metric));
+        }
+        text.append(" |");
+        for (Metric metric : Metric.values()) { // Rolling average
+            double value = phase == null ? average[metric.ordinal()] : getAverage(phase, metric);
+            text.append(' ').append(cell(value, metric));
+        }
+        text.append(System.lineSeparator());
+    }
+
+    /**
+     * Formats one reading: times in microseconds with one decimal, bytes whole.
+     * @param value The reading
+     * @param metric The quantity
+     * @return The padded text
+     */
+    private static String cell(double value, Metric metric) {
+        return metric == Metric.BYTES ? String.format("%9.0f", value) : String.format("%8.1f", value / 1000.0);
+    }
+
+    /**
+     * Creates counters backed by the platform ThreadMXBean. CPU time and allocation are switched on if supported,
+     * and read as 0 otherwise.
+     * @return The counters
+     */
+    private static Counters platformCounters() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean(); // Thread statistics
+        boolean cpu = bean.isCurrentThreadCpuTimeSupported(); // CPU time available
+        if (cpu && !bean.isThreadCpuTimeEnabled()) {
+            bean.setThreadCpuTimeEnabled(true); // Switch it on
+        }
+        com.sun.management.ThreadMXBean hotspot = bean instanceof com.sun.management.ThreadMXBean extended
+                && extended.isThreadAllocatedMemorySupported() ? extended : null; // Allocation available
+        if (hotspot != null && !hotspot.isThreadAllocatedMemoryEnabled()) {
+            hotspot.setThreadAllocatedMemoryEnabled(true); // Switch it on
+        }
+        return new Counters() {
+            @Override
+            public long wallNanos() {
+                return System.nanoTime(); // Elapsed time
+            }
+
+            @Override
+            public long cpuNanos() {
+                return cpu ? bean.getCurrentThreadCpuTime() : 0; // Thread CPU time
+            }
+
+            @Override
+            public long allocatedBytes() {
+                return hotspot != null ? hotspot.getCurrentThreadAllocatedBytes() : 0; // Thread allocation
+            }
+        };
+    }
+}
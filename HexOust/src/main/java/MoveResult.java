@@ -0,0 +1,78 @@
+import java.util.Collections; // Used for read-only views
+import java.util.List; // Used for lists of coordinates
+
+/**
+ * Describes the outcome of one move processed by the MovePipeline.
+ * Carries the placed hex, the stones it captured, whether the mover keeps the turn, and the winner if the game ended.
+ */
+public class MoveResult {
+    private final int q; // q-index of the placed stone in the hexStatus array
+    private final int r; // r-index of the placed stone in the hexStatus array
+    private final byte player; // The player who moved (StoneColor.RED or StoneColor.BLUE)
+    private final List<int[]> capturedStones; // Coordinates of stones removed by the move
+    private final byte winner; // The winning player, or StoneColor.EMPTY if the game continues
+
+    /**
+     * Constructs a MoveResult.
+     * @param q The q-index of the placed stone
+     * @param r The r-index of the placed stone
+     * @param player The player who moved (StoneColor.RED or StoneColor.BLUE)
+     * @param capturedStones The coordinates of captured stones
+     * @param winner The winning player, or StoneColor.EMPTY if the game continues
+     */
+    public MoveResult(int q, int r, byte player, List<int[]> capturedStones, byte winner) {
+        this.q = q; // Assign q-index
+        this.r = r; // Assign r-index
+        this.player = player; // Assign the mover
+        this.capturedStones = Collections.unmodifiableList(capturedStones); // Freeze the captured list
+        this.winner = winner; // Assign the winner
+    }
+
+    /**
+     * Retrieves the q-index of the placed stone.
+     * @return The q-index in the hexStatus array
+     */
+    public int getQ() {
+        return q; // Return the q-index
+    }
+
+    /**
+     * Retrieves the r-index of the placed stone.
+     * @return The r-index in the hexStatus array
+     */
+    public int getR() {
+        return r; // Return the r-index
+    }
+
+    /**
+     * Retrieves the player who made the move.
+     * @return The mover (StoneColor.RED or StoneColor.BLUE)
+     */
+    public byte getPlayer() {
+        return player; // Return the mover
+    }
+
+    /**
+     * Retrieves the stones captured by the move.
+     * @return A read-only list of captured coordinates
+     */
+    public List<int[]> getCapturedStones() {
+        return capturedStones; // Return the captured stones
+    }
+
+    /**
+     * Checks whether the move earned an extra turn.
+     * @return True if the move captured stones, false otherwise
+     */
+    public boolean isExtraTurn() {
+        return !capturedStones.isEmpty(); // Captures award an extra turn
+    }
+
+    /**
+     * Retrieves the winner if the move ended the game.
+     * @return The winning player, or StoneColor.EMPTY if the game continues
+     */
+    public byte getWinner() {
+        return winner; // Return the winner
+    }
+}
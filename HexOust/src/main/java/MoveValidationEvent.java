@@ -0,0 +1,29 @@
+import jdk.jfr.Category; // Groups the event in recordings
+import jdk.jfr.Description; // Explains the event in recordings
+import jdk.jfr.Enabled; // Off unless a settings profile turns it on
+import jdk.jfr.Event; // Flight Recorder event base class
+import jdk.jfr.Label; // Names the event and its fields
+import jdk.jfr.Name; // Stable event name for settings profiles
+
+/**
+ * Flight Recorder event for one placement classified by MoveValidator.
+ * Computer searches classify placements by the million, so settings profiles should give it a threshold.
+ */
+@Name("hexoust.MoveValidation")
+@Label("Move Validation")
+@Category({"HexOust", "Moves"})
+@Description("A placement classified by the move rules")
+@Enabled(false)
+class MoveValidationEvent extends Event {
+    @Label("Q-index")
+    int q; // q-index of the placement
+
+    @Label("R-index")
+    int r; // r-index of the placement
+
+    @Label("Player")
+    String player; // Player placing the stone
+
+    @Label("Placement")
+    String placement; // MoveValidator.Placement found
+}
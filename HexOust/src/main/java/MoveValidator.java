@@ -3,7 +3,19 @@
  * Ensures moves comply with game rules, including board boundaries, occupancy, and adjacency conditions.
  */
 public class MoveValidator {
+    /**
+     * The rule that governs a placement on a given hex.
+     */
+    public enum Placement {
+        OCCUPIED, // The hex already holds a stone
+        FIRST_MOVE, // The board is empty, so any hex is allowed
+        FREE, // No adjacent stone of the same color, so the move is allowed
+        NEEDS_CAPTURE // Adjacent to the player's own stone, so the move must capture
+    }
+
     private CaptureHandler captureHandler; // Reference to the capture handler for checking potential captures
+    private CapturePotentialCache cache; // Optional cache of capture checks for one board
+    private HexGrid grid = HexGrid.STANDARD; // Layout of the boards checked, replaced when the radius changes
 
     /**
      * Constructs a MoveValidator with a capture handler.
@@ -21,64 +33,189 @@ public class MoveValidator {
      * @param q The q-coordinate of the move in cube coordinates
      * @param r The r-coordinate of the move in cube coordinates
      * @param hexStatus The current state of the board
-     * @param currentPlayer The player making the move ("Red" or "Blue")
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
      * @return True if the move is valid, false otherwise
      * @throws IllegalArgumentException if hexStatus is null
      * @throws IndexOutOfBoundsException if the coordinates are out of bounds
      */
-    public boolean isValidMove(double q, double r, String[][] hexStatus, String currentPlayer) {
+    public boolean isValidMove(double q, double r, byte[][] hexStatus, byte currentPlayer) {
         if (hexStatus == null) throw new IllegalArgumentException("Hex status cannot be null");
-        int boardQ = (int) q + 6; // Convert q to board index
-        int boardR = (int) r + 6; // Convert r to board index
+        int boardQ = (int) q + hexStatus.length / 2; // Convert q to board index
+        int boardR = (int) r + hexStatus.length / 2; // Convert r to board index
         // Check if the coordinates are within the board boundaries
         if (boardQ < 0 || boardQ >= hexStatus.length || boardR < 0 || boardR >= hexStatus[0].length) {
             throw new IndexOutOfBoundsException("Invalid board coordinates");
         }
+        switch (classify(boardQ, boardR, hexStatus, currentPlayer)) {
+            case OCCUPIED:
+                System.out.println("Move rejected: Hex (" + boardQ + "," + boardR + ") is occupied");
+                return false;
+            case FIRST_MOVE:
+                System.out.println("First move on empty board, allowing placement at (" + boardQ + "," + boardR + ")");
+                return true;
+            case NEEDS_CAPTURE:
+                System.out.println("Adjacent same-color stone detected at (" + boardQ + "," + boardR + ")");
+                // Check if the move allows a capture
+                if (!wouldCapture(boardQ, boardR, hexStatus, currentPlayer)) {
+                    System.out.println("No capture possible, move rejected");
+                    return false;
+                }
+                System.out.println("Capture possible, allowing move");
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Checks if a move is valid without logging, using the capture cache when it covers the board.
+     * Intended for repeated checks such as hover feedback or highlighting every legal hex.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @param hexStatus The current state of the board
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return True if the move is valid, false otherwise
+     */
+    public boolean isLegal(int boardQ, int boardR, byte[][] hexStatus, byte currentPlayer) {
+        switch (classify(boardQ, boardR, hexStatus, currentPlayer)) {
+            case OCCUPIED:
+                return false;
+            case NEEDS_CAPTURE:
+                return wouldCapture(boardQ, boardR, hexStatus, currentPlayer);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Attaches a capture cache. The cache is consulted only for the board array it is bound to.
+     * @param cache The cache to use, or null to always simulate captures
+     */
+    public void setCache(CapturePotentialCache cache) {
+        this.cache = cache; // Assign the cache
+    }
+
+    /**
+     * Tells the capture cache about a move applied to a board.
+     * @param result The move just applied
+     * @param hexStatus The board the move was applied to
+     */
+    public void moveApplied(MoveResult result, byte[][] hexStatus) {
+        if (cache != null && cache.isBoundTo(hexStatus)) { // Only the cached board matters
+            cache.moveApplied(result); // Invalidate the affected entries
+        }
+    }
+
+    /**
+     * Forgets all cached capture checks, for example when the board is reset.
+     */
+    public void clearCache() {
+        if (cache != null) {
+            cache.clear(); // Drop every entry
+        }
+    }
+
+    /**
+     * Classifies a placement by the rules that apply to it, without logging or simulating captures.
+     * A NEEDS_CAPTURE placement is only legal if it captures, which the caller decides.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @param hexStatus The current state of the board
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return The placement class
+     */
+    public Placement classify(int boardQ, int boardR, byte[][] hexStatus, byte currentPlayer) {
+        MoveValidationEvent event = new MoveValidationEvent(); // Free unless a recording enables it
+        event.begin();
+        Placement placement = classifyPlacement(boardQ, boardR, hexStatus, currentPlayer); // Apply the rules
+        if (event.shouldCommit()) {
+            event.q = boardQ; // Describe the placement
+            event.r = boardR;
+            event.player = StoneColor.name(currentPlayer);
+            event.placement = placement.name();
+            event.commit(); // Record the validation
+        }
+        return placement; // Return the placement class
+    }
+
+    /**
+     * Classifies a placement by the rules that apply to it.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @param hexStatus The current state of the board
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return The placement class
+     */
+    private Placement classifyPlacement(int boardQ, int boardR, byte[][] hexStatus, byte currentPlayer) {
         // Check if the target hex is already occupied
-        if (hexStatus[boardQ][boardR] != null) {
-            System.out.println("Move rejected: Hex (" + boardQ + "," + boardR + ") is occupied");
-            return false;
+        if (hexStatus[boardQ][boardR] != StoneColor.EMPTY) {
+            return Placement.OCCUPIED;
         }
 
         // Check if the board is empty (first move is always allowed)
-        boolean isBoardEmpty = true;
-        outerLoop:
-        for (String[] row : hexStatus) {
-            for (String cell : row) {
-                if (cell != null) {
-                    isBoardEmpty = false;
-                    break outerLoop;
-                }
-            }
-        }
-        if (isBoardEmpty) {
-            System.out.println("First move on empty board, allowing placement at (" + boardQ + "," + boardR + ")");
-            return true;
+        if (isBoardEmpty(hexStatus)) {
+            return Placement.FIRST_MOVE;
         }
+        return hasAdjacentSameColor(boardQ, boardR, hexStatus, currentPlayer)
+                ? Placement.NEEDS_CAPTURE : Placement.FREE;
+    }
 
-        // Check for adjacent stones of the same color
-        boolean hasAdjacentSameColor = false;
-        int[][] directions = {{1, -1}, {1, 0}, {0, 1}, {-1, 1}, {-1, 0}, {0, -1}}; // Six adjacent directions
-        for (int[] dir : directions) {
-            int adjQ = boardQ + dir[0]; // Calculate adjacent q index
-            int adjR = boardR + dir[1]; // Calculate adjacent r index
-            // Check if the adjacent position is within bounds
-            if (adjQ >= 0 && adjQ < hexStatus.length && adjR >= 0 && adjR < hexStatus[0].length) {
-                if (hexStatus[adjQ][adjR] != null && hexStatus[adjQ][adjR].equals(currentPlayer)) {
-                    hasAdjacentSameColor = true;
-                    break;
+    /**
+     * Checks if the board holds no stones, from the group registry when one is bound to the board.
+     * @param hexStatus The current state of the board
+     * @return True if no hex holds a stone, false otherwise
+     */
+    private boolean isBoardEmpty(byte[][] hexStatus) {
+        int groups = captureHandler.countGroups(hexStatus); // Constant time with a registry
+        if (groups >= 0) {
+            return groups == 0; // Every stone belongs to a group
+        }
+        for (byte[] row : hexStatus) { // No registry: scan the board
+            for (byte cell : row) {
+                if (cell != StoneColor.EMPTY) {
+                    return false;
                 }
             }
         }
-        if (hasAdjacentSameColor) {
-            System.out.println("Adjacent same-color stone detected at (" + boardQ + "," + boardR + ")");
-            // Check if the move allows a capture
-            if (!captureHandler.wouldCapture(q, r, hexStatus, currentPlayer)) {
-                System.out.println("No capture possible, move rejected");
-                return false;
+        return true;
+    }
+
+    /**
+     * Checks for adjacent stones of the same color.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @param hexStatus The current state of the board
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return True if a neighbouring hex holds the player's stone, false otherwise
+     */
+    private boolean hasAdjacentSameColor(int boardQ, int boardR, byte[][] hexStatus, byte currentPlayer) {
+        if (grid.getSize() != hexStatus.length) {
+            grid = HexGrid.forBoard(hexStatus); // Layout of a board of another radius
+        }
+        int cell = grid.cellAt(boardQ, boardR); // Dense index of the hex
+        if (cell < 0) {
+            return false; // Off the board: no neighbours
+        }
+        for (int n : grid.neighbours(cell)) { // Check the precomputed adjacent hexes
+            if (hexStatus[grid.qIndex(n)][grid.rIndex(n)] == currentPlayer) {
+                return true;
             }
-            System.out.println("Capture possible, allowing move");
         }
-        return true;
+        return false;
+    }
+
+    /**
+     * Checks if a placement would capture, from the cache when it covers the board.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     * @param hexStatus The current state of the board
+     * @param currentPlayer The player making the move (StoneColor.RED or StoneColor.BLUE)
+     * @return True if the placement would capture, false otherwise
+     */
+    private boolean wouldCapture(int boardQ, int boardR, byte[][] hexStatus, byte currentPlayer) {
+        if (cache != null && cache.isBoundTo(hexStatus)) { // Use the cache for its own board
+            return cache.wouldCapture(boardQ, boardR, currentPlayer);
+        }
+        return captureHandler.capturesAny(boardQ, boardR, hexStatus, currentPlayer); // Simulate the move
     }
-}
\ No newline at end of file
+}
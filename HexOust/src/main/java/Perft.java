@@ -0,0 +1,124 @@
+import java.util.ArrayList; // Used for collecting subtasks
+import java.util.List; // Used for collecting subtasks
+import java.util.concurrent.ForkJoinPool; // Runs subtrees in parallel
+import java.util.concurrent.RecursiveTask; // Splits the move tree
+
+/**
+ * Counts every legal move sequence to a fixed depth (perft), following the exact game rules.
+ * Known node counts act as a regression oracle for any change to the rules code,
+ * and the parallel count doubles as a multi-core throughput benchmark.
+ * A capture keeps the turn, so one ply is one stone placement, not one turn per player.
+ */
+public class Perft {
+    private static final int SPLIT_DEPTH = 2; // Subtrees this shallow are counted on one thread
+
+    /**
+     * Runs perft from the command line.
+     * Usage: {@code Perft <depth> [threads] [q,r ...]}, where the optional moves are cube coordinates played first.
+     * @param args Command-line arguments
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 3; // Depth to count
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        GameState state = new GameState(); // Start from the empty board
+        for (int i = 2; i < args.length; i++) { // Play the setup moves
+            String[] coordinates = args[i].split(","); // Split q and r
+            int radius = state.getGrid().getRadius(); // Cube to board index offset
+            int q = Integer.parseInt(coordinates[0].trim()) + radius; // Convert q to board index
+            int r = Integer.parseInt(coordinates[1].trim()) + radius; // Convert r to board index
+            if (state.play(q, r) == null) {
+                throw new IllegalArgumentException("Illegal setup move: " + args[i]);
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads); // Dedicated pool
+        try {
+            for (int d = 1; d <= depth; d++) { // Report every depth up to the target
+                long start = System.nanoTime(); // Start timing
+                long nodes = countParallel(state, d, pool); // Count the tree
+                double seconds = (System.nanoTime() - start) / 1e9; // Elapsed time
+                System.out.printf("perft(%d) = %d  %.3f s  %.0f nodes/s  (%d threads)%n",
+                        d, nodes, seconds, nodes / Math.max(seconds, 1e-9), threads);
+            }
+        } finally {
+            pool.shutdown(); // Release the workers
+        }
+    }
+
+    /**
+     * Counts move sequences on the calling thread.
+     * @param state The position to count from; left unchanged
+     * @param depth The number of plies
+     * @return The number of leaf nodes
+     */
+    public static long count(GameState state, int depth) {
+        if (depth == 0) {
+            return 1; // The position itself
+        }
+        int[] moves = new int[state.getGrid().getCellCount()]; // Legal moves buffer
+        int moveCount = state.legalMoves(moves); // Generate moves
+        if (depth == 1) {
+            return moveCount; // Each move is a leaf
+        }
+        long nodes = 0; // Running total
+        for (int i = 0; i < moveCount; i++) { // Loops through moves
+            GameState child = state.copy(); // Independent child position
+            child.play(moves[i]); // Make the move
+            nodes += count(child, depth - 1); // Count the subtree
+        }
+        return nodes; // Return the total
+    }
+
+    /**
+     * Counts move sequences, splitting subtrees across a fork-join pool.
+     * @param state The position to count from; left unchanged
+     * @param depth The number of plies
+     * @param pool The pool to run on
+     * @return The number of leaf nodes
+     */
+    public static long countParallel(GameState state, int depth, ForkJoinPool pool) {
+        return pool.invoke(new PerftTask(state, depth)); // Count on the pool
+    }
+
+    /**
+     * Counts one subtree, forking a task per move until the remaining depth is small.
+     */
+    private static class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L; // Tasks are never serialized
+        private final transient GameState state; // Position at the root of the subtree
+        private final int depth; // Plies left to count
+
+        /**
+         * Constructs a task for one subtree.
+         * @param state The position at the root of the subtree
+         * @param depth The plies left to count
+         */
+        PerftTask(GameState state, int depth) {
+            this.state = state; // Assign the position
+            this.depth = depth; // Assign the depth
+        }
+
+        /**
+         * Counts the subtree.
+         * @return The number of leaf nodes
+         */
+        @Override
+        protected Long compute() {
+            if (depth <= SPLIT_DEPTH) {
+                return count(state, depth); // Small enough for one thread
+            }
+            int[] moves = new int[state.getGrid().getCellCount()]; // Legal moves buffer
+            int moveCount = state.legalMoves(moves); // Generate moves
+            List<PerftTask> tasks = new ArrayList<>(moveCount); // One task per move
+            for (int i = 0; i < moveCount; i++) { // Loops through moves
+                GameState child = state.copy(); // Independent child position
+                child.play(moves[i]); // Make the move
+                tasks.add(new PerftTask(child, depth - 1)); // Count it as a subtask
+            }
+            long nodes = 0; // Running total
+            for (PerftTask task : invokeAll(tasks)) { // Run the subtasks
+                nodes += task.join(); // Add their counts
+            }
+            return nodes; // Return the total
+        }
+    }
+}
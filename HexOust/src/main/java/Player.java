@@ -3,34 +3,54 @@
  * Tracks the active player and handles turn switching and extra turn conditions.
  */
 public class Player {
-    private String activePlayer; // The current player ("Red" or "Blue")
+    private byte activePlayer; // The current player (StoneColor.RED or StoneColor.BLUE)
     private static boolean extraTurn = false; // Flag to track if an extra turn is granted
 
     /**
      * Constructs a Player with the initial player set to Red.
      */
     public Player() {
-        activePlayer = "Red"; // Set the starting player to Red
+        activePlayer = StoneColor.RED; // Set the starting player to Red
     }
 
     /**
      * Retrieves the current player.
-     * @return The current player ("Red" or "Blue")
+     * @return The current player (StoneColor.RED or StoneColor.BLUE)
      */
-    public String getCurrentPlayer() {
+    public byte getCurrentPlayer() {
         return activePlayer; // Return the current player
     }
 
+    /**
+     * Sets the current player, for example when resuming a saved game.
+     * @param currentPlayer The player to move (StoneColor.RED or StoneColor.BLUE)
+     */
+    public void setCurrentPlayer(byte currentPlayer) {
+        activePlayer = currentPlayer; // Assign the current player
+        extraTurn = false; // Any extra turn is already reflected in the player
+    }
+
     /**
      * Switches the turn to the other player unless an extra turn is active.
      */
     public void switchTurn() {
-        if (!extraTurn) { // Check if no extra turn is active
-            activePlayer = activePlayer.equals("Red") ? "Blue" : "Red"; // Toggle between Red and Blue
-        }
+        activePlayer = nextPlayer(activePlayer, extraTurn); // Toggle unless an extra turn is active
         extraTurn = false; // Reset the extra turn flag
     }
 
+    /**
+     * Determines who moves after the given player, applying the extra turn rule.
+     * @param currentPlayer The player who just moved (StoneColor.RED or StoneColor.BLUE)
+     * @param extraTurn True if the move earned an extra turn
+     * @return The player to move next
+     */
+    public static byte nextPlayer(byte currentPlayer, boolean extraTurn) {
+        if (extraTurn) { // Check if an extra turn is active
+            return currentPlayer; // Same player moves again
+        }
+        return StoneColor.opponent(currentPlayer); // Toggle between Red and Blue
+    }
+
     /**
      * Grants the current player an extra turn.
      */
@@ -42,7 +62,7 @@ public class Player {
      * Resets the player state to the initial condition.
      */
     public void resetPlayer() {
-        activePlayer = "Red"; // Reset the active player to Red
+        activePlayer = StoneColor.RED; // Reset the active player to Red
         extraTurn = false; // Reset the extra turn flag
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+import java.util.Arrays; // Compares packed positions
+import java.util.concurrent.Executor; // Delivers the claimed move
+
+/**
+ * Lets a computer player think during the human's turn.
+ * On the search thread it predicts the human's most likely replies with a shallow multi-PV search, then searches
+ * the computer's answer to each of them in turn, keeping every finished answer keyed by the position it answers.
+ * When the human has moved, claim() looks the new position up: a finished answer is played at once, and a search
+ * still working on that exact position is kept running with the time the computer has for the move. Either way the computer gets the
+ * human's thinking time for free. A ponderer serves one human turn and is then discarded.
+ */
+public class Ponderer {
+    private static final int PREDICTION_DEPTH = 1; // Depth of the search that predicts the human's replies
+    private final byte bot; // The computer player
+    private final int depth; // Depth of each answer search
+    private final long timeMillis; // Time limit of each answer search
+    private final int replies; // Number of human replies to ponder
+    private final Executor callbacks; // Delivers the claimed move, normally to the JavaFX thread
+    private final long[][] answeredKeys; // Positions with a finished answer
+    private final int[] answers; // The finished answers
+    private int answerCount; // Number of finished answers
+    private BotSearch running; // Answer search in progress, or null
+    private long[] runningKey; // Position the running search answers
+    private SearchListener claimant; // Waiting for the running search, or null
+    private boolean stopped; // No further answers should be searched
+    private volatile boolean cancelled; // Set once the turn is abandoned, for example by a restart
+
+    /**
+     * Constructs a Ponderer.
+     * @param bot The computer player (StoneColor.RED or StoneColor.BLUE)
+     * @param depth The depth of each answer search
+     * @param timeMillis The time limit of each answer search while the human thinks
+     * @param replies The number of human replies to ponder
+     * @param callbacks The executor that runs the claimed move's listener
+     */
+    public Ponderer(byte bot, int depth, long timeMillis, int replies, Executor callbacks) {
+        this.bot = bot; // Assign the computer player
+        this.depth = depth; // Assign the search limits
+        this.timeMillis = timeMillis;
+        this.replies = replies;
+        this.callbacks = callbacks; // Assign the callback executor
+        this.answeredKeys = new long[replies][]; // Room for every reply
+        this.answers = new int[replies];
+    }
+
+    /**
+     * Ponders a position where the human is to move. Runs on the search thread until every predicted reply has
+     * been answered, or until the ponderer is claimed or cancelled.
+     * @param humanToMove The position after the computer's move; left unchanged
+     */
+    public void run(GameState humanToMove) {
+        int[] predicted = new int[replies]; // Likely human replies, best first
+        int[] predictedCount = new int[1];
+        BotSearch prediction = new BotSearch(PREDICTION_DEPTH, timeMillis, replies); // Shallow multi-PV search
+        synchronized (this) {
+            if (stopped) {
+                return; // Claimed or cancelled before starting
+            }
+            running = prediction; // Cancellable like any other search
+        }
+        prediction.search(humanToMove, new SearchListener() {
+            @Override
+            public void onProgress(int searchDepth, int bestCell, int score, long nodes) {
+            }
+
+            @Override
+            public void onCandidates(int searchDepth, int[] cells, int[] scores, int count, long nodes) {
+                System.arraycopy(cells, 0, predicted, 0, count); // Keep the ranked replies
+                predictedCount[0] = count;
+            }
+        });
+        for (int i = 0; i < predictedCount[0]; i++) { // Answer each reply in turn
+            GameState next = humanToMove.copy(); // Position after the reply
+            next.play(predicted[i]);
+            if (next.getWinner() != StoneColor.EMPTY || next.getSideToMove() != bot) {
+                continue; // Game over, or the human captured and moves again
+            }
+            BotSearch search = new BotSearch(depth, timeMillis); // Same search the computer would run
+            long[] key = key(next); // Identifies the position
+            synchronized (this) {
+                if (stopped) {
+                    return; // Claimed elsewhere or cancelled
+                }
+                running = search; // Publish the search for claims
+                runningKey = key;
+            }
+            int best = search.search(next, null); // Think about the answer
+            synchronized (this) {
+                running = null; // Search finished
+                if (claimant != null) { // The human played this reply while we searched it
+                    deliver(claimant, best);
+                    claimant = null;
+                    return;
+                }
+                if (stopped || search.isCancelled()) {
+                    return; // Abandoned
+                }
+                answeredKeys[answerCount] = key; // Keep the answer
+                answers[answerCount++] = best;
+            }
+        }
+    }
+
+    /**
+     * Hands the computer's move for the position actually reached to the listener, if pondering covered it.
+     * Stops all other pondering either way. Call on the JavaFX thread when the computer is to move.
+     * @param state The position now on the board, with the computer to move
+     * @param budgetMillis The computer's thinking time for this move, which a claimed search gets from now
+     * @param listener Receives the move through onComplete, never synchronously
+     * @return True if the listener will receive the move, false if a normal search is needed
+     */
+    public synchronized boolean claim(GameState state, long budgetMillis, SearchListener listener) {
+        stopped = true; // No further replies are needed
+        long[] key = key(state); // Identifies the position
+        for (int i = 0; i < answerCount; i++) {
+            if (Arrays.equals(answeredKeys[i], key)) { // Already answered
+                stopRunning(); // The other replies are no longer needed
+                deliver(listener, answers[i]);
+                return true;
+            }
+        }
+        if (running != null && runningKey != null && Arrays.equals(runningKey, key)) { // Being answered right now
+            claimant = listener; // Deliver when the search finishes
+            running.restartClock(budgetMillis); // Give it the move's budget from now
+            return true;
+        }
+        stopRunning(); // Pondering missed
+        return false;
+    }
+
+    /**
+     * Abandons the turn: stops the running search and drops any claimed move. Safe to call from any thread.
+     */
+    public synchronized void cancel() {
+        cancelled = true; // Drops moves already posted
+        stopped = true;
+        claimant = null;
+        stopRunning();
+    }
+
+    /**
+     * Retrieves the number of human replies answered so far.
+     * @return The finished answer count
+     */
+    public synchronized int getAnswerCount() {
+        return answerCount; // Return the count
+    }
+
+    /**
+     * Cancels the running search, if any.
+     */
+    private void stopRunning() {
+        if (running != null) {
+            running.cancel(); // Stop it as soon as possible
+        }
+    }
+
+    /**
+     * Posts a move to a listener unless the turn is cancelled by the time it runs.
+     * @param listener The listener to notify
+     * @param move The computer's move
+     */
+    private void deliver(SearchListener listener, int move) {
+        callbacks.execute(() -> {
+            if (!cancelled) { // Checked on the callback thread
+                listener.onComplete(move);
+            }
+        });
+    }
+
+    /**
+     * Packs a position into a key: the board followed by the side to move.
+     * @param state The position
+     * @return The key
+     */
+    private static long[] key(GameState state) {
+        long[] board = state.getGrid().pack(state.getHexStatus()); // Stones of both players
+        long[] key = Arrays.copyOf(board, board.length + 1); // Room for the side to move
+        key[board.length] = state.getSideToMove();
+        return key; // Return the key
+    }
+}
@@ -0,0 +1,443 @@
+import java.util.Arrays; // Used for filling tables
+
+/**
+ * Maintains evaluation features for both players incrementally as moves are applied:
+ * stone count, group count, largest group, capture exposure (the most stones the opponent could capture with
+ * one placement) and the number of legal moves.
+ * Groups are kept in a union-find forest. A placement unions the stone with its neighbours, and a capture
+ * resets whole groups, which union-find allows because no other group ever points into them. Per-hex legality
+ * and capture threats depend only on the groups next to the hex, so after a move only the empty hexes next to
+ * the mover's group or to captured stones are recomputed. evaluate() then reads a few counters.
+ * The work lists used while applying a move never outlive the call, so they are shared by every evaluator on a
+ * thread, and copying an evaluator for a search node copies only the position's own tables.
+ */
+public final class PositionEvaluator {
+    private static final byte RED = StoneColor.RED; // Index of Red's features
+    private static final byte BLUE = StoneColor.BLUE; // Index of Blue's features
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new); // Per-thread work lists
+    private final HexGrid grid; // Cell layout of the board
+    private final byte[] color; // Stone per cell
+    private final int[] parent; // Union-find parent per stone
+    private final int[] size; // Group size at each root
+    private final boolean[][] legalAt; // Legal placement flags per player and cell
+    private final int[][] threatAt; // Stones of a player the opponent captures by playing a cell
+    private final int[] stones = new int[3]; // Stones per player
+    private final int[] groups = new int[3]; // Groups per player
+    private final int[] largest = new int[3]; // Largest group per player
+    private final int[] legal = new int[3]; // Legal moves per player
+    private final int[] maxThreat = new int[3]; // Most stones of a player capturable in one move
+    private final boolean[] largestStale = new boolean[3]; // Largest group needs recomputing
+    private final boolean[] threatStale = new boolean[3]; // Exposure needs recomputing
+    private Scratch scratch; // This thread's work lists, fetched on entry to moveApplied and rebuild
+
+    /**
+     * Work lists for applying a move, shared by the evaluators of one thread. A move stamp marks the cells
+     * queued or walked during the current move, so the arrays are never cleared.
+     */
+    private static final class Scratch {
+        private int[] queued = new int[0]; // Move stamp of the last time each cell was queued for recomputing
+        private int[] walked = new int[0]; // Move stamp of the last time each stone was walked
+        private int[] queue = new int[0]; // Work list for group walks
+        private int[] dirty = new int[0]; // Cells to recompute after a move
+        private final int[] roots = new int[6]; // Adjacent group roots of one hex
+        private int stamp; // Current move stamp
+
+        /**
+         * Retrieves this thread's work lists, grown to fit a board.
+         * @param cells The number of cells of the board
+         * @return The work lists
+         */
+        static Scratch forCells(int cells) {
+            Scratch scratch = SCRATCH.get(); // This thread's lists
+            if (scratch.queue.length < cells) { // A larger board than before
+                scratch.queued = new int[cells];
+                scratch.walked = new int[cells];
+                scratch.queue = new int[cells];
+                scratch.dirty = new int[cells];
+                scratch.stamp = 0; // Fresh arrays hold no stamps
+            }
+            return scratch; // Return the lists
+        }
+    }
+
+    /**
+     * Constructs an evaluator for an empty board.
+     * @param grid The cell layout
+     */
+    public PositionEvaluator(HexGrid grid) {
+        this.grid = grid; // Assign the layout
+        int cells = grid.getCellCount(); // Number of cells
+        this.color = new byte[cells];
+        this.parent = new int[cells];
+        this.size = new int[cells];
+        this.legalAt = new boolean[3][cells];
+        this.threatAt = new int[3][cells];
+        reset(); // Start from the empty board
+    }
+
+    /**
+     * Constructs an independent copy of another evaluator.
+     * @param other The evaluator to copy
+     */
+    public PositionEvaluator(PositionEvaluator other) {
+        this.grid = other.grid; // Share the immutable layout
+        this.color = other.color.clone(); // Copy every mutable table
+        this.parent = other.parent.clone();
+        this.size = other.size.clone();
+        this.legalAt = new boolean[][]{null, other.legalAt[RED].clone(), other.legalAt[BLUE].clone()};
+        this.threatAt = new int[][]{null, other.threatAt[RED].clone(), other.threatAt[BLUE].clone()};
+        System.arraycopy(other.stones, 0, stones, 0, 3);
+        System.arraycopy(other.groups, 0, groups, 0, 3);
+        System.arraycopy(other.largest, 0, largest, 0, 3);
+        System.arraycopy(other.legal, 0, legal, 0, 3);
+        System.arraycopy(other.maxThreat, 0, maxThreat, 0, 3);
+        System.arraycopy(other.largestStale, 0, largestStale, 0, 3);
+        System.arraycopy(other.threatStale, 0, threatStale, 0, 3);
+    }
+
+    /**
+     * Clears the evaluator to the empty board, where every hex is legal for both players.
+     */
+    public void reset() {
+        int cells = color.length; // Number of cells
+        for (int cell = 0; cell < cells; cell++) {
+            color[cell] = StoneColor.EMPTY; // No stone
+            parent[cell] = cell; // Own root
+            size[cell] = 0;
+        }
+        for (byte c = RED; c <= BLUE; c++) { // Both players
+            Arrays.fill(legalAt[c], true); // First move may go anywhere
+            Arrays.fill(threatAt[c], 0); // Nothing to capture
+            stones[c] = groups[c] = largest[c] = maxThreat[c] = 0;
+            legal[c] = cells;
+            largestStale[c] = threatStale[c] = false;
+        }
+    }
+
+    /**
+     * Rebuilds every feature from a board array, for example for a position loaded from a save.
+     * @param hexStatus The board
+     */
+    public void rebuild(byte[][] hexStatus) {
+        scratch = Scratch.forCells(color.length); // This thread's work lists
+        reset(); // Start empty
+        for (int cell = 0; cell < color.length; cell++) { // Place every stone
+            byte stone = hexStatus[grid.qIndex(cell)][grid.rIndex(cell)];
+            if (stone != StoneColor.EMPTY) {
+                addStone(cell, stone);
+            }
+        }
+        for (int cell = 0; cell < color.length; cell++) {
+            updateCell(cell); // Recompute every hex
+        }
+    }
+
+    /**
+     * Applies a move made by the MovePipeline.
+     * @param result The move just applied
+     */
+    public void moveApplied(MoveResult result) {
+        boolean wasEmpty = stones[RED] + stones[BLUE] == 0; // First move changes every hex
+        scratch = Scratch.forCells(color.length); // This thread's work lists
+        int dirtyCount = 0; // Cells to recompute
+        scratch.stamp++; // Fresh move stamp
+        for (int[] hex : result.getCapturedStones()) { // Remove captured groups
+            int cell = grid.cellAt(hex[0], hex[1]);
+            if (color[cell] != StoneColor.EMPTY) { // Not already removed as part of its group
+                dirtyCount = removeGroup(cell, dirtyCount);
+            }
+        }
+        int placed = grid.cellAt(result.getQ(), result.getR()); // Placed cell
+        addStone(placed, result.getPlayer()); // Join the mover's groups
+        if (wasEmpty) {
+            for (int cell = 0; cell < color.length; cell++) {
+                updateCell(cell); // Every hex changed
+            }
+            return;
+        }
+        dirtyCount = markGroupFrontier(placed, dirtyCount); // Hexes next to the mover's group
+        for (int i = 0; i < dirtyCount; i++) {
+            updateCell(scratch.dirty[i]); // Recompute the affected hexes
+        }
+    }
+
+    /**
+     * Scores the position for a player, assuming that player is to move.
+     * @param side The player to score for (StoneColor.RED or StoneColor.BLUE)
+     * @return Positive if the player is ahead
+     */
+    public int evaluate(byte side) {
+        byte other = StoneColor.opponent(side); // The opponent
+        return 100 * (stones[side] - stones[other]) // Material
+                + 80 * getExposure(other) // Stones the side to move can capture now
+                - 40 * getExposure(side) // Stones the opponent threatens
+                + 10 * (getLargestGroup(side) - getLargestGroup(other)) // Bigger groups capture more
+                - 5 * (groups[side] - groups[other]) // Fewer, larger groups are harder to capture
+                + 2 * (legal[side] - legal[other]); // Mobility
+    }
+
+    /**
+     * Retrieves a player's stone count.
+     * @param player StoneColor.RED or StoneColor.BLUE
+     * @return The number of stones
+     */
+    public int getStoneCount(byte player) {
+        return stones[player]; // Return the count
+    }
+
+    /**
+     * Retrieves a player's group count.
+     * @param player StoneColor.RED or StoneColor.BLUE
+     * @return The number of groups
+     */
+    public int getGroupCount(byte player) {
+        return groups[player]; // Return the count
+    }
+
+    /**
+     * Retrieves the size of a player's largest group.
+     * @param player StoneColor.RED or StoneColor.BLUE
+     * @return The largest group size, 0 if the player has no stones
+     */
+    public int getLargestGroup(byte player) {
+        if (largestStale[player]) { // A largest group was captured
+            int best = 0; // Largest root found
+            for (int cell = 0; cell < color.length; cell++) {
+                if (color[cell] == player && parent[cell] == cell) {
+                    best = Math.max(best, size[cell]); // Compare group sizes at roots
+                }
+            }
+            largest[player] = best;
+            largestStale[player] = false;
+        }
+        return largest[player]; // Return the size
+    }
+
+    /**
+     * Retrieves a player's capture exposure.
+     * @param player StoneColor.RED or StoneColor.BLUE
+     * @return The most of the player's stones the opponent could capture with one placement
+     */
+    public int getExposure(byte player) {
+        if (threatStale[player]) { // The largest threat shrank
+            int best = 0; // Largest threat found
+            for (int threat : threatAt[player]) {
+                best = Math.max(best, threat);
+            }
+            maxThreat[player] = best;
+            threatStale[player] = false;
+        }
+        return maxThreat[player]; // Return the exposure
+    }
+
+    /**
+     * Retrieves a player's legal move count.
+     * @param player StoneColor.RED or StoneColor.BLUE
+     * @return The number of hexes the player may play
+     */
+    public int getLegalMoveCount(byte player) {
+        return legal[player]; // Return the count
+    }
+
+    /**
+     * Checks if a player may play a hex, from the maintained flags.
+     * @param cell The dense cell index
+     * @param player StoneColor.RED or StoneColor.BLUE
+     * @return True if the placement is legal
+     */
+    public boolean isLegal(int cell, byte player) {
+        return legalAt[player][cell]; // Read the flag
+    }
+
+    /**
+     * Places a stone and unions it with adjacent stones of its color.
+     * @param cell The dense cell index
+     * @param player The stone's owner
+     */
+    private void addStone(int cell, byte player) {
+        color[cell] = player; // Occupy the cell
+        parent[cell] = cell; // New singleton group
+        size[cell] = 1;
+        stones[player]++;
+        groups[player]++;
+        int root = cell; // Root of the growing group
+        for (int n : grid.neighbours(cell)) { // Join adjacent groups
+            if (color[n] == player) {
+                int other = find(n);
+                if (other != root) {
+                    if (size[other] > size[root]) { // Attach the smaller tree under the larger
+                        int swap = other;
+                        other = root;
+                        root = swap;
+                    }
+                    parent[other] = root;
+                    size[root] += size[other];
+                    groups[player]--; // Two groups became one
+                }
+            }
+        }
+        largest[player] = Math.max(largest[player], size[root]); // Growth can only raise the maximum
+    }
+
+    /**
+     * Removes the whole group containing a cell and queues the hexes around it for recomputing.
+     * @param start A stone of the group
+     * @param dirtyCount The number of cells already queued
+     * @return The new number of queued cells
+     */
+    private int removeGroup(int start, int dirtyCount) {
+        byte player = color[start]; // Owner of the group
+        int groupSize = size[find(start)]; // Size before removal
+        if (groupSize >= largest[player]) {
+            largestStale[player] = true; // The largest group may be gone
+        }
+        stones[player] -= groupSize;
+        groups[player]--;
+        int[] queue = scratch.queue; // Work list for the walk
+        int head = 0, tail = 0; // Walk the group
+        queue[tail++] = start;
+        color[start] = StoneColor.EMPTY; // Clear as visited
+        while (head < tail) {
+            int cell = queue[head++];
+            parent[cell] = cell; // Reset the union-find entry
+            size[cell] = 0;
+            dirtyCount = markDirty(cell, dirtyCount); // The hex is empty again
+            for (int n : grid.neighbours(cell)) {
+                if (color[n] == player) {
+                    color[n] = StoneColor.EMPTY; // Clear as visited
+                    queue[tail++] = n;
+                }
+                dirtyCount = markDirty(n, dirtyCount); // Neighbours lost a group
+            }
+        }
+        return dirtyCount; // Return the queue length
+    }
+
+    /**
+     * Queues the placed stone and every hex next to its group for recomputing.
+     * @param start The placed stone
+     * @param dirtyCount The number of cells already queued
+     * @return The new number of queued cells
+     */
+    private int markGroupFrontier(int start, int dirtyCount) {
+        byte player = color[start]; // Owner of the group
+        int[] queue = scratch.queue; // Work list for the walk
+        int[] walked = scratch.walked; // Stones walked this move
+        int stamp = scratch.stamp; // Current move stamp
+        int head = 0, tail = 0; // Walk the group
+        queue[tail++] = start;
+        walked[start] = stamp;
+        dirtyCount = markDirty(start, dirtyCount); // The placed hex is now occupied
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int n : grid.neighbours(cell)) {
+                if (color[n] != player) {
+                    dirtyCount = markDirty(n, dirtyCount); // Next to the changed group
+                } else if (walked[n] != stamp) { // Not yet walked
+                    walked[n] = stamp;
+                    queue[tail++] = n;
+                }
+            }
+        }
+        return dirtyCount; // Return the queue length
+    }
+
+    /**
+     * Queues a cell for recomputing, at most once per move.
+     * @param cell The dense cell index
+     * @param dirtyCount The number of cells already queued
+     * @return The new number of queued cells
+     */
+    private int markDirty(int cell, int dirtyCount) {
+        if (scratch.queued[cell] == scratch.stamp) {
+            return dirtyCount; // Already queued
+        }
+        scratch.queued[cell] = scratch.stamp;
+        scratch.dirty[dirtyCount] = cell;
+        return dirtyCount + 1; // Return the queue length
+    }
+
+    /**
+     * Recomputes legality and capture threats of one hex for both players.
+     * @param cell The dense cell index
+     */
+    private void updateCell(int cell) {
+        if (color[cell] != StoneColor.EMPTY) { // Occupied: never legal, never a threat
+            setCell(cell, RED, false, 0);
+            setCell(cell, BLUE, false, 0);
+            return;
+        }
+        if (stones[RED] + stones[BLUE] == 0) { // Empty board
+            setCell(cell, RED, true, 0);
+            setCell(cell, BLUE, true, 0);
+            return;
+        }
+        int[] roots = scratch.roots; // Distinct adjacent groups
+        int rootCount = 0; // Number of distinct adjacent groups
+        int redPlaced = 1, bluePlaced = 1; // Group size each player would form here
+        for (int n : grid.neighbours(cell)) {
+            if (color[n] != StoneColor.EMPTY) {
+                int root = find(n);
+                boolean seen = false; // Count each group once
+                for (int i = 0; i < rootCount; i++) {
+                    seen |= roots[i] == root;
+                }
+                if (!seen) {
+                    roots[rootCount++] = root;
+                    if (color[root] == RED) {
+                        redPlaced += size[root]; // Red would join this group
+                    } else {
+                        bluePlaced += size[root]; // Blue would join this group
+                    }
+                }
+            }
+        }
+        int redThreat = 0, blueThreat = 0; // Stones each player would lose to a placement here
+        for (int i = 0; i < rootCount; i++) {
+            int root = roots[i];
+            if (color[root] == RED && size[root] < bluePlaced) {
+                redThreat += size[root]; // Blue would capture this group here
+            }
+            if (color[root] == BLUE && size[root] < redPlaced) {
+                blueThreat += size[root]; // Red would capture this group here
+            }
+        }
+        // Legal if not touching an own group, or if it captures
+        setCell(cell, RED, redPlaced == 1 || blueThreat > 0, redThreat);
+        setCell(cell, BLUE, bluePlaced == 1 || redThreat > 0, blueThreat);
+    }
+
+    /**
+     * Stores a hex's legality and threat for one player, keeping the totals in step.
+     * @param cell The dense cell index
+     * @param player The player
+     * @param isLegal True if the player may play the hex
+     * @param threat The player's stones the opponent captures by playing the hex
+     */
+    private void setCell(int cell, byte player, boolean isLegal, int threat) {
+        if (legalAt[player][cell] != isLegal) {
+            legalAt[player][cell] = isLegal; // Update the flag
+            legal[player] += isLegal ? 1 : -1; // Keep the count in step
+        }
+        int old = threatAt[player][cell]; // Previous threat
+        threatAt[player][cell] = threat;
+        if (threat > maxThreat[player]) {
+            maxThreat[player] = threat; // New maximum
+        } else if (old == maxThreat[player] && threat < old) {
+            threatStale[player] = true; // The maximum may have shrunk
+        }
+    }
+
+    /**
+     * Finds the root of a stone's group, halving the path as it goes.
+     * @param cell The dense cell index of a stone
+     * @return The root cell
+     */
+    private int find(int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]]; // Path halving
+            cell = parent[cell];
+        }
+        return cell; // Return the root
+    }
+}
@@ -0,0 +1,75 @@
+import java.io.IOException; // Thrown when the store cannot be written
+
+/**
+ * Feeds every move of a live game into a PositionStore.
+ * Each move appends the position before it; when the game is won, on the board or on time, the winner is written back
+ * to all of the game's records.
+ * A failed write is reported once and turns recording off, so a full disk never interrupts the game.
+ */
+public class PositionRecorder implements MoveListener {
+    private final PositionStore store; // Destination of the records
+    private long gameStart = -1; // First record of the current game, or -1 before the first move
+    private boolean disabled; // Set after a write fails
+
+    /**
+     * Constructs a PositionRecorder writing to the given store.
+     * @param store The store to append to
+     */
+    public PositionRecorder(PositionStore store) {
+        this.store = store; // Assign the store
+    }
+
+    /**
+     * Appends the position before the move and, if the move ended the game, records the result.
+     * @param before The board before the move
+     * @param result The result of the move
+     */
+    @Override
+    public void onMove(BoardSnapshot before, MoveResult result) {
+        if (disabled) {
+            return; // Recording was turned off
+        }
+        try {
+            int moveCell = before.getGrid().cellAt(result.getQ(), result.getR()); // Dense index of the move
+            long index = store.append(before.pack(), result.getPlayer(), moveCell); // Append the position
+            if (gameStart < 0) {
+                gameStart = index; // First move of the game
+            }
+            if (result.getWinner() != StoneColor.EMPTY) { // Game over
+                store.setResult(gameStart, index + 1, result.getWinner()); // Label the whole game
+                gameStart = -1; // Next move starts a new game
+            }
+        } catch (IOException e) {
+            System.err.println("Position recording disabled: " + e.getMessage()); // Keep playing without it
+            disabled = true; // Stop writing to a failing store
+        }
+    }
+
+    /**
+     * Checks if recording was turned off after a failed write.
+     * @return True if no more positions will be recorded
+     */
+    public boolean isDisabled() {
+        return disabled; // Return the flag
+    }
+
+    /**
+     * Records the result of a game lost on time on all of its records.
+     * @param side The player who ran out of time
+     */
+    @Override
+    public void onTimeout(byte side) {
+        if (!disabled && gameStart >= 0) {
+            store.setResult(gameStart, store.size(), StoneColor.opponent(side)); // Label the whole game
+        }
+        gameStart = -1; // Next move starts a new game
+    }
+
+    /**
+     * Starts a new game; records of an unfinished game keep an unknown result.
+     */
+    @Override
+    public void onReset() {
+        gameStart = -1; // Next move starts a new game
+    }
+}
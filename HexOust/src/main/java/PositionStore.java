@@ -0,0 +1,265 @@
+import java.io.BufferedWriter; // Used for exporting records
+import java.io.IOException; // Thrown by file operations
+import java.lang.foreign.Arena; // Owns the mapped memory
+import java.lang.foreign.MemorySegment; // Off-heap view of the file
+import java.lang.foreign.ValueLayout; // Describes primitive values in memory
+import java.nio.channels.FileChannel; // Maps the file into memory
+import java.nio.file.Files; // Used for opening the export file
+import java.nio.file.Path; // Locates files
+import java.nio.file.StandardOpenOption; // File open modes
+import java.util.Arrays; // Used for growing the chunk table
+import java.util.function.LongConsumer; // Visits record indices
+import java.util.stream.LongStream; // Streams record indices
+
+/**
+ * An append-only store of positions kept off the Java heap in a memory-mapped file.
+ * Each record holds the packed board before a move, the side to move, the move played and the game result,
+ * in a fixed-size layout. The file is mapped in chunks through the foreign memory API, so self-play corpora of
+ * hundreds of millions of positions never become heap objects, and any number of threads can scan it in parallel.
+ * Each record is forced to the file before the header's count covers it, so after a crash the stored count never
+ * includes an unwritten record; the count itself and game results are only certain to be on disk after close().
+ */
+public class PositionStore implements AutoCloseable {
+    private static final byte RESULT_UNKNOWN = 0; // Game not finished (or abandoned)
+    private static final long MAGIC = 0x4845584F55535450L; // "HEXOUSTP" file signature
+    private static final long HEADER_BYTES = 64; // Header size, keeps records 8-byte aligned
+    private static final long COUNT_OFFSET = 16; // Header offset of the record count
+    private static final long CHUNK_RECORDS = 1L << 20; // Records mapped per chunk
+    private final HexGrid grid; // Cell layout of the packed boards
+    private final int words; // Longs per packed board
+    private final long recordBytes; // Size of one record
+    private final FileChannel channel; // File backing the store
+    private final Arena arena; // Owns every mapping, shared across threads
+    private final MemorySegment header; // Mapped header
+    private volatile MemorySegment[] chunks = new MemorySegment[0]; // Mapped record chunks, replaced when grown
+    private volatile long size; // Number of records written
+
+    /**
+     * Opens or creates a store file.
+     * @param file The file backing the store
+     * @param grid The cell layout of the boards stored in it
+     * @throws IOException if the file cannot be opened or belongs to a different layout
+     * @throws IllegalArgumentException if the grid has more cells than a record's short move field can index
+     */
+    public PositionStore(Path file, HexGrid grid) throws IOException {
+        if (grid.getRadius() > HexGrid.MAX_RADIUS) {
+            throw new IllegalArgumentException("Radius must be at most " + HexGrid.MAX_RADIUS); // Moves are shorts
+        }
+        this.grid = grid; // Assign the layout
+        this.words = 2 * grid.words(); // Red words then Blue words
+        this.recordBytes = words * 8L + 8; // Board plus side, result and move, padded to 8 bytes
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE); // Open for mapping
+        this.arena = Arena.ofShared(); // Mappings readable from any thread
+        boolean isNew = channel.size() == 0; // Fresh file needs a header
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES, arena); // Map the header
+        if (isNew) {
+            header.set(ValueLayout.JAVA_LONG, 0, MAGIC); // Write the signature
+            header.set(ValueLayout.JAVA_INT, 8, grid.getRadius()); // Record the layout
+            header.set(ValueLayout.JAVA_LONG, COUNT_OFFSET, 0); // No records yet
+        } else if (header.get(ValueLayout.JAVA_LONG, 0) != MAGIC
+                || header.get(ValueLayout.JAVA_INT, 8) != grid.getRadius()) {
+            arena.close(); // Unmap the header before failing
+            channel.close(); // Release the file
+            throw new IOException("Not a position store for radius " + grid.getRadius() + ": " + file);
+        }
+        long existing = header.get(ValueLayout.JAVA_LONG, COUNT_OFFSET); // Records from earlier sessions
+        if (existing > 0) {
+            chunkFor(existing - 1); // Map every chunk holding existing records
+        }
+        this.size = existing; // Resume after existing records
+    }
+
+    /**
+     * Appends a position.
+     * @param packed The packed board before the move, as produced by {@link BoardSnapshot#pack()}
+     * @param sideToMove The player to move (StoneColor.RED or StoneColor.BLUE)
+     * @param moveCell The dense index of the move played, or -1 if none
+     * @return The index of the new record
+     * @throws IOException if the file cannot be extended
+     */
+    public synchronized long append(long[] packed, byte sideToMove, int moveCell) throws IOException {
+        long index = size; // Next free record
+        MemorySegment chunk = chunkFor(index); // Map more of the file if needed
+        long offset = recordOffset(index); // Record position in the chunk
+        for (int w = 0; w < words; w++) { // Copy the board
+            chunk.set(ValueLayout.JAVA_LONG, offset + w * 8L, packed[w]);
+        }
+        long tail = offset + words * 8L; // Start of the small fields
+        chunk.set(ValueLayout.JAVA_BYTE, tail, sideToMove); // Side to move
+        chunk.set(ValueLayout.JAVA_BYTE, tail + 1, RESULT_UNKNOWN); // Result filled in later
+        chunk.set(ValueLayout.JAVA_SHORT, tail + 2, (short) moveCell); // Move played
+        chunk.asSlice(offset, recordBytes).force(); // Write the record back before the count can cover it
+        header.set(ValueLayout.JAVA_LONG, COUNT_OFFSET, index + 1); // Count the record
+        size = index + 1; // Publish the record to readers
+        return index; // Return the index
+    }
+
+    /**
+     * Records the result of a finished game on a range of its positions.
+     * @param from The first record of the game
+     * @param to One past the last record of the game
+     * @param winner The winning player (StoneColor.RED or StoneColor.BLUE)
+     */
+    public synchronized void setResult(long from, long to, byte winner) {
+        for (long index = from; index < to; index++) { // Loops through the game's records
+            record(index).set(ValueLayout.JAVA_BYTE, tailOffset(index) + 1, winner); // Write the result
+        }
+    }
+
+    /**
+     * Retrieves the number of records.
+     * @return The record count
+     */
+    public long size() {
+        return size; // Return the count
+    }
+
+    /**
+     * Reads the packed board of a record.
+     * @param index The record index
+     * @return A new array of Red's words followed by Blue's words
+     */
+    public long[] board(long index) {
+        MemorySegment chunk = record(index); // Chunk holding the record
+        long offset = recordOffset(index); // Record position in the chunk
+        long[] packed = new long[words]; // Destination
+        for (int w = 0; w < words; w++) { // Copy the board
+            packed[w] = chunk.get(ValueLayout.JAVA_LONG, offset + w * 8L);
+        }
+        return packed; // Return the board
+    }
+
+    /**
+     * Reads the side to move of a record.
+     * @param index The record index
+     * @return StoneColor.RED or StoneColor.BLUE
+     */
+    public byte sideToMove(long index) {
+        return record(index).get(ValueLayout.JAVA_BYTE, tailOffset(index)); // Read the side
+    }
+
+    /**
+     * Reads the game result of a record.
+     * @param index The record index
+     * @return The winning player, or StoneColor.EMPTY if the game did not finish
+     */
+    public byte winner(long index) {
+        return record(index).get(ValueLayout.JAVA_BYTE, tailOffset(index) + 1); // Read the result
+    }
+
+    /**
+     * Reads the move played from a record.
+     * @param index The record index
+     * @return The dense cell index of the move, or -1 if none
+     */
+    public int move(long index) {
+        return record(index).get(ValueLayout.JAVA_SHORT, tailOffset(index) + 2); // Decode the move
+    }
+
+    /**
+     * Streams the indices of all records written so far. Add {@code .parallel()} to scan on all cores.
+     * @return The record indices
+     */
+    public LongStream indices() {
+        return LongStream.range(0, size); // Snapshot of the current size
+    }
+
+    /**
+     * Visits every record in parallel.
+     * @param visitor Called once per record index, from any thread
+     */
+    public void parallelScan(LongConsumer visitor) {
+        indices().parallel().forEach(visitor); // Split the range across the common pool
+    }
+
+    /**
+     * Exports all records as CSV for offline analysis.
+     * Columns: index, side to move, move q-index, move r-index, winner, then the packed board words in hex.
+     * @param file The file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void exportCsv(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("index,side,q,r,winner,board"); // Header row
+            out.newLine();
+            for (long index = 0; index < size; index++) { // Loops through records
+                int move = move(index); // Dense index of the move
+                StringBuilder line = new StringBuilder(); // Build the row
+                line.append(index).append(',').append(StoneColor.name(sideToMove(index))).append(',');
+                line.append(move < 0 ? "" : grid.qIndex(move)).append(',');
+                line.append(move < 0 ? "" : grid.rIndex(move)).append(',');
+                String winner = StoneColor.name(winner(index)); // Result of the game
+                line.append(winner == null ? "" : winner).append(',');
+                for (long word : board(index)) { // Packed board words
+                    line.append(String.format("%016x", word));
+                }
+                out.write(line.toString()); // Write the row
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * Flushes the mapped records to the file, unmaps them and closes the file.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        header.force(); // Persist the count
+        for (MemorySegment chunk : chunks) {
+            chunk.force(); // Persist the records
+        }
+        arena.close(); // Release every mapping
+        channel.close(); // Close the file
+    }
+
+    /**
+     * Finds the mapped chunk for a record that is about to be written, mapping new chunks if needed.
+     * Only called by the writer; readers see the grown table through the volatile field.
+     * @param index The record index
+     * @return The chunk holding the record
+     * @throws IOException if the file cannot be mapped
+     */
+    private MemorySegment chunkFor(long index) throws IOException {
+        int chunk = (int) (index / CHUNK_RECORDS); // Chunk number
+        if (chunk >= chunks.length) { // Map chunks up to the one needed
+            MemorySegment[] grown = Arrays.copyOf(chunks, chunk + 1); // Keep existing mappings
+            for (int c = chunks.length; c <= chunk; c++) {
+                long start = HEADER_BYTES + c * CHUNK_RECORDS * recordBytes; // File offset of the chunk
+                grown[c] = channel.map(FileChannel.MapMode.READ_WRITE, start, CHUNK_RECORDS * recordBytes, arena);
+            }
+            chunks = grown; // Publish the new table
+        }
+        return chunks[chunk]; // Return the chunk
+    }
+
+    /**
+     * Finds the chunk holding an existing record, without locking.
+     * @param index The record index
+     * @return The chunk holding the record
+     * @throws IndexOutOfBoundsException if the record does not exist
+     */
+    private MemorySegment record(long index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("No record " + index);
+        return chunks[(int) (index / CHUNK_RECORDS)]; // Published before size was raised
+    }
+
+    /**
+     * Computes the chunk offset of a record.
+     * @param index The record index
+     * @return The offset within the record's chunk
+     */
+    private long recordOffset(long index) {
+        return (index % CHUNK_RECORDS) * recordBytes; // Position within the chunk
+    }
+
+    /**
+     * Computes the chunk offset of a record's side, result and move fields.
+     * @param index The record index
+     * @return The offset within the record's chunk
+     */
+    private long tailOffset(long index) {
+        return recordOffset(index) + words * 8L; // Fields follow the board
+    }
+}
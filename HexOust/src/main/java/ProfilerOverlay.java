@@ -0,0 +1,73 @@
+import javafx.animation.AnimationTimer; // Runs once per JavaFX pulse
+import javafx.scene.control.Label; // Shows the readings
+import javafx.scene.paint.Color; // Defines the text color
+import javafx.scene.text.Font; // Sets font properties
+
+/**
+ * Shows a MoveProfiler's readings in a corner of the window, for spotting regressions during playtests.
+ * Each pulse compares one counter and rebuilds the table only after a move or its drawing has been measured,
+ * so the overlay adds nothing to the frames between moves.
+ */
+public class ProfilerOverlay {
+    private final MoveProfiler profiler; // Readings to show
+    private final Label label; // Shows the table
+    private long shownVersion = -1; // Profiler version shown
+    private AnimationTimer timer; // Pulse callback, created on start
+
+    /**
+     * Constructs a ProfilerOverlay.
+     * @param profiler The readings to show
+     */
+    public ProfilerOverlay(MoveProfiler profiler) {
+        this.profiler = profiler; // Assign the profiler
+        this.label = new Label(); // Create the label
+        label.setFont(Font.font("Monospaced", 11)); // Fixed width, so the columns line up
+        label.setTextFill(Color.web("#ECF0F1")); // Match the header text
+        label.setStyle("-fx-background-color: rgba(0, 0, 0, 0.55); -fx-padding: 6;"); // Readable over the board
+        label.setMouseTransparent(true); // Never block clicks on the board
+    }
+
+    /**
+     * Starts refreshing on every JavaFX pulse.
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    refresh(); // Update if a reading changed
+                }
+            };
+        }
+        timer.start(); // Run on pulses
+    }
+
+    /**
+     * Stops refreshing.
+     */
+    public void stop() {
+        if (timer != null) {
+            timer.stop(); // No more pulses
+        }
+    }
+
+    /**
+     * Updates the label if the profiler has measured anything since the last update.
+     */
+    private void refresh() {
+        long version = profiler.getVersion(); // Readings changed?
+        if (version == shownVersion) {
+            return; // Nothing new
+        }
+        shownVersion = version;
+        label.setText(profiler.format()); // Rebuild the table
+    }
+
+    /**
+     * Retrieves the label, to place over the window.
+     * @return The label
+     */
+    public Label getLabel() {
+        return label; // Return the label
+    }
+}
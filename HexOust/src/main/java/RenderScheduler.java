@@ -0,0 +1,220 @@
+import javafx.animation.AnimationTimer; // Runs once per JavaFX pulse
+
+/**
+ * Collects board draw requests and flushes them once per JavaFX pulse.
+ * Cells are marked dirty rather than drawn, so a hex changed several times before the next pulse is painted once,
+ * in its final state, and a full redraw replaces any pending cell updates. Bursts of bot moves or replayed moves
+ * therefore cost at most one frame of canvas work. All methods must be called on the JavaFX application thread.
+ */
+public class RenderScheduler {
+    private static final long NANOS_PER_MILLI = 1_000_000L; // Unit conversion for statistics
+    private final Painter painter; // Draws the cells
+    private final HexGrid grid; // Cell layout of the board
+    private final boolean[] dirty; // Cells waiting to be drawn
+    private final int[] pending; // Dirty cells in request order
+    private int pendingCount; // Number of dirty cells
+    private boolean fullRedraw; // True if the whole board must be drawn
+    private AnimationTimer timer; // Pulse callback, created on start
+    private MoveProfiler profiler; // Charged with drawing that a move requested, or null
+    private long requests; // Draw requests received
+    private long frames; // Pulses that drew something
+    private long cellsDrawn; // Cells drawn individually
+    private long fullRedraws; // Whole-board redraws
+    private long totalFlushNanos; // Time spent drawing
+    private long maxFlushNanos; // Longest single flush
+    private long lastPulse; // Time of the previous pulse
+    private long totalIntervalNanos; // Sum of pulse-to-pulse intervals
+    private long maxIntervalNanos; // Longest pulse-to-pulse interval
+    private long intervals; // Number of intervals measured
+
+    /**
+     * Draws board cells on behalf of the scheduler.
+     */
+    interface Painter {
+        /**
+         * Draws the whole board in its current state.
+         */
+        void paintAll();
+
+        /**
+         * Draws one hex in its current state.
+         * @param boardQ The q-index in the hexStatus array
+         * @param boardR The r-index in the hexStatus array
+         */
+        void paintCell(int boardQ, int boardR);
+    }
+
+    /**
+     * Constructs a RenderScheduler that draws through the given painter.
+     * @param painter Draws cells when the scheduler flushes
+     */
+    RenderScheduler(Painter painter) {
+        this(painter, HexGrid.STANDARD); // Standard board
+    }
+
+    /**
+     * Constructs a RenderScheduler for a board of any radius.
+     * @param painter Draws cells when the scheduler flushes
+     * @param grid The cell layout of the board
+     */
+    RenderScheduler(Painter painter, HexGrid grid) {
+        this.painter = painter; // Assign the painter
+        this.grid = grid; // Assign the layout
+        this.dirty = new boolean[grid.getCellCount()]; // One flag per cell
+        this.pending = new int[grid.getCellCount()]; // Room for every cell
+    }
+
+    /**
+     * Starts flushing on every JavaFX pulse.
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    if (lastPulse != 0) { // Measure the frame interval
+                        long interval = now - lastPulse;
+                        totalIntervalNanos += interval; // Accumulate the interval
+                        maxIntervalNanos = Math.max(maxIntervalNanos, interval); // Track the worst frame
+                        intervals++;
+                    }
+                    lastPulse = now; // Remember this pulse
+                    flush(); // Draw whatever is pending
+                }
+            };
+        }
+        timer.start(); // Register for pulses
+    }
+
+    /**
+     * Stops flushing on pulses. Pending requests stay queued until the next flush.
+     */
+    public void stop() {
+        if (timer != null) {
+            timer.stop(); // Unregister from pulses
+        }
+        lastPulse = 0; // Do not count the pause as a frame
+    }
+
+    /**
+     * Requests that one hex be redrawn on the next pulse.
+     * @param boardQ The q-index in the hexStatus array
+     * @param boardR The r-index in the hexStatus array
+     */
+    public void markDirty(int boardQ, int boardR) {
+        requests++; // Count the request
+        int cell = grid.cellAt(boardQ, boardR); // Dense index of the hex
+        if (cell < 0 || fullRedraw || dirty[cell]) {
+            return; // Off the board or already covered
+        }
+        dirty[cell] = true; // Flag the cell
+        pending[pendingCount++] = cell; // Queue the cell
+    }
+
+    /**
+     * Requests that the whole board be redrawn on the next pulse.
+     */
+    public void requestFullRedraw() {
+        requests++; // Count the request
+        fullRedraw = true; // Supersedes any pending cells
+    }
+
+    /**
+     * Draws everything requested since the last flush. Called on every pulse, and directly by tests.
+     */
+    public void flush() {
+        if (!fullRedraw && pendingCount == 0) {
+            return; // Nothing to draw this pulse
+        }
+        boolean profiled = profiler != null && profiler.beginRender(); // Drawing the last move?
+        CanvasRedrawEvent event = new CanvasRedrawEvent(); // Free unless a recording enables it
+        event.begin();
+        long start = System.nanoTime(); // Time the flush
+        if (fullRedraw) {
+            painter.paintAll(); // Redraw the whole board
+            fullRedraws++;
+        } else {
+            for (int i = 0; i < pendingCount; i++) { // Loops through dirty cells
+                painter.paintCell(grid.qIndex(pending[i]), grid.rIndex(pending[i])); // Draw the cell
+            }
+            cellsDrawn += pendingCount; // Count the cells
+        }
+        if (event.shouldCommit()) {
+            event.fullRedraw = fullRedraw; // Describe the flush
+            event.cells = fullRedraw ? grid.getCellCount() : pendingCount;
+            event.commit(); // Record the redraw
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            dirty[pending[i]] = false; // Clear the flags
+        }
+        pendingCount = 0; // Empty the queue
+        fullRedraw = false; // Full redraw done
+        long elapsed = System.nanoTime() - start; // Flush duration
+        totalFlushNanos += elapsed; // Accumulate drawing time
+        maxFlushNanos = Math.max(maxFlushNanos, elapsed); // Track the slowest flush
+        frames++; // Count the frame
+        if (profiled) {
+            profiler.endRender(); // Charge the drawing to the move
+        }
+    }
+
+    /**
+     * Charges the first flush after each profiled move to that move's render phase.
+     * @param profiler The profiler, or null to stop
+     */
+    public void setProfiler(MoveProfiler profiler) {
+        this.profiler = profiler; // Assign the profiler
+    }
+
+    /**
+     * Checks if any drawing is waiting for the next pulse.
+     * @return True if cells or a full redraw are pending
+     */
+    public boolean hasPending() {
+        return fullRedraw || pendingCount > 0; // Check the queue
+    }
+
+    /**
+     * Retrieves the number of draw requests received.
+     * @return The request count
+     */
+    public long getRequestCount() {
+        return requests; // Return the count
+    }
+
+    /**
+     * Retrieves the number of flushes that drew something.
+     * @return The frame count
+     */
+    public long getFrameCount() {
+        return frames; // Return the count
+    }
+
+    /**
+     * Retrieves the number of cells drawn individually.
+     * @return The cell count
+     */
+    public long getCellsDrawn() {
+        return cellsDrawn; // Return the count
+    }
+
+    /**
+     * Retrieves the number of whole-board redraws.
+     * @return The redraw count
+     */
+    public long getFullRedrawCount() {
+        return fullRedraws; // Return the count
+    }
+
+    /**
+     * Summarises the drawing and frame-time statistics.
+     * @return A one-line report
+     */
+    public String getStatistics() {
+        double avgFlush = frames == 0 ? 0 : (double) totalFlushNanos / frames / NANOS_PER_MILLI; // Mean flush
+        double avgInterval = intervals == 0 ? 0 : (double) totalIntervalNanos / intervals / NANOS_PER_MILLI;
+        return String.format("%d requests, %d frames (%d cells, %d full redraws), flush avg %.3f ms max %.3f ms, "
+                        + "frame avg %.2f ms max %.2f ms", requests, frames, cellsDrawn, fullRedraws, avgFlush,
+                (double) maxFlushNanos / NANOS_PER_MILLI, avgInterval, (double) maxIntervalNanos / NANOS_PER_MILLI);
+    }
+}
@@ -47,16 +47,25 @@ public class Renderer {
     /**
      * Displays the win message with a color based on the winner.
      * Hides the turn indicator while the win message is shown.
-     * @param winner The winning player ("Red" or "Blue")
+     * @param winner The winning player (StoneColor.RED or StoneColor.BLUE)
      */
-    public void showWinMessage(String winner) {
+    public void showWinMessage(byte winner) {
         turnIndicator.setVisible(false); // Hide the turn indicator
-        winMessageLabel.setText(winner + " Wins!"); // Set the win message text
+        winMessageLabel.setText(StoneColor.name(winner) + " Wins!"); // Set the win message text
         // Set the win message color based on the winner
-        winMessageLabel.setTextFill(winner.equals("Blue") ? Color.LIGHTBLUE : Color.RED);
+        winMessageLabel.setTextFill(textColor(winner));
         winMessageLabel.setVisible(true); // Show the win message
     }
 
+    /**
+     * Displays the win message for a game won because the opponent ran out of time.
+     * @param winner The winning player (StoneColor.RED or StoneColor.BLUE)
+     */
+    public void showWinOnTime(byte winner) {
+        showWinMessage(winner); // Style as any win
+        winMessageLabel.setText(StoneColor.name(winner) + " Wins on Time!"); // Say why
+    }
+
     /**
      * Hides the win message and makes the turn indicator visible again.
      */
@@ -76,12 +85,48 @@ public class Renderer {
 
     /**
      * Updates the turn indicator with the current player's name and corresponding color.
-     * @param player The current player ("Red" or "Blue")
+     * @param player The current player (StoneColor.RED or StoneColor.BLUE)
      */
-    public void updateTurn(String player) {
-        turnIndicator.setText(player + "'s Turn - To Make a Move"); // Update the turn text
+    public void updateTurn(byte player) {
+        turnIndicator.setText(StoneColor.name(player) + "'s Turn - To Make a Move"); // Update the turn text
         // Set the turn indicator color based on the player
-        turnIndicator.setTextFill(player.equals("Red") ? Color.RED : Color.LIGHTBLUE);
+        turnIndicator.setTextFill(textColor(player));
+    }
+
+    /**
+     * Shows that a computer player is thinking and how far its search has got.
+     * @param player The computer player (StoneColor.RED or StoneColor.BLUE)
+     * @param depth The search depth completed so far, or 0 if none yet
+     */
+    public void showThinking(byte player, int depth) {
+        String progress = depth > 0 ? " (depth " + depth + ")" : ""; // Depth reached so far
+        turnIndicator.setText(StoneColor.name(player) + " is thinking..." + progress); // Update the turn text
+        turnIndicator.setTextFill(textColor(player));
+    }
+
+    /**
+     * Shows the depth and best score reached by the analysis of the current position.
+     * @param player The player to move (StoneColor.RED or StoneColor.BLUE)
+     * @param depth The depth completed, or 0 to go back to the turn message
+     * @param bestScore The best move's score, from the player's point of view
+     */
+    public void showAnalysis(byte player, int depth, int bestScore) {
+        if (depth == 0) {
+            updateTurn(player); // Analysis cleared
+            return;
+        }
+        String score = (bestScore > 0 ? "+" : "") + bestScore; // Signed score
+        turnIndicator.setText(StoneColor.name(player) + "'s Turn - analysis depth " + depth + ", best " + score);
+        turnIndicator.setTextFill(textColor(player));
+    }
+
+    /**
+     * Picks the text color used for a player's messages.
+     * @param player StoneColor.RED or StoneColor.BLUE
+     * @return Red for Red, light blue for Blue
+     */
+    private static Color textColor(byte player) {
+        return player == StoneColor.RED ? Color.RED : Color.LIGHTBLUE; // Map the player to a color
     }
 
     /**
@@ -0,0 +1,361 @@
+import java.io.IOException; // Thrown when the table cannot be written
+import java.nio.file.Path; // Locates the table file
+import java.util.Arrays; // Used for growing arrays
+import java.util.concurrent.Callable; // Work submitted to the pool
+import java.util.concurrent.ExecutionException; // Wraps failures inside the pool
+import java.util.concurrent.ForkJoinPool; // Runs the parallel phases
+import java.util.stream.IntStream; // Splits work across the pool
+import java.util.stream.Stream; // Collects each level's successors
+
+/**
+ * Solves small HexOust boards, or the endgame below a given position, exactly.
+ * First every position reachable from the root is enumerated breadth first; each level's successors are
+ * generated in parallel and stored as packed bitboard keys in a SolverTable, with the moves between positions kept
+ * as flat edge arrays. Then retrograde analysis proves values backwards from the end of the game: in round d every
+ * unsolved position is checked in parallel, and becomes a win in d plies if some move reaches a loss for the
+ * opponent proved in an earlier round, or a loss in d plies if every move reaches a win for the opponent.
+ * Positions still unsolved when a round proves nothing can never be forced to an end and are draws.
+ */
+public class RetrogradeSolver {
+    private static final int WIN_EDGE = -1; // Edge code for a move that wins the game at once
+    public static final int MAX_POSITIONS = SolverTable.MAX_SIZE; // Most positions a table can hold
+    private static final int MAX_EDGES = 1 << 30; // Largest power-of-two edge array an int can index
+    private final int maxPositions; // Enumeration stops with an error beyond this many positions
+    private final ForkJoinPool pool; // Runs the parallel phases
+    private HexGrid grid; // Cell layout of the board being solved
+    private long[][] neighbourMasks; // Per cell, the bits of its neighbours
+    private int[] edgeStart; // First edge of each position; edgeStart[n] ends the last position
+    private int[] edges; // Child position * 2 + 1 if the mover moves again, or WIN_EDGE
+    private int edgeCount; // Number of edges
+    private int rounds; // Retrograde rounds run by the last solve
+
+    /**
+     * Constructs a RetrogradeSolver.
+     * @param maxPositions The most positions to enumerate before giving up; at most MAX_POSITIONS
+     * @param pool The pool that runs the parallel phases
+     * @throws IllegalArgumentException if maxPositions is above MAX_POSITIONS
+     */
+    public RetrogradeSolver(int maxPositions, ForkJoinPool pool) {
+        if (maxPositions > MAX_POSITIONS) {
+            throw new IllegalArgumentException("At most " + MAX_POSITIONS + " positions fit a solver table");
+        }
+        this.maxPositions = maxPositions; // Assign the limit
+        this.pool = pool; // Assign the pool
+    }
+
+    /**
+     * Solves every position reachable from a root.
+     * @param root The root position, which must not be over; left unchanged
+     * @return The table of proved values
+     * @throws IllegalStateException if more than maxPositions positions, or more than 2^30 moves, are reachable
+     */
+    public SolverTable solve(GameState root) {
+        SolverTable table = enumerate(root); // Positions and moves
+        prove(table); // Values
+        return table; // Return the table
+    }
+
+    /**
+     * Retrieves the number of retrograde rounds the last solve ran.
+     * @return The round count, one more than the longest forced win or loss
+     */
+    public int getRounds() {
+        return rounds; // Return the count
+    }
+
+    /**
+     * Enumerates the positions reachable from a root, level by level.
+     * @param root The root position
+     * @return A table holding every position, with all results still unknown
+     */
+    private SolverTable enumerate(GameState root) {
+        grid = root.getGrid(); // One layout for the whole solve
+        neighbourMasks = new long[grid.getCellCount()][grid.words()];
+        for (int c = 0; c < grid.getCellCount(); c++) {
+            for (int n : grid.neighbours(c)) {
+                neighbourMasks[c][n >>> 6] |= 1L << n; // Set the neighbour's bit
+            }
+        }
+        SolverTable table = new SolverTable(grid); // Empty table on the root's layout
+        table.add(SolverTable.key(root)); // Position 0
+        edgeStart = new int[1024];
+        edges = new int[4096];
+        edgeCount = 0;
+        int levelStart = 0; // First position of the current level
+        while (levelStart < table.size()) {
+            int levelEnd = table.size(); // Positions found so far form the level
+            Stream<long[][]> expanded = IntStream.range(levelStart, levelEnd).parallel()
+                    .mapToObj(i -> successors(table.keyAt(i))); // Expand the level in parallel
+            long[][][] children = join(() -> expanded.toArray(long[][][]::new));
+            for (int i = levelStart; i < levelEnd; i++) { // Index the children in position order
+                if (i + 1 >= edgeStart.length) {
+                    edgeStart = Arrays.copyOf(edgeStart, 2 * edgeStart.length);
+                }
+                edgeStart[i] = edgeCount; // Edges of position i start here
+                long mover = table.keyAt(i)[grid.words() * 2] & 3; // Side to move at position i
+                for (long[] child : children[i - levelStart]) {
+                    int edge = WIN_EDGE; // A null child means the move wins
+                    if (child != null) {
+                        int index = table.add(child); // Number the child, adding it to a later level if new
+                        if (table.size() > maxPositions) {
+                            throw new IllegalStateException("More than " + maxPositions + " reachable positions");
+                        }
+                        boolean sameMover = (child[child.length - 1] & 3) == mover; // Extra turn
+                        edge = index * 2 + (sameMover ? 1 : 0);
+                    }
+                    if (edgeCount == edges.length) {
+                        if (edgeCount == MAX_EDGES) {
+                            throw new IllegalStateException("More than " + MAX_EDGES + " moves between positions");
+                        }
+                        edges = Arrays.copyOf(edges, 2 * edges.length);
+                    }
+                    edges[edgeCount++] = edge; // Record the move
+                }
+            }
+            levelStart = levelEnd; // Move to the next level
+        }
+        edgeStart[table.size()] = edgeCount; // Close the last position
+        return table; // Return the table
+    }
+
+    /**
+     * Generates the positions after every legal move, applying the rules to the packed key directly.
+     * Mirrors MovePipeline: a stone next to the mover's own stones must capture an adjacent opponent group smaller
+     * than the group it joins, captures give an extra turn, and the mover wins when the opponent had stones at some
+     * earlier check and has none left.
+     * @param key The position's key
+     * @return The children's keys in move order, with null for moves that win at once
+     */
+    private long[][] successors(long[] key) {
+        int words = grid.words(); // Words per color
+        long meta = key[2 * words]; // Side to move and history
+        byte side = (byte) (meta & 3);
+        boolean history = (meta & 4) != 0;
+        int own = side == StoneColor.RED ? 0 : words; // Offset of the mover's words
+        int other = words - own; // Offset of the opponent's words
+        boolean emptyBoard = true; // First move of the game
+        for (int w = 0; w < 2 * words; w++) {
+            emptyBoard &= key[w] == 0;
+        }
+        long[] group = new long[words]; // Group being flooded
+        long[] seen = new long[words]; // Opponent stones already grouped
+        long[] captured = new long[words]; // Opponent stones the move captures
+        long[][] children = new long[grid.getCellCount()][];
+        int moveCount = 0;
+        for (int c = 0; c < grid.getCellCount(); c++) {
+            int w = c >>> 6; // Word of the cell
+            long bit = 1L << c;
+            if (((key[w] | key[words + w]) & bit) != 0) {
+                continue; // Occupied
+            }
+            Arrays.fill(captured, 0);
+            if (!emptyBoard && touches(neighbourMasks[c], key, own)) { // Must capture
+                Arrays.fill(group, 0);
+                group[w] = bit;
+                int placedSize = flood(group, key, own, c); // The group the stone joins
+                Arrays.fill(seen, 0);
+                for (int n : grid.neighbours(c)) {
+                    long nbit = 1L << n;
+                    if ((key[other + (n >>> 6)] & nbit) != 0 && (seen[n >>> 6] & nbit) == 0) { // New opponent group
+                        Arrays.fill(group, 0);
+                        group[n >>> 6] = nbit;
+                        int size = flood(group, key, other, n);
+                        for (int g = 0; g < words; g++) {
+                            seen[g] |= group[g];
+                            captured[g] |= size < placedSize ? group[g] : 0; // Smaller groups are captured
+                        }
+                    }
+                }
+                if (isEmpty(captured)) {
+                    continue; // Adjacent to own stone without capturing
+                }
+            }
+            long[] child = key.clone(); // Apply the move
+            child[own + w] |= bit;
+            boolean opponentNow = false; // Opponent stones left after the move
+            for (int g = 0; g < words; g++) {
+                child[other + g] &= ~captured[g];
+                opponentNow |= child[other + g] != 0;
+            }
+            boolean hadStones = history || opponentNow; // Win history after the check
+            if (hadStones && !opponentNow) {
+                children[moveCount++] = null; // The move wins
+                continue;
+            }
+            byte next = Player.nextPlayer(side, !isEmpty(captured)); // Apply the extra turn rule
+            child[2 * words] = next | (hadStones ? 4 : 0);
+            children[moveCount++] = child;
+        }
+        return Arrays.copyOf(children, moveCount); // Return the children
+    }
+
+    /**
+     * Checks whether a mask shares a stone with one color of a key.
+     * @param mask The cells to test
+     * @param key The position's key
+     * @param offset The offset of the color's words in the key
+     * @return True if some cell of the mask holds the color's stone
+     */
+    private static boolean touches(long[] mask, long[] key, int offset) {
+        for (int w = 0; w < mask.length; w++) {
+            if ((mask[w] & key[offset + w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a mask is empty.
+     * @param mask The mask
+     * @return True if no bit is set
+     */
+    private static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Grows a group over the stones of one color, starting from a cell already in the group.
+     * @param group The group, updated in place
+     * @param key The position's key
+     * @param offset The offset of the color's words in the key
+     * @param start The starting cell
+     * @return The number of cells in the group
+     */
+    private int flood(long[] group, long[] key, int offset, int start) {
+        int[] stack = new int[grid.getCellCount()]; // Cells whose neighbours are still to visit
+        int top = 0;
+        int size = 1;
+        stack[top++] = start;
+        while (top > 0) {
+            int c = stack[--top];
+            for (int n : grid.neighbours(c)) {
+                int w = n >>> 6;
+                long bit = 1L << n;
+                if ((key[offset + w] & bit) != 0 && (group[w] & bit) == 0) { // Unvisited stone of the color
+                    group[w] |= bit;
+                    stack[top++] = n;
+                    size++;
+                }
+            }
+        }
+        return size; // Return the size
+    }
+
+    /**
+     * Proves the value of every position by retrograde rounds.
+     * @param table The enumerated table; its results are filled in
+     */
+    private void prove(SolverTable table) {
+        int[] results = table.results(); // Shared result array
+        int size = table.size();
+        for (int i = 0; i < size; i++) {
+            if (edgeStart[i + 1] == edgeStart[i]) {
+                results[i] = SolverTable.result(SolverTable.DRAW, 0); // No legal move: the game cannot continue
+            }
+        }
+        rounds = 0;
+        int proved; // Positions proved in the current round
+        do {
+            int round = ++rounds; // Plies to the end for positions proved now
+            proved = join(() -> IntStream.range(0, size).parallel()
+                    .map(i -> results[i] == 0 && proveAt(results, i, round) ? 1 : 0).sum()); // One parallel round
+        } while (proved > 0);
+        for (int i = 0; i < size; i++) {
+            if (results[i] == 0) {
+                results[i] = SolverTable.result(SolverTable.DRAW, 0); // Neither side can force an end
+            }
+        }
+    }
+
+    /**
+     * Tries to prove one position in a round. Only children proved in earlier rounds are considered, so positions
+     * proved concurrently in the same round never affect each other.
+     * @param results The shared result array
+     * @param position The position number
+     * @param round The current round
+     * @return True if the position was proved
+     */
+    private boolean proveAt(int[] results, int position, int round) {
+        boolean allLosing = true; // Every move so far reaches a proved win for the opponent
+        for (int e = edgeStart[position]; e < edgeStart[position + 1]; e++) {
+            int edge = edges[e];
+            int outcome; // Value of the move for the mover
+            if (edge == WIN_EDGE) {
+                outcome = SolverTable.WIN; // The move ends the game
+            } else {
+                int result = results[edge >> 1]; // Child's value for its side to move
+                if (result == 0 || SolverTable.distance(result) >= round) {
+                    allLosing = false; // Not proved before this round
+                    continue;
+                }
+                int value = SolverTable.value(result);
+                outcome = (edge & 1) != 0 ? value : SolverTable.flip(value); // Convert to the mover's view
+            }
+            if (outcome == SolverTable.WIN) {
+                results[position] = SolverTable.result(SolverTable.WIN, round); // Found a winning move
+                return true;
+            }
+            if (outcome != SolverTable.LOSS) {
+                allLosing = false; // A drawing move
+            }
+        }
+        if (allLosing) {
+            results[position] = SolverTable.result(SolverTable.LOSS, round); // Every move loses
+            return true;
+        }
+        return false; // Not proved yet
+    }
+
+    /**
+     * Runs a task on the pool and waits for it.
+     * @param task The task
+     * @param <T> The task's result type
+     * @return The result
+     */
+    private <T> T join(Callable<T> task) {
+        try {
+            return pool.submit(task).get(); // Run inside the pool so the stream uses its workers
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Keep the interrupt
+            throw new IllegalStateException("Solve interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause(); // Rethrow the original failure
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Solves the empty board of a radius and writes the table.
+     * @param args The board radius, the table file, and optionally the number of threads
+     * @throws IOException if the table cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RetrogradeSolver <radius> <table file> [threads]");
+            System.exit(2);
+        }
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads); // Dedicated workers
+        RetrogradeSolver solver = new RetrogradeSolver(MAX_POSITIONS, pool);
+        long start = System.nanoTime(); // Time the solve
+        SolverTable table = solver.solve(new GameState(HexGrid.of(Integer.parseInt(args[0])))); // Solve the empty board
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        pool.shutdown();
+        table.write(Path.of(args[1])); // Store the table
+        int root = table.results()[0]; // Value of the empty board for Red
+        System.out.printf("%d positions (%d wins, %d losses, %d draws) in %d rounds, %d ms%n", table.size(),
+                table.count(SolverTable.WIN), table.count(SolverTable.LOSS), table.count(SolverTable.DRAW),
+                solver.getRounds(), millis);
+        System.out.println("Empty board: " + (SolverTable.value(root) == SolverTable.WIN ? "Red wins"
+                : SolverTable.value(root) == SolverTable.LOSS ? "Blue wins" : "draw")
+                + (SolverTable.distance(root) > 0 ? " in " + SolverTable.distance(root) + " plies" : ""));
+    }
+}
@@ -0,0 +1,154 @@
+import java.io.IOException; // Thrown by file operations
+import java.nio.ByteBuffer; // Encodes the fixed layout
+import java.nio.channels.FileChannel; // Writes and syncs the temporary file
+import java.nio.file.Files; // Used for moving and reading files
+import java.nio.file.Path; // Locates files
+import java.nio.file.StandardCopyOption; // Atomic replace
+import java.nio.file.StandardOpenOption; // File open modes
+
+/**
+ * A saved game in a fixed-size binary layout: the packed board bits, the side to move, whether that side is
+ * playing an extra turn, and the opponent stone history used by the win condition.
+ * For the standard board a save is 40 bytes, so writing and reading it takes microseconds.
+ * Files are written to a temporary sibling, synced, and moved over the old save, so a power cut leaves
+ * either the previous save or the new one, never a torn file.
+ */
+public final class SaveGame {
+    private static final int MAGIC = 0x48585347; // "HXSG" file signature
+    private static final int HEADER_BYTES = 8; // Signature, radius, side, flags, padding
+    private static final byte EXTRA_TURN = 1; // Flag bit: side to move is playing an extra turn
+    private static final byte OPPONENT_HAD_STONES = 2; // Flag bit: win condition history
+    private final BoardSnapshot board; // The stones
+    private final byte sideToMove; // StoneColor.RED or StoneColor.BLUE
+    private final boolean extraTurn; // True if the side to move earned the turn by capturing
+    private final boolean opponentHadStones; // Opponent stone history for the win condition
+
+    /**
+     * Constructs a SaveGame.
+     * @param board The stones
+     * @param sideToMove The player to move (StoneColor.RED or StoneColor.BLUE)
+     * @param extraTurn True if the side to move is playing an extra turn
+     * @param opponentHadStones The opponent stone history tracked for the win condition
+     */
+    public SaveGame(BoardSnapshot board, byte sideToMove, boolean extraTurn, boolean opponentHadStones) {
+        this.board = board; // Assign the stones
+        this.sideToMove = sideToMove; // Assign the side to move
+        this.extraTurn = extraTurn; // Assign the extra turn flag
+        this.opponentHadStones = opponentHadStones; // Assign the win history
+    }
+
+    /**
+     * Encodes the save in its fixed layout.
+     * @return A new array of size(grid) bytes
+     */
+    public byte[] encode() {
+        long[] packed = board.pack(); // Red words then Blue words
+        ByteBuffer buffer = ByteBuffer.allocate(size(board.getGrid())); // Exact size
+        buffer.putInt(MAGIC); // Signature
+        buffer.put((byte) board.getGrid().getRadius()); // Layout
+        buffer.put(sideToMove); // Side to move
+        buffer.put((byte) ((extraTurn ? EXTRA_TURN : 0) | (opponentHadStones ? OPPONENT_HAD_STONES : 0))); // Flags
+        buffer.put((byte) 0); // Padding keeps the board 8-byte aligned
+        for (long word : packed) {
+            buffer.putLong(word); // Board bits
+        }
+        return buffer.array(); // Return the bytes
+    }
+
+    /**
+     * Decodes a save written by encode().
+     * @param bytes The encoded save
+     * @param grid The cell layout expected
+     * @return The save
+     * @throws IOException if the bytes are not a save for this layout
+     */
+    public static SaveGame decode(byte[] bytes, HexGrid grid) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes); // Read in the same order
+        if (bytes.length != size(grid) || buffer.getInt() != MAGIC || buffer.get() != grid.getRadius()) {
+            throw new IOException("Not a saved game for radius " + grid.getRadius());
+        }
+        byte side = buffer.get(); // Side to move
+        byte flags = buffer.get(); // Flags
+        buffer.get(); // Skip padding
+        if (side != StoneColor.RED && side != StoneColor.BLUE) {
+            throw new IOException("Corrupt saved game: side " + side);
+        }
+        long[] packed = new long[2 * grid.words()]; // Board bits
+        for (int w = 0; w < packed.length; w++) {
+            packed[w] = buffer.getLong(); // Read each word
+        }
+        return new SaveGame(BoardSnapshot.fromPacked(grid, packed), side, (flags & EXTRA_TURN) != 0,
+                (flags & OPPONENT_HAD_STONES) != 0);
+    }
+
+    /**
+     * Computes the size of a save for a layout.
+     * @param grid The cell layout
+     * @return The number of bytes
+     */
+    public static int size(HexGrid grid) {
+        return HEADER_BYTES + 16 * grid.words(); // Header plus two colors of words
+    }
+
+    /**
+     * Writes encoded save bytes to a file, replacing any earlier save atomically.
+     * @param file The save file
+     * @param bytes The bytes produced by encode()
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, byte[] bytes) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp"); // Same directory, so the move is atomic
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(bytes)); // Write the save
+            channel.force(true); // Reach the disk before the rename
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); // Replace
+    }
+
+    /**
+     * Reads a save file.
+     * @param file The save file
+     * @param grid The cell layout expected
+     * @return The save, or null if the file does not exist
+     * @throws IOException if the file cannot be read or is not a save
+     */
+    public static SaveGame read(Path file, HexGrid grid) throws IOException {
+        if (!Files.exists(file)) {
+            return null; // Nothing saved
+        }
+        return decode(Files.readAllBytes(file), grid); // Read and decode
+    }
+
+    /**
+     * Retrieves the stones.
+     * @return The board snapshot
+     */
+    public BoardSnapshot getBoard() {
+        return board; // Return the stones
+    }
+
+    /**
+     * Retrieves the player to move.
+     * @return StoneColor.RED or StoneColor.BLUE
+     */
+    public byte getSideToMove() {
+        return sideToMove; // Return the side to move
+    }
+
+    /**
+     * Checks if the side to move is playing an extra turn.
+     * @return True if the last move captured
+     */
+    public boolean isExtraTurn() {
+        return extraTurn; // Return the flag
+    }
+
+    /**
+     * Retrieves the opponent stone history tracked for the win condition.
+     * @return The history flag
+     */
+    public boolean getOpponentHadStones() {
+        return opponentHadStones; // Return the flag
+    }
+}
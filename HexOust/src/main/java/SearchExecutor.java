@@ -0,0 +1,150 @@
+import javafx.application.Platform; // Used for posting results to the JavaFX thread
+
+import java.util.concurrent.Executor; // Delivers callbacks
+import java.util.concurrent.ExecutorService; // Runs searches
+import java.util.concurrent.Executors; // Creates the search thread
+
+/**
+ * Runs bot searches and analysis on a dedicated background thread, away from the JavaFX application thread.
+ * At most one search runs at a time: submitting a new one cancels the previous one. Progress and results are
+ * posted back with Platform.runLater and are dropped once their search has been cancelled, so a restart never
+ * sees a stale move. With a LazySmp attached, the searches it creates also run helper threads that share a
+ * transposition table.
+ */
+public class SearchExecutor {
+    private final ExecutorService executor; // Single daemon search thread
+    private final Executor callbacks; // Delivers listener calls, normally to the JavaFX thread
+    private BotSearch current; // The search most recently submitted
+    private Ponderer ponderer; // The ponderer most recently submitted
+    private LazySmp smp; // Shared table and helper threads for new searches, or null
+
+    /**
+     * Constructs a SearchExecutor that delivers callbacks on the JavaFX application thread.
+     */
+    public SearchExecutor() {
+        this(Platform::runLater); // Post callbacks to the JavaFX thread
+    }
+
+    /**
+     * Constructs a SearchExecutor with a custom callback executor, for example for headless use.
+     * @param callbacks The executor that runs listener callbacks
+     */
+    public SearchExecutor(Executor callbacks) {
+        this.callbacks = callbacks; // Assign the callback executor
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hexoust-search"); // Name the thread for profilers
+            thread.setDaemon(true); // Never keep the application alive
+            return thread;
+        });
+    }
+
+    /**
+     * Lets the searches created by newSearch() share a transposition table and run helper threads.
+     * @param smp The LazySmp to use, or null for plain single-threaded searches
+     */
+    public void setLazySmp(LazySmp smp) {
+        this.smp = smp; // Assign the shared parts
+    }
+
+    /**
+     * Creates a search for this executor, multi-threaded if a LazySmp is attached.
+     * @param maxDepth The deepest iteration to run
+     * @param timeLimitMillis The time allowed for the whole search, in milliseconds
+     * @param multiPv The number of best root moves to score exactly
+     * @return The search, ready to submit or analyse
+     */
+    public BotSearch newSearch(int maxDepth, long timeLimitMillis, int multiPv) {
+        return smp == null ? new BotSearch(maxDepth, timeLimitMillis, multiPv) // Plain search
+                : smp.newSearch(maxDepth, timeLimitMillis, multiPv); // Shared table and helpers
+    }
+
+    /**
+     * Starts a search, cancelling any search already running.
+     * @param state The position to search; must not be modified afterwards
+     * @param search The search to run
+     * @param listener Receives progress and the final move
+     * @return The submitted search, which can be cancelled
+     */
+    public synchronized BotSearch submit(GameState state, BotSearch search, SearchListener listener) {
+        cancel(); // Only one search at a time
+        current = search; // Track the new search
+        executor.execute(() -> {
+            if (search.isCancelled()) {
+                return; // Cancelled before it started
+            }
+            int bestCell = search.search(state, (depth, cell, score, nodes) ->
+                    post(search, () -> listener.onProgress(depth, cell, score, nodes))); // Report each iteration
+            post(search, () -> listener.onComplete(bestCell)); // Report the result
+        });
+        return search; // Let the caller cancel it
+    }
+
+    /**
+     * Starts an analysis search, cancelling any search already running. Unlike submit, the listener is called
+     * directly on the search thread, so it must be thread-safe; this keeps streaming updates free of allocation.
+     * @param state The position to search; must not be modified afterwards
+     * @param search The search to run
+     * @param listener Receives progress on the search thread
+     * @return The submitted search, which can be cancelled
+     */
+    public synchronized BotSearch analyse(GameState state, BotSearch search, SearchListener listener) {
+        cancel(); // Only one search at a time
+        current = search; // Track the new search
+        executor.execute(() -> {
+            if (!search.isCancelled()) { // Not cancelled before it started
+                search.search(state, listener); // Report straight from the search thread
+            }
+        });
+        return search; // Let the caller cancel it
+    }
+
+    /**
+     * Starts pondering a position where the human is to move, cancelling any search already running.
+     * The ponderer keeps running after a successful claim and is cancelled by the next submission or cancel().
+     * @param state The position to ponder; must not be modified afterwards
+     * @param ponderer The ponderer for this human turn
+     */
+    public synchronized void ponder(GameState state, Ponderer ponderer) {
+        cancel(); // Only one search at a time
+        this.ponderer = ponderer; // Track the ponderer
+        executor.execute(() -> ponderer.run(state)); // Think during the human's turn
+    }
+
+    /**
+     * Cancels the running search, if any. Its pending callbacks are dropped.
+     */
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancel(); // Stop the search
+            current = null; // Forget it
+        }
+        if (ponderer != null) {
+            ponderer.cancel(); // Stop pondering and drop any claimed move
+            ponderer = null; // Forget it
+        }
+    }
+
+    /**
+     * Cancels any search and stops the search thread.
+     */
+    public void shutdown() {
+        cancel(); // Stop the running search
+        executor.shutdownNow(); // Stop the thread
+        if (smp != null) {
+            smp.shutdown(); // Stop the helper threads
+        }
+    }
+
+    /**
+     * Posts a callback unless its search has been cancelled by the time it runs.
+     * @param search The search the callback belongs to
+     * @param callback The callback to run
+     */
+    private void post(BotSearch search, Runnable callback) {
+        callbacks.execute(() -> {
+            if (!search.isCancelled()) { // Checked on the callback thread
+                callback.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Receives updates from a running BotSearch.
+ * When the search runs on a SearchExecutor, callbacks arrive on the JavaFX application thread
+ * and stop as soon as the search is cancelled.
+ */
+public interface SearchListener {
+    /**
+     * Called each time the search completes a deeper iteration.
+     * @param depth The depth just completed
+     * @param bestCell The dense cell index of the best move so far
+     * @param score The score of the best move, from the searching side's point of view
+     * @param nodes The number of positions searched so far
+     */
+    void onProgress(int depth, int bestCell, int score, long nodes);
+
+    /**
+     * Called after each completed iteration with the best root moves, best first.
+     * The arrays belong to the search and are overwritten by the next iteration; copy what is needed.
+     * @param depth The depth just completed
+     * @param cells The dense cell indices of the ranked moves
+     * @param scores Their scores, from the searching side's point of view
+     * @param count The number of ranked moves
+     * @param nodes The number of positions searched so far
+     */
+    default void onCandidates(int depth, int[] cells, int[] scores, int count, long nodes) {
+    }
+
+    /**
+     * Called once when the search finishes.
+     * @param bestCell The dense cell index of the chosen move, or -1 if there is no legal move
+     */
+    default void onComplete(int bestCell) {
+    }
+}
@@ -0,0 +1,330 @@
+import java.io.BufferedInputStream; // Buffers table reads
+import java.io.BufferedOutputStream; // Buffers table writes
+import java.io.DataInputStream; // Reads the binary table
+import java.io.DataOutputStream; // Writes the binary table
+import java.io.IOException; // Thrown when the table cannot be read or written
+import java.nio.file.Files; // Opens table files
+import java.nio.file.Path; // Locates table files
+import java.util.Arrays; // Used for growing arrays
+
+/**
+ * Game-theoretic values of HexOust positions, as proved by the RetrogradeSolver.
+ * Each position is keyed by its packed board, the side to move and the opponent stone history, and holds a
+ * value for the side to move (win, loss or draw) with the number of plies to the end under perfect play.
+ * Keys live in one flat long array with an open-addressing index, so a table of millions of positions
+ * needs no per-position objects. The file format is the same arrays written in order behind a short header.
+ */
+public class SolverTable {
+    public static final int UNKNOWN = 0; // Position not in the table
+    public static final int WIN = 1; // Side to move wins with perfect play
+    public static final int LOSS = 2; // Side to move loses with perfect play
+    public static final int DRAW = 3; // Neither side can force a win
+    public static final int MAX_SIZE = 1 << 29; // Most positions: the int index is at most 2^30 slots, half full
+    private static final int MAX_ARRAY = Integer.MAX_VALUE - 8; // Longest array the VM reliably allocates
+    private static final int MAGIC = 0x48585254; // "HXRT" file marker
+    private final HexGrid grid; // Cell layout of the solved board
+    private final int keyWords; // Longs per key
+    private long[] keys; // Keys of all positions, keyWords longs each
+    private int[] results; // Packed value and distance per position
+    private int[] slots; // Open-addressing index: position number + 1, or 0 if free
+    private int count; // Number of positions
+
+    /**
+     * Constructs an empty table.
+     * @param grid The cell layout of the solved board
+     */
+    public SolverTable(HexGrid grid) {
+        this.grid = grid; // Assign the layout
+        this.keyWords = 2 * grid.words() + 1; // Both colors plus the side to move and history
+        this.keys = new long[1024 * keyWords]; // Start small and grow
+        this.results = new int[1024];
+        this.slots = new int[2048];
+    }
+
+    /**
+     * Builds the key of a position.
+     * @param state The position
+     * @return Its packed board followed by the side to move and opponent stone history
+     */
+    public static long[] key(GameState state) {
+        long[] board = state.getGrid().pack(state.getHexStatus()); // Stones of both colors
+        long[] key = Arrays.copyOf(board, board.length + 1); // Room for the extra word
+        key[board.length] = state.getSideToMove() | (state.getOpponentHadStones() ? 4 : 0); // Side and history
+        return key; // Return the key
+    }
+
+    /**
+     * Recreates the position a key describes.
+     * @param key The key
+     * @return A new state holding the position
+     */
+    GameState state(long[] key) {
+        long meta = key[keyWords - 1]; // Side to move and history
+        byte[][] hexStatus = grid.unpack(Arrays.copyOf(key, keyWords - 1)); // Stones of both colors
+        return GameState.of(grid, hexStatus, (byte) (meta & 3), (meta & 4) != 0); // Rebuild on the table's layout
+    }
+
+    /**
+     * Finds a position's number.
+     * @param key The position's key
+     * @return The position number, or -1 if the table does not contain it
+     */
+    public int indexOf(long[] key) {
+        int mask = slots.length - 1; // Index size is a power of two
+        for (int slot = hash(key, 0) & mask; slots[slot] != 0; slot = (slot + 1) & mask) { // Linear probing
+            int index = slots[slot] - 1;
+            if (matches(index, key)) {
+                return index; // Found
+            }
+        }
+        return -1; // Not present
+    }
+
+    /**
+     * Adds a position if it is not present yet.
+     * @param key The position's key
+     * @return The position number; equal to size() - 1 if it was added
+     * @throws IllegalStateException if the table cannot grow to hold another position
+     */
+    int add(long[] key) {
+        int mask = slots.length - 1; // Index size is a power of two
+        int slot = hash(key, 0) & mask; // Home slot
+        for (; slots[slot] != 0; slot = (slot + 1) & mask) { // Linear probing
+            if (matches(slots[slot] - 1, key)) {
+                return slots[slot] - 1; // Already present
+            }
+        }
+        if (count == results.length) { // Grow the position arrays
+            if (count == MAX_SIZE || 2L * keys.length > MAX_ARRAY) {
+                throw new IllegalStateException("Solver table is full at " + count + " positions"); // Index or keys
+            }
+            keys = Arrays.copyOf(keys, 2 * keys.length);
+            results = Arrays.copyOf(results, 2 * results.length);
+        }
+        System.arraycopy(key, 0, keys, count * keyWords, keyWords); // Store the key
+        slots[slot] = ++count; // Index it
+        if (2 * count > slots.length) {
+            rehash(); // Keep the load factor at most one half
+        }
+        return count - 1; // Return the new number
+    }
+
+    /**
+     * Looks up a position's result.
+     * @param state The position
+     * @return The packed result (see value and distance), or 0 if the position is not in the table
+     */
+    public int lookup(GameState state) {
+        int index = indexOf(key(state)); // Find the position
+        return index < 0 ? 0 : results[index]; // Return its result
+    }
+
+    /**
+     * Extracts the value from a packed result.
+     * @param result A packed result
+     * @return WIN, LOSS, DRAW, or UNKNOWN
+     */
+    public static int value(int result) {
+        return result & 3; // Low two bits
+    }
+
+    /**
+     * Extracts the distance from a packed result.
+     * @param result A packed result
+     * @return The plies to the end of the game under perfect play, or 0 for draws
+     */
+    public static int distance(int result) {
+        return result >>> 2; // Remaining bits
+    }
+
+    /**
+     * Packs a value and distance into a result.
+     * @param value WIN, LOSS or DRAW
+     * @param distance The plies to the end of the game
+     * @return The packed result
+     */
+    static int result(int value, int distance) {
+        return distance << 2 | value; // Pack both fields
+    }
+
+    /**
+     * Chooses a move with perfect play: the fastest win, else a draw, else the slowest loss.
+     * @param state The position, with its side to move; left unchanged
+     * @return The dense cell index of the move, or -1 if there is no legal move or the position is unsolved
+     */
+    public int bestMove(GameState state) {
+        int[] moves = new int[grid.getCellCount()]; // Legal moves
+        int moveCount = state.legalMoves(moves);
+        int best = -1; // Best move so far
+        int bestRank = Integer.MIN_VALUE; // Higher is better
+        for (int i = 0; i < moveCount; i++) {
+            GameState child = state.copy(); // Position after the move
+            child.play(moves[i]);
+            int rank; // Preference for the mover
+            if (child.getWinner() != StoneColor.EMPTY) {
+                rank = Integer.MAX_VALUE; // Wins immediately
+            } else {
+                int result = lookup(child); // Child's value for its side to move
+                if (value(result) == UNKNOWN) {
+                    return -1; // Outside the solved space
+                }
+                int outcome = child.getSideToMove() == state.getSideToMove() ? value(result) : flip(value(result));
+                rank = outcome == WIN ? Integer.MAX_VALUE - 1 - distance(result) // Faster wins first
+                        : outcome == DRAW ? 0 : -Integer.MAX_VALUE + distance(result); // Slower losses first
+            }
+            if (rank > bestRank) {
+                bestRank = rank; // New best move
+                best = moves[i];
+            }
+        }
+        return best; // Return the move
+    }
+
+    /**
+     * Swaps a value to the other player's point of view.
+     * @param value WIN, LOSS or DRAW
+     * @return LOSS for WIN, WIN for LOSS, otherwise unchanged
+     */
+    static int flip(int value) {
+        return value == WIN ? LOSS : value == LOSS ? WIN : value; // Swap win and loss
+    }
+
+    /**
+     * Retrieves the number of positions.
+     * @return The position count
+     */
+    public int size() {
+        return count; // Return the count
+    }
+
+    /**
+     * Retrieves the cell layout of the solved board.
+     * @return The grid
+     */
+    public HexGrid getGrid() {
+        return grid; // Return the layout
+    }
+
+    /**
+     * Retrieves the result array, indexed by position number, for the solver to fill in.
+     * @return The results; its length may exceed size()
+     */
+    int[] results() {
+        return results; // Return the array
+    }
+
+    /**
+     * Copies a position's key.
+     * @param index The position number
+     * @return The key
+     */
+    long[] keyAt(int index) {
+        return Arrays.copyOfRange(keys, index * keyWords, (index + 1) * keyWords); // Copy the key
+    }
+
+    /**
+     * Counts the positions with a given value.
+     * @param value WIN, LOSS or DRAW
+     * @return The number of positions
+     */
+    public int count(int value) {
+        int total = 0; // Positions found
+        for (int i = 0; i < count; i++) {
+            if (value(results[i]) == value) {
+                total++;
+            }
+        }
+        return total; // Return the count
+    }
+
+    /**
+     * Writes the table: a header, then every key and every result.
+     * @param file The table file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC); // File marker
+            out.writeByte(grid.getRadius()); // Board radius
+            out.writeInt(count); // Number of positions
+            for (int i = 0; i < count * keyWords; i++) {
+                out.writeLong(keys[i]); // Keys in position order
+            }
+            for (int i = 0; i < count; i++) {
+                out.writeInt(results[i]); // Results in position order
+            }
+        }
+    }
+
+    /**
+     * Reads a table written by write().
+     * @param file The table file
+     * @return The table
+     * @throws IOException if the file cannot be read or is not a table
+     */
+    public static SolverTable read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a HexOust solver table: " + file);
+            }
+            SolverTable table = new SolverTable(HexGrid.of(in.readByte())); // Layout of the solved board
+            int size = in.readInt(); // Number of positions
+            long[] key = new long[table.keyWords]; // Reused while reading
+            for (int i = 0; i < size; i++) {
+                for (int w = 0; w < key.length; w++) {
+                    key[w] = in.readLong(); // Read the key
+                }
+                table.add(key); // Index it
+            }
+            for (int i = 0; i < size; i++) {
+                table.results[i] = in.readInt(); // Read the result
+            }
+            return table; // Return the table
+        }
+    }
+
+    /**
+     * Checks whether a stored key equals a given key.
+     * @param index The position number
+     * @param key The key to compare
+     * @return True if they are equal
+     */
+    private boolean matches(int index, long[] key) {
+        int offset = index * keyWords; // Start of the stored key
+        for (int w = 0; w < keyWords; w++) {
+            if (keys[offset + w] != key[w]) {
+                return false; // Words differ
+            }
+        }
+        return true; // All words equal
+    }
+
+    /**
+     * Hashes a key.
+     * @param words The array holding the key
+     * @param offset The start of the key
+     * @return The hash
+     */
+    private int hash(long[] words, int offset) {
+        long h = 0; // Running hash
+        for (int w = 0; w < keyWords; w++) {
+            h = (h ^ words[offset + w]) * 0x9E3779B97F4A7C15L; // Multiply-xor mix
+        }
+        return (int) (h ^ (h >>> 32)); // Fold to an int
+    }
+
+    /**
+     * Doubles the index and reinserts every position.
+     */
+    private void rehash() {
+        slots = new int[2 * slots.length]; // Larger index
+        int mask = slots.length - 1;
+        for (int i = 0; i < count; i++) {
+            int slot = hash(keys, i * keyWords) & mask; // Home slot
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask; // Linear probing
+            }
+            slots[slot] = i + 1; // Index the position
+        }
+    }
+}
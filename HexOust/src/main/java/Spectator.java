@@ -0,0 +1,29 @@
+/**
+ * Follows a live game read-only through a SpectatorHub: a snapshot of the whole board first, then one delta per
+ * move. A spectator that falls behind gets a fresh snapshot instead of the deltas it missed.
+ * A game lost on time ends with a delta that places no stone.
+ * Calls for one spectator never overlap and arrive in order, on a delivery thread of the hub.
+ */
+public interface Spectator {
+    /**
+     * Replaces everything the spectator knows with the current position.
+     * @param sequence The position number; following deltas continue from it
+     * @param board The board, immutable and shared with other spectators
+     * @param sideToMove The player to move
+     * @param winner The winner, or StoneColor.EMPTY while the game continues
+     */
+    void onSnapshot(long sequence, BoardSnapshot board, byte sideToMove, byte winner);
+
+    /**
+     * Applies one move to the position the spectator knows.
+     * @param delta The move, with the sequence number one more than the last snapshot or delta
+     */
+    void onMove(MoveDelta delta);
+
+    /**
+     * Called once when the spectator leaves or the hub is closed, so it can release its connection.
+     * No calls follow, although a delivery already under way may still be finishing.
+     */
+    default void onClose() {
+    }
+}
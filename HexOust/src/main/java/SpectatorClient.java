@@ -0,0 +1,180 @@
+import java.io.BufferedReader; // Reads the message lines
+import java.io.IOException; // Thrown by socket operations
+import java.io.InputStream; // Source of the messages
+import java.io.InputStreamReader; // Decodes the messages
+import java.io.PrintStream; // Destination of the console viewer
+import java.net.InetAddress; // Connects to the loopback server
+import java.net.Socket; // Connection to the server
+import java.nio.charset.StandardCharsets; // Decodes the messages
+
+/**
+ * Reads the line protocol of a SpectatorServer and replays it to a Spectator, so a viewer in another process
+ * follows the game through the same interface as one subscribed to the hub directly.
+ * The client also keeps the board it has reconstructed. Run on its own, it prints the game to the console.
+ */
+public class SpectatorClient {
+    private final Spectator spectator; // Receives the decoded messages
+    private volatile BoardSnapshot board; // Board after the last message, or null before the first snapshot
+    private volatile long sequence = -1; // Sequence number of the last message
+
+    /**
+     * Constructs a SpectatorClient.
+     * @param spectator The spectator to replay the messages to
+     */
+    public SpectatorClient(Spectator spectator) {
+        this.spectator = spectator; // Assign the spectator
+    }
+
+    /**
+     * Reads messages until the stream ends, replaying each one.
+     * @param in The stream from the server, for example a socket's input stream
+     * @throws IOException if the stream cannot be read, or holds a malformed message
+     */
+    public void run(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            try {
+                accept(line); // Decode and replay
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed spectator message: " + line, e); // Report the bad line
+            }
+        }
+    }
+
+    /**
+     * Decodes and replays one message line.
+     * @param line The line, without the line break
+     * @throws IllegalArgumentException if the line is not a SNAPSHOT or MOVE message
+     */
+    void accept(String line) {
+        String[] parts = line.split(" "); // Space separated fields
+        if (parts[0].equals("SNAPSHOT")) {
+            long seq = Long.parseLong(parts[1]);
+            HexGrid grid = HexGrid.of(Integer.parseInt(parts[4])); // Board of the sent radius
+            String cells = parts[5];
+            if (cells.length() != grid.getCellCount()) throw new IllegalArgumentException("Wrong cell count");
+            byte[][] hexStatus = new byte[grid.getSize()][grid.getSize()]; // Empty board
+            for (int cell = 0; cell < cells.length(); cell++) {
+                hexStatus[grid.qIndex(cell)][grid.rIndex(cell)] = (byte) (cells.charAt(cell) - '0'); // Stone
+            }
+            board = BoardSnapshot.of(grid, hexStatus);
+            sequence = seq;
+            spectator.onSnapshot(seq, board, Byte.parseByte(parts[2]), Byte.parseByte(parts[3]));
+        } else if (parts[0].equals("MOVE")) {
+            int[] captured = new int[parts.length - 6]; // Captured cells follow the fixed fields
+            for (int i = 0; i < captured.length; i++) {
+                captured[i] = Integer.parseInt(parts[6 + i]);
+            }
+            MoveDelta delta = new MoveDelta(Long.parseLong(parts[1]), Integer.parseInt(parts[2]),
+                    Byte.parseByte(parts[3]), captured, Byte.parseByte(parts[4]), Byte.parseByte(parts[5]));
+            if (board == null) throw new IllegalArgumentException("Move before the first snapshot");
+            board = delta.applyTo(board); // Follow the game
+            sequence = delta.getSequence();
+            spectator.onMove(delta);
+        } else {
+            throw new IllegalArgumentException("Unknown message " + parts[0]); // Not part of the protocol
+        }
+    }
+
+    /**
+     * Retrieves the board reconstructed so far.
+     * @return The board, or null before the first snapshot
+     */
+    public BoardSnapshot getBoard() {
+        return board; // Return the board
+    }
+
+    /**
+     * Retrieves the sequence number of the last message.
+     * @return The sequence number, or -1 before the first snapshot
+     */
+    public long getSequence() {
+        return sequence; // Return the sequence
+    }
+
+    /**
+     * Follows a game served on a local port and prints the board after every message until the server closes.
+     * @param args The port of the SpectatorServer
+     * @throws IOException if the server cannot be reached or sends a malformed message
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SpectatorClient <port>");
+            System.exit(2);
+        }
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]))) {
+            new SpectatorClient(new ConsoleViewer(System.out)).run(socket.getInputStream()); // Until the game closes
+        }
+        System.out.println("Server closed the connection");
+    }
+
+    /**
+     * A spectator that prints each position as text: one row per r-index, indented into a hexagon.
+     */
+    static final class ConsoleViewer implements Spectator {
+        private final PrintStream out; // Destination of the text
+        private BoardSnapshot board; // Board after the last message; delivery thread only
+
+        /**
+         * Constructs a ConsoleViewer.
+         * @param out The destination of the text
+         */
+        ConsoleViewer(PrintStream out) {
+            this.out = out; // Assign the destination
+        }
+
+        /**
+         * Prints the board of a snapshot.
+         * @param sequence The position number
+         * @param board The board
+         * @param sideToMove The player to move
+         * @param winner The winner, or StoneColor.EMPTY
+         */
+        @Override
+        public void onSnapshot(long sequence, BoardSnapshot board, byte sideToMove, byte winner) {
+            this.board = board; // Start over from the snapshot
+            out.println("Position " + sequence);
+            print(sideToMove, winner);
+        }
+
+        /**
+         * Prints the move and the board after it.
+         * @param delta The move
+         */
+        @Override
+        public void onMove(MoveDelta delta) {
+            board = delta.applyTo(board); // Follow the game
+            if (delta.getPlacedCell() == MoveDelta.NO_CELL) {
+                out.println("Position " + delta.getSequence() + ": " + StoneColor.name(delta.getSideToMove())
+                        + " ran out of time");
+            } else {
+                out.println("Position " + delta.getSequence() + ": " + StoneColor.name(delta.getPlayer()) + " played cell "
+                        + delta.getPlacedCell() + ", capturing " + delta.getCapturedCells().length);
+            }
+            print(delta.getSideToMove(), delta.getWinner());
+        }
+
+        /**
+         * Prints the board, then the winner or the side to move.
+         * @param sideToMove The player to move
+         * @param winner The winner, or StoneColor.EMPTY
+         */
+        private void print(byte sideToMove, byte winner) {
+            HexGrid grid = board.getGrid(); // Cell layout
+            int radius = grid.getRadius();
+            for (int r = 0; r < grid.getSize(); r++) {
+                StringBuilder row = new StringBuilder(" ".repeat(Math.abs(radius - r))); // Indent into a hexagon
+                for (int q = 0; q < grid.getSize(); q++) {
+                    if (grid.cellAt(q, r) >= 0) {
+                        byte stone = board.get(q, r);
+                        row.append(stone == StoneColor.RED ? 'R' : stone == StoneColor.BLUE ? 'B' : '.').append(' ');
+                    }
+                }
+                out.println(row);
+            }
+            out.println(winner != StoneColor.EMPTY ? StoneColor.name(winner) + " wins"
+                    : StoneColor.name(sideToMove) + " to move");
+        }
+    }
+}
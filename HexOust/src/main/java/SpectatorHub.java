@@ -0,0 +1,270 @@
+import java.util.concurrent.ArrayBlockingQueue; // Bounded per-spectator queue
+import java.util.concurrent.CopyOnWriteArrayList; // Spectators, iterated on every move
+import java.util.concurrent.ExecutorService; // Runs the deliveries
+import java.util.concurrent.Executors; // Creates the delivery threads
+import java.util.concurrent.atomic.AtomicBoolean; // Tracks scheduled deliveries
+import java.util.concurrent.atomic.AtomicLong; // Counts resyncs
+
+/**
+ * Broadcasts a live game to any number of read-only spectators.
+ * The hub follows GameManager as a MoveListener and keeps the current position as an immutable BoardSnapshot,
+ * so a snapshot costs nothing to share: every spectator that needs one gets the same object. Each move becomes
+ * one immutable MoveDelta offered to every spectator's bounded queue. The move thread never waits: when a queue is
+ * full it is emptied and its spectator is marked for a resync, and its delivery sends the current snapshot
+ * instead of the dropped deltas. Deliveries run on virtual threads, one only while a spectator has something
+ * queued, so a slow spectator holds up nobody else and hundreds of viewers need no platform thread each.
+ */
+public class SpectatorHub implements MoveListener, AutoCloseable {
+    private final int queueCapacity; // Deltas each spectator may fall behind before a resync
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>(); // Spectators
+    private final ExecutorService deliveries; // Virtual thread per running delivery
+    private volatile Position position; // Current position, replaced on every move
+
+    /**
+     * An immutable game position with its sequence number.
+     */
+    private static final class Position {
+        final long sequence; // Position number
+        final BoardSnapshot board; // Stones
+        final byte sideToMove; // Player to move
+        final byte winner; // Winner, or StoneColor.EMPTY
+
+        /**
+         * Constructs a Position.
+         * @param sequence The position number
+         * @param board The stones
+         * @param sideToMove The player to move
+         * @param winner The winner, or StoneColor.EMPTY
+         */
+        Position(long sequence, BoardSnapshot board, byte sideToMove, byte winner) {
+            this.sequence = sequence; // Assign every field
+            this.board = board;
+            this.sideToMove = sideToMove;
+            this.winner = winner;
+        }
+    }
+
+    /**
+     * Constructs a SpectatorHub.
+     * @param board The current board, for example after resuming a saved game
+     * @param sideToMove The player to move
+     * @param queueCapacity The deltas each spectator may fall behind before it is resynchronised
+     */
+    public SpectatorHub(BoardSnapshot board, byte sideToMove, int queueCapacity) {
+        this.queueCapacity = queueCapacity; // Assign the bound
+        this.position = new Position(0, board, sideToMove, StoneColor.EMPTY); // Starting position
+        this.deliveries = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hexoust-spectator-", 0).factory());
+    }
+
+    /**
+     * Adds a spectator. Its first call is a snapshot of the current position.
+     * @param spectator The spectator
+     * @return The subscription, to close when the spectator leaves
+     */
+    public Subscription subscribe(Spectator spectator) {
+        Subscription subscription = new Subscription(spectator); // Starts with a resync
+        subscriptions.add(subscription);
+        subscription.schedule(); // Send the snapshot
+        return subscription; // Let the caller unsubscribe
+    }
+
+    /**
+     * Publishes a move to every spectator. Never blocks.
+     * @param before The board before the move
+     * @param result The result of the move
+     */
+    @Override
+    public void onMove(BoardSnapshot before, MoveResult result) {
+        Position previous = position; // Only the move thread writes the position
+        MoveDelta delta = MoveDelta.of(previous.sequence + 1, before.getGrid(), result); // Shared by every spectator
+        position = new Position(delta.getSequence(), before.apply(result), delta.getSideToMove(), delta.getWinner());
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(delta); // Queue or mark for resync
+        }
+    }
+
+    /**
+     * Publishes a restart: every spectator gets a snapshot of the empty board.
+     */
+    @Override
+    public void onReset() {
+        Position previous = position; // Only the move thread writes the position
+        position = new Position(previous.sequence + 1, BoardSnapshot.empty(previous.board.getGrid()),
+                StoneColor.RED, StoneColor.EMPTY); // Red opens the new game
+        for (Subscription subscription : subscriptions) {
+            subscription.resync(); // Queued deltas belong to the old game
+        }
+    }
+
+    /**
+     * Publishes a position loaded without moves, for example a resumed saved game: every spectator gets a snapshot.
+     * @param board The board
+     * @param sideToMove The player to move
+     */
+    @Override
+    public void onRestore(BoardSnapshot board, byte sideToMove) {
+        position = new Position(position.sequence + 1, board, sideToMove, StoneColor.EMPTY); // New position
+        for (Subscription subscription : subscriptions) {
+            subscription.resync(); // Deltas cannot reach it
+        }
+    }
+
+    /**
+     * Publishes a game lost on time as a delta that changes no stones. Never blocks.
+     * @param side The player who ran out of time
+     */
+    @Override
+    public void onTimeout(byte side) {
+        Position previous = position; // Only the move thread writes the position
+        MoveDelta delta = MoveDelta.gameOver(previous.sequence + 1, previous.sideToMove, StoneColor.opponent(side));
+        position = new Position(delta.getSequence(), previous.board, previous.sideToMove, delta.getWinner());
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(delta); // Queue or mark for resync
+        }
+    }
+
+    /**
+     * Retrieves the number of spectators.
+     * @return The spectator count
+     */
+    public int getSpectatorCount() {
+        return subscriptions.size(); // Return the count
+    }
+
+    /**
+     * Retrieves the sequence number of the current position.
+     * @return The number of moves, restarts, restores and flag-falls published
+     */
+    public long getSequence() {
+        return position.sequence; // Return the sequence
+    }
+
+    /**
+     * Drops every spectator, letting each release its connection, and stops delivering.
+     */
+    @Override
+    public void close() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close(); // Stop each spectator
+        }
+        deliveries.shutdown(); // Let running deliveries finish
+    }
+
+    /**
+     * One spectator's place in the broadcast.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final Spectator spectator; // Receives the snapshot and deltas
+        private final ArrayBlockingQueue<MoveDelta> queue; // Deltas not yet delivered
+        private final AtomicBoolean scheduled = new AtomicBoolean(); // True while a delivery runs or is queued
+        private final AtomicLong resyncs = new AtomicLong(); // Snapshots sent after the first
+        private volatile boolean needsSnapshot = true; // Send the current position before any delta
+        private volatile boolean closed; // Set when the spectator leaves
+        private long delivered = -1; // Sequence number the spectator is at; delivery thread only
+        private boolean first = true; // The next snapshot is the initial one; delivery thread only
+
+        /**
+         * Constructs a Subscription.
+         * @param spectator The spectator
+         */
+        private Subscription(Spectator spectator) {
+            this.spectator = spectator; // Assign the spectator
+            this.queue = new ArrayBlockingQueue<>(queueCapacity); // Bounded
+        }
+
+        /**
+         * Queues a delta, or marks the spectator for a resync if it is too far behind.
+         * @param delta The delta
+         */
+        private void offer(MoveDelta delta) {
+            if (!queue.offer(delta)) { // Full: the spectator is too slow
+                queue.clear(); // Its deltas are replaced by a snapshot
+                needsSnapshot = true;
+            }
+            schedule(); // Deliver
+        }
+
+        /**
+         * Marks the spectator for a resync and delivers it.
+         */
+        private void resync() {
+            queue.clear(); // Replaced by the snapshot
+            needsSnapshot = true;
+            schedule(); // Deliver
+        }
+
+        /**
+         * Starts a delivery unless one is already running.
+         */
+        private void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                deliveries.execute(this::deliver); // Drain on a virtual thread
+            }
+        }
+
+        /**
+         * Delivers everything queued, then stops until the next move.
+         */
+        private void deliver() {
+            try {
+                while (!closed) {
+                    MoveDelta delta = needsSnapshot ? null : queue.poll(); // Next delta, unless resyncing
+                    if (needsSnapshot || delta != null && delta.getSequence() != delivered + 1
+                            && delta.getSequence() > delivered) { // Resync requested, or deltas went missing
+                        sendSnapshot();
+                    } else if (delta != null) {
+                        if (delta.getSequence() > delivered) { // Not already covered by a snapshot
+                            delivered = delta.getSequence();
+                            spectator.onMove(delta);
+                        }
+                    } else {
+                        scheduled.set(false); // Idle
+                        if (queue.isEmpty() && !needsSnapshot || !scheduled.compareAndSet(false, true)) {
+                            return; // Nothing new, or another delivery has started
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                close(); // A failing spectator leaves
+            }
+        }
+
+        /**
+         * Sends the current position, skipping any queued deltas it already includes.
+         */
+        private void sendSnapshot() {
+            needsSnapshot = false; // Cleared first, so a later request is not lost
+            Position current = position; // Newest published position
+            delivered = current.sequence;
+            if (!first) {
+                resyncs.incrementAndGet(); // Count only recoveries
+            }
+            first = false;
+            spectator.onSnapshot(current.sequence, current.board, current.sideToMove, current.winner);
+        }
+
+        /**
+         * Retrieves the number of snapshots sent after the first, because the spectator fell behind or the
+         * game was restarted or reloaded.
+         * @return The resync count
+         */
+        public long getResyncCount() {
+            return resyncs.get(); // Return the count
+        }
+
+        /**
+         * Removes the spectator and tells it it has been dropped. Safe to call from any thread, including from the
+         * spectator's own callbacks, and more than once.
+         */
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return; // Already removed
+            }
+            closed = true; // Stops the delivery loop
+            subscriptions.remove(this); // No more deltas
+            queue.clear();
+            spectator.onClose(); // Let it release its connection
+        }
+    }
+}
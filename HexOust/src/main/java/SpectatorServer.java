@@ -0,0 +1,197 @@
+import java.io.BufferedWriter; // Buffers each message
+import java.io.IOException; // Thrown by socket operations
+import java.io.OutputStreamWriter; // Writes text to the socket
+import java.io.UncheckedIOException; // Ends a subscription from inside a Spectator callback
+import java.io.Writer; // Destination of the messages
+import java.net.InetAddress; // Binds to the loopback address
+import java.net.ServerSocket; // Accepts spectators
+import java.net.Socket; // One connected spectator
+import java.nio.charset.StandardCharsets; // Encodes the messages
+
+/**
+ * Serves a SpectatorHub to read-only viewers on a local TCP port, for example other HexOust windows started with
+ * SpectatorClient. Each connection is one subscription and receives one text line per message:
+ * <pre>
+ * SNAPSHOT &lt;sequence&gt; &lt;side&gt; &lt;winner&gt; &lt;radius&gt; &lt;one digit per cell, in HexGrid order&gt;
+ * MOVE &lt;sequence&gt; &lt;cell&gt; &lt;player&gt; &lt;side&gt; &lt;winner&gt; [captured cell ...]
+ * </pre>
+ * Colors are StoneColor values. A game lost on time ends with a MOVE line whose cell is -1 and player 0.
+ * A viewer that reads too slowly only delays its own subscription, which the hub
+ * resynchronises with a new SNAPSHOT line. A viewer that disconnects is unsubscribed.
+ */
+public class SpectatorServer implements AutoCloseable {
+    private final SpectatorHub hub; // Source of the broadcast
+    private final ServerSocket serverSocket; // Loopback listening socket
+
+    /**
+     * Opens the listening socket on the loopback address. Call start() to accept viewers.
+     * @param hub The hub to serve
+     * @param port The port, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public SpectatorServer(SpectatorHub hub, int port) throws IOException {
+        this.hub = hub; // Assign the hub
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress()); // Local viewers only
+    }
+
+    /**
+     * Reads a broadcast port from the command line, reporting a value that is not a port from 1 to 65535.
+     * @param value The option value, for example "7000"
+     * @return The port, or -1 if the value is invalid and nothing should be broadcast
+     */
+    public static int parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value.trim()); // Local TCP port
+            if (port >= 1 && port <= 65535) {
+                return port; // Valid port
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Invalid --spectate port \"" + value + "\", not broadcasting the game");
+        return -1; // Skip spectating
+    }
+
+    /**
+     * Accepts viewers on a virtual thread until the server is closed.
+     */
+    public void start() {
+        Thread.ofVirtual().name("hexoust-spectator-accept").start(this::acceptLoop); // Never blocks the caller
+    }
+
+    /**
+     * Subscribes every accepted connection to the hub.
+     */
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept(); // Wait for a viewer
+                socket.setTcpNoDelay(true); // Moves are small and should arrive at once
+                hub.subscribe(new SocketSpectator(socket)); // Snapshot first, then moves
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Spectator connection failed: " + e.getMessage()); // Keep accepting
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     * @return The local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort(); // Return the port
+    }
+
+    /**
+     * Stops accepting viewers. Connected viewers are dropped, and their sockets closed, when the hub is closed.
+     * @throws IOException if the socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close(); // Ends the accept loop
+    }
+
+    /**
+     * Formats a snapshot as a SNAPSHOT line.
+     * @param sequence The position number
+     * @param board The board
+     * @param sideToMove The player to move
+     * @param winner The winner, or StoneColor.EMPTY
+     * @return The line, without the line break
+     */
+    static String snapshotLine(long sequence, BoardSnapshot board, byte sideToMove, byte winner) {
+        HexGrid grid = board.getGrid(); // Cell layout
+        StringBuilder line = new StringBuilder(24 + grid.getCellCount()); // One digit per cell
+        line.append("SNAPSHOT ").append(sequence).append(' ').append(sideToMove).append(' ').append(winner)
+                .append(' ').append(grid.getRadius()).append(' ');
+        for (int cell = 0; cell < grid.getCellCount(); cell++) {
+            line.append((char) ('0' + board.get(grid.qIndex(cell), grid.rIndex(cell)))); // Stone digit
+        }
+        return line.toString(); // Return the line
+    }
+
+    /**
+     * Formats a delta as a MOVE line.
+     * @param delta The delta
+     * @return The line, without the line break
+     */
+    static String moveLine(MoveDelta delta) {
+        StringBuilder line = new StringBuilder(32); // Most moves capture nothing
+        line.append("MOVE ").append(delta.getSequence()).append(' ').append(delta.getPlacedCell()).append(' ')
+                .append(delta.getPlayer()).append(' ').append(delta.getSideToMove()).append(' ')
+                .append(delta.getWinner());
+        for (int cell : delta.getCapturedCells()) {
+            line.append(' ').append(cell); // Captured cells
+        }
+        return line.toString(); // Return the line
+    }
+
+    /**
+     * Writes a subscription's messages to one connected viewer.
+     */
+    private static final class SocketSpectator implements Spectator {
+        private final Socket socket; // Connection to the viewer
+        private final Writer out; // Buffered writer on the socket
+
+        /**
+         * Constructs a SocketSpectator.
+         * @param socket The connection to the viewer
+         * @throws IOException if the socket cannot be written
+         */
+        SocketSpectator(Socket socket) throws IOException {
+            this.socket = socket; // Assign the socket
+            this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * Sends a SNAPSHOT line.
+         * @param sequence The position number
+         * @param board The board
+         * @param sideToMove The player to move
+         * @param winner The winner, or StoneColor.EMPTY
+         */
+        @Override
+        public void onSnapshot(long sequence, BoardSnapshot board, byte sideToMove, byte winner) {
+            send(snapshotLine(sequence, board, sideToMove, winner)); // Whole board
+        }
+
+        /**
+         * Sends a MOVE line.
+         * @param delta The move
+         */
+        @Override
+        public void onMove(MoveDelta delta) {
+            send(moveLine(delta)); // Changed cells only
+        }
+
+        /**
+         * Writes and flushes one line, closing the connection if the viewer has gone.
+         * @param line The line
+         * @throws UncheckedIOException if the viewer has disconnected, which ends the subscription
+         */
+        private void send(String line) {
+            try {
+                out.write(line); // Blocks only this viewer's delivery thread
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                onClose(); // Release the connection
+                throw new UncheckedIOException(e); // The hub drops this subscription
+            }
+        }
+
+        /**
+         * Closes the connection when the subscription ends, so the viewer sees the end of the stream.
+         */
+        @Override
+        public void onClose() {
+            try {
+                socket.close(); // Release the connection
+            } catch (IOException ignored) {
+                // Already broken
+            }
+        }
+    }
+}
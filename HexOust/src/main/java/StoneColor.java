@@ -0,0 +1,61 @@
+/**
+ * The byte encoding of players and board cells used throughout the engine.
+ * Cells and players are compared as plain integers; names such as "Red" only appear at the UI boundary
+ * (Renderer, command-line options and exported files), through {@link #name(byte)} and {@link #parse(String)}.
+ */
+public final class StoneColor {
+    public static final byte EMPTY = 0; // No stone, or no player (e.g. no winner yet)
+    public static final byte RED = 1; // Red's stone or Red to move
+    public static final byte BLUE = 2; // Blue's stone or Blue to move
+
+    /**
+     * Prevents instantiation; this class only holds constants and helpers.
+     */
+    private StoneColor() {
+    }
+
+    /**
+     * Finds the other player.
+     * @param color RED or BLUE
+     * @return BLUE for RED and RED for BLUE
+     */
+    public static byte opponent(byte color) {
+        return (byte) (color ^ 3); // 1 <-> 2
+    }
+
+    /**
+     * Converts a color to its display name.
+     * @param color RED, BLUE or EMPTY
+     * @return "Red", "Blue", or null for EMPTY
+     */
+    public static String name(byte color) {
+        return color == RED ? "Red" : color == BLUE ? "Blue" : null; // Decode the color
+    }
+
+    /**
+     * Converts a display name to a color, ignoring case.
+     * @param name "Red" or "Blue"
+     * @return RED or BLUE
+     * @throws IllegalArgumentException if the name is not a player
+     */
+    public static byte parse(String name) {
+        if ("Red".equalsIgnoreCase(name)) return RED;
+        if ("Blue".equalsIgnoreCase(name)) return BLUE;
+        throw new IllegalArgumentException("Unknown player: " + name);
+    }
+
+    /**
+     * Parses the --bot option, reporting an invalid name so the game can be played without a computer player.
+     * @param value The option value
+     * @return RED or BLUE, or EMPTY if the value is not a player
+     */
+    public static byte parseBot(String value) {
+        try {
+            return parse(value.trim()); // Valid player
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        System.err.println("Invalid --bot \"" + value + "\", playing without a computer player");
+        return EMPTY; // No bot
+    }
+}
@@ -0,0 +1,340 @@
+import java.util.ArrayList; // Used for the worker list
+import java.util.Arrays; // Compares boards
+import java.util.List; // Used for the worker list
+import java.util.SplittableRandom; // Per-thread random moves
+import java.util.concurrent.ExecutorService; // Runs the workers
+import java.util.concurrent.Executors; // Creates the worker pool
+import java.util.concurrent.Future; // Collects worker results
+
+/**
+ * Plays random legal games at scale and checks the rules after every ply.
+ * Moves go through GameState, i.e. the MovePipeline, MoveValidator and CaptureHandler used by GameManager,
+ * and each ply is checked against an independent re-derivation of the rules:
+ * no stones off the hexagon, every captured group really was smaller than the mover's group and every smaller
+ * adjacent group was captured, stone counts add up, the extra turn follows captures, the winner is declared
+ * exactly when the opponent is wiped out, and, on a random sample of plies, a random illegal move is rejected
+ * without changing the board. Each worker reuses one set of buffers for every check instead of allocating boards,
+ * sets and flags on every ply.
+ * Usage: {@code StressHarness [games] [threads] [seed]}
+ */
+public class StressHarness {
+    private static final HexGrid GRID = HexGrid.STANDARD; // Cell layout of the board
+    private static final int MAX_PLIES = 1000; // Safety cap on game length
+    private static final int PROBE_INTERVAL = 8; // One ply in this many also probes an illegal move
+
+    /**
+     * Totals from a batch of games.
+     */
+    static final class Stats {
+        long games; // Games played
+        long plies; // Moves played
+        long captures; // Stones captured
+        long redWins; // Games won by Red
+        long blueWins; // Games won by Blue
+        long stalled; // Games ending without a legal move or hitting the ply cap
+        int longestGame; // Most plies in one game
+
+        /**
+         * Adds another batch's totals to this one.
+         * @param other The totals to add
+         */
+        void add(Stats other) {
+            games += other.games; // Sum each counter
+            plies += other.plies;
+            captures += other.captures;
+            redWins += other.redWins;
+            blueWins += other.blueWins;
+            stalled += other.stalled;
+            longestGame = Math.max(longestGame, other.longestGame);
+        }
+    }
+
+    /**
+     * Runs the harness and prints throughput.
+     * @param args Optional number of games, number of threads and random seed
+     * @throws Exception if a worker fails or finds a rule violation
+     */
+    public static void main(String[] args) throws Exception {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000; // Total games
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime(); // Reproducible if given
+        System.out.println("Stress: " + games + " games on " + threads + " threads, seed " + seed);
+        ExecutorService pool = Executors.newFixedThreadPool(threads); // One worker per thread
+        long start = System.nanoTime(); // Time the run
+        List<Future<Stats>> workers = new ArrayList<>(); // Pending workers
+        for (int t = 0; t < threads; t++) { // Split the games across workers
+            long share = games / threads + (t < games % threads ? 1 : 0); // This worker's games
+            long workerSeed = seed + t; // Distinct stream per worker
+            workers.add(pool.submit(() -> run(share, workerSeed)));
+        }
+        Stats total = new Stats(); // Combined totals
+        try {
+            for (Future<Stats> worker : workers) {
+                total.add(worker.get()); // Wait and combine; rethrows violations
+            }
+        } finally {
+            pool.shutdownNow(); // Stop any remaining workers
+        }
+        double seconds = (System.nanoTime() - start) / 1e9; // Elapsed time
+        System.out.printf("%d games, %d plies, %d captures: Red %d, Blue %d, stalled %d, longest %d plies%n",
+                total.games, total.plies, total.captures, total.redWins, total.blueWins, total.stalled,
+                total.longestGame);
+        System.out.printf("%.2f s, %.0f games/s, %.0f games/s/core, %.0f plies/s%n", seconds,
+                total.games / seconds, total.games / seconds / threads, total.plies / seconds);
+    }
+
+    /**
+     * Plays a number of random games, checking every ply.
+     * @param games The number of games
+     * @param seed The random seed
+     * @return The totals
+     * @throws AssertionError if any rule check fails
+     */
+    static Stats run(long games, long seed) {
+        SplittableRandom random = new SplittableRandom(seed); // Move choices
+        Checker checker = new Checker(seed); // This worker's buffers
+        Stats stats = new Stats(); // Totals
+        int[] moves = new int[GRID.getCellCount()]; // Legal move buffer
+        for (long game = 0; game < games; game++) { // Loops through games
+            GameState state = new GameState(); // Fresh game
+            checker.game = game; // For reproduction
+            int ply = 0; // Moves played
+            while (state.getWinner() == StoneColor.EMPTY && ply < MAX_PLIES) { // Until the game ends
+                int count = state.legalMoves(moves); // Generate moves
+                if (count == 0) {
+                    break; // No legal move
+                }
+                checker.ply = ply; // For reproduction
+                checker.remember(state); // Position before
+                if (random.nextInt(PROBE_INTERVAL) == 0) {
+                    checker.checkIllegalRejected(state, moves, count, random); // Probe an illegal move
+                }
+                int cell = moves[random.nextInt(count)]; // Pick a random legal move
+                byte mover = state.getSideToMove(); // Side moving
+                MoveResult result = state.play(cell); // Play it
+                if (result == null) {
+                    checker.fail("legal move " + cell + " was rejected");
+                }
+                checker.checkPly(mover, result, state); // Check the rules
+                stats.captures += result.getCapturedStones().size(); // Count captures
+                ply++;
+            }
+            stats.games++; // Count the game
+            stats.plies += ply;
+            stats.longestGame = Math.max(stats.longestGame, ply);
+            if (state.getWinner() == StoneColor.RED) {
+                stats.redWins++;
+            } else if (state.getWinner() == StoneColor.BLUE) {
+                stats.blueWins++;
+            } else {
+                stats.stalled++;
+            }
+        }
+        return stats; // Return the totals
+    }
+
+    /**
+     * Re-derives the rules for one worker. Every buffer is allocated once and reused on every ply, and visited
+     * cells are marked with a generation number instead of clearing a fresh array.
+     */
+    static final class Checker {
+        private final long seed; // Worker seed, for reproduction
+        private final int size = 2 * GRID.getRadius() + 1; // Board array width
+        private final byte[][] before = new byte[size][size]; // Board before the move
+        private final byte[][] board = new byte[size][size]; // Old board with the new stone placed
+        private final int[] marks = new int[GRID.getCellCount()]; // Generation a cell was last visited in
+        private final int[] captured = new int[GRID.getCellCount()]; // Generation a cell was reported captured in
+        private final int[] expected = new int[GRID.getCellCount()]; // Generation the rules captured a cell in
+        private final int[] queue = new int[GRID.getCellCount()]; // Breadth-first walk, then the group's cells
+        private int generation; // Current mark
+        long game; // Game number, for reproduction
+        int ply; // Ply number, for reproduction
+
+        /**
+         * Constructs the buffers for one worker.
+         * @param seed The worker seed, reported with any violation
+         */
+        Checker(long seed) {
+            this.seed = seed; // Assign the seed
+        }
+
+        /**
+         * Copies the board before a move into the reused buffer.
+         * @param state The game
+         */
+        void remember(GameState state) {
+            byte[][] hexStatus = state.getHexStatus(); // Current board
+            for (int q = 0; q < size; q++) {
+                System.arraycopy(hexStatus[q], 0, before[q], 0, size); // Copy the column
+            }
+        }
+
+        /**
+         * Checks one ply against an independent re-derivation of the rules, comparing with the board passed to
+         * the last call of remember.
+         * @param mover The side that moved
+         * @param result The result reported by the engine
+         * @param state The game after the move
+         * @throws AssertionError if any rule is broken
+         */
+        void checkPly(byte mover, MoveResult result, GameState state) {
+            byte[][] after = state.getHexStatus(); // Board after the move
+            byte opponent = StoneColor.opponent(mover); // The other side
+            for (int q = 0; q < size; q++) { // No stones off the hexagon
+                for (int r = 0; r < size; r++) {
+                    if (GRID.cellAt(q, r) < 0 && after[q][r] != StoneColor.EMPTY) {
+                        fail("stone off the board at " + q + "," + r);
+                    }
+                }
+            }
+            int placed = GRID.cellAt(result.getQ(), result.getR()); // Placed cell
+            if (before[result.getQ()][result.getR()] != StoneColor.EMPTY || after[result.getQ()][result.getR()] != mover) {
+                fail("stone not placed on an empty hex");
+            }
+            for (int q = 0; q < size; q++) {
+                System.arraycopy(before[q], 0, board[q], 0, size); // Mutable copy of the old board
+            }
+            board[result.getQ()][result.getR()] = mover; // With the stone placed
+            int moverGroup = groupSize(placed); // Mover's group after placement
+            int reported = ++generation; // Marks the captured cells
+            int capturedCount = 0; // Distinct captured cells
+            for (int[] hex : result.getCapturedStones()) {
+                int cell = GRID.cellAt(hex[0], hex[1]);
+                if (cell >= 0 && captured[cell] != reported) {
+                    captured[cell] = reported; // First report of the cell
+                    capturedCount++;
+                }
+            }
+            int ruled = ++generation; // Marks the cells the rules capture
+            int expectedCount = 0; // Distinct cells the rules capture
+            boolean agree = true; // Every expected cell was reported
+            for (int n : GRID.neighbours(placed)) { // Adjacent opponent groups
+                if (board[GRID.qIndex(n)][GRID.rIndex(n)] == opponent && expected[n] != ruled) {
+                    int group = groupSize(n); // Members are left in the queue
+                    if (group < moverGroup) { // Smaller groups are captured
+                        for (int i = 0; i < group; i++) {
+                            expected[queue[i]] = ruled;
+                            agree &= captured[queue[i]] == reported;
+                        }
+                        expectedCount += group;
+                    }
+                }
+            }
+            if (!agree || capturedCount != expectedCount) {
+                fail("captured " + cells(captured, reported) + " but the rules capture " + cells(expected, ruled));
+            }
+            int beforeMover = countStones(before, mover); // Stones before the move
+            int beforeOpponent = countStones(before, opponent);
+            if (beforeMover + beforeOpponent != 0 && moverGroup > 1 && capturedCount == 0) {
+                fail("joined an own group without capturing");
+            }
+            int moverCount = countStones(after, mover); // Stones after the move
+            int opponentCount = countStones(after, opponent);
+            if (moverCount != beforeMover + 1 || opponentCount != beforeOpponent - capturedCount) {
+                fail("stone counts do not add up");
+            }
+            byte expectedSide = capturedCount == 0 ? opponent : mover; // Extra turn after a capture
+            if (state.getWinner() == StoneColor.EMPTY && state.getSideToMove() != expectedSide) {
+                fail("wrong side to move");
+            }
+            boolean wiped = opponentCount == 0 && capturedCount > 0; // Opponent lost its last stones
+            if (wiped != (result.getWinner() == mover) || result.getWinner() == opponent) {
+                fail("winner " + result.getWinner() + " with " + opponentCount + " opposing stones");
+            }
+        }
+
+        /**
+         * Plays a random illegal move, if there is one, and checks it is rejected without changing the board
+         * passed to the last call of remember.
+         * @param state The game
+         * @param moves The legal moves
+         * @param count The number of legal moves
+         * @param random The random source
+         * @throws AssertionError if the move is accepted or changes the game
+         */
+        void checkIllegalRejected(GameState state, int[] moves, int count, SplittableRandom random) {
+            if (count == GRID.getCellCount()) {
+                return; // Every hex is legal
+            }
+            int legal = ++generation; // Marks the legal moves
+            for (int i = 0; i < count; i++) {
+                marks[moves[i]] = legal;
+            }
+            int cell; // Random illegal hex
+            do {
+                cell = random.nextInt(GRID.getCellCount());
+            } while (marks[cell] == legal);
+            byte side = state.getSideToMove(); // Side to move before
+            if (state.play(cell) != null || !Arrays.deepEquals(before, state.getHexStatus())
+                    || state.getSideToMove() != side) {
+                fail("illegal move " + cell + " changed the game");
+            }
+        }
+
+        /**
+         * Counts the stones in a group of the placed-stone board with a fresh breadth-first walk, leaving the
+         * group's cells at the front of the queue.
+         * @param start A cell of the group
+         * @return The group size
+         */
+        private int groupSize(int start) {
+            byte color = board[GRID.qIndex(start)][GRID.rIndex(start)]; // Group color
+            int visited = ++generation; // Fresh marks for this walk
+            marks[start] = visited;
+            queue[0] = start;
+            int size = 1; // Stones found
+            for (int head = 0; head < size; head++) {
+                for (int n : GRID.neighbours(queue[head])) { // Same-color neighbours join the group
+                    if (marks[n] != visited && board[GRID.qIndex(n)][GRID.rIndex(n)] == color) {
+                        marks[n] = visited;
+                        queue[size++] = n;
+                    }
+                }
+            }
+            return size; // Return the size
+        }
+
+        /**
+         * Lists the cells carrying a mark, for a failure message.
+         * @param cellMarks The marks
+         * @param mark The mark to look for
+         * @return The cells
+         */
+        private static List<Integer> cells(int[] cellMarks, int mark) {
+            List<Integer> cells = new ArrayList<>(); // Marked cells
+            for (int cell = 0; cell < cellMarks.length; cell++) {
+                if (cellMarks[cell] == mark) {
+                    cells.add(cell);
+                }
+            }
+            return cells; // Return the cells
+        }
+
+        /**
+         * Reports a rule violation with enough detail to replay it.
+         * @param message What went wrong
+         * @throws AssertionError always
+         */
+        void fail(String message) {
+            throw new AssertionError("Seed " + seed + ", game " + game + ", ply " + ply + ": " + message);
+        }
+    }
+
+    /**
+     * Counts a player's stones on a board array.
+     * @param board The board
+     * @param color The player
+     * @return The number of stones
+     */
+    private static int countStones(byte[][] board, byte color) {
+        int count = 0; // Running total
+        for (byte[] row : board) {
+            for (byte cell : row) {
+                if (cell == color) {
+                    count++;
+                }
+            }
+        }
+        return count; // Return the total
+    }
+}
@@ -0,0 +1,162 @@
+import java.math.BigDecimal; // Formats exact decimal seconds
+
+/**
+ * The time allowed to each player: a main time, plus either a Fischer increment added after every move or
+ * byo-yomi periods that are used once the main time runs out. A byo-yomi period is lost only when a move takes
+ * longer than the period; a player flags when the main time and every period are used up.
+ * Instances are immutable.
+ */
+public final class TimeControl {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L; // Unit conversion for parsing
+    private final long mainNanos; // Main time per player
+    private final long incrementNanos; // Fischer increment per move, or 0
+    private final long periodNanos; // Byo-yomi period, or 0
+    private final int periods; // Byo-yomi periods per player, or 0
+
+    /**
+     * Constructs a TimeControl.
+     * @param mainNanos The main time per player, in nanoseconds
+     * @param incrementNanos The Fischer increment per move, in nanoseconds, or 0
+     * @param periodNanos The byo-yomi period, in nanoseconds, or 0
+     * @param periods The number of byo-yomi periods, or 0
+     * @throws IllegalArgumentException if a time is negative, or both an increment and byo-yomi are given
+     */
+    private TimeControl(long mainNanos, long incrementNanos, long periodNanos, int periods) {
+        if (mainNanos < 0 || incrementNanos < 0 || periodNanos < 0 || periods < 0)
+            throw new IllegalArgumentException("Times must not be negative");
+        if (incrementNanos > 0 && periods > 0)
+            throw new IllegalArgumentException("Use either an increment or byo-yomi, not both");
+        if (mainNanos == 0 && (periods == 0 || periodNanos == 0))
+            throw new IllegalArgumentException("No time to play with");
+        this.mainNanos = mainNanos; // Assign every field
+        this.incrementNanos = incrementNanos;
+        this.periodNanos = periods > 0 ? periodNanos : 0;
+        this.periods = periodNanos > 0 ? periods : 0;
+    }
+
+    /**
+     * Creates a Fischer time control.
+     * @param mainMillis The main time per player, in milliseconds
+     * @param incrementMillis The time added after every move, in milliseconds
+     * @return The time control
+     */
+    public static TimeControl fischer(long mainMillis, long incrementMillis) {
+        return new TimeControl(mainMillis * 1_000_000L, incrementMillis * 1_000_000L, 0, 0); // Convert to nanoseconds
+    }
+
+    /**
+     * Creates a byo-yomi time control.
+     * @param mainMillis The main time per player, in milliseconds
+     * @param periodMillis The length of each period, in milliseconds
+     * @param periods The number of periods per player
+     * @return The time control
+     */
+    public static TimeControl byoYomi(long mainMillis, long periodMillis, int periods) {
+        return new TimeControl(mainMillis * 1_000_000L, 0, periodMillis * 1_000_000L, periods); // Convert to nanoseconds
+    }
+
+    /**
+     * Parses a time control given in seconds: "300+5" is five minutes with a five-second increment, and
+     * "600+30x3" is ten minutes followed by three byo-yomi periods of thirty seconds. Fractions such as "0.5"
+     * are allowed.
+     * @param text The time control
+     * @return The time control
+     * @throws IllegalArgumentException if the text is not a time control
+     */
+    public static TimeControl parse(String text) {
+        try {
+            int plus = text.indexOf('+'); // Main time ends here, if there is more
+            long main = seconds(plus < 0 ? text : text.substring(0, plus));
+            if (plus < 0) {
+                return new TimeControl(main, 0, 0, 0); // Sudden death
+            }
+            String rest = text.substring(plus + 1);
+            int times = rest.indexOf('x'); // Byo-yomi period count follows
+            if (times < 0) {
+                return new TimeControl(main, seconds(rest), 0, 0); // Fischer
+            }
+            return new TimeControl(main, 0, seconds(rest.substring(0, times)),
+                    Integer.parseInt(rest.substring(times + 1))); // Byo-yomi
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a time control: " + text, e); // Report the bad text
+        }
+    }
+
+    /**
+     * Parses the --clock option, reporting an invalid time control so the game can be played without a clock.
+     * @param text The option value
+     * @return The time control, or null if the text is not a valid time control
+     */
+    public static TimeControl parseOrNull(String text) {
+        try {
+            return parse(text.trim()); // Valid time control
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        System.err.println("Invalid --clock \"" + text + "\", playing without a clock");
+        return null; // No clock
+    }
+
+    /**
+     * Converts a number of seconds to nanoseconds.
+     * @param text The seconds, possibly fractional
+     * @return The nanoseconds
+     */
+    private static long seconds(String text) {
+        return Math.round(Double.parseDouble(text) * NANOS_PER_SECOND); // Convert to nanoseconds
+    }
+
+    /**
+     * Retrieves the main time.
+     * @return The main time per player, in nanoseconds
+     */
+    public long getMainNanos() {
+        return mainNanos; // Return the main time
+    }
+
+    /**
+     * Retrieves the Fischer increment.
+     * @return The time added after every move, in nanoseconds, or 0
+     */
+    public long getIncrementNanos() {
+        return incrementNanos; // Return the increment
+    }
+
+    /**
+     * Retrieves the byo-yomi period length.
+     * @return The period, in nanoseconds, or 0 without byo-yomi
+     */
+    public long getPeriodNanos() {
+        return periodNanos; // Return the period
+    }
+
+    /**
+     * Retrieves the number of byo-yomi periods.
+     * @return The periods per player, or 0 without byo-yomi
+     */
+    public int getPeriods() {
+        return periods; // Return the period count
+    }
+
+    /**
+     * Describes the time control in the format accepted by parse().
+     * @return The description
+     */
+    @Override
+    public String toString() {
+        String main = format(mainNanos); // Main time in seconds
+        if (periods > 0) {
+            return main + "+" + format(periodNanos) + "x" + periods; // Byo-yomi
+        }
+        return incrementNanos > 0 ? main + "+" + format(incrementNanos) : main; // Fischer or sudden death
+    }
+
+    /**
+     * Formats nanoseconds as seconds without trailing zeros.
+     * @param nanos The time
+     * @return The seconds
+     */
+    private static String format(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString(); // Exact decimal
+    }
+}
@@ -0,0 +1,210 @@
+import java.util.concurrent.ConcurrentLinkedQueue; // Hands new timeouts to the wheel thread
+import java.util.concurrent.TimeUnit; // Tick length conversion
+import java.util.concurrent.atomic.AtomicBoolean; // Settles a timeout exactly once
+import java.util.concurrent.atomic.AtomicInteger; // Counts live timeouts
+import java.util.concurrent.locks.LockSupport; // Parks the wheel thread
+
+/**
+ * A hashed timer wheel: one daemon thread fires the timeouts of every game clock in the process.
+ * Time is cut into ticks, and each timeout is hung in the slot of the tick it falls in, with the number of
+ * full turns of the wheel still to wait. Scheduling and cancelling are lock-free and O(1) from any thread; the
+ * wheel thread visits one slot per tick and sleeps while nothing is scheduled. A timeout never fires before its
+ * deadline and fires at most one tick late. Tasks run on the wheel thread and must be short, for example posting
+ * to the JavaFX thread.
+ */
+public final class TimerWheel implements AutoCloseable {
+    private static TimerWheel shared; // Process-wide wheel, created on first use
+    private final long tickNanos; // Length of one tick
+    private final int mask; // Slot count minus one
+    private final Timeout[] slots; // Head of each slot's list; wheel thread only
+    private final ConcurrentLinkedQueue<Timeout> added = new ConcurrentLinkedQueue<>(); // Not yet in a slot
+    private final AtomicInteger live = new AtomicInteger(); // Timeouts added and not yet removed from a slot
+    private final long startNanos; // Time of tick 0
+    private final Thread worker; // The wheel thread
+    private long tick; // Next tick to process; wheel thread only
+    private volatile boolean closed; // Stops the wheel thread
+
+    /**
+     * A scheduled task that can be cancelled until it fires.
+     */
+    public static final class Timeout {
+        private final long deadline; // System.nanoTime value to fire at
+        private final Runnable task; // Work to run
+        private final AtomicBoolean settled = new AtomicBoolean(); // Set once fired or cancelled
+        private long rounds; // Wheel turns still to wait; wheel thread only
+        private Timeout next; // Next in the slot's list; wheel thread only
+
+        /**
+         * Constructs a Timeout.
+         * @param deadline The System.nanoTime value to fire at
+         * @param task The work to run
+         */
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline; // Assign the deadline
+            this.task = task; // Assign the task
+        }
+
+        /**
+         * Cancels the timeout. It is removed from the wheel when its slot is next visited.
+         * @return True if it had not fired yet and now never will
+         */
+        public boolean cancel() {
+            return settled.compareAndSet(false, true); // Wins only if not fired
+        }
+
+        /**
+         * Retrieves the deadline.
+         * @return The System.nanoTime value the timeout fires at
+         */
+        public long getDeadline() {
+            return deadline; // Return the deadline
+        }
+    }
+
+    /**
+     * Constructs a TimerWheel. Its thread runs once {@link #start()} is called.
+     * @param tickMillis The length of a tick, which is the timing precision, in milliseconds
+     * @param slotCount The number of slots, rounded up to a power of two
+     */
+    public TimerWheel(long tickMillis, int slotCount) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis); // Convert to nanoseconds
+        int size = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1; // Next power of two
+        this.mask = size - 1;
+        this.slots = new Timeout[size];
+        this.startNanos = System.nanoTime(); // Tick 0 starts now
+        this.worker = new Thread(this::run, "hexoust-timer-wheel"); // Name the thread for profilers
+        worker.setDaemon(true); // Never keep the application alive
+    }
+
+    /**
+     * Starts the wheel thread. Timeouts scheduled before the start fire once it runs.
+     * @return This wheel, so it can be created and started in one expression
+     * @throws IllegalThreadStateException if the wheel has already been started
+     */
+    public TimerWheel start() {
+        worker.start(); // Begin ticking
+        return this; // Allow chaining
+    }
+
+    /**
+     * Retrieves the wheel shared by every game clock in the process: 10 ms ticks and 512 slots.
+     * @return The shared wheel
+     */
+    public static synchronized TimerWheel shared() {
+        if (shared == null) {
+            shared = new TimerWheel(10, 512).start(); // Created and started on first use
+        }
+        return shared; // Return the wheel
+    }
+
+    /**
+     * Schedules a task. Never blocks.
+     * @param deadlineNanos The System.nanoTime value to run it at; a deadline in the past runs at the next tick
+     * @param task The task, run on the wheel thread
+     * @return The timeout, which can be cancelled
+     */
+    public Timeout schedule(long deadlineNanos, Runnable task) {
+        Timeout timeout = new Timeout(deadlineNanos, task); // Settles once
+        added.add(timeout); // Placed by the wheel thread
+        if (live.getAndIncrement() == 0) {
+            LockSupport.unpark(worker); // The wheel may be idle
+        }
+        return timeout; // Let the caller cancel it
+    }
+
+    /**
+     * Retrieves the number of timeouts not yet removed from the wheel, including cancelled ones waiting for
+     * their slot to be visited.
+     * @return The live timeout count
+     */
+    public int size() {
+        return live.get(); // Return the count
+    }
+
+    /**
+     * Stops the wheel thread. Timeouts still scheduled never fire.
+     */
+    @Override
+    public void close() {
+        closed = true; // Checked every tick
+        LockSupport.unpark(worker); // Wake it if idle
+    }
+
+    /**
+     * Processes one slot per tick until closed, sleeping while no timeouts are live.
+     */
+    private void run() {
+        while (!closed) {
+            if (live.get() == 0) {
+                LockSupport.park(this); // Idle until a timeout is scheduled or the wheel closes
+                tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos); // Skip the idle ticks
+                continue;
+            }
+            long tickEnd = startNanos + (tick + 1) * tickNanos; // The tick is processed once it is over
+            long now;
+            while ((now = System.nanoTime()) < tickEnd && !closed) {
+                LockSupport.parkNanos(this, tickEnd - now); // Sleep to the end of the tick
+            }
+            transferAdded();
+            expire(tick & mask, now);
+            tick++;
+        }
+    }
+
+    /**
+     * Hangs newly scheduled timeouts in their slots.
+     */
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.settled.get()) {
+                live.decrementAndGet(); // Cancelled before it was placed
+                continue;
+            }
+            long due = Math.floorDiv(timeout.deadline - startNanos + tickNanos - 1, tickNanos); // Tick it ends in
+            due = Math.max(due, tick); // Already due: fire this tick
+            timeout.rounds = (due - tick) / slots.length; // Full turns to wait
+            int slot = (int) (due & mask);
+            timeout.next = slots[slot]; // Push onto the slot
+            slots[slot] = timeout;
+        }
+    }
+
+    /**
+     * Fires the due timeouts of one slot and drops its cancelled ones.
+     * @param slot The slot index
+     * @param now The current System.nanoTime value
+     */
+    private void expire(long slot, long now) {
+        Timeout previous = null; // Last timeout kept in the list
+        Timeout timeout = slots[(int) slot];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            boolean remove = timeout.settled.get(); // Cancelled
+            if (!remove && timeout.rounds <= 0 && timeout.deadline <= now) {
+                remove = true; // Due
+                if (timeout.settled.compareAndSet(false, true)) { // Not cancelled meanwhile
+                    try {
+                        timeout.task.run(); // Fire
+                    } catch (RuntimeException e) {
+                        System.err.println("Timer task failed: " + e); // Keep the wheel running
+                    }
+                }
+            } else if (!remove) {
+                timeout.rounds--; // One turn closer
+            }
+            if (remove) {
+                if (previous == null) {
+                    slots[(int) slot] = next; // Unlink the head
+                } else {
+                    previous.next = next; // Unlink from the middle
+                }
+                timeout.next = null;
+                live.decrementAndGet();
+            } else {
+                previous = timeout; // Keep it
+            }
+            timeout = next;
+        }
+    }
+}
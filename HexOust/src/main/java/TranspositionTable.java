@@ -0,0 +1,153 @@
+import java.util.Arrays; // Used for clearing the table
+
+/**
+ * A fixed-size transposition table that many search threads share without locks, for Lazy SMP search.
+ * Entries live in one long array, two longs each: the position's Zobrist hash XORed with the entry's data, then
+ * the data itself. Writers store both words with plain writes and never wait; a reader recomputes hash ^ data and
+ * treats any mismatch as a miss, so an entry torn by two threads writing at once, or overwritten by another
+ * position, is simply not found. Nothing is boxed or allocated after construction.
+ * Each index holds a bucket of two entries: the first keeps the deepest recent result, the second always takes
+ * the newest one.
+ */
+public class TranspositionTable {
+    public static final int EXACT = 1; // Score is exact
+    public static final int LOWER = 2; // Score is a lower bound (the search failed high)
+    public static final int UPPER = 3; // Score is an upper bound (the search failed low)
+    private static final int ENTRY_BYTES = 16; // Two longs per entry
+    private final long[] words; // Hash ^ data, data, for every entry
+    private final int bucketMask; // Number of buckets minus one
+    private int generation; // Age of the current search, ages out old deep entries
+
+    /**
+     * Constructs a table of about the given size.
+     * @param megabytes The memory to use, rounded down to a power of two buckets
+     */
+    public TranspositionTable(int megabytes) {
+        long entries = Math.max(2, (long) megabytes * 1024 * 1024 / ENTRY_BYTES); // Entries that fit
+        int buckets = Integer.highestOneBit((int) Math.min(entries / 2, 1 << 28)); // Power of two buckets
+        this.words = new long[buckets * 4]; // Two entries of two longs per bucket
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Looks a position up.
+     * @param hash The position's Zobrist hash
+     * @return The entry's data, to be read with score(), move(), depth() and bound(), or 0 if there is no entry
+     */
+    public long probe(long hash) {
+        int base = ((int) hash & bucketMask) * 4; // First word of the bucket
+        for (int i = base; i < base + 4; i += 2) { // Both entries
+            long data = words[i + 1]; // Read the data first
+            if ((words[i] ^ data) == hash && data != 0) {
+                return data; // Verified entry
+            }
+        }
+        return 0; // Miss
+    }
+
+    /**
+     * Stores a search result, replacing whatever the bucket's policy allows. Never blocks.
+     * @param hash The position's Zobrist hash
+     * @param depth The depth searched
+     * @param bound EXACT, LOWER or UPPER
+     * @param score The score, from the side to move's point of view
+     * @param move The dense cell index of the best move, or -1 if there is none
+     */
+    public void store(long hash, int depth, int bound, int score, int move) {
+        long data = (score & 0xFFFF_FFFFL) // Score in the low 32 bits
+                | (long) ((move + 1) & 0xFFFF) << 32 // Move + 1, so no move is 0
+                | (long) (Math.min(depth, 255)) << 48 // Depth
+                | (long) bound << 56 // Bound, never 0, so valid data is never 0
+                | (long) (generation & 0x3F) << 58; // Age
+        int base = ((int) hash & bucketMask) * 4; // First word of the bucket
+        long deepData = words[base + 1]; // Current depth-preferred entry
+        boolean sameHash = (words[base] ^ deepData) == hash; // Same position, so always refresh it
+        int slot = sameHash || deepData == 0 || depth(deepData) <= depth || age(deepData) != (generation & 0x3F)
+                ? base : base + 2; // Keep deep results of this search in the first entry
+        words[slot] = hash ^ data; // Verified together with the next word
+        words[slot + 1] = data;
+    }
+
+    /**
+     * Starts a new search, so the previous search's deep entries may be replaced.
+     * Call before the search threads start.
+     */
+    public void newSearch() {
+        generation++; // Older entries are now stale
+    }
+
+    /**
+     * Removes every entry, for example when a new game starts.
+     */
+    public void clear() {
+        Arrays.fill(words, 0); // No entry verifies
+    }
+
+    /**
+     * Estimates how full the table is from its first thousand entries.
+     * @return The per mille of entries in use
+     */
+    public int hashfull() {
+        int used = 0; // Entries in use
+        int sampled = Math.min(1000, words.length / 2); // Entries sampled
+        for (int i = 0; i < sampled; i++) {
+            if (words[2 * i + 1] != 0) {
+                used++;
+            }
+        }
+        return used * 1000 / sampled; // Scale to per mille
+    }
+
+    /**
+     * Retrieves the number of entries.
+     * @return The entry count
+     */
+    public int capacity() {
+        return words.length / 2; // Two words per entry
+    }
+
+    /**
+     * Extracts the score of an entry.
+     * @param data Data returned by probe()
+     * @return The stored score
+     */
+    public static int score(long data) {
+        return (int) data; // Low 32 bits
+    }
+
+    /**
+     * Extracts the best move of an entry.
+     * @param data Data returned by probe()
+     * @return The dense cell index, or -1 if the entry has no move
+     */
+    public static int move(long data) {
+        return (int) (data >>> 32 & 0xFFFF) - 1; // Stored as move + 1
+    }
+
+    /**
+     * Extracts the depth of an entry.
+     * @param data Data returned by probe()
+     * @return The depth searched
+     */
+    public static int depth(long data) {
+        return (int) (data >>> 48 & 0xFF); // Eight bits
+    }
+
+    /**
+     * Extracts the bound of an entry.
+     * @param data Data returned by probe()
+     * @return EXACT, LOWER or UPPER
+     */
+    public static int bound(long data) {
+        return (int) (data >>> 56 & 3); // Two bits
+    }
+
+    /**
+     * Extracts the age of an entry.
+     * @param data Entry data
+     * @return The generation that stored it, modulo 64
+     */
+    private static int age(long data) {
+        return (int) (data >>> 58); // Top six bits
+    }
+}
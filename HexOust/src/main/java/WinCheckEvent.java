@@ -0,0 +1,25 @@
+import jdk.jfr.Category; // Groups the event in recordings
+import jdk.jfr.Description; // Explains the event in recordings
+import jdk.jfr.Enabled; // Off unless a settings profile turns it on
+import jdk.jfr.Event; // Flight Recorder event base class
+import jdk.jfr.Label; // Names the event and its fields
+import jdk.jfr.Name; // Stable event name for settings profiles
+
+/**
+ * Flight Recorder event for one win check by MovePipeline after a move has been applied.
+ */
+@Name("hexoust.WinCheck")
+@Label("Win Check")
+@Category({"HexOust", "Moves"})
+@Description("The check whether a move removed the opponent's last stone")
+@Enabled(false)
+class WinCheckEvent extends Event {
+    @Label("Player")
+    String player; // Player who moved
+
+    @Label("Cells Scanned")
+    int cellsScanned; // Board cells read before an opponent stone was found
+
+    @Label("Won")
+    boolean won; // True if the move won the game
+}
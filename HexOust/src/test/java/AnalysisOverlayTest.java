@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.ArrayList; // Records redraws
+import java.util.List; // Used for recorded redraws
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the AnalysisOverlay class in the HexOust game.
+ * Refreshes are driven with explicit times, so no JavaFX toolkit is needed.
+ */
+public class AnalysisOverlayTest {
+    private static final long MILLIS = 1_000_000L; // Nanoseconds per millisecond
+    private final List<Integer> redrawn = new ArrayList<>(); // Cells the overlay asked to redraw
+    private final List<Integer> summaries = new ArrayList<>(); // Depths shown in the summary
+    private final AnalysisOverlay overlay = new AnalysisOverlay(new AnalysisOverlay.View() {
+        @Override
+        public void redrawCell(int cell) {
+            redrawn.add(cell); // Record the redraw
+        }
+
+        @Override
+        public void showSummary(int depth, int bestScore) {
+            summaries.add(depth); // Record the summary
+        }
+    }, 2, 200);
+
+    /**
+     * Tests that invalid --analysis counts fall back to the default.
+     */
+    @Test
+    void testParseCount() {
+        assertEquals(5, AnalysisOverlay.parseCount("5"), "Valid count should be used"); // Verify the value
+        assertEquals(AnalysisOverlay.DEFAULT_CANDIDATES, AnalysisOverlay.parseCount("best"), "Text should fall back");
+        assertEquals(AnalysisOverlay.DEFAULT_CANDIDATES, AnalysisOverlay.parseCount("0"), "Zero should fall back");
+        assertEquals(AnalysisOverlay.DEFAULT_CANDIDATES, AnalysisOverlay.parseCount("-2"), "Negative should fall back");
+    }
+
+    /**
+     * Tests that updates are shown at most once per interval and only the newest one is shown.
+     */
+    @Test
+    void testRefreshIsThrottled() {
+        SearchListener listener = overlay.newSearch(); // Start an analysis
+        listener.onCandidates(1, new int[]{10, 20, 30}, new int[]{50, 40, 30}, 3, 100); // More than fit
+        assertTrue(overlay.refresh(0), "First update should be shown"); // Verify refresh
+        assertEquals(2, overlay.getCount(), "Only two candidates fit"); // Verify capacity
+        assertEquals(0, overlay.rankOf(10), "Best move should rank first"); // Verify rank
+        assertEquals(-1, overlay.rankOf(30), "Third move should not be shown"); // Verify truncation
+        listener.onCandidates(2, new int[]{20, 10}, new int[]{60, 55}, 2, 200); // Deeper iteration
+        listener.onCandidates(3, new int[]{40, 20}, new int[]{70, 65}, 2, 300); // Even deeper
+        assertFalse(overlay.refresh(100 * MILLIS), "Refresh should wait for the interval"); // Verify throttle
+        assertTrue(overlay.refresh(200 * MILLIS), "Refresh should happen after the interval"); // Verify refresh
+        assertEquals(3, overlay.getDepth(), "Only the newest update should be shown"); // Verify coalescing
+        assertEquals(0, overlay.rankOf(40), "New best move should rank first"); // Verify rank
+        assertEquals(70, overlay.getScore(0), "Best score should be shown"); // Verify score
+        assertEquals(List.of(10, 20, 10, 20, 40, 20), redrawn, "Old and new marks should be redrawn");
+        assertEquals(List.of(1, 3), summaries, "Summary should follow the depth"); // Verify summaries
+        assertFalse(overlay.refresh(1000 * MILLIS), "Nothing new to show"); // Verify no change
+    }
+
+    /**
+     * Tests that a replaced search cannot publish and that clearing removes the marks at once.
+     */
+    @Test
+    void testReplacedSearchIsIgnored() {
+        SearchListener old = overlay.newSearch(); // First analysis
+        SearchListener current = overlay.newSearch(); // Replaces it
+        old.onCandidates(5, new int[]{1, 2}, new int[]{10, 5}, 2, 1000); // Late update from the old search
+        overlay.refresh(0); // Show whatever was published
+        assertEquals(0, overlay.getCount(), "Old search should not publish"); // Verify generation check
+        current.onCandidates(1, new int[]{3}, new int[]{7}, 1, 10); // Update from the current search
+        assertTrue(overlay.refresh(200 * MILLIS), "Current search should publish"); // Verify refresh
+        assertEquals(0, overlay.rankOf(3), "Current candidate should be shown"); // Verify rank
+        overlay.clear(); // Position changed
+        assertEquals(0, overlay.getCount(), "Clearing should remove the candidates"); // Verify clear
+        assertEquals(-1, overlay.rankOf(3), "Cleared candidate should not be shown"); // Verify clear
+        current.onCandidates(2, new int[]{4}, new int[]{8}, 1, 20); // Late update after clearing
+        assertFalse(overlay.refresh(1000 * MILLIS), "Cleared search should not publish"); // Verify generation check
+    }
+}
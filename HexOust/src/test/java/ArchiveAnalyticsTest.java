@@ -0,0 +1,196 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import org.junit.jupiter.api.io.TempDir; // Provides a scratch directory
+import java.io.IOException; // Thrown by file operations
+import java.nio.file.Files; // Writes the archive
+import java.nio.file.Path; // Locates games
+import java.nio.file.attribute.PosixFilePermissions; // Locks a directory
+import java.util.ArrayList; // Collects script lines
+import java.util.List; // Script lines
+import java.util.Random; // Plays random games
+import java.util.concurrent.ForkJoinPool; // Runs the analysis on two workers
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+import static org.junit.jupiter.api.Assumptions.assumeFalse; // Skips checks the user's rights make impossible
+
+/**
+ * Tests the functionality of the ArchiveAnalytics class in the HexOust game.
+ * Random games are written as move scripts into a directory tree and analysed in parallel; the totals are
+ * checked against BatchRunner's reports of the same files and against a sequential replay.
+ */
+public class ArchiveAnalyticsTest {
+    private static final HexGrid GRID = HexGrid.STANDARD; // Scripts are played on the standard board
+    @TempDir
+    Path archive; // Holds the recorded games
+
+    /**
+     * Tests that the parallel analysis counts every game, capture and move of a nested archive, agrees with
+     * BatchRunner, and sets aside invalid and unreadable files.
+     * @throws IOException if the archive cannot be written or walked
+     */
+    @Test
+    void testAnalysisMatchesReplays() throws IOException {
+        Random random = new Random(50); // Fixed seed
+        long moves = 0, captured = 0, finished = 0, redWins = 0; // Expected totals
+        for (int i = 0; i < 80; i++) {
+            Path file = archive.resolve(i % 2 == 0 ? "even" : "odd").resolve("game" + i + ".txt"); // Nested
+            Files.createDirectories(file.getParent());
+            Files.write(file, randomGame(GRID, random, i % 5 == 0 ? 10 : 400)); // Some games unfinished
+            BatchRunner.Report report = BatchRunner.run(file, false); // Replay independently
+            moves += report.moves;
+            captured += report.captures;
+            finished += report.winner != StoneColor.EMPTY ? 1 : 0;
+            redWins += report.winner == StoneColor.RED ? 1 : 0;
+        }
+        Files.write(archive.resolve("illegal.txt"), List.of("0 0", "0 0")); // Same hex twice
+        Files.write(archive.resolve("binary.txt"), new byte[]{(byte) 0xC3, (byte) 0x28}); // Not UTF-8
+
+        ArchiveAnalytics analytics = ArchiveAnalytics.analyse(archive, GRID);
+        assertEquals(81, analytics.getGames(), "Every readable game should be counted"); // Verify games
+        assertEquals(1, analytics.getInvalid(), "Illegal game should be set aside"); // Verify invalid
+        assertEquals(1, analytics.getUnreadable(), "Undecodable file should be set aside"); // Verify unreadable
+        assertEquals(finished, analytics.getFinished(), "Finished games should match"); // Verify results
+        assertEquals(redWins, analytics.getRedWins(), "Red wins should match");
+        assertEquals((double) moves / 80, analytics.getAverageLength(), 1e-9, "Average length should match");
+        long stones = 0, capturingMoves = 0, chained = 0; // Totals from the histograms
+        for (int size = 0; size <= GRID.getCellCount(); size++) {
+            stones += size * analytics.getCaptureCount(size);
+            capturingMoves += analytics.getCaptureCount(size);
+            chained += size * analytics.getChainCount(size);
+        }
+        assertTrue(capturingMoves > 0, "Random games should capture"); // Verify captures seen
+        assertEquals(captured, stones, "Captured stones should match the replays"); // Verify re-derived captures
+        assertEquals(capturingMoves, chained, "Every capture should belong to one chain"); // Verify chains
+        assertEquals(0, analytics.getChainCount(0), "Chains should have at least one capture");
+        long openings = 0; // Finished games over every opening class
+        for (int cell = 0; cell < GRID.getCellCount(); cell++) {
+            int[] cube = {GRID.qIndex(cell) - GRID.getRadius(), GRID.rIndex(cell) - GRID.getRadius()};
+            if (isCanonical(cube)) {
+                openings += analytics.getOpeningGames(cube); // One representative per class
+            }
+        }
+        assertEquals(finished, openings, "Every finished game should have one opening class"); // Verify pooling
+        assertEquals(analytics.getOpeningGames(new int[]{1, 0}), analytics.getOpeningGames(new int[]{0, 1}),
+                "Symmetric openings should be pooled"); // Verify symmetry
+        assertTrue(analytics.report().contains("81 games"), "Report should show the totals"); // Verify report
+        assertTrue(analytics.getTaskCount() > 1, "Files should be split over several tasks"); // Verify parallelism
+    }
+
+    /**
+     * Tests that the statistics of several file batches are merged into the same totals as one sequential replay.
+     * @throws IOException if the archive cannot be written or listed
+     */
+    @Test
+    void testMergeCombinesTasks() throws IOException {
+        Random random = new Random(51); // Fixed seed
+        ArchiveAnalytics sequential = new ArchiveAnalytics(GRID); // One set of counters for every file
+        int files = 3 * ArchiveAnalytics.BATCH - 5; // Two full batches and a partial one
+        for (int i = 0; i < files; i++) {
+            Path file = archive.resolve("game" + i + ".txt");
+            Files.write(file, randomGame(GRID, random, i % 3 == 0 ? 10 : 400)); // Some games unfinished
+            sequential.addGame(file);
+        }
+        ForkJoinPool pool = new ForkJoinPool(2); // Two workers, even on one core
+        ArchiveAnalytics parallel = ArchiveAnalytics.analyse(archive, GRID, pool);
+        pool.shutdown();
+        assertEquals(3, parallel.getTaskCount(), "Each batch should be its own task"); // Verify the split
+        assertEquals(sequential.report(), parallel.report(), "Merged tasks should match one replay"); // Verify sums
+    }
+
+    /**
+     * Tests that a subdirectory that cannot be listed is counted as unreadable instead of ending the analysis.
+     * @throws IOException if the archive cannot be written or listed
+     */
+    @Test
+    void testUnreadableDirectoryIsCounted() throws IOException {
+        Random random = new Random(52); // Fixed seed
+        Path locked = Files.createDirectories(archive.resolve("locked")); // Will be unreadable
+        Files.write(locked.resolve("hidden.txt"), randomGame(GRID, random, 400));
+        Files.write(archive.resolve("open.txt"), randomGame(GRID, random, 400)); // Still analysed
+        Files.setPosixFilePermissions(locked, PosixFilePermissions.fromString("---------")); // Nobody may list it
+        try {
+            assumeFalse(Files.isReadable(locked), "Permissions are not enforced for this user"); // For example root
+            ArchiveAnalytics analytics = ArchiveAnalytics.analyse(archive, GRID);
+            assertEquals(1, analytics.getUnreadable(), "Locked directory should be counted"); // Verify counted
+            assertEquals(1, analytics.getGames(), "Other games should still be analysed"); // Verify not aborted
+        } finally {
+            Files.setPosixFilePermissions(locked, PosixFilePermissions.fromString("rwx------")); // Allow cleanup
+        }
+    }
+
+    /**
+     * Tests that captures in a row are counted as one chain of their length, on a random game that has one.
+     */
+    @Test
+    void testChainLengths() {
+        HexGrid grid = HexGrid.of(2); // 19 cells, so captures come quickly
+        Random random = new Random(50); // Fixed seed
+        for (int attempt = 0; attempt < 10_000; attempt++) {
+            List<String> game = randomGame(grid, random, 200);
+            List<Integer> expected = new ArrayList<>(); // Chain lengths found by replaying
+            GameState state = new GameState(grid);
+            int chain = 0; // Captures in a row
+            for (String line : game.subList(1, game.size())) { // Skip the comment
+                int[] cube = BatchRunner.parse(line);
+                if (state.play(cube[0] + 2, cube[1] + 2).isExtraTurn()) {
+                    chain++; // The same side moves again
+                } else if (chain > 0) {
+                    expected.add(chain); // The turn passed
+                    chain = 0;
+                }
+            }
+            if (chain > 0) {
+                expected.add(chain); // Ended on a capture
+            }
+            if (expected.stream().noneMatch(length -> length > 1)) {
+                continue; // Look for a game with a real chain
+            }
+            ArchiveAnalytics analytics = new ArchiveAnalytics(grid);
+            analytics.addGame(game.iterator());
+            for (int length = 1; length <= grid.getCellCount(); length++) {
+                int target = length;
+                assertEquals(expected.stream().filter(l -> l == target).count(), analytics.getChainCount(length),
+                        "Chains of length " + length); // Verify the histogram
+            }
+            return;
+        }
+        fail("No random game had two captures in a row");
+    }
+
+    /**
+     * Checks if a hex is the lowest-numbered hex of its symmetry class.
+     * @param cube The hex in cube coordinates
+     * @return True if no symmetric hex has a lower cell index
+     */
+    private static boolean isCanonical(int[] cube) {
+        HexSymmetry symmetry = new HexSymmetry(GRID);
+        int cell = GRID.cellAt(cube[0] + GRID.getRadius(), cube[1] + GRID.getRadius());
+        for (int s = 0; s < HexSymmetry.COUNT; s++) {
+            if (symmetry.mapCell(s, cell) < cell) {
+                return false; // A lower image exists
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Plays random legal moves and writes them as script lines in cube coordinates.
+     * @param grid The board layout
+     * @param random The move chooser
+     * @param maxMoves The most moves to play
+     * @return The script lines, with a comment header
+     */
+    private static List<String> randomGame(HexGrid grid, Random random, int maxMoves) {
+        GameState state = new GameState(grid);
+        int[] legal = new int[grid.getCellCount()];
+        List<String> lines = new ArrayList<>(List.of("# random game")); // Comments are skipped
+        for (int i = 0; i < maxMoves && state.getWinner() == StoneColor.EMPTY; i++) {
+            int count = state.legalMoves(legal);
+            if (count == 0) {
+                break; // No legal move
+            }
+            int cell = legal[random.nextInt(count)];
+            lines.add((grid.qIndex(cell) - grid.getRadius()) + " " + (grid.rIndex(cell) - grid.getRadius()));
+            state.play(cell);
+        }
+        return lines; // Return the script
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.HashSet; // Collects distinct openings
+import java.util.Set; // Used for distinct openings
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the BatchPlayouts class in the HexOust game.
+ * Every lane's moves are replayed through GameState, which must accept each one and reach the same result.
+ */
+public class BatchPlayoutsTest {
+
+    /**
+     * Tests that lockstep games on the standard board follow the rules exactly.
+     */
+    @Test
+    void testPlayoutsFollowTheRules() {
+        HexGrid grid = HexGrid.STANDARD;
+        BatchPlayouts batch = new BatchPlayouts(grid, 64, 47); // Fixed seed
+        batch.run(600); // Long enough for most games to end
+        assertTrue(batch.count(StoneColor.RED) + batch.count(StoneColor.BLUE) > 0, "Some games should be won");
+        for (int lane = 0; lane < batch.getLanes(); lane++) {
+            replay(batch, lane, new GameState(grid)); // Same moves, same result
+        }
+        assertTrue(batch.getFloodSteps() > 0, "Captures should be resolved by flood fills"); // Verify bitboard path
+    }
+
+    /**
+     * Tests that lanes started from a position on a small board continue it by the rules, and that the moves
+     * chosen are spread over the legal moves.
+     */
+    @Test
+    void testPlayoutsFromLoadedPosition() {
+        HexGrid grid = HexGrid.of(2); // 19 cells, 5 x 5 padded grid in one word
+        GameState start = new GameState(grid);
+        start.play(2, 2); // Red at the center
+        start.play(3, 2); // Blue beside it
+        BatchPlayouts batch = new BatchPlayouts(grid, 200, 48);
+        for (int lane = 0; lane < batch.getLanes(); lane++) {
+            batch.load(lane, start); // Every lane continues the same game
+        }
+        batch.run(200);
+        Set<Integer> openings = new HashSet<>(); // First moves chosen
+        for (int lane = 0; lane < batch.getLanes(); lane++) {
+            replay(batch, lane, start.copy()); // Same moves, same result
+            openings.add(batch.getMoves(lane)[0]);
+        }
+        int[] legal = new int[grid.getCellCount()];
+        assertEquals(start.legalMoves(legal), openings.size(), "Every legal move should be sampled"); // Verify spread
+    }
+
+    /**
+     * Replays a lane's moves and checks each is legal and the result matches.
+     * @param batch The batch that played the lane
+     * @param lane The lane
+     * @param state The position the lane started from; modified
+     */
+    private static void replay(BatchPlayouts batch, int lane, GameState state) {
+        for (int move : batch.getMoves(lane)) {
+            assertNotNull(state.play(move), "Lane " + lane + " played an illegal move"); // Verify each move
+        }
+        HexGrid grid = state.getGrid();
+        assertEquals(BoardSnapshot.of(grid, state.getHexStatus()), batch.getBoard(lane), "Lane " + lane + " board");
+        assertEquals(state.getWinner(), batch.getWinner(lane), "Lane " + lane + " winner"); // Verify the result
+        if (state.getWinner() == StoneColor.EMPTY) {
+            assertEquals(state.getSideToMove(), batch.getSideToMove(lane), "Lane " + lane + " side to move");
+            int[] legal = new int[grid.getCellCount()];
+            assertEquals(batch.isStalled(lane), state.legalMoves(legal) == 0, "Lane " + lane + " stall"); // Verify
+        }
+    }
+}
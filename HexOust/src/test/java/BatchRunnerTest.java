@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.List; // Used for script lines
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the BatchRunner class in the HexOust game.
+ */
+public class BatchRunnerTest {
+
+    /**
+     * Tests that a scripted game reports illegal moves, captures and the winner.
+     */
+    @Test
+    void testScriptedGame() {
+        List<String> script = List.of(
+                "# Red wins by capturing Blue's only stone",
+                "0 0", // Red at the center
+                "0,0", // Blue tries the occupied center
+                "2 -1", // Blue nearby
+                "",
+                "1 -1 0", // Red captures
+                "3 3"); // Played after the game ended
+        BatchRunner.Report report = BatchRunner.run("game", script, true); // Play the script
+        assertEquals(5, report.moves, "Comments and blank lines should be skipped"); // Verify move count
+        assertEquals(2, report.illegal, "Occupied hex and post-game move should be illegal"); // Verify illegal
+        assertEquals(1, report.captures, "One stone should be captured"); // Verify captures
+        assertEquals(StoneColor.RED, report.winner, "Red should win"); // Verify result
+        assertTrue(report.text.toString().contains("illegal (game over)"), "Late move should be explained");
+    }
+
+    /**
+     * Tests that scripts are played on the board they are given, not always on the standard board.
+     */
+    @Test
+    void testScriptOnSmallBoard() {
+        List<String> script = List.of(
+                "2 -2", // Red on a corner of the radius 2 board
+                "3 -3"); // Blue one ring outside it
+        BatchRunner.Report report = BatchRunner.run("small", script, HexGrid.of(2), false); // Play on radius 2
+        assertEquals(2, report.moves, "Both lines should be played"); // Verify move count
+        assertEquals(1, report.illegal, "Hex outside the small board should be illegal"); // Verify off board
+        assertEquals(0, BatchRunner.run("standard", script, false).illegal, "Both fit the standard board");
+    }
+
+    /**
+     * Tests parsing of move lines.
+     */
+    @Test
+    void testParse() {
+        assertArrayEquals(new int[]{1, -1}, BatchRunner.parse("1 -1"), "Space separated"); // Verify spaces
+        assertArrayEquals(new int[]{1, -1}, BatchRunner.parse("1,-1,0"), "Comma separated cube"); // Verify commas
+        assertNull(BatchRunner.parse("1 1 1"), "Coordinates must sum to zero"); // Verify cube check
+        assertNull(BatchRunner.parse("a b"), "Coordinates must be numbers"); // Verify numbers
+    }
+
+    /**
+     * Tests that a bad --radius value falls back to the standard board instead of failing.
+     */
+    @Test
+    void testParseRadius() {
+        int standard = HexGrid.STANDARD.getRadius(); // Fallback radius
+        assertEquals(3, HexGrid.parseRadius("3"), "Valid radius should be used"); // Verify the value
+        assertEquals(3, HexGrid.parseRadius(" 3 "), "Spaces should be ignored"); // Verify trimming
+        assertEquals(standard, HexGrid.parseRadius("six"), "Text should fall back"); // Verify text
+        assertEquals(standard, HexGrid.parseRadius("0"), "Zero should fall back"); // Verify zero
+        assertEquals(standard, HexGrid.parseRadius("-2"), "Negative should fall back"); // Verify negative
+        assertEquals(HexGrid.MAX_RADIUS, HexGrid.parseRadius(String.valueOf(HexGrid.MAX_RADIUS)),
+                "Largest radius should be used"); // Verify the limit
+        assertEquals(standard, HexGrid.parseRadius(String.valueOf(HexGrid.MAX_RADIUS + 1)),
+                "Radius with too many cells should fall back"); // Verify above the limit
+    }
+}
@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.List; // Used for lists of coordinates
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the BoardSnapshot class in the HexOust game.
+ * Includes unit tests for immutability and for tracking moves applied through the MovePipeline.
+ */
+public class BoardSnapshotTest {
+
+    /**
+     * Tests that deriving a snapshot leaves its parent unchanged.
+     */
+    @Test
+    void testParentIsUnchanged() {
+        BoardSnapshot empty = BoardSnapshot.empty(HexGrid.STANDARD); // Empty board
+        BoardSnapshot withRed = empty.with(6, 6, StoneColor.RED); // Add a Red stone at the center
+        BoardSnapshot withBoth = withRed.with(7, 6, StoneColor.BLUE); // Add a Blue stone East
+        assertEquals(StoneColor.EMPTY, empty.get(6, 6), "Empty snapshot should stay empty"); // Verify parent
+        assertEquals(StoneColor.RED, withRed.get(6, 6), "Child should hold the Red stone"); // Verify child
+        assertEquals(StoneColor.EMPTY, withRed.get(7, 6), "Child should not see the grandchild's stone"); // Verify isolation
+        assertEquals(1, withBoth.count(StoneColor.BLUE), "Grandchild should hold one Blue stone"); // Verify count
+        BoardSnapshot cleared = withBoth.without(List.of(new int[]{6, 6})); // Remove the Red stone
+        assertEquals(0, cleared.count(StoneColor.RED), "Red stone should be removed"); // Verify removal
+        assertEquals(1, withBoth.count(StoneColor.RED), "Parent should keep the Red stone"); // Verify parent
+    }
+
+    /**
+     * Tests that applying pipeline results tracks the board array exactly.
+     */
+    @Test
+    void testApplyTracksPipelineMoves() {
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        hexStatus[6][6] = StoneColor.BLUE; // Place a Blue stone at the center
+        hexStatus[7][6] = StoneColor.RED; // Place a Red stone East
+        hexStatus[5][6] = StoneColor.RED; // Place a Red stone West
+        hexStatus[6][5] = StoneColor.RED; // Place a Red stone North
+        hexStatus[6][7] = StoneColor.RED; // Place a Red stone South
+        BoardSnapshot snapshot = BoardSnapshot.of(HexGrid.STANDARD, hexStatus); // Capture the setup
+        CaptureHandler captureHandler = new CaptureHandler(null); // No drawing needed
+        MovePipeline movePipeline = new MovePipeline(new MoveValidator(captureHandler), captureHandler);
+        MoveResult result = movePipeline.play(1, -1, hexStatus, StoneColor.RED); // Place Northeast to capture
+        assertNotNull(result, "Capturing move should be accepted"); // Verify acceptance
+        BoardSnapshot after = snapshot.apply(result); // Apply the move to the snapshot
+        assertEquals(BoardSnapshot.of(HexGrid.STANDARD, hexStatus), after, "Snapshot should match the board");
+        assertEquals(StoneColor.BLUE, snapshot.get(6, 6), "Parent should still hold the captured stone"); // Verify parent
+        assertArrayEquals(HexGrid.STANDARD.pack(hexStatus), after.pack(), "Packed forms should match");
+    }
+
+    /**
+     * Tests that snapshots on separately built layouts of one radius compare by their stones.
+     */
+    @Test
+    void testEqualsAcrossGridInstances() {
+        BoardSnapshot first = BoardSnapshot.empty(HexGrid.of(3)).with(3, 3, StoneColor.RED); // Red at the center
+        BoardSnapshot second = BoardSnapshot.empty(HexGrid.of(3)).with(3, 3, StoneColor.RED); // Same on a new layout
+        assertNotSame(first.getGrid(), second.getGrid(), "Custom radii should build separate layouts"); // Precondition
+        assertEquals(first, second, "Same stones on the same radius should be equal"); // Verify equality
+        assertEquals(first.hashCode(), second.hashCode(), "Equal snapshots should hash alike"); // Verify hash
+        assertNotEquals(BoardSnapshot.empty(HexGrid.of(3)), BoardSnapshot.empty(HexGrid.of(2)), "Radii should differ");
+    }
+}
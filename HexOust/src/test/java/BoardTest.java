@@ -60,13 +60,13 @@ public class BoardTest {
     @Test
     void testResetBoardClearsAllStones() {
         // Place a test stone at the center
-        board.getHexStatus()[6][6] = "Red";
+        board.getHexStatus()[6][6] = StoneColor.RED;
         // Reset the board to clear stones
         board.resetBoard();
-        // Verify all cells are null
-        for (String[] row : board.getHexStatus()) {
-            for (String cell : row) {
-                assertNull(cell, "Board should be empty after reset");
+        // Verify all cells are empty
+        for (byte[] row : board.getHexStatus()) {
+            for (byte cell : row) {
+                assertEquals(StoneColor.EMPTY, cell, "Board should be empty after reset");
             }
         }
     }
@@ -78,9 +78,10 @@ public class BoardTest {
     void testPlaceStoneInEmptyHex() {
         double centerX = 410; // X-coordinate of the board center
         double centerY = 345; // Y-coordinate of the board center
-        boolean placed = board.fillHex(gc, centerX, centerY, "Red"); // Attempt to place a stone
-        assertTrue(placed, "Stone should be placed successfully");
-        assertEquals("Red", board.getHexStatus()[6][6], "Center hex should be Red");
+        MoveResult placed = gameManager.makeMove(gc, centerX, centerY); // Red attempts to place a stone
+        assertNotNull(placed, "Stone should be placed successfully");
+        assertEquals(StoneColor.RED, board.getHexStatus()[6][6], "Center hex should be Red");
+        assertEquals(StoneColor.RED, board.snapshot().get(6, 6), "Snapshot should record the stone");
     }
 
     /**
@@ -90,10 +91,11 @@ public class BoardTest {
     void testPlaceStoneInOccupiedHexFails() {
         double centerX = 410; // X-coordinate of the board center
         double centerY = 345; // Y-coordinate of the board center
-        board.fillHex(gc, centerX, centerY, "Red"); // Place initial stone
-        boolean placed = board.fillHex(gc, centerX, centerY, "Blue"); // Try to place another stone
-        assertFalse(placed, "Stone placement in occupied hex should fail");
-        assertEquals("Red", board.getHexStatus()[6][6], "Hex should remain Red");
+        gameManager.makeMove(gc, centerX, centerY); // Red places the initial stone
+        MoveResult placed = gameManager.makeMove(gc, centerX, centerY); // Blue tries to place another stone
+        assertNull(placed, "Stone placement in occupied hex should fail");
+        assertEquals(StoneColor.BLUE, player.getCurrentPlayer(), "Blue should still be to move");
+        assertEquals(StoneColor.RED, board.getHexStatus()[6][6], "Hex should remain Red");
     }
 
     /**
@@ -125,20 +127,20 @@ public class BoardTest {
     @Test
     void testPlaceStoneTriggersCapture() {
         // Set up a scenario where Blue is surrounded by Red
-        board.getHexStatus()[6][6] = "Blue"; // Center (q=0, r=0)
-        board.getHexStatus()[7][6] = "Red"; // East (q=1, r=0)
-        board.getHexStatus()[5][6] = "Red"; // West (q=-1, r=0)
-        board.getHexStatus()[6][5] = "Red"; // North (q=0, r=-1)
-        board.getHexStatus()[6][7] = "Red"; // South (q=0, r=1)
-        board.getHexStatus()[7][5] = "Red"; // Northeast (q=1, r=-1)
+        board.getHexStatus()[6][6] = StoneColor.BLUE; // Center (q=0, r=0)
+        board.getHexStatus()[7][6] = StoneColor.RED; // East (q=1, r=0)
+        board.getHexStatus()[5][6] = StoneColor.RED; // West (q=-1, r=0)
+        board.getHexStatus()[6][5] = StoneColor.RED; // North (q=0, r=-1)
+        board.getHexStatus()[6][7] = StoneColor.RED; // South (q=0, r=1)
+        board.getHexStatus()[7][5] = StoneColor.RED; // Northeast (q=1, r=-1)
         // Calculate click coordinates for Southwest (q=-1, r=1)
         double clickX = 410 - 30 * 1.5; // Approximate X for Southwest
         double clickY = 345 + 30 * Math.sqrt(3) / 2; // Approximate Y for Southwest
-        System.out.println("Attempting capture at (" + clickX + ", " + clickY + ")");
-        boolean captureOccurred = board.fillHex(gc, clickX, clickY, "Red"); // Place final stone
-        System.out.println("Capture result: " + captureOccurred);
-        assertTrue(captureOccurred, "Capture should occur");
-        assertNull(board.getHexStatus()[6][6], "Blue stone should be captured");
+        MoveResult result = gameManager.makeMove(gc, clickX, clickY); // Red places the final stone
+        assertNotNull(result, "Move should be played");
+        assertTrue(result.isExtraTurn(), "Capture should occur");
+        assertEquals(StoneColor.EMPTY, board.getHexStatus()[6][6], "Blue stone should be captured");
+        assertFalse(gameManager.isLegalMove(6, 6), "Red may not refill the hex next to its own stones");
     }
 
     /**
@@ -147,15 +149,15 @@ public class BoardTest {
     @Test
     void testResetBoardUpdatesUI() {
         // Place test stones on the board
-        board.getHexStatus()[6][6] = "Red";
-        board.getHexStatus()[7][6] = "Blue";
-        // Reset the board and update the UI
+        board.getHexStatus()[6][6] = StoneColor.RED;
+        board.getHexStatus()[7][6] = StoneColor.BLUE;
+        // Reset the board and redraw it
         board.resetBoard();
-        board.updateBoardUI(gc);
+        board.render(gc);
         // Verify the board is empty after UI update
-        for (String[] row : board.getHexStatus()) {
-            for (String cell : row) {
-                assertNull(cell, "Board should be empty after reset and UI update");
+        for (byte[] row : board.getHexStatus()) {
+            for (byte cell : row) {
+                assertEquals(StoneColor.EMPTY, cell, "Board should be empty after reset and UI update");
             }
         }
     }
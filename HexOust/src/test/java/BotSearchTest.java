@@ -0,0 +1,132 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.concurrent.CountDownLatch; // Waits for the search thread
+import java.util.concurrent.TimeUnit; // Timeout units
+import java.util.concurrent.atomic.AtomicInteger; // Receives the chosen move
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the BotSearch and SearchExecutor classes in the HexOust game.
+ * Callbacks are run directly on the search thread, so no JavaFX toolkit is needed.
+ */
+public class BotSearchTest {
+
+    /**
+     * Tests that the search finds a capture that wins the game.
+     */
+    @Test
+    void testFindsWinningCapture() {
+        GameState state = new GameState(); // Empty board, Red to move
+        state.play(6, 6); // Red at the center
+        state.play(8, 5); // Blue at (q=2, r=-1), its only stone
+        int best = new BotSearch(2, 10_000).search(state, null); // Search Red's move
+        assertEquals(HexGrid.STANDARD.cellAt(7, 5), best, "Red should capture Blue's only stone"); // Verify move
+    }
+
+    /**
+     * Tests that multi-PV search ranks several moves, best first, and agrees with the single best move.
+     */
+    @Test
+    void testMultiPvRanksMoves() {
+        GameState state = new GameState(); // Empty board, Red to move
+        state.play(6, 6); // Red at the center
+        state.play(8, 5); // Blue at (q=2, r=-1), its only stone
+        int[] ranked = new int[4]; // Last iteration's moves
+        int[] rankedScores = new int[4]; // Their scores
+        AtomicInteger rankedCount = new AtomicInteger(); // Number of moves reported
+        int best = new BotSearch(2, 10_000, 4).search(state, new SearchListener() {
+            @Override
+            public void onProgress(int depth, int bestCell, int score, long nodes) {
+            }
+
+            @Override
+            public void onCandidates(int depth, int[] cells, int[] scores, int count, long nodes) {
+                System.arraycopy(cells, 0, ranked, 0, count); // Copy, the arrays are reused
+                System.arraycopy(scores, 0, rankedScores, 0, count);
+                rankedCount.set(count);
+            }
+        });
+        assertEquals(4, rankedCount.get(), "Four moves should be ranked"); // Verify count
+        assertEquals(best, ranked[0], "The first ranked move should be the chosen move"); // Verify order
+        assertEquals(new BotSearch(2, 10_000).search(state, null), best, "Multi-PV should not change the best move");
+        for (int i = 1; i < 4; i++) {
+            assertTrue(rankedScores[i - 1] >= rankedScores[i], "Scores should not increase with rank"); // Verify sort
+            assertNotEquals(ranked[i - 1], ranked[i], "Ranked moves should differ"); // Verify distinct
+        }
+    }
+
+    /**
+     * Tests that a cancelled search delivers no result and a new search still completes.
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testCancelDropsResult() throws InterruptedException {
+        SearchExecutor executor = new SearchExecutor(Runnable::run); // Callbacks on the search thread
+        try {
+            AtomicInteger cancelledMoves = new AtomicInteger(); // Results from the cancelled search
+            executor.submit(new GameState(), new BotSearch(6, 60_000), new SearchListener() {
+                @Override
+                public void onProgress(int depth, int bestCell, int score, long nodes) {
+                }
+
+                @Override
+                public void onComplete(int bestCell) {
+                    cancelledMoves.incrementAndGet(); // Should never happen
+                }
+            });
+            executor.cancel(); // Restart while the search runs
+            CountDownLatch done = new CountDownLatch(1); // Signals the second result
+            AtomicInteger move = new AtomicInteger(-1); // The second search's move
+            executor.submit(new GameState(), new BotSearch(1, 10_000), new SearchListener() {
+                @Override
+                public void onProgress(int depth, int bestCell, int score, long nodes) {
+                }
+
+                @Override
+                public void onComplete(int bestCell) {
+                    move.set(bestCell); // Record the move
+                    done.countDown();
+                }
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS), "Second search should complete"); // Verify completion
+            assertTrue(move.get() >= 0, "Second search should choose a move"); // Verify move
+            assertEquals(0, cancelledMoves.get(), "Cancelled search should not report a move"); // Verify drop
+        } finally {
+            executor.shutdown(); // Stop the search thread
+        }
+    }
+
+    /**
+     * Tests that restarting the clock of a running search replaces its time limit with the new one.
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testRestartClockUsesNewLimit() throws InterruptedException {
+        GameState state = new GameState(); // Empty board, Red to move
+        state.play(6, 6); // Red at the center, so the tree is not trivial
+        BotSearch search = new BotSearch(64, 600_000); // Deep enough to run for the whole limit
+        CountDownLatch started = new CountDownLatch(1); // First iteration finished
+        CountDownLatch done = new CountDownLatch(1); // Search returned
+        Thread thread = new Thread(() -> {
+            search.search(state, new SearchListener() {
+                @Override
+                public void onProgress(int depth, int bestCell, int score, long nodes) {
+                    started.countDown(); // The clock is running
+                }
+
+                @Override
+                public void onComplete(int bestCell) {
+                }
+            });
+            done.countDown();
+        });
+        thread.setDaemon(true); // Never keep the test run alive
+        thread.start();
+        try {
+            assertTrue(started.await(10, TimeUnit.SECONDS), "Search should start"); // Wait for the first iteration
+            search.restartClock(50); // A short budget, as a time control would give
+            assertTrue(done.await(10, TimeUnit.SECONDS), "Search should stop within the new limit"); // Verify limit
+        } finally {
+            search.cancel(); // Stop it if the limit was ignored
+        }
+    }
+}
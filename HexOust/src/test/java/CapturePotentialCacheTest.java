@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.BeforeEach; // Runs setup before each test
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.Random; // Used for reproducible random games
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the CapturePotentialCache class in the HexOust game.
+ * Checks cached answers against fresh capture simulations while games are played through the MovePipeline.
+ */
+public class CapturePotentialCacheTest {
+    private byte[][] hexStatus; // Board state array
+    private CaptureHandler captureHandler; // Computes fresh answers
+    private MoveValidator moveValidator; // Validator using the cache
+    private CapturePotentialCache cache; // CapturePotentialCache instance under test
+    private MovePipeline movePipeline; // Applies moves and notifies the cache
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        hexStatus = new byte[13][13]; // Empty board
+        captureHandler = new CaptureHandler(null); // No drawing needed
+        moveValidator = new MoveValidator(captureHandler); // Initialize validator
+        cache = new CapturePotentialCache(hexStatus, captureHandler); // Bind the cache to the board
+        moveValidator.setCache(cache); // Attach the cache
+        movePipeline = new MovePipeline(moveValidator, captureHandler); // Initialize pipeline
+    }
+
+    /**
+     * Tests that cached answers match fresh simulations after every move of random games.
+     */
+    @Test
+    void testCacheMatchesSimulationDuringRandomGames() {
+        Random random = new Random(35); // Fixed seed for reproducibility
+        HexGrid grid = HexGrid.STANDARD; // Cell layout
+        for (int game = 0; game < 5; game++) {
+            byte player = StoneColor.RED; // Red starts
+            for (int ply = 0; ply < 120; ply++) {
+                // Query every empty hex for both players so the cache is fully populated
+                for (int cell = 0; cell < grid.getCellCount(); cell++) {
+                    int q = grid.qIndex(cell); // q-index of the hex
+                    int r = grid.rIndex(cell); // r-index of the hex
+                    if (hexStatus[q][r] != StoneColor.EMPTY) {
+                        continue; // Only empty hexes can be played
+                    }
+                    for (byte color : new byte[]{StoneColor.RED, StoneColor.BLUE}) {
+                        boolean fresh = !captureHandler.findCaptures(q, r, hexStatus, color).isEmpty();
+                        assertEquals(fresh, cache.wouldCapture(q, r, color), "Cache should match simulation");
+                    }
+                }
+                MoveResult result = null; // Move played this ply
+                for (int attempt = 0; attempt < 200 && result == null; attempt++) {
+                    int cell = random.nextInt(grid.getCellCount()); // Pick a random hex
+                    result = movePipeline.play(grid.qIndex(cell) - 6, grid.rIndex(cell) - 6, hexStatus, player);
+                }
+                if (result == null || result.getWinner() != StoneColor.EMPTY) {
+                    break; // No move found or the game is over
+                }
+                if (!result.isExtraTurn()) {
+                    player = StoneColor.opponent(player); // Pass the turn
+                }
+            }
+            for (byte[] row : hexStatus) {
+                java.util.Arrays.fill(row, StoneColor.EMPTY); // Clear the board for the next game
+            }
+            movePipeline.reset(); // Reset history and cache
+        }
+    }
+
+    /**
+     * Tests that the validator ignores the cache for boards it is not bound to.
+     */
+    @Test
+    void testCacheOnlyServesItsOwnBoard() {
+        byte[][] other = new byte[13][13]; // A different board
+        other[6][6] = StoneColor.BLUE; // Place a Blue stone at the center
+        other[7][6] = StoneColor.RED; // Place a Red stone East
+        assertFalse(cache.isBoundTo(other), "Cache should not claim another board");
+        assertFalse(moveValidator.isLegal(8, 6, other, StoneColor.RED), "Adjacent same color without capture should be invalid");
+    }
+}
@@ -0,0 +1,153 @@
+import jdk.jfr.Recording; // Records events in-process
+import jdk.jfr.consumer.RecordedEvent; // Reads recorded events
+import jdk.jfr.consumer.RecordingFile; // Reads a recording file
+import org.junit.jupiter.api.Test; // Marks test methods
+import org.junit.jupiter.api.io.TempDir; // Provides a scratch directory
+import java.io.IOException; // Thrown by recording files
+import java.nio.file.Path; // Locates the recording file
+import java.time.Duration; // Event thresholds
+import java.util.List; // Recorded events
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the Flight Recorder events of the move pipeline and the render scheduler in the HexOust game.
+ * A capturing move, or a flush, runs inside an in-process recording, which is dumped and read back.
+ */
+public class FlightRecorderEventsTest {
+    @TempDir
+    Path directory; // Holds the recording files
+
+    /**
+     * Tests that enabled events describe the validation, capture search and win check of a capturing move,
+     * both from depth-first search and from the group registry.
+     * @throws IOException if the recording cannot be written or read
+     */
+    @Test
+    void testEventsDescribeCapturingMove() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            for (String name : new String[]{"hexoust.MoveValidation", "hexoust.CaptureResolution", "hexoust.WinCheck"}) {
+                recording.enable(name).withThreshold(Duration.ZERO); // Every event
+            }
+            recording.start();
+            playCapture(false); // Groups found by depth-first search
+            playCapture(true); // Groups read from the registry
+            recording.stop();
+            events = read(recording, "events.jfr");
+        }
+        List<RecordedEvent> captures = named(events, "hexoust.CaptureResolution");
+        RecordedEvent searched = captures.stream().filter(e -> !e.getBoolean("fromRegistry")).findFirst().orElseThrow();
+        assertEquals(1, searched.getInt("capturedGroups"), "One group should be captured"); // Verify groups
+        assertEquals(1, searched.getInt("capturedStones"), "One stone should be captured"); // Verify stones
+        assertEquals(1, searched.getInt("largestCapturedGroup"), "The group has one stone"); // Verify size
+        assertEquals(6, searched.getInt("placedGroupSize"), "Stone should join all five Red stones"); // Verify size
+        assertEquals(6 + 1, searched.getInt("nodesVisited"), "Red group and the Blue stone should be visited");
+        RecordedEvent registered = captures.stream().filter(e -> e.getBoolean("fromRegistry")).findFirst().orElseThrow();
+        assertEquals(1, registered.getInt("capturedStones"), "Registry should find the same stone"); // Verify
+        assertEquals(0, registered.getInt("nodesVisited"), "Registry should search no stones"); // Verify no search
+        assertTrue(named(events, "hexoust.MoveValidation").stream()
+                .anyMatch(e -> e.getString("placement").equals("NEEDS_CAPTURE")), "Validation should be recorded");
+        assertTrue(named(events, "hexoust.WinCheck").stream().anyMatch(e -> e.getBoolean("won")), "Win recorded");
+    }
+
+    /**
+     * Tests that a RenderScheduler flush is recorded as one redraw event covering every cell it draws.
+     * @throws IOException if the recording cannot be written or read
+     */
+    @Test
+    void testRedrawEventPerFlush() throws IOException {
+        int[] painted = new int[1]; // Cells drawn by the painter
+        RenderScheduler scheduler = new RenderScheduler(new RenderScheduler.Painter() {
+            @Override
+            public void paintAll() {
+                painted[0] += HexGrid.STANDARD.getCellCount(); // Every hex
+            }
+
+            @Override
+            public void paintCell(int boardQ, int boardR) {
+                painted[0]++; // One hex
+            }
+        });
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("hexoust.CanvasRedraw").withThreshold(Duration.ZERO); // Every event
+            recording.start();
+            scheduler.markDirty(6, 6); // A move and its captures
+            scheduler.markDirty(7, 6);
+            scheduler.markDirty(5, 6);
+            scheduler.flush(); // One pulse
+            scheduler.requestFullRedraw();
+            scheduler.flush(); // Another pulse
+            recording.stop();
+            events = read(recording, "redraw.jfr");
+        }
+        List<RecordedEvent> redraws = named(events, "hexoust.CanvasRedraw");
+        assertEquals(2, redraws.size(), "Each flush should be one event"); // Verify one event per flush
+        assertEquals(3, redraws.get(0).getInt("cells"), "First flush drew three cells"); // Verify count
+        assertFalse(redraws.get(0).getBoolean("fullRedraw"), "First flush was partial");
+        assertEquals(HexGrid.STANDARD.getCellCount(), redraws.get(1).getInt("cells"), "Second flush drew the board");
+        assertTrue(redraws.get(1).getBoolean("fullRedraw"), "Second flush was full"); // Verify flag
+        assertEquals(3 + HexGrid.STANDARD.getCellCount(), painted[0], "Painter should draw each flush"); // Verify
+    }
+
+    /**
+     * Tests that the events are off unless a recording enables them.
+     * @throws IOException if the recording cannot be written or read
+     */
+    @Test
+    void testEventsOffByDefault() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start(); // No HexOust events enabled
+            playCapture(false);
+            recording.stop();
+            events = read(recording, "default.jfr");
+        }
+        assertTrue(events.stream().noneMatch(e -> e.getEventType().getName().startsWith("hexoust.")),
+                "Events should be disabled by default"); // Verify nothing recorded
+    }
+
+    /**
+     * Plays Red's capture of a Blue stone surrounded by Red, which wins the game.
+     * @param registry True to read group sizes from a GroupRegistry
+     */
+    private static void playCapture(boolean registry) {
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        hexStatus[6][6] = StoneColor.BLUE; // Place a Blue stone at the center
+        hexStatus[7][6] = StoneColor.RED; // Place a Red stone East
+        hexStatus[5][6] = StoneColor.RED; // Place a Red stone West
+        hexStatus[6][5] = StoneColor.RED; // Place a Red stone North
+        hexStatus[6][7] = StoneColor.RED; // Place a Red stone South
+        hexStatus[7][5] = StoneColor.RED; // Place a Red stone Northeast
+        CaptureHandler captureHandler = new CaptureHandler(null); // The pipeline never draws
+        if (registry) {
+            captureHandler.setRegistry(new GroupRegistry(hexStatus)); // Read group sizes
+        }
+        MovePipeline pipeline = new MovePipeline(new MoveValidator(captureHandler), captureHandler);
+        pipeline.setOpponentHadStones(true); // Blue has been on the board
+        assertNotNull(pipeline.play(-1, 1, hexStatus, StoneColor.RED), "Capturing move should be accepted");
+    }
+
+    /**
+     * Dumps a stopped recording and reads its events.
+     * @param recording The recording
+     * @param file The file name in the scratch directory
+     * @return The events
+     * @throws IOException if the recording cannot be written or read
+     */
+    private List<RecordedEvent> read(Recording recording, String file) throws IOException {
+        Path path = directory.resolve(file);
+        recording.dump(path); // Write the recording
+        return RecordingFile.readAllEvents(path); // Read it back
+    }
+
+    /**
+     * Selects the events of one type.
+     * @param events The events
+     * @param name The event name
+     * @return The events of that type
+     */
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList(); // Filter by name
+    }
+}
@@ -0,0 +1,186 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.concurrent.ConcurrentLinkedQueue; // Collects flags from the wheel thread
+import java.util.concurrent.CountDownLatch; // Waits for timeouts
+import java.util.concurrent.TimeUnit; // Wait timeouts
+import java.util.concurrent.atomic.AtomicInteger; // Counts fired timeouts
+import java.util.concurrent.atomic.AtomicLong; // Fake time source
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the GameClock, TimeControl and TimerWheel classes.
+ * Clock accounting runs on a fake time source; flag-fall runs on real time with short time controls.
+ */
+public class GameClockTest {
+    private static final long SECOND = 1_000_000_000L; // Nanoseconds per second
+    private final AtomicLong now = new AtomicLong(); // Fake System.nanoTime
+    private final ConcurrentLinkedQueue<Byte> flags = new ConcurrentLinkedQueue<>(); // Flags reported
+
+    /**
+     * Tests that time controls parse and print in the same format.
+     */
+    @Test
+    void testParse() {
+        TimeControl fischer = TimeControl.parse("300+5"); // Five minutes plus five seconds
+        assertEquals(300 * SECOND, fischer.getMainNanos(), "Main time should be read"); // Verify main
+        assertEquals(5 * SECOND, fischer.getIncrementNanos(), "Increment should be read"); // Verify increment
+        assertEquals(0, fischer.getPeriods(), "Fischer should have no periods"); // Verify no byo-yomi
+        TimeControl byoYomi = TimeControl.parse("600+30x3"); // Ten minutes, three 30-second periods
+        assertEquals(30 * SECOND, byoYomi.getPeriodNanos(), "Period should be read"); // Verify period
+        assertEquals(3, byoYomi.getPeriods(), "Period count should be read"); // Verify count
+        assertEquals("0.5", TimeControl.parse("0.5").toString(), "Fractions should round-trip"); // Verify sudden death
+        assertEquals("600+30x3", byoYomi.toString(), "Byo-yomi should round-trip"); // Verify format
+        assertThrows(IllegalArgumentException.class, () -> TimeControl.parse("five"), "Text should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> TimeControl.parse("0"), "No time should be rejected");
+        assertEquals("300+5", TimeControl.parseOrNull(" 300+5 ").toString(), "Valid option should be used");
+        assertNull(TimeControl.parseOrNull("blitz"), "Invalid option should mean no clock"); // Verify fallback
+        assertNull(TimeControl.parseOrNull("-60"), "Negative time should mean no clock"); // Verify fallback
+    }
+
+    /**
+     * Tests that each side is charged only for its own turns and that the increment is added after each move.
+     */
+    @Test
+    void testFischerAccounting() {
+        GameClock clock = new GameClock(TimeControl.fischer(60_000, 2_000), null, flags::add, now::get);
+        clock.start(StoneColor.RED); // Red opens
+        now.addAndGet(10 * SECOND);
+        assertEquals(50 * SECOND, clock.getRemainingNanos(StoneColor.RED), "Running clock should count down");
+        assertTrue(clock.press(StoneColor.BLUE), "Move in time should count"); // Red moves
+        assertEquals(52 * SECOND, clock.getRemainingNanos(StoneColor.RED), "Increment should be added"); // Verify
+        now.addAndGet(5 * SECOND);
+        assertTrue(clock.press(StoneColor.BLUE), "Extra turn should keep Blue's clock running"); // Blue captures
+        now.addAndGet(5 * SECOND);
+        assertEquals(52 * SECOND, clock.getRemainingNanos(StoneColor.BLUE), "Blue should pay for both turns");
+        assertEquals(52 * SECOND, clock.getRemainingNanos(StoneColor.RED), "Waiting clock should not run");
+        clock.stop(); // Game won
+        now.addAndGet(100 * SECOND);
+        assertEquals(52 * SECOND, clock.getRemainingNanos(StoneColor.BLUE), "Stopped clock should not run");
+        assertEquals(StoneColor.EMPTY, clock.getRunning(), "No clock should run"); // Verify stopped
+    }
+
+    /**
+     * Tests that byo-yomi periods are kept by fast moves, lost by slow ones, and that a late move flags.
+     */
+    @Test
+    void testByoYomiAndLateMove() {
+        GameClock clock = new GameClock(TimeControl.byoYomi(10_000, 5_000, 2), null, flags::add, now::get);
+        clock.start(StoneColor.RED);
+        now.addAndGet(13 * SECOND); // Main time gone, 3 s into the first period
+        assertEquals(2 * SECOND, clock.getRemainingNanos(StoneColor.RED), "Period should count down"); // Verify
+        assertTrue(clock.press(StoneColor.BLUE), "Move inside a period should count"); // Keeps both periods
+        assertEquals(2, clock.getPeriodsLeft(StoneColor.RED), "Fast move should keep the period"); // Verify kept
+        clock.press(StoneColor.RED); // Blue moves at once
+        now.addAndGet(7 * SECOND); // Beyond the first period
+        assertEquals(1, clock.getPeriodsLeft(StoneColor.RED), "Slow move should lose a period"); // Verify lost
+        assertTrue(clock.press(StoneColor.BLUE), "Move in the last period should count"); // Red moves
+        clock.press(StoneColor.RED); // Blue moves at once
+        now.addAndGet(6 * SECOND); // Beyond the last period, but no wheel has noticed
+        assertFalse(clock.press(StoneColor.BLUE), "Overdue move should not count"); // Verify late press
+        assertEquals(StoneColor.RED, clock.getFlagged(), "Red's flag should fall"); // Verify flagged
+        assertEquals(StoneColor.RED, flags.poll(), "Listener should hear of it"); // Verify callback
+        clock.start(StoneColor.BLUE); // Ignored after a flag-fall
+        assertEquals(StoneColor.EMPTY, clock.getRunning(), "Flagged game should not restart"); // Verify
+        clock.reset(); // New game
+        assertEquals(StoneColor.EMPTY, clock.getFlagged(), "Reset should clear the flag"); // Verify reset
+        assertEquals(10 * SECOND, clock.getRemainingNanos(StoneColor.RED), "Reset should restore the time");
+    }
+
+    /**
+     * Tests that an overdue mover is flagged before its move is applied, even if no timer has fired.
+     */
+    @Test
+    void testCheckFlagBeforeMove() {
+        GameClock clock = new GameClock(TimeControl.fischer(10_000, 0), null, flags::add, now::get);
+        assertFalse(clock.checkFlag(), "Stopped clock should not flag"); // Nothing timed yet
+        clock.start(StoneColor.RED);
+        now.addAndGet(10 * SECOND); // The last instant of Red's time
+        assertFalse(clock.checkFlag(), "Move on the deadline should be allowed"); // Verify in time
+        assertEquals(StoneColor.RED, clock.getRunning(), "Check should not stop the clock"); // Verify untouched
+        now.addAndGet(1); // Just past it
+        assertTrue(clock.checkFlag(), "Overdue mover should be flagged"); // Verify flag-fall
+        assertEquals(StoneColor.RED, clock.getFlagged(), "Red's flag should fall"); // Verify flagged
+        assertEquals(StoneColor.RED, flags.poll(), "Listener should hear of it"); // Verify callback
+        assertTrue(clock.checkFlag(), "Flagged game should stay over"); // Verify repeat
+        assertNull(flags.poll(), "Flag should be reported once"); // Verify single callback
+    }
+
+    /**
+     * Tests that the move budget spends a share of the main time and keeps a margin inside a period.
+     */
+    @Test
+    void testMoveBudget() {
+        GameClock fischer = new GameClock(TimeControl.fischer(60_000, 2_000), null, flags::add, now::get);
+        assertEquals(3_000 + 1_500, fischer.moveBudgetMillis(StoneColor.RED), "Budget should be 1/20 plus 3/4 increment");
+        GameClock scarce = new GameClock(TimeControl.fischer(1_000, 10_000), null, flags::add, now::get);
+        assertEquals(500, scarce.moveBudgetMillis(StoneColor.RED), "Budget should never exceed half the time left");
+        GameClock byoYomi = new GameClock(TimeControl.byoYomi(0, 4_000, 1), null, flags::add, now::get);
+        assertEquals(3_000, byoYomi.moveBudgetMillis(StoneColor.RED), "Budget should keep a margin in the period");
+    }
+
+    /**
+     * Tests the clock display format.
+     */
+    @Test
+    void testFormat() {
+        assertEquals("4:59.3", GameClock.format(299_350_000_000L), "Tenths should round down"); // Verify minutes
+        assertEquals("0:00.0", GameClock.format(-5), "Negative time should show zero"); // Verify clamp
+        assertEquals("1:02:03.0", GameClock.format(3723 * SECOND), "Hours should be shown"); // Verify hours
+    }
+
+    /**
+     * Tests that a flag falls on real time through the wheel, without a move being pressed, and not before the
+     * deadline.
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testFlagFallOnWheel() throws InterruptedException {
+        try (TimerWheel wheel = new TimerWheel(1, 64).start()) {
+            CountDownLatch flagged = new CountDownLatch(1);
+            GameClock clock = new GameClock(TimeControl.fischer(80, 0), wheel, side -> flagged.countDown());
+            long start = System.nanoTime();
+            clock.start(StoneColor.RED);
+            assertTrue(flagged.await(5, TimeUnit.SECONDS), "Flag should fall without a move"); // Verify fired
+            assertTrue(System.nanoTime() - start >= 80_000_000L, "Flag should not fall early"); // Verify on time
+            assertEquals(StoneColor.RED, clock.getFlagged(), "Red should have flagged"); // Verify side
+            GameClock safe = new GameClock(TimeControl.fischer(80, 0), wheel, flags::add);
+            safe.start(StoneColor.RED);
+            safe.press(StoneColor.BLUE); // Move in time: Red's timeout is cancelled
+            safe.stop(); // Game over before Blue runs out
+            Thread.sleep(200); // Past both deadlines
+            assertTrue(flags.isEmpty(), "Cancelled turns should never flag"); // Verify cancelled
+        }
+    }
+
+    /**
+     * Tests that one wheel thread fires many timeouts, each at or after its deadline, skipping cancelled ones,
+     * including deadlines more than one turn of the wheel away.
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testWheelFiresManyTimeouts() throws InterruptedException {
+        try (TimerWheel wheel = new TimerWheel(1, 16).start()) { // 16 ms per turn, so most deadlines wrap
+            int count = 1000;
+            CountDownLatch done = new CountDownLatch(count / 2);
+            AtomicInteger early = new AtomicInteger(); // Timeouts fired before their deadline
+            AtomicInteger cancelledFired = new AtomicInteger(); // Cancelled timeouts that fired anyway
+            long base = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                long deadline = base + (i % 100) * 1_000_000L; // Up to 99 ms, about six turns
+                boolean cancel = i % 2 == 1;
+                TimerWheel.Timeout timeout = wheel.schedule(deadline, () -> {
+                    if (System.nanoTime() < deadline) early.incrementAndGet();
+                    if (cancel) cancelledFired.incrementAndGet();
+                    done.countDown();
+                });
+                if (cancel) {
+                    assertTrue(timeout.cancel(), "Pending timeout should cancel"); // Verify cancel
+                }
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS), "Every timeout should fire"); // Verify all fired
+            assertEquals(0, early.get(), "No timeout should fire early"); // Verify never early
+            Thread.sleep(50); // Let cancelled ones be swept
+            assertEquals(0, cancelledFired.get(), "Cancelled timeouts should not fire"); // Verify cancelled
+            assertEquals(0, wheel.size(), "Swept wheel should be empty"); // Verify cleanup
+        }
+    }
+}
@@ -49,7 +49,7 @@ public class GameManagerTest {
                 board = new Board(renderer, player, gameManager); // Initialize board
                 gameManager.setBoard(board); // Link board to game manager
                 board.resetBoard(); // Reset the board
-                renderer.updateTurn("Red"); // Set initial turn to Red
+                renderer.updateTurn(StoneColor.RED); // Set initial turn to Red
             } finally {
                 latch.countDown(); // Signal setup completion
             }
@@ -68,8 +68,8 @@ public class GameManagerTest {
         Board.HexCube clickedHex = board.pixelToHex(centerX, centerY); // Convert to hex coordinates
         int q = (int) clickedHex.q + 6; // Adjust q to board index
         int r = (int) clickedHex.r + 6; // Adjust r to board index
-        assertNotNull(board.getHexStatus()[q][r], "Stone should be placed"); // Verify stone placement
-        assertEquals("Red", board.getHexStatus()[q][r], "Stone should be Red"); // Verify stone color
+        assertNotEquals(StoneColor.EMPTY, board.getHexStatus()[q][r], "Stone should be placed"); // Verify placement
+        assertEquals(StoneColor.RED, board.getHexStatus()[q][r], "Stone should be Red"); // Verify stone color
     }
 
     /**
@@ -77,17 +77,17 @@ public class GameManagerTest {
      */
     @Test
     void testExtraTurnOnCapture() {
-        board.getHexStatus()[6][6] = "Blue"; // Place Blue stone at center
-        board.getHexStatus()[7][6] = "Red"; // Place Red stone East
-        board.getHexStatus()[5][6] = "Red"; // Place Red stone West
-        board.getHexStatus()[6][5] = "Red"; // Place Red stone North
-        board.getHexStatus()[6][7] = "Red"; // Place Red stone South
-        board.getHexStatus()[7][5] = "Red"; // Place Red stone Northeast
+        board.getHexStatus()[6][6] = StoneColor.BLUE; // Place Blue stone at center
+        board.getHexStatus()[7][6] = StoneColor.RED; // Place Red stone East
+        board.getHexStatus()[5][6] = StoneColor.RED; // Place Red stone West
+        board.getHexStatus()[6][5] = StoneColor.RED; // Place Red stone North
+        board.getHexStatus()[6][7] = StoneColor.RED; // Place Red stone South
+        board.getHexStatus()[7][5] = StoneColor.RED; // Place Red stone Northeast
         double clickX = 410 - 30 * 1.5; // X-coordinate for Southwest
         double clickY = 345 + 30 * Math.sqrt(3) / 2; // Y-coordinate for Southwest
         gameManager.makeMove(gc, clickX, clickY); // Simulate move to capture
-        assertNull(board.getHexStatus()[6][6], "Blue stone should be captured"); // Verify capture
-        assertEquals("Red", player.getCurrentPlayer(), "Red should get extra turn"); // Verify extra turn
+        assertEquals(StoneColor.EMPTY, board.getHexStatus()[6][6], "Blue stone should be captured"); // Verify capture
+        assertEquals(StoneColor.RED, player.getCurrentPlayer(), "Red should get extra turn"); // Verify extra turn
     }
 
     /**
@@ -95,26 +95,26 @@ public class GameManagerTest {
      */
     @Test
     void testRestartButtonFunctionality() {
-        board.getHexStatus()[6][6] = "Red"; // Place Red stone
-        board.getHexStatus()[7][6] = "Blue"; // Place Blue stone
+        board.getHexStatus()[6][6] = StoneColor.RED; // Place Red stone
+        board.getHexStatus()[7][6] = StoneColor.BLUE; // Place Blue stone
         player.switchTurn(); // Switch turn to Blue
         gameManager.reset(); // Reset game state
         board.resetBoard(); // Reset board
         player.resetPlayer(); // Reset player
         // Verify board is cleared
-        for (String[] row : board.getHexStatus()) {
-            for (String cell : row) {
-                assertNull(cell, "Board should be cleared");
+        for (byte[] row : board.getHexStatus()) {
+            for (byte cell : row) {
+                assertEquals(StoneColor.EMPTY, cell, "Board should be cleared");
             }
         }
-        assertEquals("Red", player.getCurrentPlayer(), "Player should be Red"); // Verify player reset
+        assertEquals(StoneColor.RED, player.getCurrentPlayer(), "Player should be Red"); // Verify player reset
         double centerX = 410; // X-coordinate of center
         double centerY = 345; // Y-coordinate of center
         gameManager.makeMove(gc, centerX, centerY); // Simulate new move
         Board.HexCube clickedHex = board.pixelToHex(centerX, centerY); // Convert to hex
         int q = (int) clickedHex.q + 6; // Adjust q
         int r = (int) clickedHex.r + 6; // Adjust r
-        assertNotNull(board.getHexStatus()[q][r], "New move should be allowed"); // Verify new move
+        assertEquals(StoneColor.RED, board.getHexStatus()[q][r], "Red's new move should be allowed"); // Verify new move
     }
 
     /**
@@ -124,18 +124,19 @@ public class GameManagerTest {
     @Test
     void testRedWinningCondition() throws InterruptedException {
         // Place initial Blue stones
-        board.getHexStatus()[6][6] = "Blue"; // Center (q=0, r=0)
-        board.getHexStatus()[7][6] = "Blue"; // East (q=1, r=0)
+        board.getHexStatus()[6][6] = StoneColor.BLUE; // Center (q=0, r=0)
+        board.getHexStatus()[7][6] = StoneColor.BLUE; // East (q=1, r=0)
         // Simulate initial move to set opponentHadStones
         double initialClickX = 410 - 30 * 1.5; // West (q=-1, r=0)
         double initialClickY = 345;
         gameManager.makeMove(gc, initialClickX, initialClickY); // Valid move
         // Surround Blue stones with Red
-        board.getHexStatus()[6][5] = "Red"; // North (q=0, r=-1)
-        board.getHexStatus()[6][7] = "Red"; // South (q=0, r=1)
-        board.getHexStatus()[7][5] = "Red"; // Northeast (q=1, r=-1)
-        board.getHexStatus()[5][7] = "Red"; // Southwest (q=-1, r=1)
-        board.getHexStatus()[5][6] = "Red"; // West (q=-1, r=0)
+        board.getHexStatus()[6][5] = StoneColor.RED; // North (q=0, r=-1)
+        board.getHexStatus()[6][7] = StoneColor.RED; // South (q=0, r=1)
+        board.getHexStatus()[7][5] = StoneColor.RED; // Northeast (q=1, r=-1)
+        board.getHexStatus()[5][7] = StoneColor.RED; // Southwest (q=-1, r=1)
+        board.getHexStatus()[5][6] = StoneColor.RED; // West (q=-1, r=0)
+        gameManager.boardEdited(); // The stones were not played through makeMove
         // Simulate final move to capture
         double finalClickX = 410 + 30 * 1.5; // Southeast X
         double finalClickY = 345 + 30 * Math.sqrt(3) / 2; // Southeast Y
@@ -159,19 +160,20 @@ public class GameManagerTest {
     @Test
     void testBlueWinningCondition() throws InterruptedException {
         // Place initial Red stones
-        board.getHexStatus()[6][6] = "Red"; // Center (q=0, r=0)
-        board.getHexStatus()[7][6] = "Red"; // East (q=1, r=0)
+        board.getHexStatus()[6][6] = StoneColor.RED; // Center (q=0, r=0)
+        board.getHexStatus()[7][6] = StoneColor.RED; // East (q=1, r=0)
         player.switchTurn(); // Switch to Blue
         // Simulate initial move to set opponentHadStones
         double initialClickX = 410 - 30 * 1.5; // West (q=-1, r=0)
         double initialClickY = 345;
         gameManager.makeMove(gc, initialClickX, initialClickY); // Valid move
         // Surround Red stones with Blue
-        board.getHexStatus()[6][5] = "Blue"; // North (q=0, r=-1)
-        board.getHexStatus()[6][7] = "Blue"; // South (q=0, r=1)
-        board.getHexStatus()[7][5] = "Blue"; // Northeast (q=1, r=-1)
-        board.getHexStatus()[5][7] = "Blue"; // Southwest (q=-1, r=1)
-        board.getHexStatus()[5][6] = "Blue"; // West (q=-1, r=0)
+        board.getHexStatus()[6][5] = StoneColor.BLUE; // North (q=0, r=-1)
+        board.getHexStatus()[6][7] = StoneColor.BLUE; // South (q=0, r=1)
+        board.getHexStatus()[7][5] = StoneColor.BLUE; // Northeast (q=1, r=-1)
+        board.getHexStatus()[5][7] = StoneColor.BLUE; // Southwest (q=-1, r=1)
+        board.getHexStatus()[5][6] = StoneColor.BLUE; // West (q=-1, r=0)
+        gameManager.boardEdited(); // The stones were not played through makeMove
         // Simulate final move to capture
         double finalClickX = 410 + 30 * 1.5; // Southeast X
         double finalClickY = 345 + 30 * Math.sqrt(3) / 2; // Southeast Y
@@ -193,13 +195,13 @@ public class GameManagerTest {
      */
     @Test
     void testMoveValidationInvalidMove() {
-        board.getHexStatus()[6][6] = "Red"; // Place a Red stone
+        board.getHexStatus()[6][6] = StoneColor.RED; // Place a Red stone
         double centerX = 410; // X-coordinate of center
         double centerY = 345; // Y-coordinate of center
         java.io.ByteArrayOutputStream outContent = new java.io.ByteArrayOutputStream(); // Capture console output
         System.setOut(new java.io.PrintStream(outContent)); // Redirect output
         gameManager.makeMove(gc, centerX, centerY); // Simulate invalid move
-        assertEquals("Red", board.getHexStatus()[6][6], "Hex should remain Red"); // Verify no change
+        assertEquals(StoneColor.RED, board.getHexStatus()[6][6], "Hex should remain Red"); // Verify no change
         assertTrue(outContent.toString().contains("Invalid move!"), "Invalid move should be logged"); // Verify log
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.HashSet; // Collects distinct captured cells
+import java.util.List; // Used for captured stones
+import java.util.Random; // Picks random moves
+import java.util.Set; // Used for captured cells
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the GroupRegistry class in the HexOust game.
+ * The registry's groups are compared against a flood fill of the board after every move of random games.
+ */
+public class GroupRegistryTest {
+    private final HexGrid grid = HexGrid.STANDARD; // Cell layout of the board
+
+    /**
+     * Tests that a group touching the placed hex from two sides is captured once, with and without the registry.
+     */
+    @Test
+    void testGroupTouchingTwiceIsCapturedOnce() {
+        byte[][] hexStatus = new byte[13][13]; // Empty standard board
+        hexStatus[5][6] = StoneColor.RED; // Red pair to the west of (6, 6)
+        hexStatus[4][6] = StoneColor.RED;
+        hexStatus[7][5] = StoneColor.BLUE; // Blue pair touching (6, 6) from the north-east and the east
+        hexStatus[7][6] = StoneColor.BLUE;
+        CaptureHandler walking = new CaptureHandler(null); // Walks the groups
+        CaptureHandler registered = new CaptureHandler(null); // Reads the group records
+        GroupRegistry registry = new GroupRegistry(hexStatus);
+        registered.setRegistry(registry);
+        for (CaptureHandler handler : new CaptureHandler[]{walking, registered}) {
+            List<int[]> captured = handler.findCaptures(6, 6, hexStatus, StoneColor.RED); // Red joins its pair
+            assertEquals(2, captured.size(), "Each captured stone should be listed once"); // Verify no duplicates
+            assertEquals(2, distinctCells(captured), "Both Blue stones should be captured"); // Verify the stones
+        }
+        assertEquals(registry.groupAt(7, 5), registry.groupAt(7, 6), "Blue pair should be one group"); // Verify group
+        assertEquals(2, registry.sizeOf(registry.groupAt(7, 5)), "Blue group should have two stones"); // Verify size
+        assertEquals(2, registry.getGroupCount(), "Board should hold two groups"); // Verify count
+        MovePipeline movePipeline = new MovePipeline(new MoveValidator(registered), registered); // Play the capture
+        MoveResult result = movePipeline.play(0, 0, hexStatus, StoneColor.RED);
+        assertNotNull(result, "Capturing move should be allowed"); // Verify the move
+        assertEquals(StoneColor.EMPTY, hexStatus[7][5], "Captured stone should be removed"); // Verify removal
+        assertEquals(-1, registry.groupAt(7, 6), "Captured hex should have no group"); // Verify records
+        assertEquals(3, registry.sizeOf(registry.groupAt(6, 6)), "Red group should have three stones"); // Verify merge
+        assertEquals(1, registry.getGroupCount(), "Only Red's group should remain"); // Verify count
+    }
+
+    /**
+     * Tests that the registry matches a flood fill throughout random games, including copies and direct edits.
+     */
+    @Test
+    void testGroupsMatchFloodFill() {
+        Random random = new Random(43); // Fixed seed
+        int[] moves = new int[grid.getCellCount()]; // Legal moves buffer
+        for (int game = 0; game < 30; game++) {
+            GameState state = new GameState(); // Reference game with its own registry
+            byte[][] hexStatus = new byte[13][13]; // Board followed by the registry under test
+            CaptureHandler captureHandler = new CaptureHandler(null);
+            GroupRegistry registry = new GroupRegistry(hexStatus);
+            captureHandler.setRegistry(registry);
+            MovePipeline movePipeline = new MovePipeline(new MoveValidator(captureHandler), captureHandler);
+            for (int ply = 0; ply < 300 && state.getWinner() == StoneColor.EMPTY; ply++) {
+                int count = state.legalMoves(moves); // Generate moves
+                if (count == 0) {
+                    break; // Stalled game
+                }
+                int cell = moves[random.nextInt(count)]; // Random move
+                byte mover = state.getSideToMove();
+                MoveResult expected = state.play(cell);
+                MoveResult actual = movePipeline.play(grid.qIndex(cell) - 6, grid.rIndex(cell) - 6, hexStatus, mover);
+                String where = "game " + game + ", ply " + ply; // Failure context
+                assertNotNull(actual, where + ": move should be legal"); // Same legality
+                assertEquals(expected.getCapturedStones().size(), actual.getCapturedStones().size(), where);
+                assertEquals(distinctCells(actual.getCapturedStones()), actual.getCapturedStones().size(), where);
+                if (ply % 40 == 39) {
+                    registry.invalidate(); // Force a rebuild from the board now and then
+                }
+                assertGroups(hexStatus, registry, where); // Compare with a flood fill
+            }
+        }
+    }
+
+    /**
+     * Compares every stone's group with a flood fill of the board.
+     * @param hexStatus The board
+     * @param registry The registry to check
+     * @param where The failure context
+     */
+    private void assertGroups(byte[][] hexStatus, GroupRegistry registry, String where) {
+        int groups = 0; // Groups found by flood fill
+        boolean[] seen = new boolean[grid.getCellCount()]; // Stones already grouped
+        for (int cell = 0; cell < grid.getCellCount(); cell++) {
+            int q = grid.qIndex(cell), r = grid.rIndex(cell); // Board position
+            if (hexStatus[q][r] == StoneColor.EMPTY) {
+                assertEquals(-1, registry.groupAt(q, r), where + ": empty hex should have no group");
+                continue;
+            }
+            int group = registry.groupAt(q, r); // Recorded group
+            assertEquals(hexStatus[q][r], registry.colorOf(group), where + ": group color");
+            if (!seen[cell]) {
+                groups++; // New group
+                int[] stack = new int[grid.getCellCount()]; // Flood fill from this stone
+                int top = 0, size = 0;
+                stack[top++] = cell;
+                seen[cell] = true;
+                while (top > 0) {
+                    int c = stack[--top];
+                    size++; // Count the stone
+                    assertEquals(group, registry.groupAt(grid.qIndex(c), grid.rIndex(c)), where + ": same group");
+                    for (int n : grid.neighbours(c)) {
+                        if (!seen[n] && hexStatus[grid.qIndex(n)][grid.rIndex(n)] == hexStatus[q][r]) {
+                            seen[n] = true;
+                            stack[top++] = n;
+                        }
+                    }
+                }
+                assertEquals(size, registry.sizeOf(group), where + ": group size"); // Verify the size
+            }
+        }
+        assertEquals(groups, registry.getGroupCount(), where + ": group count"); // Verify the count
+    }
+
+    /**
+     * Counts the distinct hexes in a list of captured stones.
+     * @param stones The captured stones
+     * @return The number of distinct hexes
+     */
+    private int distinctCells(List<int[]> stones) {
+        Set<Integer> cells = new HashSet<>(); // Distinct dense indices
+        for (int[] hex : stones) {
+            cells.add(grid.cellAt(hex[0], hex[1]));
+        }
+        return cells.size(); // Return the count
+    }
+}
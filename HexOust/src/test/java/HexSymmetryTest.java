@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.BeforeEach; // Runs setup before each test
+import org.junit.jupiter.api.Test; // Marks test methods
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the HexSymmetry class in the HexOust game.
+ * Includes unit tests for the permutation tables and position canonicalisation.
+ */
+public class HexSymmetryTest {
+    private HexGrid grid; // Standard grid layout
+    private HexSymmetry symmetry; // HexSymmetry instance under test
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        grid = HexGrid.STANDARD; // Use the base-7 grid
+        symmetry = new HexSymmetry(grid); // Build the symmetry tables
+    }
+
+    /**
+     * Tests that every symmetry is a bijection that keeps the centre fixed.
+     */
+    @Test
+    void testPermutationsAreBijections() {
+        int centre = grid.cellAt(6, 6); // Centre cell
+        for (int sym = 0; sym < HexSymmetry.COUNT; sym++) {
+            boolean[] seen = new boolean[grid.getCellCount()]; // Tracks image cells
+            for (int cell = 0; cell < grid.getCellCount(); cell++) {
+                int image = symmetry.mapCell(sym, cell); // Map the cell
+                assertTrue(image >= 0, "Image should stay on the board"); // Verify image is on the hex
+                assertFalse(seen[image], "Two cells should not share an image"); // Verify injectivity
+                seen[image] = true;
+            }
+            assertEquals(centre, symmetry.mapCell(sym, centre), "Centre should be fixed"); // Verify centre
+            int inverse = symmetry.inverse(sym); // Look up the inverse
+            assertEquals(17, symmetry.mapCell(inverse, symmetry.mapCell(sym, 17)), "Inverse should undo the symmetry");
+        }
+    }
+
+    /**
+     * Tests that all symmetric images of a position share one canonical form.
+     */
+    @Test
+    void testImagesShareCanonicalForm() {
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        hexStatus[6][6] = StoneColor.RED; // Centre (q=0, r=0)
+        hexStatus[8][5] = StoneColor.BLUE; // (q=2, r=-1)
+        hexStatus[3][9] = StoneColor.RED; // (q=-3, r=3)
+        long[] packed = grid.pack(hexStatus); // Pack the position
+        long[] canonical = symmetry.canonicalise(packed); // Canonicalise the original
+        for (int sym = 0; sym < HexSymmetry.COUNT; sym++) {
+            long[] image = symmetry.transform(packed, sym); // Transform the position
+            assertArrayEquals(canonical, symmetry.canonicalise(image), "Images should share a canonical form");
+            assertTrue(HexSymmetry.compare(canonical, image) <= 0, "Canonical form should be the smallest image");
+        }
+    }
+
+    /**
+     * Tests that packing and unpacking a board round-trips the stones.
+     */
+    @Test
+    void testPackRoundTrip() {
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        hexStatus[0][12] = StoneColor.BLUE; // Corner cell (q=-6, r=6)
+        hexStatus[12][0] = StoneColor.RED; // Corner cell (q=6, r=-6)
+        byte[][] unpacked = grid.unpack(grid.pack(hexStatus)); // Round-trip the board
+        assertEquals(StoneColor.BLUE, unpacked[0][12], "Blue corner should survive packing");
+        assertEquals(StoneColor.RED, unpacked[12][0], "Red corner should survive packing");
+        assertEquals(StoneColor.EMPTY, unpacked[6][6], "Empty cells should stay empty");
+    }
+}
@@ -0,0 +1,60 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.Random; // Picks fractional points
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the HitTestMap class in the HexOust game.
+ * The raster must agree with Board.pixelToHex on every pixel of the canvas.
+ */
+public class HitTestMapTest {
+
+    /**
+     * Tests that every pixel maps to the same hex as the direct conversion.
+     */
+    @Test
+    void testMatchesPixelToHex() {
+        Board board = new Board(null, null, null); // Geometry only, nothing is drawn
+        board.resizeHitTest(800, 800); // Canvas size used by Main
+        int onBoard = 0; // Pixels inside the hexagon
+        for (int y = 0; y < 800; y++) { // Loops through rows
+            for (int x = 0; x < 800; x++) { // Loops through pixels
+                int expected = board.cellOf(board.pixelToHex(x, y)); // Direct conversion
+                assertEquals(expected, board.cellAt(x, y), "Mismatch at (" + x + ", " + y + ")"); // Verify pixel
+                if (expected >= 0) {
+                    onBoard++; // Count board pixels
+                }
+            }
+        }
+        assertTrue(onBoard > 0, "Board should cover part of the canvas"); // Verify coverage
+    }
+
+    /**
+     * Tests that fractional points, as mouse events deliver them, map to the hex of the unrounded coordinates,
+     * including points close to cell edges.
+     */
+    @Test
+    void testFractionalPointsMatchPixelToHex() {
+        Board board = new Board(null, null, null); // Geometry only
+        board.resizeHitTest(800, 800); // Canvas size used by Main
+        Random random = new Random(34); // Fixed seed
+        for (int i = 0; i < 200_000; i++) {
+            double x = random.nextDouble() * 800; // Anywhere on the canvas
+            double y = random.nextDouble() * 800;
+            int expected = board.cellOf(board.pixelToHex(x, y)); // Direct conversion
+            assertEquals(expected, board.cellAt(x, y), "Mismatch at (" + x + ", " + y + ")"); // Verify point
+        }
+    }
+
+    /**
+     * Tests that points outside the raster fall back to the direct conversion.
+     */
+    @Test
+    void testOutsideRaster() {
+        HitTestMap map = new HitTestMap(); // Empty raster
+        assertEquals(-1, map.cellAt(5, 5), "Empty raster should cover nothing"); // Verify empty raster
+        Board board = new Board(null, null, null); // Geometry only
+        board.resizeHitTest(100, 100); // Small raster that misses the board center
+        assertEquals(HexGrid.STANDARD.cellAt(6, 6), board.cellAt(410, 345), "Center should be found"); // Verify
+        assertEquals(-1, board.cellAt(-50, -50), "Far corner should be off the board"); // Verify miss
+    }
+}
@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.BeforeEach; // Runs setup before each test
+import org.junit.jupiter.api.Test; // Marks test methods
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the MovePipeline class in the HexOust game.
+ * Includes unit tests for rejected moves, captures, extra turns and win detection.
+ */
+public class MovePipelineTest {
+    private MovePipeline movePipeline; // MovePipeline instance under test
+    private byte[][] hexStatus; // Board state array
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        CaptureHandler captureHandler = new CaptureHandler(null); // The pipeline never draws
+        movePipeline = new MovePipeline(new MoveValidator(captureHandler), captureHandler); // Initialize pipeline
+        hexStatus = new byte[13][13]; // Empty board
+    }
+
+    /**
+     * Tests that a first move is placed without captures.
+     */
+    @Test
+    void testFirstMoveIsPlaced() {
+        MoveResult result = movePipeline.play(0, 0, hexStatus, StoneColor.RED); // Place at the centre
+        assertNotNull(result, "First move should be accepted"); // Verify acceptance
+        assertEquals(StoneColor.RED, hexStatus[6][6], "Stone should be placed"); // Verify placement
+        assertTrue(result.getCapturedStones().isEmpty(), "Nothing should be captured"); // Verify no captures
+        assertFalse(result.isExtraTurn(), "No extra turn without a capture"); // Verify turn passes
+        assertEquals(StoneColor.EMPTY, result.getWinner(), "Game should continue"); // Verify no winner
+    }
+
+    /**
+     * Tests that rejected moves leave the board unchanged.
+     */
+    @Test
+    void testRejectedMovesLeaveBoardUnchanged() {
+        hexStatus[6][6] = StoneColor.RED; // Place a Red stone at the center
+        assertNull(movePipeline.play(0, 0, hexStatus, StoneColor.BLUE), "Occupied hex should be rejected");
+        assertNull(movePipeline.play(1, 0, hexStatus, StoneColor.RED), "Adjacent same color should be rejected");
+        assertNull(movePipeline.play(-6, -6, hexStatus, StoneColor.BLUE), "Hex off the board should be rejected");
+        assertEquals(StoneColor.EMPTY, hexStatus[7][6], "Rejected hex should stay empty"); // Verify no change
+    }
+
+    /**
+     * Tests that a capturing move removes the group once and wins the game.
+     */
+    @Test
+    void testCaptureAndWin() {
+        hexStatus[6][6] = StoneColor.BLUE; // Place a Blue stone at the center
+        hexStatus[7][6] = StoneColor.RED; // Place a Red stone East
+        hexStatus[5][6] = StoneColor.RED; // Place a Red stone West
+        hexStatus[6][5] = StoneColor.RED; // Place a Red stone North
+        hexStatus[6][7] = StoneColor.RED; // Place a Red stone South
+        hexStatus[7][5] = StoneColor.RED; // Place a Red stone Northeast
+        movePipeline.setOpponentHadStones(true); // Blue has been on the board
+        MoveResult result = movePipeline.play(-1, 1, hexStatus, StoneColor.RED); // Place Southwest to capture
+        assertNotNull(result, "Capturing move should be accepted"); // Verify acceptance
+        assertEquals(StoneColor.EMPTY, hexStatus[6][6], "Blue stone should be captured"); // Verify capture
+        assertEquals(StoneColor.RED, hexStatus[5][7], "Capturing stone should be placed"); // Verify placement
+        assertTrue(result.isExtraTurn(), "Capture should grant an extra turn"); // Verify extra turn
+        assertEquals(StoneColor.RED, result.getWinner(), "Red should win once Blue has no stones"); // Verify winner
+    }
+}
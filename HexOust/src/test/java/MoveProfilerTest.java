@@ -0,0 +1,139 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the MoveProfiler class in the HexOust game.
+ * Phase accounting runs on fake counters that advance by a fixed step at every read; allocation accounting runs
+ * on the JVM's own counters.
+ */
+public class MoveProfilerTest {
+    private long reads; // Counter reads so far
+    private byte[] sink; // Keeps an allocation alive
+
+    /**
+     * Fake counters: every read of a counter advances it by one step, so each phase boundary costs exactly
+     * 10 ns of wall time, 4 ns of CPU time and 100 bytes.
+     */
+    private final MoveProfiler.Counters counters = new MoveProfiler.Counters() {
+        @Override
+        public long wallNanos() {
+            return 10 * ++reads; // Advances one step per boundary
+        }
+
+        @Override
+        public long cpuNanos() {
+            return 4 * reads; // Read after wallNanos
+        }
+
+        @Override
+        public long allocatedBytes() {
+            return 100 * reads; // Read after wallNanos
+        }
+    };
+
+    /**
+     * Tests that the pipeline charges each phase at its boundaries, that rejected moves are dropped, and that the
+     * rolling average covers only the window.
+     */
+    @Test
+    void testPhasesAndRollingAverage() {
+        CaptureHandler captureHandler = new CaptureHandler(null); // The pipeline never draws
+        MovePipeline pipeline = new MovePipeline(new MoveValidator(captureHandler), captureHandler);
+        MoveProfiler profiler = new MoveProfiler(2, counters); // Average over two moves
+        pipeline.setProfiler(profiler);
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        play(profiler, pipeline, hexStatus, 0, 0, StoneColor.RED); // Opening move
+        assertEquals(1, profiler.getMoveCount(), "Played move should count"); // Verify counted
+        assertEquals(20, profiler.getLast(MoveProfiler.Phase.VALIDATE, MoveProfiler.Metric.WALL),
+                "Validation and its cache update are two boundaries"); // Verify split phase adds up
+        assertEquals(20, profiler.getLast(MoveProfiler.Phase.CAPTURE, MoveProfiler.Metric.WALL),
+                "Capture search and group records are two boundaries"); // Verify split phase adds up
+        assertEquals(10, profiler.getLast(MoveProfiler.Phase.APPLY, MoveProfiler.Metric.WALL), "Apply is one");
+        assertEquals(4, profiler.getLast(MoveProfiler.Phase.WIN_CHECK, MoveProfiler.Metric.CPU), "Win check is one");
+        assertEquals(100, profiler.getLast(MoveProfiler.Phase.RENDER, MoveProfiler.Metric.BYTES), "Render is one");
+
+        profiler.begin(); // Adjacent to Red's own stone without a capture
+        assertNull(pipeline.play(1, 0, hexStatus, StoneColor.RED), "Move should be rejected");
+        profiler.cancel(); // As GameManager does
+        assertEquals(1, profiler.getMoveCount(), "Rejected move should not count"); // Verify dropped
+
+        RenderScheduler scheduler = new RenderScheduler(new RenderScheduler.Painter() {
+            @Override
+            public void paintAll() {
+            }
+
+            @Override
+            public void paintCell(int boardQ, int boardR) {
+                reads += 2; // Drawing takes two steps
+            }
+        });
+        scheduler.setProfiler(profiler);
+        play(profiler, pipeline, hexStatus, 3, 0, StoneColor.BLUE); // Second move, drawn on the next pulse
+        scheduler.markDirty(9, 6);
+        scheduler.flush(); // Charged to the second move
+        assertEquals(10 + 30, profiler.getLast(MoveProfiler.Phase.RENDER, MoveProfiler.Metric.WALL),
+                "Deferred drawing should be charged to the move"); // Verify deferred render
+        scheduler.markDirty(9, 6);
+        scheduler.flush(); // Nothing to do with any move
+        assertEquals(40, profiler.getLast(MoveProfiler.Phase.RENDER, MoveProfiler.Metric.WALL),
+                "Later frames should not be charged"); // Verify only once
+        assertEquals((10 + 40) / 2.0, profiler.getAverage(MoveProfiler.Phase.RENDER, MoveProfiler.Metric.WALL),
+                "Average should include the deferred drawing"); // Verify average
+
+        play(profiler, pipeline, hexStatus, -3, 0, StoneColor.RED); // Third move pushes the first out
+        assertEquals((40 + 10) / 2.0, profiler.getAverage(MoveProfiler.Phase.RENDER, MoveProfiler.Metric.WALL),
+                "Average should cover only the window"); // Verify rolling window
+        String table = profiler.format(); // Overlay text
+        for (MoveProfiler.Phase phase : MoveProfiler.Phase.values()) {
+            assertTrue(table.contains(phase.getLabel()), "Table should show " + phase.getLabel()); // Verify rows
+        }
+        assertTrue(table.contains("total"), "Table should show the total"); // Verify total row
+    }
+
+    /**
+     * Tests that the platform counters see an allocation in the phase that made it.
+     */
+    @Test
+    void testPlatformCountersMeasureAllocation() {
+        MoveProfiler profiler = new MoveProfiler(8); // Real ThreadMXBean
+        profiler.begin();
+        profiler.mark(MoveProfiler.Phase.VALIDATE); // Nothing allocated
+        sink = new byte[1 << 20]; // One megabyte
+        profiler.mark(MoveProfiler.Phase.APPLY);
+        profiler.end();
+        assertTrue(sink.length > 0); // Keep the array
+        assertTrue(profiler.getLast(MoveProfiler.Phase.APPLY, MoveProfiler.Metric.BYTES) >= 1 << 20,
+                "Allocation should be charged to its phase"); // Verify allocation seen
+        assertTrue(profiler.getLast(MoveProfiler.Phase.VALIDATE, MoveProfiler.Metric.BYTES) < 1 << 20,
+                "Other phases should not see it"); // Verify attribution
+        assertTrue(profiler.getLast(MoveProfiler.Phase.APPLY, MoveProfiler.Metric.WALL) > 0, "Time should pass");
+    }
+
+    /**
+     * Tests that a malformed or non-positive --profile window falls back to the default instead of failing.
+     */
+    @Test
+    void testParseWindow() {
+        assertEquals(50, MoveProfiler.parseWindow("50"), "Valid window should be used"); // Verify the value
+        assertEquals(MoveProfiler.DEFAULT_WINDOW, MoveProfiler.parseWindow("abc"), "Text should fall back");
+        assertEquals(MoveProfiler.DEFAULT_WINDOW, MoveProfiler.parseWindow("0"), "Zero should fall back");
+        assertEquals(MoveProfiler.DEFAULT_WINDOW, MoveProfiler.parseWindow("-3"), "Negative should fall back");
+    }
+
+    /**
+     * Plays and profiles one move the way GameManager does, with an empty render phase.
+     * @param profiler The profiler
+     * @param pipeline The pipeline, measured by the profiler
+     * @param hexStatus The board
+     * @param q The q-coordinate in cube coordinates
+     * @param r The r-coordinate in cube coordinates
+     * @param side The player moving
+     */
+    private static void play(MoveProfiler profiler, MovePipeline pipeline, byte[][] hexStatus, int q, int r,
+                             byte side) {
+        profiler.begin(); // Baseline
+        assertNotNull(pipeline.play(q, r, hexStatus, side), "Move should be accepted");
+        profiler.mark(MoveProfiler.Phase.RENDER); // Nothing drawn directly
+        profiler.end();
+    }
+}
@@ -13,7 +13,7 @@ import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
 public class MoveValidatorTest {
     private MoveValidator moveValidator; // MoveValidator instance under test
     private Board board; // Board instance for game state
-    private String[][] hexStatus; // Board state array
+    private byte[][] hexStatus; // Board state array
     private Player player; // Player instance for game context
     private CaptureHandler captureHandler; // CaptureHandler instance for capture logic
 
@@ -55,8 +55,8 @@ public class MoveValidatorTest {
      */
     @Test
     void testInvalidAdjacentSameColor() {
-        hexStatus[6][6] = "Red"; // Place a Red stone at the center
-        boolean isValid = moveValidator.isValidMove(1, 0, hexStatus, "Red"); // Try placing adjacent Red
+        hexStatus[6][6] = StoneColor.RED; // Place a Red stone at the center
+        boolean isValid = moveValidator.isValidMove(1, 0, hexStatus, StoneColor.RED); // Try placing adjacent Red
         assertFalse(isValid, "Adjacent same color without capture should be invalid"); // Verify invalid move
     }
 
@@ -65,8 +65,8 @@ public class MoveValidatorTest {
      */
     @Test
     void testInvalidMoveOccupiedHex() {
-        hexStatus[6][6] = "Red"; // Place a Red stone at the center
-        boolean isValid = moveValidator.isValidMove(0, 0, hexStatus, "Blue"); // Try placing in same hex
+        hexStatus[6][6] = StoneColor.RED; // Place a Red stone at the center
+        boolean isValid = moveValidator.isValidMove(0, 0, hexStatus, StoneColor.BLUE); // Try placing in same hex
         assertFalse(isValid, "Placing a stone in an occupied hex should be invalid"); // Verify invalid move
     }
 
@@ -75,7 +75,7 @@ public class MoveValidatorTest {
      */
     @Test
     void testValidMoveEmptyHex() {
-        boolean isValid = moveValidator.isValidMove(0, 0, hexStatus, "Red"); // Try placing in empty hex
+        boolean isValid = moveValidator.isValidMove(0, 0, hexStatus, StoneColor.RED); // Try placing in empty hex
         assertTrue(isValid, "Placing a stone in an empty hex should be valid"); // Verify valid move
     }
 
@@ -84,13 +84,13 @@ public class MoveValidatorTest {
      */
     @Test
     void testValidMoveWithCapture() {
-        hexStatus[6][6] = "Blue"; // Place a Blue stone at the center
-        hexStatus[7][6] = "Red"; // Place a Red stone East
-        hexStatus[5][6] = "Red"; // Place a Red stone West
-        hexStatus[6][5] = "Red"; // Place a Red stone North
-        hexStatus[6][7] = "Red"; // Place a Red stone South
-        hexStatus[7][5] = "Red"; // Place a Red stone Northeast
-        boolean isValid = moveValidator.isValidMove(-1, 1, hexStatus, "Red"); // Try placing Southeast
+        hexStatus[6][6] = StoneColor.BLUE; // Place a Blue stone at the center
+        hexStatus[7][6] = StoneColor.RED; // Place a Red stone East
+        hexStatus[5][6] = StoneColor.RED; // Place a Red stone West
+        hexStatus[6][5] = StoneColor.RED; // Place a Red stone North
+        hexStatus[6][7] = StoneColor.RED; // Place a Red stone South
+        hexStatus[7][5] = StoneColor.RED; // Place a Red stone Northeast
+        boolean isValid = moveValidator.isValidMove(-1, 1, hexStatus, StoneColor.RED); // Try placing Southeast
         assertTrue(isValid, "Move resulting in a capture should be valid"); // Verify valid move
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.concurrent.ForkJoinPool; // Runs the parallel count
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the Perft class in the HexOust game.
+ * The fixed node counts are a regression oracle for the rules in MoveValidator, CaptureHandler and Player.
+ */
+public class PerftTest {
+
+    /**
+     * Tests the node counts from the empty board.
+     */
+    @Test
+    void testNodeCountsFromEmptyBoard() {
+        GameState state = new GameState(); // Empty board, Red to move
+        assertEquals(127, Perft.count(state, 1), "Every hex is open for the first move"); // Verify depth 1
+        assertEquals(16002, Perft.count(state, 2), "Blue may reply anywhere else"); // Verify depth 2
+        ForkJoinPool pool = new ForkJoinPool(4); // Small pool for the deeper count
+        try {
+            assertEquals(1917876, Perft.countParallel(state, 3, pool), "Depth 3 count changed"); // Verify depth 3
+        } finally {
+            pool.shutdown(); // Release the workers
+        }
+    }
+
+    /**
+     * Tests that a capture keeps the turn and that counting leaves the position unchanged.
+     */
+    @Test
+    void testCaptureKeepsTurn() {
+        GameState state = new GameState(); // Empty board, Red to move
+        state.play(6, 6); // Red at the center
+        state.play(8, 5); // Blue at (q=2, r=-1)
+        MoveResult result = state.play(7, 5); // Red joins the center stone and captures
+        assertNotNull(result, "Capturing move should be legal"); // Verify legality
+        assertTrue(result.isExtraTurn(), "Capture should grant an extra turn"); // Verify extra turn
+        assertEquals(StoneColor.RED, state.getSideToMove(), "Red should move again"); // Verify side to move
+        long before = Perft.count(state, 2); // Count the subtree
+        assertEquals(before, Perft.count(state, 2), "Counting should not change the position"); // Verify purity
+    }
+}
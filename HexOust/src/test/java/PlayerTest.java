@@ -22,7 +22,7 @@ public class PlayerTest {
      */
     @Test
     void testInitialPlayerIsRed() {
-        assertEquals("Red", player.getCurrentPlayer(), "Initial player should be Red"); // Verify initial player
+        assertEquals(StoneColor.RED, player.getCurrentPlayer(), "Initial player should be Red"); // Verify initial player
     }
 
     /**
@@ -31,7 +31,7 @@ public class PlayerTest {
     @Test
     void testSwitchTurnOnceChangesToBlue() {
         player.switchTurn(); // Switch turn from Red to Blue
-        assertEquals("Blue", player.getCurrentPlayer(), "After one turn switch, the player should be Blue"); // Verify Blue
+        assertEquals(StoneColor.BLUE, player.getCurrentPlayer(), "After one turn switch, the player should be Blue"); // Verify Blue
     }
 
     /**
@@ -41,6 +41,16 @@ public class PlayerTest {
     void testSwitchTurnTwiceReturnsToRed() {
         player.switchTurn(); // Switch to Blue
         player.switchTurn(); // Switch back to Red
-        assertEquals("Red", player.getCurrentPlayer(), "After two turn switches, the player should be Red"); // Verify Red
+        assertEquals(StoneColor.RED, player.getCurrentPlayer(), "After two turn switches, the player should be Red"); // Verify Red
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the --bot option accepts either player in any case and falls back to no bot otherwise.
+     */
+    @Test
+    void testParseBot() {
+        assertEquals(StoneColor.RED, StoneColor.parseBot("red"), "Lower case should be accepted"); // Verify Red
+        assertEquals(StoneColor.BLUE, StoneColor.parseBot(" Blue "), "Spaces should be ignored"); // Verify Blue
+        assertEquals(StoneColor.EMPTY, StoneColor.parseBot("Green"), "Unknown player should mean no bot"); // Verify
+    }
+}
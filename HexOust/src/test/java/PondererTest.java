@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.concurrent.atomic.AtomicInteger; // Receives the claimed move
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the Ponderer class in the HexOust game.
+ * Pondering runs on the test thread and moves are delivered directly, so no JavaFX toolkit is needed.
+ */
+public class PondererTest {
+
+    /**
+     * Tests that a predicted reply is answered with the move a fresh search would choose.
+     */
+    @Test
+    void testPredictedReplyIsAnswered() {
+        GameState humanToMove = opening(); // Blue, the human, to move
+        Ponderer ponderer = new Ponderer(StoneColor.RED, 2, 10_000, 3, Runnable::run); // Red is the computer
+        ponderer.run(humanToMove); // Ponder to the end
+        assertTrue(ponderer.getAnswerCount() > 0, "Some replies should be answered"); // Verify pondering
+        GameState reached = humanToMove.copy(); // The human plays the most likely reply
+        reached.play(predictedReply(humanToMove));
+        AtomicInteger move = new AtomicInteger(-1); // Claimed move
+        assertTrue(ponderer.claim(reached, 10_000, listener(move)), "Predicted reply should be covered"); // Verify hit
+        assertEquals(new BotSearch(2, 10_000).search(reached, null), move.get(), "Answer should match a fresh search");
+    }
+
+    /**
+     * Tests that an unexpected reply needs a normal search and that a cancelled ponderer delivers nothing.
+     */
+    @Test
+    void testMissAndCancel() {
+        GameState humanToMove = opening(); // Blue, the human, to move
+        Ponderer ponderer = new Ponderer(StoneColor.RED, 2, 10_000, 1, Runnable::run); // One reply only
+        ponderer.run(humanToMove); // Ponder to the end
+        int[] moves = new int[HexGrid.STANDARD.getCellCount()]; // Blue's legal moves
+        int count = humanToMove.legalMoves(moves);
+        int predicted = predictedReply(humanToMove); // The only pondered reply
+        GameState reached = humanToMove.copy(); // The human plays something else
+        reached.play(moves[0] != predicted ? moves[0] : moves[count - 1]);
+        AtomicInteger move = new AtomicInteger(-1); // Claimed move
+        assertFalse(ponderer.claim(reached, 10_000, listener(move)), "Unexpected reply should miss"); // Verify miss
+        Ponderer cancelled = new Ponderer(StoneColor.RED, 2, 10_000, 1, Runnable::run); // Another turn
+        cancelled.run(humanToMove);
+        cancelled.cancel(); // Restart before the human moves
+        GameState hit = humanToMove.copy(); // The predicted reply
+        hit.play(predicted);
+        cancelled.claim(hit, 10_000, listener(move)); // Claim after cancelling
+        assertEquals(-1, move.get(), "Cancelled ponderer should deliver no move"); // Verify drop
+    }
+
+    /**
+     * Builds a short opening with Blue to move and no captures available to Blue.
+     * @return The position
+     */
+    private static GameState opening() {
+        GameState state = new GameState(); // Empty board, Red to move
+        state.play(6, 6); // Red at the center
+        state.play(12, 0); // Blue in a corner
+        state.play(0, 12); // Red in the opposite corner
+        return state; // Blue to move
+    }
+
+    /**
+     * Finds the human reply the ponderer considers most likely.
+     * @param humanToMove The position with the human to move
+     * @return The dense cell index of the reply
+     */
+    private static int predictedReply(GameState humanToMove) {
+        return new BotSearch(1, 10_000).search(humanToMove, null); // Same shallow search as the ponderer
+    }
+
+    /**
+     * Creates a listener that records the move it receives.
+     * @param move Receives the move
+     * @return The listener
+     */
+    private static SearchListener listener(AtomicInteger move) {
+        return new SearchListener() {
+            @Override
+            public void onProgress(int depth, int bestCell, int score, long nodes) {
+            }
+
+            @Override
+            public void onComplete(int bestCell) {
+                move.set(bestCell); // Record the move
+            }
+        };
+    }
+}
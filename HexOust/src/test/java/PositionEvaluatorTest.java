@@ -0,0 +1,125 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.HashSet; // Collects distinct captured cells
+import java.util.Random; // Picks random moves
+import java.util.Set; // Used for captured cells
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the PositionEvaluator class in the HexOust game.
+ * The incrementally maintained features are compared against a full recount after every move of random games.
+ */
+public class PositionEvaluatorTest {
+    private final HexGrid grid = HexGrid.STANDARD; // Cell layout of the board
+    private final CaptureHandler captureHandler = new CaptureHandler(null); // Reference capture rules
+    private final MoveValidator moveValidator = new MoveValidator(captureHandler); // Reference move rules
+
+    /**
+     * Tests the features of a small hand-built position.
+     */
+    @Test
+    void testFeaturesOfSmallPosition() {
+        GameState state = new GameState(); // Empty board, Red to move
+        PositionEvaluator evaluator = state.getEvaluator(); // Features of the state
+        assertEquals(127, evaluator.getLegalMoveCount(StoneColor.RED), "Every hex is open on the empty board");
+        state.play(6, 6); // Red at the center
+        state.play(8, 5); // Blue at (q=2, r=-1)
+        assertEquals(1, evaluator.getStoneCount(StoneColor.RED), "Red has one stone"); // Verify stones
+        assertEquals(1, evaluator.getExposure(StoneColor.BLUE), "Red can capture the lone Blue stone"); // Verify exposure
+        state.play(7, 5); // Red joins the center stone and captures
+        assertEquals(2, evaluator.getLargestGroup(StoneColor.RED), "Red's group has two stones"); // Verify largest group
+        assertEquals(0, evaluator.getStoneCount(StoneColor.BLUE), "Blue's stone was captured"); // Verify capture
+        assertEquals(0, evaluator.getGroupCount(StoneColor.BLUE), "Blue has no groups left"); // Verify groups
+    }
+
+    /**
+     * Tests that incremental features match a full recount throughout random games, including copies.
+     */
+    @Test
+    void testIncrementalFeaturesMatchRecount() {
+        Random random = new Random(39); // Fixed seed
+        int[] moves = new int[grid.getCellCount()]; // Legal moves buffer
+        for (int game = 0; game < 30; game++) {
+            GameState state = new GameState(); // Empty board, Red to move
+            for (int ply = 0; ply < 300 && state.getWinner() == StoneColor.EMPTY; ply++) {
+                int count = state.legalMoves(moves); // Generate moves
+                if (count == 0) {
+                    break; // Stalled game
+                }
+                if (ply % 25 == 0) {
+                    state = state.copy(); // Continue on a copy now and then
+                }
+                state.play(moves[random.nextInt(count)]); // Random move
+                String where = "game " + game + ", ply " + ply; // Failure context
+                assertFeatures(state.getHexStatus(), state.getEvaluator(), where); // Compare incremental features
+                PositionEvaluator rebuilt = new PositionEvaluator(grid); // Rebuild from the board
+                rebuilt.rebuild(state.getHexStatus());
+                assertEquals(state.evaluate(), rebuilt.evaluate(state.getSideToMove()), where); // Same score
+            }
+        }
+    }
+
+    /**
+     * Compares every feature of both players with a full recount of the board.
+     * @param hexStatus The board
+     * @param evaluator The features to check
+     * @param where The failure context
+     */
+    private void assertFeatures(byte[][] hexStatus, PositionEvaluator evaluator, String where) {
+        for (byte player = StoneColor.RED; player <= StoneColor.BLUE; player++) { // Both players
+            int stones = 0, groups = 0, largest = 0, legal = 0, exposure = 0; // Recounted features
+            boolean[] seen = new boolean[grid.getCellCount()]; // Stones already grouped
+            for (int cell = 0; cell < grid.getCellCount(); cell++) {
+                int q = grid.qIndex(cell), r = grid.rIndex(cell); // Board position
+                if (hexStatus[q][r] == player) {
+                    stones++; // Count the stone
+                    if (!seen[cell]) {
+                        groups++; // New group
+                        largest = Math.max(largest, groupSize(hexStatus, cell, seen));
+                    }
+                }
+                if (moveValidator.isLegal(q, r, hexStatus, player)) {
+                    legal++; // Count the legal move
+                }
+                if (hexStatus[q][r] == StoneColor.EMPTY) { // Distinct stones the opponent captures here
+                    Set<Integer> captured = new HashSet<>();
+                    for (int[] hex : captureHandler.findCaptures(q, r, hexStatus, StoneColor.opponent(player))) {
+                        captured.add(grid.cellAt(hex[0], hex[1]));
+                    }
+                    exposure = Math.max(exposure, captured.size());
+                }
+            }
+            String name = StoneColor.name(player) + " at " + where; // Failure context
+            assertEquals(stones, evaluator.getStoneCount(player), name + ": stone count"); // Verify stones
+            assertEquals(groups, evaluator.getGroupCount(player), name + ": group count"); // Verify groups
+            assertEquals(largest, evaluator.getLargestGroup(player), name + ": largest group"); // Verify largest
+            assertEquals(legal, evaluator.getLegalMoveCount(player), name + ": legal moves"); // Verify mobility
+            assertEquals(exposure, evaluator.getExposure(player), name + ": exposure"); // Verify exposure
+        }
+    }
+
+    /**
+     * Counts a group by flood fill, marking its stones as seen.
+     * @param hexStatus The board
+     * @param start A stone of the group
+     * @param seen Stones already grouped
+     * @return The group size
+     */
+    private int groupSize(byte[][] hexStatus, int start, boolean[] seen) {
+        byte player = hexStatus[grid.qIndex(start)][grid.rIndex(start)]; // Owner of the group
+        int[] stack = new int[grid.getCellCount()]; // Cells to visit
+        int top = 0, size = 0;
+        stack[top++] = start;
+        seen[start] = true;
+        while (top > 0) {
+            int cell = stack[--top];
+            size++; // Count the stone
+            for (int n : grid.neighbours(cell)) {
+                if (!seen[n] && hexStatus[grid.qIndex(n)][grid.rIndex(n)] == player) {
+                    seen[n] = true;
+                    stack[top++] = n;
+                }
+            }
+        }
+        return size; // Return the size
+    }
+}
@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import org.junit.jupiter.api.io.TempDir; // Provides a temporary directory
+import java.io.IOException; // Thrown by the failing store
+import java.nio.file.Files; // Used for reading the export
+import java.nio.file.Path; // Locates files
+import java.util.List; // Used for export lines
+import java.util.concurrent.atomic.AtomicLong; // Accumulates parallel scan results
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the PositionStore class in the HexOust game.
+ * Includes unit tests for appending, reopening, result labelling, parallel scans and export.
+ */
+public class PositionStoreTest {
+    @TempDir
+    Path tempDir; // Fresh directory per test
+
+    /**
+     * Tests that records survive closing and reopening the store.
+     * @throws Exception if the store cannot be used
+     */
+    @Test
+    void testAppendAndReopen() throws Exception {
+        Path file = tempDir.resolve("positions.bin"); // Store file
+        BoardSnapshot board = BoardSnapshot.empty(HexGrid.STANDARD).with(6, 6, StoneColor.RED); // Red at the center
+        try (PositionStore store = new PositionStore(file, HexGrid.STANDARD)) {
+            store.append(BoardSnapshot.empty(HexGrid.STANDARD).pack(), StoneColor.RED, HexGrid.STANDARD.cellAt(6, 6));
+            store.append(board.pack(), StoneColor.BLUE, HexGrid.STANDARD.cellAt(7, 6)); // Blue's reply
+            store.setResult(0, 2, StoneColor.BLUE); // Blue won this game
+        }
+        try (PositionStore store = new PositionStore(file, HexGrid.STANDARD)) {
+            assertEquals(2, store.size(), "Both records should be kept"); // Verify count
+            assertArrayEquals(board.pack(), store.board(1), "Board should round-trip"); // Verify board
+            assertEquals(StoneColor.BLUE, store.sideToMove(1), "Side to move should round-trip"); // Verify side
+            assertEquals(HexGrid.STANDARD.cellAt(7, 6), store.move(1), "Move should round-trip"); // Verify move
+            assertEquals(StoneColor.BLUE, store.winner(0), "Result should be recorded"); // Verify result
+            store.append(board.pack(), StoneColor.RED, -1); // Append after reopening
+            assertEquals(StoneColor.EMPTY, store.winner(2), "New game should have no result yet"); // Verify unknown result
+        }
+    }
+
+    /**
+     * Tests parallel scanning and CSV export.
+     * @throws Exception if the store cannot be used
+     */
+    @Test
+    void testParallelScanAndExport() throws Exception {
+        try (PositionStore store = new PositionStore(tempDir.resolve("scan.bin"), HexGrid.STANDARD)) {
+            BoardSnapshot board = BoardSnapshot.empty(HexGrid.STANDARD); // Start empty
+            for (int i = 0; i < 1000; i++) {
+                store.append(board.pack(), i % 2 == 0 ? StoneColor.RED : StoneColor.BLUE, i % HexGrid.STANDARD.getCellCount());
+            }
+            AtomicLong redMoves = new AtomicLong(); // Counted from many threads
+            store.parallelScan(index -> {
+                if (store.sideToMove(index) == StoneColor.RED) {
+                    redMoves.incrementAndGet(); // Count Red records
+                }
+            });
+            assertEquals(500, redMoves.get(), "Half of the records should be Red's"); // Verify scan
+            Path csv = tempDir.resolve("positions.csv"); // Export file
+            store.exportCsv(csv); // Export the records
+            List<String> lines = Files.readAllLines(csv); // Read the export
+            assertEquals(1001, lines.size(), "Export should have a header and one row per record");
+        }
+    }
+
+    /**
+     * Tests that a failed write turns recording off instead of failing the move.
+     * @throws Exception if the store cannot be opened
+     */
+    @Test
+    void testRecorderDisablesOnWriteFailure() throws Exception {
+        try (PositionStore store = new PositionStore(tempDir.resolve("full.bin"), HexGrid.STANDARD) {
+            @Override
+            public synchronized long append(long[] packed, byte sideToMove, int moveCell) throws IOException {
+                throw new IOException("No space left on device"); // Simulate a full disk
+            }
+        }) {
+            PositionRecorder recorder = new PositionRecorder(store);
+            MoveResult move = new MoveResult(6, 6, StoneColor.RED, List.of(), StoneColor.EMPTY); // Red at the center
+            assertDoesNotThrow(() -> recorder.onMove(BoardSnapshot.empty(HexGrid.STANDARD), move),
+                    "A failed write should not reach the move handler"); // Verify swallowed
+            assertTrue(recorder.isDisabled(), "Recording should be turned off"); // Verify disabled
+            assertEquals(0, store.size(), "Nothing should be recorded"); // Verify no record
+        }
+    }
+
+    /**
+     * Tests that a game lost on time is labelled with the opponent's win.
+     * @throws Exception if the store cannot be used
+     */
+    @Test
+    void testRecorderLabelsGameLostOnTime() throws Exception {
+        try (PositionStore store = new PositionStore(tempDir.resolve("timeout.bin"), HexGrid.STANDARD)) {
+            PositionRecorder recorder = new PositionRecorder(store);
+            BoardSnapshot board = BoardSnapshot.empty(HexGrid.STANDARD);
+            MoveResult red = new MoveResult(6, 6, StoneColor.RED, List.of(), StoneColor.EMPTY); // Red at the center
+            recorder.onMove(board, red);
+            MoveResult blue = new MoveResult(8, 5, StoneColor.BLUE, List.of(), StoneColor.EMPTY); // Blue nearby
+            recorder.onMove(board.apply(red), blue);
+            recorder.onTimeout(StoneColor.RED); // Red's flag falls
+            assertEquals(StoneColor.BLUE, store.winner(0), "Blue should win on time"); // Verify first record
+            assertEquals(StoneColor.BLUE, store.winner(1), "Blue should win on time"); // Verify last record
+        }
+    }
+}
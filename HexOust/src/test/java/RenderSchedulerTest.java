@@ -0,0 +1,56 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.ArrayList; // Used for recording draws
+import java.util.List; // Used for recording draws
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the RenderScheduler class in the HexOust game.
+ * Flushes are triggered directly, so no JavaFX pulse is needed.
+ */
+public class RenderSchedulerTest {
+    private final List<String> draws = new ArrayList<>(); // Draw calls in order
+    private final RenderScheduler scheduler = new RenderScheduler(new RenderScheduler.Painter() {
+        @Override
+        public void paintAll() {
+            draws.add("all"); // Record a full redraw
+        }
+
+        @Override
+        public void paintCell(int boardQ, int boardR) {
+            draws.add(boardQ + "," + boardR); // Record a cell draw
+        }
+    });
+
+    /**
+     * Tests that repeated requests for a cell are drawn once per flush.
+     */
+    @Test
+    void testCoalescesCellRequests() {
+        scheduler.markDirty(6, 6); // Stone placed at the center
+        scheduler.markDirty(7, 6); // Stone placed East
+        scheduler.markDirty(6, 6); // Center captured before the pulse
+        scheduler.markDirty(0, 0); // Off the hexagon, ignored
+        scheduler.flush(); // Pulse
+        assertEquals(List.of("6,6", "7,6"), draws, "Each dirty cell should be drawn once"); // Verify draws
+        scheduler.flush(); // Pulse with nothing pending
+        assertEquals(2, draws.size(), "An idle pulse should draw nothing"); // Verify idle pulse
+        assertEquals(1, scheduler.getFrameCount(), "Only one frame should have drawn"); // Verify statistics
+        assertEquals(4, scheduler.getRequestCount(), "Every request should be counted"); // Verify statistics
+    }
+
+    /**
+     * Tests that a full redraw replaces pending cell draws.
+     */
+    @Test
+    void testFullRedrawSupersedesCells() {
+        scheduler.markDirty(6, 6); // Pending cell
+        scheduler.requestFullRedraw(); // Restart
+        scheduler.markDirty(7, 6); // Covered by the full redraw
+        scheduler.flush(); // Pulse
+        assertEquals(List.of("all"), draws, "Only the full redraw should run"); // Verify draws
+        assertFalse(scheduler.hasPending(), "Nothing should be left pending"); // Verify queue
+        scheduler.markDirty(6, 6); // Cell flags were cleared
+        scheduler.flush(); // Pulse
+        assertEquals(List.of("all", "6,6"), draws, "Cell should be drawable again"); // Verify flags reset
+    }
+}
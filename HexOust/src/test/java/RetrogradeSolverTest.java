@@ -0,0 +1,131 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import org.junit.jupiter.api.io.TempDir; // Provides a temporary directory
+import java.io.IOException; // Thrown by table files
+import java.nio.file.Path; // Locates the table file
+import java.util.concurrent.ForkJoinPool; // Runs the solver
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the RetrogradeSolver and SolverTable classes in the HexOust game.
+ * The radius 1 board of seven hexes is small enough to solve completely; on radius 2 an endgame is solved.
+ */
+public class RetrogradeSolverTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(2); // Two workers, even on one core
+
+    /**
+     * Tests that every solved value agrees with the values of the position's moves.
+     */
+    @Test
+    void testValuesAreConsistent() {
+        SolverTable table = new RetrogradeSolver(10_000, POOL).solve(new GameState(HexGrid.of(1))); // Whole board
+        assertTrue(table.size() > 1, "Positions should be enumerated"); // Verify enumeration
+        assertConsistent(table);
+    }
+
+    /**
+     * Tests that a radius 2 endgame with captures solves, and that its values agree with moves played by GameState.
+     */
+    @Test
+    void testSolvesRadiusTwoEndgame() {
+        int[][] line = {{2, 4}, {4, 0}, {2, 0}, {3, 0}, {3, 2}, {1, 2}, {2, 3}, {1, 1}, {2, 0}, {0, 3}, {2, 1},
+                {2, 2}, {1, 4}, {3, 1}, {3, 3}, {2, 4}, {2, 3}}; // A random game from seed 314
+        GameState root = new GameState(HexGrid.of(2));
+        for (int[] move : line) {
+            assertNotNull(root.play(move[0], move[1]), "Line should be legal"); // Reach the endgame
+        }
+        SolverTable table = new RetrogradeSolver(1_000_000, POOL).solve(root); // Everything that follows
+        assertTrue(table.size() > 10_000, "Endgame should not be trivial"); // Verify enumeration
+        assertConsistent(table);
+        assertEquals(SolverTable.result(SolverTable.WIN, 2), table.lookup(root), "Mover should win in 2 plies");
+    }
+
+    /**
+     * Checks every position of a table against one-ply minimax over the moves GameState allows.
+     * @param table The solved table
+     */
+    private static void assertConsistent(SolverTable table) {
+        int[] moves = new int[table.getGrid().getCellCount()];
+        for (int i = 0; i < table.size(); i++) {
+            GameState state = table.state(table.keyAt(i)); // Rebuild the position
+            int moveCount = state.legalMoves(moves);
+            int winIn = Integer.MAX_VALUE; // Fastest win found
+            int lossIn = 0; // Slowest loss found
+            boolean drawing = false; // Some move draws
+            for (int m = 0; m < moveCount; m++) {
+                GameState child = state.copy(); // Play the move
+                child.play(moves[m]);
+                if (child.getWinner() != StoneColor.EMPTY) {
+                    winIn = 1; // Immediate win
+                    continue;
+                }
+                int result = table.lookup(child); // Child's value for its side to move
+                assertNotEquals(SolverTable.UNKNOWN, SolverTable.value(result), "Children should be solved");
+                int value = child.getSideToMove() == state.getSideToMove() ? SolverTable.value(result)
+                        : SolverTable.flip(SolverTable.value(result)); // Mover's view
+                if (value == SolverTable.WIN) {
+                    winIn = Math.min(winIn, SolverTable.distance(result) + 1);
+                } else if (value == SolverTable.LOSS) {
+                    lossIn = Math.max(lossIn, SolverTable.distance(result) + 1);
+                } else {
+                    drawing = true;
+                }
+            }
+            int expected = winIn != Integer.MAX_VALUE ? SolverTable.result(SolverTable.WIN, winIn)
+                    : drawing || moveCount == 0 ? SolverTable.result(SolverTable.DRAW, 0)
+                    : SolverTable.result(SolverTable.LOSS, lossIn); // Value by one-ply minimax
+            assertEquals(expected, table.lookup(state), "Position " + i + " should match its moves"); // Verify
+        }
+    }
+
+    /**
+     * Tests that solving from a midgame position agrees with the full solve, and that the best move keeps the win.
+     */
+    @Test
+    void testEndgameMatchesFullSolve() {
+        SolverTable full = new RetrogradeSolver(10_000, POOL).solve(new GameState(HexGrid.of(1))); // Whole board
+        GameState root = new GameState(HexGrid.of(1)); // Red opens at the center
+        root.play(1, 1);
+        SolverTable endgame = new RetrogradeSolver(10_000, POOL).solve(root); // Only what follows
+        assertTrue(endgame.size() < full.size(), "Endgame should be smaller than the whole board"); // Verify
+        assertEquals(full.lookup(root), endgame.lookup(root), "Both solves should agree"); // Verify value
+        GameState empty = new GameState(HexGrid.of(1)); // Red to move on the empty board
+        int result = full.lookup(empty);
+        assertEquals(SolverTable.WIN, SolverTable.value(result), "Red should win the radius 1 board"); // Verify value
+        GameState next = empty.copy(); // Play the best move
+        next.play(full.bestMove(empty));
+        int after = full.lookup(next); // Blue to move
+        assertEquals(SolverTable.result(SolverTable.LOSS, SolverTable.distance(result) - 1), after,
+                "Best move should keep the fastest win"); // Verify the move
+    }
+
+    /**
+     * Tests that a table survives a round trip through its file.
+     * @param dir A temporary directory
+     * @throws IOException if the table file cannot be used
+     */
+    @Test
+    void testTableFileRoundTrip(@TempDir Path dir) throws IOException {
+        SolverTable table = new RetrogradeSolver(10_000, POOL).solve(new GameState(HexGrid.of(1))); // Whole board
+        Path file = dir.resolve("radius1.hxrt");
+        table.write(file); // Store it
+        SolverTable read = SolverTable.read(file); // Load it back
+        assertEquals(table.size(), read.size(), "Position counts should match"); // Verify size
+        assertEquals(1, read.getGrid().getRadius(), "Radius should be kept"); // Verify layout
+        for (int i = 0; i < table.size(); i++) {
+            GameState state = table.state(table.keyAt(i)); // Every position
+            assertEquals(table.lookup(state), read.lookup(state), "Position " + i + " should survive"); // Verify
+        }
+        assertEquals(SolverTable.UNKNOWN, read.lookup(new GameState()), "Other boards should be unknown"); // Verify miss
+    }
+
+    /**
+     * Tests that enumeration stops once the position limit is passed.
+     */
+    @Test
+    void testPositionLimit() {
+        RetrogradeSolver solver = new RetrogradeSolver(100, POOL); // Far too few for radius 2
+        assertThrows(IllegalStateException.class, () -> solver.solve(new GameState(HexGrid.of(2))), "Limit should stop it");
+        assertThrows(IllegalArgumentException.class, () -> new RetrogradeSolver(RetrogradeSolver.MAX_POSITIONS + 1, POOL),
+                "Edges cannot number more positions"); // Verify the cap
+    }
+}
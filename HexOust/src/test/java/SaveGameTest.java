@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import org.junit.jupiter.api.io.TempDir; // Provides a temporary directory
+import java.io.IOException; // Thrown by file operations
+import java.nio.file.Files; // Used for checking files
+import java.nio.file.Path; // Locates files
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the SaveGame and AutoSaver classes in the HexOust game.
+ */
+public class SaveGameTest {
+    @TempDir
+    Path tempDir; // Fresh directory per test
+
+    /**
+     * Tests that a save survives encoding, writing and reading.
+     * @throws IOException if the save cannot be written or read
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        BoardSnapshot board = BoardSnapshot.empty(HexGrid.STANDARD).with(6, 6, StoneColor.RED)
+                .with(12, 0, StoneColor.BLUE); // Two stones
+        SaveGame save = new SaveGame(board, StoneColor.BLUE, true, true); // Blue on an extra turn
+        assertEquals(40, save.encode().length, "Standard board save should be 40 bytes"); // Verify size
+        Path file = tempDir.resolve("game.sav"); // Save file
+        SaveGame.write(file, save.encode()); // Write the save
+        SaveGame loaded = SaveGame.read(file, HexGrid.STANDARD); // Read it back
+        assertEquals(board, loaded.getBoard(), "Stones should round-trip"); // Verify board
+        assertEquals(StoneColor.BLUE, loaded.getSideToMove(), "Side to move should round-trip"); // Verify side
+        assertTrue(loaded.isExtraTurn(), "Extra turn flag should round-trip"); // Verify flag
+        assertTrue(loaded.getOpponentHadStones(), "Win history should round-trip"); // Verify flag
+        assertNull(SaveGame.read(tempDir.resolve("missing.sav"), HexGrid.STANDARD), "Missing save is not an error");
+        assertThrows(IOException.class, () -> SaveGame.decode(new byte[40], HexGrid.STANDARD), "Bad signature");
+    }
+
+    /**
+     * Tests that the autosave follows the game and is removed when the game ends.
+     * @throws IOException if the save cannot be read
+     */
+    @Test
+    void testAutoSaveFollowsGame() throws IOException {
+        Path file = tempDir.resolve("auto.sav"); // Autosave file
+        GameState state = new GameState(); // Headless game
+        AutoSaver saver = new AutoSaver(file, state::getOpponentHadStones); // Writer under test
+        BoardSnapshot board = BoardSnapshot.empty(HexGrid.STANDARD); // Mirrors the game
+        for (int[] move : new int[][]{{6, 6}, {8, 5}}) { // Red at the center, Blue nearby
+            MoveResult result = state.play(move[0], move[1]); // Play the move
+            saver.onMove(board, result); // Report it as GameManager would
+            board = board.apply(result); // Advance the mirror
+        }
+        saver.close(); // Wait for the writer
+        SaveGame save = SaveGame.read(file, HexGrid.STANDARD); // Read the autosave
+        assertEquals(board, save.getBoard(), "Autosave should hold the latest position"); // Verify board
+        assertEquals(StoneColor.RED, save.getSideToMove(), "Red should be to move"); // Verify side
+
+        AutoSaver finisher = new AutoSaver(file, state::getOpponentHadStones); // New writer for the end of game
+        MoveResult win = state.play(7, 5); // Red captures Blue's only stone and wins
+        assertEquals(StoneColor.RED, win.getWinner(), "Capture should win the game"); // Verify setup
+        finisher.onMove(board, win); // Report the winning move
+        finisher.close(); // Wait for the writer
+        assertFalse(Files.exists(file), "Finished game should not be resumed"); // Verify deletion
+        assertDoesNotThrow(finisher::onReset, "Moves after closing should be ignored"); // Verify closed writer
+        assertFalse(Files.exists(file), "Closed writer should not save"); // Verify nothing written
+    }
+
+    /**
+     * Tests that a game lost on time removes the autosave.
+     * @throws IOException if the save cannot be written
+     */
+    @Test
+    void testAutoSaveRemovedOnTimeout() throws IOException {
+        Path file = tempDir.resolve("timeout.sav"); // Autosave file
+        GameState state = new GameState(); // Headless game
+        AutoSaver saver = new AutoSaver(file, state::getOpponentHadStones); // Writer under test
+        saver.onMove(BoardSnapshot.empty(HexGrid.STANDARD), state.play(6, 6)); // Red at the center
+        saver.onTimeout(StoneColor.BLUE); // Blue's flag falls
+        saver.close(); // Wait for the writer
+        assertFalse(Files.exists(file), "Game lost on time should not be resumed"); // Verify deletion
+    }
+}
@@ -0,0 +1,274 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.io.BufferedReader; // Reads the viewer's lines
+import java.io.ByteArrayOutputStream; // Captures the console viewer
+import java.io.IOException; // Thrown by socket operations
+import java.io.InputStreamReader; // Decodes the viewer's lines
+import java.io.PrintStream; // Feeds the console viewer
+import java.net.InetAddress; // Connects to the loopback server
+import java.net.Socket; // Connects a viewer
+import java.nio.charset.StandardCharsets; // Decodes the viewer's lines
+import java.util.Random; // Picks random moves
+import java.util.concurrent.CountDownLatch; // Blocks a slow spectator
+import java.util.concurrent.TimeUnit; // Wait timeouts
+import java.util.concurrent.atomic.AtomicReference; // Receives the last delta
+import java.util.function.BooleanSupplier; // Waits for deliveries
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the SpectatorHub, SpectatorServer and SpectatorClient classes.
+ * Random games are published to spectators, which must end with the same board as the game.
+ */
+public class SpectatorHubTest {
+    private final HexGrid grid = HexGrid.STANDARD; // Cell layout of the board
+
+    /**
+     * A spectator that rebuilds the board from what it receives.
+     */
+    private static class Follower implements Spectator {
+        volatile BoardSnapshot board; // Board after the last message
+        volatile long sequence = -1; // Sequence of the last message
+        volatile int snapshots; // Snapshots received
+        volatile boolean gap; // A delta did not follow the previous message
+
+        /**
+         * Starts over from a snapshot.
+         * @param sequence The position number
+         * @param board The board
+         * @param sideToMove The player to move
+         * @param winner The winner, or StoneColor.EMPTY
+         */
+        @Override
+        public void onSnapshot(long sequence, BoardSnapshot board, byte sideToMove, byte winner) {
+            this.board = board; // Start over from the snapshot
+            this.sequence = sequence;
+            snapshots++;
+        }
+
+        /**
+         * Applies a delta, noting any gap in the sequence.
+         * @param delta The move
+         */
+        @Override
+        public void onMove(MoveDelta delta) {
+            if (delta.getSequence() != sequence + 1) {
+                gap = true; // Deltas must be contiguous
+            }
+            board = delta.applyTo(board); // Follow the game
+            sequence = delta.getSequence();
+        }
+    }
+
+    /**
+     * Tests that spectators subscribed before and during a game follow it exactly, through a restart.
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testFollowersRebuildTheGame() throws InterruptedException {
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        try (SpectatorHub hub = new SpectatorHub(BoardSnapshot.empty(grid), StoneColor.RED, 1024)) {
+            Follower early = new Follower(); // Sees every move
+            hub.subscribe(early);
+            byte side = playRandom(hub, hexStatus, StoneColor.RED, 40, new Random(45)); // First half
+            Follower late = new Follower(); // Joins mid-game
+            hub.subscribe(late);
+            playRandom(hub, hexStatus, side, 40, new Random(46)); // Second half
+            BoardSnapshot game = BoardSnapshot.of(grid, hexStatus); // Position of the game
+            await(() -> early.sequence == hub.getSequence() && late.sequence == hub.getSequence());
+            assertEquals(game, early.board, "Early spectator should see the game's board"); // Verify board
+            assertEquals(game, late.board, "Late spectator should see the game's board"); // Verify board
+            assertEquals(1, early.snapshots, "Early spectator should need only its first snapshot"); // Verify deltas
+            assertFalse(early.gap || late.gap, "Deltas should be contiguous"); // Verify order
+            hub.onReset(); // Restart the game
+            await(() -> early.sequence == hub.getSequence());
+            assertEquals(BoardSnapshot.empty(grid), early.board, "Restart should clear the board"); // Verify reset
+        }
+    }
+
+    /**
+     * Tests that a spectator stuck in a callback never holds up the moves or other spectators, and recovers with
+     * a snapshot when it resumes.
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testSlowSpectatorIsResynchronised() throws InterruptedException {
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        CountDownLatch release = new CountDownLatch(1); // Holds the slow spectator
+        Follower slow = new Follower() {
+            @Override
+            public void onMove(MoveDelta delta) {
+                try {
+                    release.await(); // Stuck until the game has moved on
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onMove(delta);
+            }
+        };
+        try (SpectatorHub hub = new SpectatorHub(BoardSnapshot.empty(grid), StoneColor.RED, 4)) {
+            SpectatorHub.Subscription subscription = hub.subscribe(slow);
+            Follower fast = new Follower(); // Keeps up
+            hub.subscribe(fast);
+            await(() -> slow.snapshots == 1); // Initial snapshot delivered
+            long start = System.nanoTime();
+            playRandom(hub, hexStatus, StoneColor.RED, 60, new Random(47)); // Far more moves than the queue holds
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "Moves should not wait"); // Verify
+            await(() -> fast.sequence == hub.getSequence());
+            assertEquals(BoardSnapshot.of(grid, hexStatus), fast.board, "Fast spectator should keep up"); // Verify
+            release.countDown(); // Let the slow spectator continue
+            await(() -> slow.sequence == hub.getSequence());
+            assertEquals(BoardSnapshot.of(grid, hexStatus), slow.board, "Slow spectator should catch up"); // Verify
+            assertTrue(subscription.getResyncCount() >= 1, "Slow spectator should get a new snapshot"); // Verify resync
+            assertFalse(slow.gap, "Dropped deltas should never be applied out of order"); // Verify order
+        }
+    }
+
+    /**
+     * Tests that a flag-fall reaches spectators as a result-only delta and that a restored position resyncs them.
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testTimeoutAndRestore() throws InterruptedException {
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        try (SpectatorHub hub = new SpectatorHub(BoardSnapshot.empty(grid), StoneColor.RED, 64)) {
+            Follower follower = new Follower();
+            AtomicReference<MoveDelta> last = new AtomicReference<>(); // Most recent delta
+            Follower watcher = new Follower() {
+                @Override
+                public void onMove(MoveDelta delta) {
+                    super.onMove(delta); // Follow the game
+                    last.set(delta); // Keep it for inspection
+                }
+            };
+            hub.subscribe(watcher);
+            hub.subscribe(follower);
+            // Deliveries run on their own threads; a snapshot sent late would already hold the result
+            await(() -> watcher.snapshots == 1 && follower.snapshots == 1);
+            byte side = playRandom(hub, hexStatus, StoneColor.RED, 10, new Random(50)); // Some moves
+            hub.onTimeout(side); // The side to move runs out of time
+            await(() -> follower.sequence == hub.getSequence() && watcher.sequence == hub.getSequence());
+            assertEquals(MoveDelta.NO_CELL, last.get().getPlacedCell(), "Flag-fall should place no stone"); // Verify
+            assertEquals(StoneColor.opponent(side), last.get().getWinner(), "Opponent should win on time"); // Verify
+            assertEquals(BoardSnapshot.of(grid, hexStatus), follower.board, "Flag-fall should keep the board");
+            assertFalse(follower.gap, "Game-over delta should follow the moves"); // Verify order
+            BoardSnapshot saved = BoardSnapshot.empty(grid).with(6, 6, StoneColor.RED); // A resumed game
+            hub.onRestore(saved, StoneColor.BLUE);
+            await(() -> follower.sequence == hub.getSequence());
+            assertEquals(saved, follower.board, "Restore should send the loaded board"); // Verify resync
+            assertEquals(2, follower.snapshots, "Restore should need a snapshot"); // Verify snapshot
+        }
+        ByteArrayOutputStream text = new ByteArrayOutputStream(); // Console viewer output
+        SpectatorClient console = new SpectatorClient(new SpectatorClient.ConsoleViewer(new PrintStream(text, true)));
+        console.accept(SpectatorServer.snapshotLine(0, BoardSnapshot.empty(grid), StoneColor.RED, StoneColor.EMPTY));
+        console.accept(SpectatorServer.moveLine(MoveDelta.gameOver(1, StoneColor.RED, StoneColor.BLUE)));
+        String printed = text.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("Red ran out of time") && printed.contains("Blue wins"), printed); // Verify text
+    }
+
+    /**
+     * Tests that invalid --spectate ports are rejected instead of reaching the server socket.
+     */
+    @Test
+    void testParsePort() {
+        assertEquals(7000, SpectatorServer.parsePort("7000"), "Valid port should be used"); // Verify the value
+        assertEquals(7000, SpectatorServer.parsePort(" 7000 "), "Spaces should be ignored"); // Verify trimming
+        assertEquals(-1, SpectatorServer.parsePort("seven"), "Text should be rejected"); // Verify text
+        assertEquals(-1, SpectatorServer.parsePort("0"), "Zero should be rejected"); // Verify zero
+        assertEquals(-1, SpectatorServer.parsePort("70000"), "Ports above 65535 should be rejected"); // Verify range
+    }
+
+    /**
+     * Tests that closing the hub closes the connections of socket viewers.
+     * @throws IOException if the loopback connection fails
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testCloseEndsSocketViewers() throws IOException, InterruptedException {
+        SpectatorHub hub = new SpectatorHub(BoardSnapshot.empty(grid), StoneColor.RED, 64);
+        try (SpectatorServer server = new SpectatorServer(hub, 0);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            server.start(); // Accept viewers
+            socket.setSoTimeout(5000); // Fail instead of hanging
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            assertTrue(in.readLine().startsWith("SNAPSHOT"), "Viewer should get the board first"); // Verify connection
+            hub.close(); // Drop every viewer
+            assertNull(in.readLine(), "Closing the hub should end the viewer's stream"); // Verify the socket closed
+            assertEquals(0, hub.getSpectatorCount(), "No viewer should remain"); // Verify the subscription ended
+        }
+    }
+
+    /**
+     * Tests that a viewer connected over a socket rebuilds the game, and that it is dropped when it disconnects.
+     * @throws IOException if the loopback connection fails
+     * @throws InterruptedException if the wait is interrupted
+     */
+    @Test
+    void testSocketViewer() throws IOException, InterruptedException {
+        byte[][] hexStatus = new byte[13][13]; // Empty board
+        try (SpectatorHub hub = new SpectatorHub(BoardSnapshot.empty(grid), StoneColor.RED, 64);
+             SpectatorServer server = new SpectatorServer(hub, 0)) {
+            server.start(); // Accept viewers
+            Follower follower = new Follower(); // Decoded by the client
+            SpectatorClient client = new SpectatorClient(follower);
+            Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort()); // Connect a viewer
+            Thread reader = Thread.ofVirtual().start(() -> {
+                try {
+                    client.run(socket.getInputStream()); // Read until closed
+                } catch (IOException ignored) {
+                    // Socket closed by the test
+                }
+            });
+            await(() -> hub.getSpectatorCount() == 1 && client.getSequence() == 0); // Snapshot received
+            playRandom(hub, hexStatus, StoneColor.RED, 50, new Random(48)); // Play a game
+            await(() -> client.getSequence() == hub.getSequence());
+            assertEquals(BoardSnapshot.of(grid, hexStatus), client.getBoard(), "Viewer should see the game"); // Verify
+            assertEquals(client.getBoard(), follower.board, "Spectator should see the client's board"); // Verify replay
+            socket.close(); // Viewer leaves
+            reader.join(5000);
+            playRandom(hub, hexStatus, StoneColor.RED, 5, new Random(49)); // Writes fail and unsubscribe
+            await(() -> hub.getSpectatorCount() == 0);
+        }
+    }
+
+    /**
+     * Plays random legal moves on a board, publishing each one to the hub as GameManager does.
+     * @param hub The hub
+     * @param hexStatus The board, modified in place
+     * @param side The player to move
+     * @param moves The number of moves to play, fewer if the game ends or stalls
+     * @param random The move source
+     * @return The player to move afterwards
+     */
+    private byte playRandom(SpectatorHub hub, byte[][] hexStatus, byte side, int moves, Random random) {
+        CaptureHandler captureHandler = new CaptureHandler(null); // No rendering
+        MovePipeline movePipeline = new MovePipeline(new MoveValidator(captureHandler), captureHandler);
+        for (int played = 0, tries = 0; played < moves && tries < 100_000; tries++) {
+            int cell = random.nextInt(grid.getCellCount()); // Candidate move
+            BoardSnapshot before = BoardSnapshot.of(grid, hexStatus); // Position before the move
+            MoveResult result = movePipeline.play(grid.qIndex(cell) - grid.getRadius(),
+                    grid.rIndex(cell) - grid.getRadius(), hexStatus, side); // Cube coordinates
+            if (result == null) {
+                continue; // Illegal, try another
+            }
+            hub.onMove(before, result); // Publish
+            played++;
+            if (result.getWinner() != StoneColor.EMPTY) {
+                break; // Game over
+            }
+            side = Player.nextPlayer(side, result.isExtraTurn()); // Next turn
+        }
+        return side; // Return the side to move
+    }
+
+    /**
+     * Waits up to five seconds for a condition made true by delivery threads.
+     * @param condition The condition
+     * @throws InterruptedException if the wait is interrupted
+     */
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Deliveries should finish"); // Fail instead of hanging
+            Thread.sleep(5); // Let the delivery threads run
+        }
+    }
+}
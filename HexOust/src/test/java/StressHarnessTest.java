@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the StressHarness class in the HexOust game.
+ * A short run with a fixed seed keeps the rule checks in the regular test suite.
+ */
+public class StressHarnessTest {
+
+    /**
+     * Tests that random games pass every per-ply rule check.
+     */
+    @Test
+    void testRandomGamesKeepInvariants() {
+        StressHarness.Stats stats = StressHarness.run(20, 38); // Fixed seed, throws on any violation
+        assertEquals(20, stats.games, "Every game should be played"); // Verify game count
+        assertTrue(stats.plies > 20, "Games should last more than one ply"); // Verify progress
+        assertTrue(stats.captures > 0, "Random games should include captures"); // Verify coverage
+        assertEquals(stats.games, stats.redWins + stats.blueWins + stats.stalled, "Every game should end somehow");
+    }
+
+    /**
+     * Tests that the checks report a corrupted board instead of passing it.
+     */
+    @Test
+    void testCorruptedStateIsReported() {
+        StressHarness.Checker checker = new StressHarness.Checker(38); // Fresh buffers
+        GameState state = new GameState(); // Empty board, Red to move
+        checker.remember(state); // Position before
+        MoveResult result = state.play(6, 6); // Red at the center
+        checker.checkPly(StoneColor.RED, result, state); // A correct ply passes
+
+        checker.remember(state); // Position before Blue's move
+        MoveResult blue = state.play(9, 6); // Blue away from Red
+        state.getHexStatus()[3][6] = StoneColor.RED; // A Red stone appears from nowhere
+        AssertionError counts = assertThrows(AssertionError.class, () -> checker.checkPly(StoneColor.BLUE, blue, state),
+                "Extra stone should be reported"); // Verify detection
+        assertTrue(counts.getMessage().contains("stone counts"), counts.getMessage()); // Verify the reason
+        assertTrue(counts.getMessage().startsWith("Seed 38"), "Report should allow a replay"); // Verify context
+
+        state.getHexStatus()[3][6] = StoneColor.EMPTY; // Undo that corruption
+        state.getHexStatus()[0][0] = StoneColor.BLUE; // Stone in a corner of the array, off the hexagon
+        AssertionError offBoard = assertThrows(AssertionError.class,
+                () -> checker.checkPly(StoneColor.BLUE, blue, state), "Off-board stone should be reported");
+        assertTrue(offBoard.getMessage().contains("off the board"), offBoard.getMessage()); // Verify the reason
+    }
+}
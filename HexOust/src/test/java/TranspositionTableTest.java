@@ -0,0 +1,163 @@
+import org.junit.jupiter.api.Test; // Marks test methods
+import java.util.Random; // Picks random moves
+import java.util.concurrent.atomic.AtomicInteger; // Counts corrupt reads across threads
+import static org.junit.jupiter.api.Assertions.*; // Provides assertion methods
+
+/**
+ * Tests the functionality of the TranspositionTable and LazySmp classes and of GameState's Zobrist hash.
+ */
+public class TranspositionTableTest {
+
+    /**
+     * Tests that a stored entry is found with all its fields, and that other hashes miss.
+     */
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1); // 1 MB
+        long hash = 0x1234_5678_9ABC_DEF0L;
+        table.store(hash, 7, TranspositionTable.LOWER, -BotSearch.WIN_SCORE + 3, 126); // Deep losing entry
+        long data = table.probe(hash);
+        assertNotEquals(0, data, "Stored entry should be found"); // Verify hit
+        assertEquals(-BotSearch.WIN_SCORE + 3, TranspositionTable.score(data), "Score should survive"); // Verify score
+        assertEquals(7, TranspositionTable.depth(data), "Depth should survive"); // Verify depth
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data), "Bound should survive"); // Verify bound
+        assertEquals(126, TranspositionTable.move(data), "Move should survive"); // Verify move
+        assertEquals(0, table.probe(hash + 1), "Other hashes should miss"); // Verify miss
+        table.store(hash + 1, 0, TranspositionTable.EXACT, 5, -1); // Entry without a move
+        assertEquals(-1, TranspositionTable.move(table.probe(hash + 1)), "No move should read as -1");
+        assertEquals(0, new TranspositionTable(1).probe(0), "Empty table should miss even hash 0"); // Verify empty
+    }
+
+    /**
+     * Tests that a shallow result of another position keeps a deep result of the same search in its bucket,
+     * and that the next search may replace it.
+     */
+    @Test
+    void testDepthPreferredReplacement() {
+        TranspositionTable table = new TranspositionTable(1); // 1 MB
+        long deep = 5; // Three hashes sharing bucket 5
+        long shallow = deep + (table.capacity() << 8); // High bits differ, bucket bits equal
+        long newest = deep + (table.capacity() << 9);
+        table.store(deep, 9, TranspositionTable.EXACT, 1, 1); // Deep entry
+        table.store(shallow, 1, TranspositionTable.EXACT, 2, 2); // Goes to the always-replace entry
+        table.store(newest, 1, TranspositionTable.EXACT, 3, 3); // Replaces the shallow entry
+        assertNotEquals(0, table.probe(deep), "Deep entry should be kept"); // Verify kept
+        assertEquals(0, table.probe(shallow), "Shallow entry should be replaced"); // Verify replaced
+        assertNotEquals(0, table.probe(newest), "Newest entry should be stored"); // Verify stored
+        table.newSearch(); // The deep entry is now old
+        table.store(shallow, 1, TranspositionTable.EXACT, 2, 2); // May replace it
+        assertEquals(0, table.probe(deep), "Old deep entry should be replaceable"); // Verify aging
+    }
+
+    /**
+     * Tests that threads writing the same buckets at once never produce an entry that verifies with wrong data.
+     * @throws InterruptedException if a thread is interrupted
+     */
+    @Test
+    void testConcurrentWritersNeverCorrupt() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1); // Small, so threads collide constantly
+        AtomicInteger corrupt = new AtomicInteger(); // Verified entries with wrong data
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed); // Each thread its own hashes
+                for (int i = 0; i < 200_000; i++) {
+                    long hash = random.nextLong() & 0xFFFF_0000_0FFFL; // Few buckets, many hashes
+                    table.store(hash, depthOf(hash), TranspositionTable.EXACT, scoreOf(hash), 0);
+                    long data = table.probe(hash ^ 0x10000); // Another hash in the same bucket
+                    if (data != 0 && (TranspositionTable.score(data) != scoreOf(hash ^ 0x10000)
+                            || TranspositionTable.depth(data) != depthOf(hash ^ 0x10000))) {
+                        corrupt.incrementAndGet(); // Entry mixes two writes
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join(); // Wait for every writer
+        }
+        assertEquals(0, corrupt.get(), "No read should return another position's data"); // Verify integrity
+    }
+
+    /**
+     * Tests that the incremental Zobrist hash equals a hash from scratch throughout random games.
+     */
+    @Test
+    void testIncrementalHashMatchesScratch() {
+        Random random = new Random(44); // Fixed seed
+        HexGrid grid = HexGrid.STANDARD;
+        int[] moves = new int[grid.getCellCount()]; // Legal moves buffer
+        for (int game = 0; game < 20; game++) {
+            GameState state = new GameState(); // Empty board, Red to move
+            for (int ply = 0; ply < 300 && state.getWinner() == StoneColor.EMPTY; ply++) {
+                int count = state.legalMoves(moves); // Generate moves
+                if (count == 0) {
+                    break; // Stalled game
+                }
+                state = state.copy(); // Copies carry the hash
+                state.play(moves[random.nextInt(count)]); // Random move
+                assertEquals(grid.hash(state.getHexStatus(), state.getSideToMove(), state.getOpponentHadStones()),
+                        state.getHash(), "game " + game + ", ply " + ply); // Same as from scratch
+            }
+        }
+    }
+
+    /**
+     * Tests that a shared table saves work and that multi-threaded search still finds the winning capture.
+     */
+    @Test
+    void testSharedTableSearch() {
+        GameState state = new GameState(); // Empty board, Red to move
+        state.play(6, 6); // Red at the center
+        state.play(12, 0); // Blue in a corner
+        state.play(0, 12); // Red in the opposite corner
+        BotSearch plain = new BotSearch(3, 60_000);
+        plain.search(state, null); // Without a table
+        LazySmp single = new LazySmp(1, 16); // Table only
+        BotSearch tabled = single.newSearch(3, 60_000, 1);
+        tabled.search(state, null); // With a table
+        assertTrue(tabled.getNodes() < plain.getNodes(), "Transpositions should be searched once"); // Verify saving
+        GameState winning = new GameState(); // Red can capture Blue's only stone
+        winning.play(6, 6);
+        winning.play(8, 5);
+        LazySmp smp = new LazySmp(4, 16); // Three helper threads
+        try {
+            int best = smp.newSearch(4, 60_000, 1).search(winning, null);
+            assertEquals(HexGrid.STANDARD.cellAt(7, 5), best, "Red should capture Blue's only stone"); // Verify move
+        } finally {
+            smp.shutdown(); // Stop the helpers
+        }
+    }
+
+    /**
+     * Tests that invalid --threads values fall back to one thread per processor.
+     */
+    @Test
+    void testParseThreads() {
+        int processors = Runtime.getRuntime().availableProcessors(); // Fallback count
+        assertEquals(4, LazySmp.parseThreads("4"), "Valid count should be used"); // Verify the value
+        assertEquals(2, LazySmp.parseThreads(" 2 "), "Spaces should be ignored"); // Verify trimming
+        assertEquals(processors, LazySmp.parseThreads("many"), "Text should fall back"); // Verify text
+        assertEquals(processors, LazySmp.parseThreads("0"), "Zero should fall back"); // Verify zero
+        assertEquals(processors, LazySmp.parseThreads("-1"), "Negative should fall back"); // Verify negative
+    }
+
+    /**
+     * Derives a test score from a hash.
+     * @param hash The hash
+     * @return The score stored with it
+     */
+    private static int scoreOf(long hash) {
+        return (int) (hash * 31 >>> 7); // Any function of the hash
+    }
+
+    /**
+     * Derives a test depth from a hash.
+     * @param hash The hash
+     * @return The depth stored with it
+     */
+    private static int depthOf(long hash) {
+        return (int) (hash >>> 48 & 0x3F); // Any function of the hash
+    }
+}